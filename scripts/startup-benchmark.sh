@@ -0,0 +1,52 @@
+#!/usr/bin/env bash
+# Misst die Zeit vom Prozessstart bis zur ersten erfolgreichen Antwort von /api/buecher
+# für die Startvarianten der Anwendung (Profil prod, leere Datenbank je Lauf).
+#
+# Voraussetzung: mvn clean package -Paot-cds -DskipTests
+# Aufruf:        scripts/startup-benchmark.sh [LÄUFE]   (Standard: 5)
+set -euo pipefail
+
+RUNS="${1:-5}"
+PORT="${BENCHMARK_PORT:-18081}"
+ROOT="$(cd "$(dirname "$0")/.." && pwd)"
+CDS_DIR="$ROOT/target/cds"
+JAR="$(ls "$CDS_DIR"/*.jar 2>/dev/null | head -n 1)"
+
+if [[ -z "$JAR" || ! -f "$CDS_DIR/application.jsa" ]]; then
+  echo "Kein CDS-Build gefunden, zuerst: mvn clean package -Paot-cds -DskipTests" >&2
+  exit 1
+fi
+
+now_ms() { date +%s%3N; }
+
+# $1 = Bezeichnung, weitere Argumente = JVM-Optionen
+measure() {
+  local label="$1"; shift
+  local total=0 best=0
+  for ((i = 1; i <= RUNS; i++)); do
+    local data; data="$(mktemp -d)"
+    local start; start="$(now_ms)"
+    (cd "$CDS_DIR" && exec java "$@" -jar "$JAR" --spring.profiles.active=prod \
+        --itzbund.data-dir="$data" --server.port="$PORT" >"$data/app.log" 2>&1) &
+    local pid=$!
+    until curl -sf -o /dev/null "http://localhost:$PORT/api/buecher"; do
+      if ! kill -0 "$pid" 2>/dev/null; then
+        echo "$label: Anwendung beendet, siehe $data/app.log" >&2
+        exit 1
+      fi
+      sleep 0.02
+    done
+    local elapsed=$(( $(now_ms) - start ))
+    kill "$pid"; wait "$pid" 2>/dev/null || true
+    rm -rf "$data"
+    total=$(( total + elapsed ))
+    if (( best == 0 || elapsed < best )); then best=$elapsed; fi
+  done
+  printf '%-32s Mittel %6d ms   Bestwert %6d ms\n' "$label" $(( total / RUNS )) "$best"
+}
+
+echo "Time-to-first-request, $RUNS Läufe je Variante"
+measure "JIT (Ausgangslage)"         -Ditzbund.startup.lazy-documentation=false
+measure "JIT + Lazy Docs"            -Ditzbund.startup.lazy-documentation=true
+measure "AOT + Lazy Docs"            -Dspring.aot.enabled=true
+measure "AOT + CDS + Lazy Docs"      -Dspring.aot.enabled=true -XX:SharedArchiveFile=application.jsa -Xlog:cds=error
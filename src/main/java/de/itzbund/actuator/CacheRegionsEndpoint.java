@@ -0,0 +1,84 @@
+package de.itzbund.actuator;
+
+import de.itzbund.config.SecondLevelCacheConfig;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Actuator-Endpunkt {@code /actuator/cacheregions}: Treffer, Fehlzugriffe und Einfügungen je Hibernate-Cache-Region.
+ * Setzt {@code hibernate.generate_statistics=true} voraus.
+ */
+@Component
+@Endpoint(id = "cacheregions")
+public class CacheRegionsEndpoint {
+
+    /** Statistik der SessionFactory. */
+    private final Statistics statistics;
+
+    /**
+     * Konstruktor Injection.
+     * @param entityManagerFactory JPA EntityManagerFactory (Hibernate)
+     */
+    public CacheRegionsEndpoint(final EntityManagerFactory entityManagerFactory) {
+        this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    /**
+     * Liefert die aktuellen Zähler aller Regionen.
+     * @return Statistik-Übersicht
+     */
+    @ReadOperation
+    public CacheRegions regions() {
+        Map<String, Region> regions = new TreeMap<>();
+        for (String name : statistics.getSecondLevelCacheRegionNames()) {
+            CacheRegionStatistics region = statistics.getCacheRegionStatistics(name);
+            if (region != null) {
+                regions.put(name, Region.of(region.getHitCount(), region.getMissCount(), region.getPutCount()));
+            }
+        }
+        CacheRegionStatistics query = statistics.getQueryRegionStatistics(SecondLevelCacheConfig.QUERY_RESULTS_REGION);
+        if (query != null) {
+            regions.putIfAbsent(SecondLevelCacheConfig.QUERY_RESULTS_REGION,
+                Region.of(query.getHitCount(), query.getMissCount(), query.getPutCount()));
+        }
+        return new CacheRegions(statistics.isStatisticsEnabled(), regions,
+            Region.of(statistics.getQueryCacheHitCount(), statistics.getQueryCacheMissCount(),
+                statistics.getQueryCachePutCount()),
+            Region.of(statistics.getUpdateTimestampsCacheHitCount(), statistics.getUpdateTimestampsCacheMissCount(),
+                statistics.getUpdateTimestampsCachePutCount()));
+    }
+
+    /**
+     * Antwort des Endpunkts.
+     * @param statisticsEnabled ob Hibernate Statistiken sammelt (sonst sind alle Zähler 0)
+     * @param regions Zähler je Region
+     * @param queryCache Summen des Query-Caches
+     * @param updateTimestamps Zugriffe auf die Update-Timestamps-Region
+     */
+    public record CacheRegions(boolean statisticsEnabled, Map<String, Region> regions, Region queryCache,
+                               Region updateTimestamps) {
+    }
+
+    /**
+     * Zähler einer Region.
+     * @param hits Treffer
+     * @param misses Fehlzugriffe
+     * @param puts Einfügungen
+     * @param hitRatio Trefferquote (0 bei keinem Zugriff)
+     */
+    public record Region(long hits, long misses, long puts, double hitRatio) {
+
+        static Region of(final long hits, final long misses, final long puts) {
+            long requests = hits + misses;
+            return new Region(hits, misses, puts, requests == 0 ? 0 : (double) hits / requests);
+        }
+    }
+}
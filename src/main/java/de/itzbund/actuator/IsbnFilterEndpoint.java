@@ -0,0 +1,47 @@
+package de.itzbund.actuator;
+
+import de.itzbund.service.isbn.IsbnFilter;
+import de.itzbund.service.isbn.IsbnFilterStats;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+/**
+ * Actuator-Endpunkt {@code /actuator/isbnfilter}: Größe, Speicher und Fehlerrate (geschätzt und beobachtet) des
+ * ISBN-Bloom-Filters. {@code POST} baut ihn neu auf, z.B. nach vielen Löschungen.
+ */
+@Component
+@Endpoint(id = "isbnfilter")
+public class IsbnFilterEndpoint {
+
+    /** ISBN-Filter. */
+    private final IsbnFilter filter;
+
+    /**
+     * Konstruktor Injection.
+     * @param filter ISBN-Filter
+     */
+    public IsbnFilterEndpoint(final IsbnFilter filter) {
+        this.filter = filter;
+    }
+
+    /**
+     * Liefert den Zustand des Filters.
+     * @return Kennzahlen
+     */
+    @ReadOperation
+    public IsbnFilterStats stats() {
+        return filter.stats();
+    }
+
+    /**
+     * Baut den Filter neu auf.
+     * @return Kennzahlen nach dem Aufbau
+     */
+    @WriteOperation
+    public IsbnFilterStats rebuild() {
+        filter.rebuild();
+        return filter.stats();
+    }
+}
@@ -0,0 +1,54 @@
+package de.itzbund.actuator;
+
+import de.itzbund.jdbc.QueryRecorder;
+import de.itzbund.jdbc.SlowQueryLog.SlowQuery;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Actuator-Endpunkt {@code /actuator/slowqueries}: die zuletzt erfassten langsamen Statements, neueste zuerst.
+ * {@code DELETE} leert das Log.
+ */
+@Endpoint(id = "slowqueries")
+public class SlowQueriesEndpoint {
+
+    /** Statement-Erfassung mit Slow-Query-Log. */
+    private final QueryRecorder recorder;
+
+    /**
+     * Konstruktor Injection.
+     * @param recorder Statement-Erfassung
+     */
+    public SlowQueriesEndpoint(final QueryRecorder recorder) {
+        this.recorder = recorder;
+    }
+
+    /**
+     * Liefert das Slow-Query-Log.
+     * @return Schwelle, Kapazität und Einträge
+     */
+    @ReadOperation
+    public SlowQueries slowQueries() {
+        return new SlowQueries(Duration.ofNanos(recorder.getSlowThresholdNanos()).toMillis(),
+            recorder.getSlowQueryLog().capacity(), recorder.getSlowQueryLog().snapshot());
+    }
+
+    /** Leert das Slow-Query-Log. */
+    @DeleteOperation
+    public void clear() {
+        recorder.getSlowQueryLog().clear();
+    }
+
+    /**
+     * Antwort des Endpunkts.
+     * @param thresholdMillis Schwelle in Millisekunden
+     * @param capacity maximale Anzahl Einträge
+     * @param entries Einträge, neueste zuerst
+     */
+    public record SlowQueries(long thresholdMillis, int capacity, List<SlowQuery> entries) {
+    }
+}
@@ -0,0 +1,113 @@
+package de.itzbund.audit;
+
+/**
+ * Thread-gebundene Angaben eines Requests für das Audit-Log: Startzeit sowie Buch-ID und Version nach der Änderung
+ * bzw. die Anzahl betroffener Bücher einer Mengenoperation.
+ *
+ * <p>Je Thread existiert genau ein Exemplar, das bei jedem Request zurückgesetzt wird (wie
+ * {@link de.itzbund.timing.ServerTiming}). {@link #subject(long, long)} und {@link #affected(long)} sind außerhalb
+ * aktiver Requests ein No-op.</p>
+ */
+public final class AuditContext {
+
+    /** Exemplar des aktuellen Threads (nur auf Request-Threads belegt). */
+    private static final ThreadLocal<AuditContext> CURRENT = new ThreadLocal<>();
+
+    /** Request aktiv. */
+    private boolean active;
+    /** Startzeitpunkt des Requests. */
+    private long start;
+    /** Buch-ID oder {@code -1}. */
+    private long id;
+    /** Version nach der Änderung oder {@code -1}. */
+    private long version;
+    /** Betroffene Bücher oder {@code -1}. */
+    private long affected;
+
+    private AuditContext() {
+    }
+
+    /** Startet die Erfassung für den Request des aktuellen Threads. */
+    public static void begin() {
+        AuditContext context = CURRENT.get();
+        if (context == null) {
+            context = new AuditContext();
+            CURRENT.set(context);
+        }
+        context.start = System.nanoTime();
+        context.id = -1;
+        context.version = -1;
+        context.affected = -1;
+        context.active = true;
+    }
+
+    /**
+     * Beendet die Erfassung.
+     * @return Angaben des Requests (gültig bis zum nächsten {@link #begin()} auf diesem Thread) oder {@code null},
+     *     wenn keine Erfassung lief
+     */
+    public static AuditContext end() {
+        AuditContext context = CURRENT.get();
+        if (context == null || !context.active) {
+            return null;
+        }
+        context.active = false;
+        return context;
+    }
+
+    /**
+     * Hält das geänderte Buch fest.
+     * @param id Buch-ID
+     * @param version Version nach der Änderung
+     */
+    public static void subject(final long id, final long version) {
+        AuditContext context = CURRENT.get();
+        if (context != null && context.active) {
+            context.id = id;
+            context.version = version;
+        }
+    }
+
+    /**
+     * Hält die Anzahl der von einer Mengenoperation betroffenen Bücher fest.
+     * @param count betroffene Bücher
+     */
+    public static void affected(final long count) {
+        AuditContext context = CURRENT.get();
+        if (context != null && context.active) {
+            context.affected = count;
+        }
+    }
+
+    /**
+     * Startzeitpunkt des Requests.
+     * @return {@link System#nanoTime()} beim Start
+     */
+    public long start() {
+        return start;
+    }
+
+    /**
+     * Buch-ID.
+     * @return ID oder {@code -1}
+     */
+    public long id() {
+        return id;
+    }
+
+    /**
+     * Version nach der Änderung.
+     * @return Version oder {@code -1}
+     */
+    public long version() {
+        return version;
+    }
+
+    /**
+     * Betroffene Bücher einer Mengenoperation.
+     * @return Anzahl oder {@code -1}
+     */
+    public long affected() {
+        return affected;
+    }
+}
@@ -0,0 +1,261 @@
+package de.itzbund.audit;
+
+import de.itzbund.config.AuditProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Audit- und Zugriffslog der API: Request-Threads legen Einträge (operationId, Buch-ID, Version, Dauer, Status)
+ * nur im lock-freien {@link AuditRing} ab; ein Schreib-Thread formatiert sie blockweise als JSON Lines und hängt
+ * jeden Block mit einem Schreibvorgang an die Logdatei an.
+ *
+ * <p>Request-Threads warten nie: Ist der Puffer voll, wird der Eintrag verworfen und gezählt
+ * ({@code itzbund.audit.records}, {@code result=dropped}). Überschreitet die Datei
+ * {@link AuditProperties#maxFileSize()}, wird sie gerollt. Beim Herunterfahren stoppt das Log nach dem Webserver
+ * und schreibt den Puffer bis {@link AuditProperties#drainTimeout()} aus.</p>
+ */
+public final class AuditLog implements SmartLifecycle {
+
+    /** Logger. */
+    private static final Logger LOGGER = LoggerFactory.getLogger(AuditLog.class);
+
+    /** Stop-Phase nach dem Webserver (Graceful Shutdown bei {@code DEFAULT_PHASE - 1024}). */
+    private static final int PHASE = SmartLifecycle.DEFAULT_PHASE - 4096;
+
+    /** Nanosekunden je Mikrosekunde. */
+    private static final long NANOS_PER_MICRO = 1_000L;
+
+    /** Mikrosekunden je Millisekunde. */
+    private static final long MICROS_PER_MILLI = 1_000L;
+
+    /** Grenzen für führende Nullen der Nachkommastellen. */
+    private static final long TEN = 10L;
+
+    /** Geschätzte Zeichen je Zeile für die Anfangskapazität des Blockpuffers. */
+    private static final int LINE_CAPACITY = 128;
+
+    /** Konfiguration. */
+    private final AuditProperties properties;
+    /** Wartende Einträge. */
+    private final AuditRing ring;
+    /** Blockpuffer, nur vom Schreib-Thread benutzt. */
+    private final StringBuilder batch;
+    /** Geschriebene Einträge. */
+    private final Counter writtenCounter;
+    /** Wegen vollen Puffers oder Schreibfehlern verworfene Einträge. */
+    private final Counter droppedCounter;
+    /** Offene Logdatei ({@code null} nach einem Schreibfehler, wird beim nächsten Block neu geöffnet). */
+    private OutputStream out;
+    /** Größe der offenen Logdatei in Bytes. */
+    private long size;
+    /** Schreib-Thread. */
+    private volatile Thread writer;
+
+    /**
+     * Konstruktor.
+     * @param properties Einstellungen
+     * @param registry Micrometer Registry
+     */
+    public AuditLog(final AuditProperties properties, final MeterRegistry registry) {
+        this.properties = properties;
+        this.ring = new AuditRing(properties.bufferSize());
+        this.batch = new StringBuilder(properties.batchSize() * LINE_CAPACITY);
+        Gauge.builder("itzbund.audit.buffer", ring, AuditRing::pending)
+            .description("Wartende Audit-Einträge")
+            .register(registry);
+        this.writtenCounter = registry.counter("itzbund.audit.records", "result", "written");
+        this.droppedCounter = registry.counter("itzbund.audit.records", "result", "dropped");
+    }
+
+    /**
+     * Legt einen Eintrag ab, ohne zu warten.
+     * @param operation operationId
+     * @param id Buch-ID ({@code -1} ohne)
+     * @param version Version nach der Änderung ({@code -1} ohne)
+     * @param affected betroffene Bücher einer Mengenoperation ({@code -1} ohne)
+     * @param nanos Dauer des Requests
+     * @param status HTTP-Status
+     */
+    public void record(final String operation, final long id, final long version, final long affected,
+                       final long nanos, final int status) {
+        if (!ring.offer(System.currentTimeMillis(), operation, id, version, affected, nanos, status)) {
+            droppedCounter.increment();
+        }
+    }
+
+    /**
+     * Noch nicht geschriebene Einträge.
+     * @return Füllstand des Puffers
+     */
+    public long pending() {
+        return ring.pending();
+    }
+
+    @Override
+    public void start() {
+        Thread thread = new Thread(this::writeLoop, "audit-writer");
+        thread.setDaemon(true);
+        writer = thread;
+        thread.start();
+    }
+
+    /** Schreibt den Puffer aus (höchstens drainTimeout) und schließt die Logdatei. */
+    @Override
+    public void stop() {
+        Thread thread = writer;
+        writer = null;
+        if (thread == null) {
+            return;
+        }
+        LockSupport.unpark(thread);
+        try {
+            thread.join(properties.drainTimeout().toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (thread.isAlive()) {
+            thread.interrupt();
+            LOGGER.warn("Audit-Log: Drain-Timeout, {} Einträge nicht geschrieben", ring.pending());
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return writer != null;
+    }
+
+    @Override
+    public int getPhase() {
+        return PHASE;
+    }
+
+    /** Läuft bis zum Stop und danach, bis der Puffer leer ist. */
+    private void writeLoop() {
+        long interval = properties.flushInterval().toNanos();
+        try {
+            while (writer != null || ring.pending() > 0) {
+                int count = ring.drain(this::append, properties.batchSize());
+                if (count > 0) {
+                    write(count);
+                }
+                if (count < properties.batchSize() && writer != null) {
+                    LockSupport.parkNanos(interval);
+                }
+                if (Thread.currentThread().isInterrupted()) {
+                    return;
+                }
+            }
+        } finally {
+            close();
+        }
+    }
+
+    /** Formatiert einen Eintrag als JSON-Zeile; operationIds sind Java-Bezeichner und brauchen kein Escaping. */
+    private void append(final AuditRing.Slot slot) {
+        batch.append("{\"ts\":\"");
+        DateTimeFormatter.ISO_INSTANT.formatTo(Instant.ofEpochMilli(slot.time()), batch);
+        batch.append("\",\"op\":\"").append(slot.operation()).append('"');
+        if (slot.id() >= 0) {
+            batch.append(",\"id\":").append(slot.id());
+        }
+        if (slot.version() >= 0) {
+            batch.append(",\"v\":").append(slot.version());
+        }
+        if (slot.affected() >= 0) {
+            batch.append(",\"n\":").append(slot.affected());
+        }
+        long micros = slot.nanos() / NANOS_PER_MICRO;
+        long fraction = micros % MICROS_PER_MILLI;
+        batch.append(",\"ms\":").append(micros / MICROS_PER_MILLI).append('.');
+        if (fraction < TEN * TEN) {
+            batch.append('0');
+        }
+        if (fraction < TEN) {
+            batch.append('0');
+        }
+        batch.append(fraction).append(",\"status\":").append(slot.status()).append("}\n");
+    }
+
+    /** Hängt den Block mit einem Schreibvorgang an; bei einem Fehler wird er verworfen. */
+    private void write(final int count) {
+        byte[] bytes = batch.toString().getBytes(StandardCharsets.UTF_8);
+        batch.setLength(0);
+        try {
+            if (out == null) {
+                open();
+            }
+            if (size > 0 && size + bytes.length > properties.maxFileSize().toBytes()) {
+                roll();
+            }
+            out.write(bytes);
+            out.flush();
+            size += bytes.length;
+            writtenCounter.increment(count);
+        } catch (IOException e) {
+            LOGGER.warn("Audit-Log: {} Einträge nicht geschrieben", count, e);
+            droppedCounter.increment(count);
+            close();
+        }
+    }
+
+    private void open() throws IOException {
+        Path file = properties.file();
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        out = Files.newOutputStream(file, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        size = Files.size(file);
+    }
+
+    /** Verschiebt {@code audit.log.i} nach {@code audit.log.i+1}, die aktuelle Datei nach {@code .1}. */
+    private void roll() throws IOException {
+        close();
+        Path file = properties.file();
+        int history = properties.maxHistory();
+        if (history > 0) {
+            Files.deleteIfExists(rolled(file, history));
+            for (int i = history - 1; i >= 1; i--) {
+                Path source = rolled(file, i);
+                if (Files.exists(source)) {
+                    Files.move(source, rolled(file, i + 1), StandardCopyOption.REPLACE_EXISTING);
+                }
+            }
+            Files.move(file, rolled(file, 1), StandardCopyOption.REPLACE_EXISTING);
+        } else {
+            Files.deleteIfExists(file);
+        }
+        open();
+    }
+
+    private static Path rolled(final Path file, final int index) {
+        return file.resolveSibling(file.getFileName() + "." + index);
+    }
+
+    private void close() {
+        if (out == null) {
+            return;
+        }
+        try {
+            out.close();
+        } catch (IOException e) {
+            LOGGER.warn("Audit-Log: Datei {} nicht geschlossen", properties.file(), e);
+        }
+        out = null;
+    }
+}
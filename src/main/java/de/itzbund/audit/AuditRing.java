@@ -0,0 +1,165 @@
+package de.itzbund.audit;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-freier Ringpuffer fester Größe für Audit-Einträge: beliebig viele Schreiber, genau ein Leser.
+ *
+ * <p>Ein Schreiber reserviert per CAS die nächste Sequenz, füllt den vorab angelegten Platz und gibt ihn über
+ * dessen volatile Sequenz frei; es wird weder gesperrt noch je Eintrag alloziert. Ist der Puffer voll, liefert
+ * {@link #offer} {@code false} statt zu warten. Der Leser liest die Plätze streng in Sequenzreihenfolge und stoppt
+ * am ersten noch nicht freigegebenen.</p>
+ */
+final class AuditRing {
+
+    /** Plätze, Anzahl ist eine Zweierpotenz. */
+    private final Slot[] slots;
+    /** Maske für den Index einer Sequenz. */
+    private final int mask;
+    /** Nächste zu reservierende Sequenz. */
+    private final AtomicLong claimed = new AtomicLong();
+    /** Nächste zu lesende Sequenz; schreibt nur der Leser. */
+    private volatile long consumed;
+
+    /**
+     * Erzeugt einen leeren Puffer.
+     * @param capacity Mindestanzahl Plätze, aufgerundet auf eine Zweierpotenz
+     */
+    AuditRing(final int capacity) {
+        int size = capacity <= 1 ? 1 : Integer.highestOneBit(capacity - 1) << 1;
+        this.slots = new Slot[size];
+        for (int i = 0; i < size; i++) {
+            slots[i] = new Slot();
+        }
+        this.mask = size - 1;
+    }
+
+    /**
+     * Legt einen Eintrag ab.
+     * @param time Zeitpunkt (Epoch-Millisekunden)
+     * @param operation operationId
+     * @param id Buch-ID ({@code -1} ohne)
+     * @param version Version nach der Änderung ({@code -1} ohne)
+     * @param affected betroffene Bücher einer Mengenoperation ({@code -1} ohne)
+     * @param nanos Dauer
+     * @param status HTTP-Status
+     * @return {@code false}, wenn der Puffer voll ist
+     */
+    boolean offer(final long time, final String operation, final long id, final long version, final long affected,
+                  final long nanos, final int status) {
+        long sequence;
+        do {
+            sequence = claimed.get();
+            if (sequence - consumed >= slots.length) {
+                return false;
+            }
+        } while (!claimed.compareAndSet(sequence, sequence + 1));
+        Slot slot = slots[(int) (sequence & mask)];
+        slot.time = time;
+        slot.operation = operation;
+        slot.id = id;
+        slot.version = version;
+        slot.affected = affected;
+        slot.nanos = nanos;
+        slot.status = status;
+        slot.sequence = sequence;
+        return true;
+    }
+
+    /**
+     * Übergibt freigegebene Einträge in Sequenzreihenfolge; nur vom Leser-Thread aufzurufen.
+     * @param sink Empfänger, darf den Platz nur während des Aufrufs lesen
+     * @param max maximale Anzahl
+     * @return Anzahl übergebener Einträge
+     */
+    int drain(final Sink sink, final int max) {
+        long next = consumed;
+        int count = 0;
+        while (count < max) {
+            Slot slot = slots[(int) (next & mask)];
+            if (slot.sequence != next) {
+                break;
+            }
+            sink.accept(slot);
+            slot.operation = null;
+            next++;
+            count++;
+        }
+        consumed = next;
+        return count;
+    }
+
+    /**
+     * Reservierte, noch nicht gelesene Einträge.
+     * @return Füllstand
+     */
+    long pending() {
+        return claimed.get() - consumed;
+    }
+
+    /**
+     * Anzahl Plätze.
+     * @return Kapazität
+     */
+    int capacity() {
+        return slots.length;
+    }
+
+    /** Empfänger der gelesenen Einträge. */
+    @FunctionalInterface
+    interface Sink {
+        /**
+         * Verarbeitet einen Eintrag.
+         * @param slot Platz mit dem Eintrag
+         */
+        void accept(Slot slot);
+    }
+
+    /** Wiederverwendeter Platz; gültig, solange {@link #sequence} der gelesenen Sequenz entspricht. */
+    static final class Slot {
+        /** Sequenz des enthaltenen Eintrags, zuletzt geschrieben (Freigabe an den Leser). */
+        private volatile long sequence = -1;
+        /** Zeitpunkt (Epoch-Millisekunden). */
+        private long time;
+        /** operationId. */
+        private String operation;
+        /** Buch-ID oder {@code -1}. */
+        private long id;
+        /** Version oder {@code -1}. */
+        private long version;
+        /** Betroffene Bücher oder {@code -1}. */
+        private long affected;
+        /** Dauer in Nanosekunden. */
+        private long nanos;
+        /** HTTP-Status. */
+        private int status;
+
+        long time() {
+            return time;
+        }
+
+        String operation() {
+            return operation;
+        }
+
+        long id() {
+            return id;
+        }
+
+        long version() {
+            return version;
+        }
+
+        long affected() {
+            return affected;
+        }
+
+        long nanos() {
+            return nanos;
+        }
+
+        int status() {
+            return status;
+        }
+    }
+}
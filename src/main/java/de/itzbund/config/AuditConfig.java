@@ -0,0 +1,65 @@
+package de.itzbund.config;
+
+import de.itzbund.audit.AuditLog;
+import de.itzbund.warmup.WarmupRunner;
+import de.itzbund.web.AuditInterceptor;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Audit- und Zugriffslog der API ({@link AuditProperties}): ein Interceptor auf {@code /api/**} übergibt jeden
+ * Request an das {@link AuditLog}, das asynchron in eine rollende Datei schreibt. Abschaltbar mit
+ * {@code itzbund.audit.enabled=false}.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(prefix = "itzbund.audit", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class AuditConfig {
+
+    /**
+     * Audit-Log mit Ringpuffer und Schreib-Thread.
+     * @param properties Datei, Puffer und Rollen
+     * @param registry Micrometer Registry
+     * @return Audit-Log
+     */
+    @Bean
+    public AuditLog auditLog(final AuditProperties properties, final MeterRegistry registry) {
+        return new AuditLog(properties, registry);
+    }
+
+    /**
+     * Interceptor, der die Einträge erzeugt. Die HTTP-Anfragen des {@link WarmupRunner} bleiben außen vor.
+     * @param log Audit-Log
+     * @param warmup Aufwärmen beim Start, falls aktiviert
+     * @return Interceptor
+     */
+    @Bean
+    public AuditInterceptor auditInterceptor(final AuditLog log, final ObjectProvider<WarmupRunner> warmup) {
+        WarmupRunner runner = warmup.getIfAvailable();
+        if (runner == null) {
+            return new AuditInterceptor(log, request -> false);
+        }
+        return new AuditInterceptor(log, request -> runner.isWarmupRequest(request.getHeader(WarmupRunner.HEADER)));
+    }
+
+    /**
+     * Registriert den Interceptor als äußersten der API, damit auch von Deadline und Bulkheads abgewiesene
+     * Anfragen samt Wartezeit erfasst werden.
+     * @param interceptor Interceptor
+     * @return MVC-Konfiguration
+     */
+    @Bean
+    public WebMvcConfigurer auditWebMvcConfigurer(final AuditInterceptor interceptor) {
+        return new WebMvcConfigurer() {
+            @Override
+            public void addInterceptors(final InterceptorRegistry registry) {
+                registry.addInterceptor(interceptor).addPathPatterns("/api/**").order(Ordered.HIGHEST_PRECEDENCE);
+            }
+        };
+    }
+}
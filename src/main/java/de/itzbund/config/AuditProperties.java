@@ -0,0 +1,32 @@
+package de.itzbund.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Audit- und Zugriffslog der API ({@code itzbund.audit.*}).
+ *
+ * @param enabled Log schreiben; sonst entfällt auch der Interceptor
+ * @param file Logdatei; gerollte Dateien erhalten die Endung {@code .1} (neueste) bis {@code .<maxHistory>}
+ * @param bufferSize Plätze im Ringpuffer (aufgerundet auf eine Zweierpotenz); bei vollem Puffer wird verworfen
+ * @param batchSize maximale Anzahl Einträge je Schreibvorgang
+ * @param flushInterval Wartezeit des Schreib-Threads, wenn der Puffer keinen vollen Block hergibt
+ * @param maxFileSize Größe, ab der die Logdatei gerollt wird
+ * @param maxHistory Anzahl aufbewahrter gerollter Dateien
+ * @param drainTimeout maximale Dauer, den Puffer beim Herunterfahren zu schreiben
+ */
+@ConfigurationProperties(prefix = "itzbund.audit")
+public record AuditProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("audit/audit.log") Path file,
+        @DefaultValue("8192") int bufferSize,
+        @DefaultValue("512") int batchSize,
+        @DefaultValue("200ms") Duration flushInterval,
+        @DefaultValue("10MB") DataSize maxFileSize,
+        @DefaultValue("5") int maxHistory,
+        @DefaultValue("5s") Duration drainTimeout) {
+}
@@ -0,0 +1,17 @@
+package de.itzbund.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Autocomplete über Titel und Autoren ({@code itzbund.autocomplete.*}).
+ *
+ * @param scanLimit maximale Anzahl Index-Einträge, die eine Anfrage prüft (sehr kurze Präfixe treffen viele)
+ * @param mergeThreshold Änderungen (neue und entfernte Begriffe) im Delta-Index, ab denen er im Hintergrund in den
+ *                       Haupt-Index gemischt wird
+ */
+@ConfigurationProperties(prefix = "itzbund.autocomplete")
+public record AutocompleteProperties(
+        @DefaultValue("2000") int scanLimit,
+        @DefaultValue("5000") int mergeThreshold) {
+}
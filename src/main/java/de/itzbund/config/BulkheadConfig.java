@@ -0,0 +1,61 @@
+package de.itzbund.config;
+
+import de.itzbund.web.Bulkhead;
+import de.itzbund.web.BulkheadInterceptor;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Bulkheads je Lane ({@link BulkheadProperties}) als Interceptor auf {@code /api/**}. Da {@code open-in-view}
+ * aus ist, hält eine Anfrage höchstens eine Verbindung gleichzeitig; das Limit einer Lane begrenzt damit auch ihren
+ * Anteil am Verbindungspool. Abschaltbar mit {@code itzbund.bulkhead.enabled=false}.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(prefix = "itzbund.bulkhead", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class BulkheadConfig {
+
+    /**
+     * Interceptor mit einer {@link Bulkhead} je Lane.
+     * @param properties Lanes und Zuordnung der Operationen
+     * @param registry Micrometer Registry
+     * @return Interceptor
+     */
+    @Bean
+    public BulkheadInterceptor bulkheadInterceptor(final BulkheadProperties properties,
+                                                   final MeterRegistry registry) {
+        Map<String, Bulkhead> byOperation = new HashMap<>();
+        properties.lanes().forEach((name, lane) -> {
+            Bulkhead bulkhead = new Bulkhead(name, lane.maxConcurrent(), lane.maxWait(), registry);
+            for (String operation : lane.operations()) {
+                Bulkhead previous = byOperation.put(operation, bulkhead);
+                if (previous != null) {
+                    throw new IllegalStateException("Operation " + operation + " ist den Lanes " + previous.lane()
+                        + " und " + name + " zugeordnet");
+                }
+            }
+        });
+        return new BulkheadInterceptor(byOperation, properties.retryAfter());
+    }
+
+    /**
+     * Registriert den Interceptor für die API (nicht für Actuator und Dokumentation).
+     * @param interceptor Interceptor
+     * @return MVC-Konfiguration
+     */
+    @Bean
+    public WebMvcConfigurer bulkheadWebMvcConfigurer(final BulkheadInterceptor interceptor) {
+        return new WebMvcConfigurer() {
+            @Override
+            public void addInterceptors(final InterceptorRegistry registry) {
+                registry.addInterceptor(interceptor).addPathPatterns("/api/**");
+            }
+        };
+    }
+}
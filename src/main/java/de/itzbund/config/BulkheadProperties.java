@@ -0,0 +1,37 @@
+package de.itzbund.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Bulkheads je Operationsklasse ({@code itzbund.bulkhead.*}): Jede Lane begrenzt die gleichzeitig laufenden
+ * Anfragen ihrer Operationen, damit z.B. ungefilterte Listen nicht Threads und Verbindungen der Einzelabrufe und
+ * Schreibzugriffe belegen.
+ *
+ * @param enabled Interceptor registrieren
+ * @param lanes Lanes nach Name (z.B. {@code point-read}, {@code search}, {@code write})
+ * @param retryAfter Wert des {@code Retry-After}-Headers bei Abweisung
+ */
+@ConfigurationProperties(prefix = "itzbund.bulkhead")
+public record BulkheadProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue Map<String, Lane> lanes,
+        @DefaultValue("1s") Duration retryAfter) {
+
+    /**
+     * Eine Lane.
+     *
+     * @param maxConcurrent gleichzeitig laufende Anfragen
+     * @param maxWait maximale Wartezeit auf einen freien Platz, danach 503
+     * @param operations operationIds aus der API-Spezifikation, z.B. {@code listBuecher}
+     */
+    public record Lane(
+            @DefaultValue("10") int maxConcurrent,
+            @DefaultValue("0ms") Duration maxWait,
+            @DefaultValue List<String> operations) {
+    }
+}
@@ -0,0 +1,16 @@
+package de.itzbund.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Spaltenorientiertes Lesemodell für Katalog-Kennzahlen ({@code itzbund.columnar.*}).
+ *
+ * @param enabled Lesemodell im Speicher halten; sonst rechnet {@code GET /api/buecher/statistik} in der Datenbank
+ * @param chunkSize Zeilen je parallel bearbeitetem Scan-Abschnitt (kleinere Kataloge werden in einem Zug gelesen)
+ */
+@ConfigurationProperties(prefix = "itzbund.columnar")
+public record ColumnarProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("65536") int chunkSize) {
+}
@@ -0,0 +1,90 @@
+package de.itzbund.config;
+
+import de.itzbund.jdbc.DeadlineDataSource;
+import de.itzbund.web.DeadlineInterceptor;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Deadlines je Anfrage ({@link DeadlineProperties}): ein Interceptor auf {@code /api/**} setzt die Deadline, die
+ * {@link DeadlineDataSource} reicht die Restzeit als Query-Timeout an jedes Statement weiter. Abschaltbar mit
+ * {@code itzbund.deadline.enabled=false}.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(prefix = "itzbund.deadline", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class DeadlineConfig {
+
+    /**
+     * Interceptor mit dem Budget je Operation.
+     * @param properties Header und Budgets
+     * @return Interceptor
+     */
+    @Bean
+    public DeadlineInterceptor deadlineInterceptor(final DeadlineProperties properties) {
+        Map<String, Duration> byOperation = new HashMap<>();
+        properties.budgets().forEach((name, budget) -> {
+            for (String operation : budget.operations()) {
+                if (byOperation.put(operation, budget.timeout()) != null) {
+                    throw new IllegalStateException("Operation " + operation + " hat mehrere Deadline-Budgets");
+                }
+            }
+        });
+        return new DeadlineInterceptor(properties.header(), properties.defaultTimeout(), byOperation);
+    }
+
+    /**
+     * Registriert den Interceptor für die API direkt nach dem Audit-Log und vor den Bulkheads, damit die Wartezeit
+     * auf eine Lane zum Budget zählt.
+     * @param interceptor Interceptor
+     * @return MVC-Konfiguration
+     */
+    @Bean
+    public WebMvcConfigurer deadlineWebMvcConfigurer(final DeadlineInterceptor interceptor) {
+        return new WebMvcConfigurer() {
+            @Override
+            public void addInterceptors(final InterceptorRegistry registry) {
+                registry.addInterceptor(interceptor).addPathPatterns("/api/**")
+                    .order(Ordered.HIGHEST_PRECEDENCE + 1);
+            }
+        };
+    }
+
+    /**
+     * Hüllt DataSource-Beans nach ihrer Initialisierung in die {@link DeadlineDataSource}.
+     * @return BeanPostProcessor
+     */
+    @Bean
+    public static BeanPostProcessor deadlineDataSourcePostProcessor() {
+        return new DeadlineDataSourcePostProcessor();
+    }
+
+    /**
+     * Läuft als {@link Ordered} vor der JDBC-Instrumentierung: Die {@link DeadlineDataSource} liegt damit innen,
+     * die instrumentierte DataSource bleibt die äußere Bean.
+     */
+    private static final class DeadlineDataSourcePostProcessor implements BeanPostProcessor, Ordered {
+
+        @Override
+        public Object postProcessAfterInitialization(final Object bean, final String beanName) {
+            if (bean instanceof DataSource dataSource && !(bean instanceof DeadlineDataSource)) {
+                return new DeadlineDataSource(dataSource);
+            }
+            return bean;
+        }
+
+        @Override
+        public int getOrder() {
+            return Ordered.LOWEST_PRECEDENCE;
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package de.itzbund.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Deadlines je Anfrage ({@code itzbund.deadline.*}): Die Restzeit geht als Query-Timeout an jedes JDBC-Statement,
+ * damit die Datenbank keine Arbeit mehr erledigt, auf die der Client nicht mehr wartet.
+ *
+ * @param enabled Interceptor registrieren und DataSource umhüllen
+ * @param header Request-Header mit dem Zeitbudget des Clients (z.B. {@code 1500}, {@code 1500ms}, {@code 2s});
+ *               gilt nur, wenn es kürzer als das Budget der Operation ist
+ * @param defaultTimeout Budget aller Operationen ohne eigenes Budget
+ * @param budgets Budgets nach Name (z.B. {@code point-read}, {@code bulk})
+ */
+@ConfigurationProperties(prefix = "itzbund.deadline")
+public record DeadlineProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("X-Request-Timeout") String header,
+        @DefaultValue("10s") Duration defaultTimeout,
+        @DefaultValue Map<String, Budget> budgets) {
+
+    /**
+     * Ein Budget.
+     *
+     * @param timeout Zeit von der Annahme der Anfrage bis zum letzten Statement
+     * @param operations operationIds aus der API-Spezifikation, z.B. {@code getBuch}
+     */
+    public record Budget(
+            @DefaultValue("10s") Duration timeout,
+            @DefaultValue List<String> operations) {
+    }
+}
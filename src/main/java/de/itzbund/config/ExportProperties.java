@@ -0,0 +1,20 @@
+package de.itzbund.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.nio.file.Path;
+
+/**
+ * Einstellungen für Katalog-Exporte ({@code itzbund.export.*}).
+ *
+ * @param directory Zielverzeichnis der Snapshot-Dateien
+ * @param threads parallel laufende Export-Jobs
+ * @param retainedJobs Anzahl vorgehaltener Snapshots (ältere Dateien werden gelöscht)
+ */
+@ConfigurationProperties(prefix = "itzbund.export")
+public record ExportProperties(
+        @DefaultValue("export") Path directory,
+        @DefaultValue("1") int threads,
+        @DefaultValue("10") int retainedJobs) {
+}
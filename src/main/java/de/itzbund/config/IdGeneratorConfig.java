@@ -0,0 +1,24 @@
+package de.itzbund.config;
+
+import de.itzbund.entity.BlockSequenceGenerator;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Reicht die Blockgröße der ID-Vergabe an den {@link BlockSequenceGenerator} weiter.
+ */
+@Configuration(proxyBeanMethods = false)
+public class IdGeneratorConfig {
+
+    /**
+     * Setzt {@value BlockSequenceGenerator#BLOCK_SIZE_SETTING} in den Hibernate-Properties.
+     * @param properties Blockgröße
+     * @return Customizer
+     */
+    @Bean
+    public HibernatePropertiesCustomizer idGeneratorCustomizer(final IdGeneratorProperties properties) {
+        return hibernateProperties ->
+            hibernateProperties.put(BlockSequenceGenerator.BLOCK_SIZE_SETTING, properties.blockSize());
+    }
+}
@@ -0,0 +1,14 @@
+package de.itzbund.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * ID-Vergabe ({@code itzbund.id.*}).
+ *
+ * @param blockSize Anzahl IDs, die ein Knoten je Sequenzabruf reserviert; muss dem {@code INCREMENT BY} der
+ *                  Sequenz {@code books_seq} entsprechen
+ */
+@ConfigurationProperties(prefix = "itzbund.id")
+public record IdGeneratorProperties(@DefaultValue("50") int blockSize) {
+}
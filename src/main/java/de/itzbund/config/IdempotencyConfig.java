@@ -0,0 +1,52 @@
+package de.itzbund.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.itzbund.web.IdempotencyFilter;
+import de.itzbund.web.IdempotencyStore;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * {@code Idempotency-Key} für POST-Anfragen: Filter vor dem DispatcherServlet, damit Wiederholungen weder
+ * Controller noch Datenbank erreichen. Abschaltbar mit {@code itzbund.idempotency.enabled=false}.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(prefix = "itzbund.idempotency", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class IdempotencyConfig {
+
+    /** Nach Server-Timing, Query-Diagnose und Read-Routing (deren Header gelten auch für Wiederholungen). */
+    private static final int FILTER_ORDER = Ordered.HIGHEST_PRECEDENCE + 3;
+
+    /**
+     * Speicher der ersten Antworten.
+     * @param properties Größe und TTL
+     * @return Store
+     */
+    @Bean
+    public IdempotencyStore idempotencyStore(final IdempotencyProperties properties) {
+        return new IdempotencyStore(properties.maxEntries(), properties.timeToLive());
+    }
+
+    /**
+     * Filter für Anfragen mit {@code Idempotency-Key}.
+     * @param store Speicher der ersten Antworten
+     * @param properties Wartezeit und Body-Grenze
+     * @param objectMapper für Fehlerantworten
+     * @param registry Micrometer Registry
+     * @return Filter-Registrierung
+     */
+    @Bean
+    public FilterRegistrationBean<IdempotencyFilter> idempotencyFilter(
+            final IdempotencyStore store, final IdempotencyProperties properties,
+            final ObjectMapper objectMapper, final MeterRegistry registry) {
+        FilterRegistrationBean<IdempotencyFilter> registration = new FilterRegistrationBean<>(
+            new IdempotencyFilter(store, properties.waitTimeout(), (int) properties.maxBodySize().toBytes(),
+                objectMapper, registry));
+        registration.setOrder(FILTER_ORDER);
+        return registration;
+    }
+}
@@ -0,0 +1,25 @@
+package de.itzbund.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+/**
+ * Idempotente POST-Anfragen per {@code Idempotency-Key} ({@code itzbund.idempotency.*}).
+ *
+ * @param enabled Filter registrieren
+ * @param maxEntries maximale Anzahl gespeicherter Antworten (älteste werden verdrängt)
+ * @param timeToLive Dauer, für die eine Antwort wiederholt geliefert wird
+ * @param waitTimeout maximale Wartezeit einer Wiederholung auf das noch laufende Original (danach 409)
+ * @param maxBodySize maximale Größe des Request-Bodys (größere Anfragen werden mit 413 abgewiesen)
+ */
+@ConfigurationProperties(prefix = "itzbund.idempotency")
+public record IdempotencyProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("10000") int maxEntries,
+        @DefaultValue("1h") Duration timeToLive,
+        @DefaultValue("10s") Duration waitTimeout,
+        @DefaultValue("64KB") DataSize maxBodySize) {
+}
@@ -0,0 +1,27 @@
+package de.itzbund.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.nio.file.Path;
+
+/**
+ * Einstellungen für asynchrone Massenimporte ({@code itzbund.import.*}).
+ *
+ * @param directory Verzeichnis, aus dem lokale Dateien importiert werden dürfen
+ * @param chunkSize Anzahl Zeilen je Transaktion / Batch-Insert
+ * @param threads parallel laufende Import-Jobs
+ * @param maxErrors maximal gespeicherte Zeilenfehler je Job (weitere werden nur gezählt)
+ * @param retainedJobs Anzahl Jobs, deren Status abrufbar bleibt
+ * @param maxRecordLines maximale Zeilen eines CSV-Datensatzes (quotierte Felder mit Zeilenumbruch); längere
+ *                       Datensätze, z.B. nach einem nicht geschlossenen Anführungszeichen, werden abgelehnt
+ */
+@ConfigurationProperties(prefix = "itzbund.import")
+public record ImportProperties(
+        @DefaultValue("import") Path directory,
+        @DefaultValue("500") int chunkSize,
+        @DefaultValue("2") int threads,
+        @DefaultValue("10000") int maxErrors,
+        @DefaultValue("50") int retainedJobs,
+        @DefaultValue("100") int maxRecordLines) {
+}
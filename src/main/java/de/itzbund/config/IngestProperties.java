@@ -0,0 +1,26 @@
+package de.itzbund.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Asynchrone Buchanlage mit Write-Behind ({@code itzbund.ingest.*}).
+ *
+ * @param queueCapacity maximale Anzahl wartender Bücher; darüber wird mit 503 abgewiesen
+ * @param batchSize maximale Anzahl Bücher je Speicherblock (eine Transaktion)
+ * @param maxDelay maximale Wartezeit auf weitere Bücher, bevor ein nicht voller Block gespeichert wird
+ * @param retainedResults Anzahl Tracking-Einträge, deren Status abrufbar bleibt
+ * @param drainTimeout maximale Dauer, die Warteschlange beim Herunterfahren abzuarbeiten
+ * @param retryAfter Wartezeit im {@code Retry-After}-Header abgewiesener Anfragen
+ */
+@ConfigurationProperties(prefix = "itzbund.ingest")
+public record IngestProperties(
+        @DefaultValue("10000") int queueCapacity,
+        @DefaultValue("500") int batchSize,
+        @DefaultValue("50ms") Duration maxDelay,
+        @DefaultValue("100000") int retainedResults,
+        @DefaultValue("30s") Duration drainTimeout,
+        @DefaultValue("1s") Duration retryAfter) {
+}
@@ -0,0 +1,25 @@
+package de.itzbund.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Bloom-Filter der vergebenen ISBNs ({@code itzbund.isbn-filter.*}).
+ *
+ * @param enabled Filter aufbauen; sonst fragt jede Duplicate-ISBN-Prüfung die Datenbank (bei mehreren Instanzen
+ *                abschalten, der Filter kennt nur die ISBNs der eigenen Instanz)
+ * @param falsePositiveRate angestrebte Fehlerrate (Anteil unbekannter ISBNs, die trotzdem abgefragt werden)
+ * @param minCapacity Mindestkapazität in ISBNs
+ * @param headroom Kapazität als Vielfaches der ISBNs beim Aufbau (Platz für neue Bücher bis zum nächsten Aufbau)
+ * @param rebuildInterval regelmäßiger Neuaufbau, z.B. bei vielen Löschungen ({@code 0s}: aus)
+ */
+@ConfigurationProperties(prefix = "itzbund.isbn-filter")
+public record IsbnFilterProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("0.01") double falsePositiveRate,
+        @DefaultValue("100000") int minCapacity,
+        @DefaultValue("2.0") double headroom,
+        @DefaultValue("0s") Duration rebuildInterval) {
+}
@@ -0,0 +1,24 @@
+package de.itzbund.config;
+
+import org.openapitools.jackson.nullable.JsonNullableModule;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Zusätzliche Jackson-Module für den ObjectMapper der Anwendung. Bewusst getrennt von {@link OpenApiConfig}, die mit
+ * {@code itzbund.startup.lazy-documentation=true} erst beim ersten Docs-Aufruf initialisiert wird.
+ */
+@Configuration(proxyBeanMethods = false)
+public class JacksonConfig {
+
+    /**
+     * Jackson-Modul für {@code JsonNullable}-Felder der generierten DTOs (z.B. {@code BuchPatchRequest}):
+     * unterscheidet fehlende Felder von explizitem {@code null}.
+     *
+     * @return das Jackson-Modul
+     */
+    @Bean
+    public JsonNullableModule jsonNullableModule() {
+        return new JsonNullableModule();
+    }
+}
@@ -0,0 +1,84 @@
+package de.itzbund.config;
+
+import de.itzbund.actuator.SlowQueriesEndpoint;
+import de.itzbund.jdbc.InstrumentedDataSource;
+import de.itzbund.jdbc.QueryRecorder;
+import de.itzbund.jdbc.SlowQueryLog;
+import de.itzbund.web.QueryDiagnosticsFilter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import javax.sql.DataSource;
+
+/**
+ * JDBC-Instrumentierung: jede {@link DataSource} wird in eine {@link InstrumentedDataSource} gehüllt,
+ * Statements werden je Request gezählt und langsame Statements im Slow-Query-Log abgelegt.
+ * Abschaltbar mit {@code itzbund.jdbc.enabled=false}.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(prefix = "itzbund.jdbc", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class JdbcInstrumentationConfig {
+
+    /**
+     * Erfasst die Messwerte aller Statements.
+     * @param properties Schwelle und Größe des Slow-Query-Logs
+     * @param registry Micrometer Registry
+     * @return Recorder
+     */
+    @Bean
+    public QueryRecorder queryRecorder(final JdbcInstrumentationProperties properties, final MeterRegistry registry) {
+        return new QueryRecorder(properties.slowQueryThreshold().toNanos(),
+            new SlowQueryLog(properties.slowQueryLogSize()), registry);
+    }
+
+    /**
+     * Hüllt DataSource-Beans nach ihrer Initialisierung in den messenden Proxy.
+     * @param recorder Recorder (erst beim ersten DataSource-Bean aufgelöst)
+     * @return BeanPostProcessor
+     */
+    @Bean
+    public static BeanPostProcessor instrumentedDataSourcePostProcessor(final ObjectProvider<QueryRecorder> recorder) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(final Object bean, final String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof InstrumentedDataSource)) {
+                    return new InstrumentedDataSource(dataSource, recorder.getObject());
+                }
+                return bean;
+            }
+        };
+    }
+
+    /**
+     * Zählt Statements je Request, veröffentlicht Metriken und setzt optional Diagnose-Header.
+     * @param recorder Recorder
+     * @param registry Micrometer Registry
+     * @param properties Diagnosemodus
+     * @return Filter-Registrierung (möglichst weit außen)
+     */
+    @Bean
+    public FilterRegistrationBean<QueryDiagnosticsFilter> queryDiagnosticsFilter(
+            final QueryRecorder recorder, final MeterRegistry registry,
+            final JdbcInstrumentationProperties properties) {
+        FilterRegistrationBean<QueryDiagnosticsFilter> registration = new FilterRegistrationBean<>(
+            new QueryDiagnosticsFilter(recorder, registry, properties.diagnosticHeaders()));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 1);
+        return registration;
+    }
+
+    /**
+     * Slow-Query-Log als Actuator-Endpunkt.
+     * @param recorder Recorder
+     * @return Endpunkt {@code slowqueries}
+     */
+    @Bean
+    public SlowQueriesEndpoint slowQueriesEndpoint(final QueryRecorder recorder) {
+        return new SlowQueriesEndpoint(recorder);
+    }
+}
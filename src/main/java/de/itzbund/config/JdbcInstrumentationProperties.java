@@ -0,0 +1,22 @@
+package de.itzbund.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Einstellungen der JDBC-Instrumentierung ({@code itzbund.jdbc.*}).
+ *
+ * @param enabled DataSource mit dem messenden Proxy umhüllen
+ * @param slowQueryThreshold Ausführungsdauer, ab der ein Statement im Slow-Query-Log landet
+ * @param slowQueryLogSize Anzahl vorgehaltener Slow-Query-Einträge (älteste werden überschrieben)
+ * @param diagnosticHeaders {@code X-Query-Count}/{@code X-Query-Time} an jede Antwort anhängen
+ */
+@ConfigurationProperties(prefix = "itzbund.jdbc")
+public record JdbcInstrumentationProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("200ms") Duration slowQueryThreshold,
+        @DefaultValue("100") int slowQueryLogSize,
+        @DefaultValue("false") boolean diagnosticHeaders) {
+}
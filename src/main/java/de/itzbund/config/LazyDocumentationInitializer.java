@@ -0,0 +1,71 @@
+package de.itzbund.config;
+
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.context.ApplicationContextInitializer;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.List;
+
+/**
+ * Initialisiert die API-Dokumentation (springdoc, Swagger UI, {@link OpenApiConfig}) erst beim ersten Zugriff,
+ * sofern {@value #PROPERTY} gesetzt ist.
+ *
+ * <p>Der Post-Processor wird am Kontext registriert und nicht als Bean, damit er auch mit
+ * AOT-vorverarbeiteten Bean-Definitionen zur Laufzeit greift. Während der AOT-Verarbeitung selbst bleibt er aus,
+ * sonst würde die Einstellung des Build-Profils in die generierten Bean-Definitionen übernommen.</p>
+ */
+public final class LazyDocumentationInitializer
+        implements ApplicationContextInitializer<ConfigurableApplicationContext> {
+
+    /** Schaltet die verzögerte Initialisierung ein. */
+    public static final String PROPERTY = "itzbund.startup.lazy-documentation";
+
+    /** Von Spring während {@code process-aot} gesetzte System-Property. */
+    private static final String AOT_PROCESSING = "spring.aot.processing";
+
+    /** Paket- bzw. Klassenpräfixe der Dokumentations-Beans. */
+    private static final List<String> PREFIXES = List.of(
+        "org.springdoc.", "io.swagger.", OpenApiConfig.class.getName());
+
+    /** Ausnahmen: SpringDocUIConfiguration ermittelt beim Start die Swagger-UI-Version für die Ressourcenpfade. */
+    private static final List<String> EAGER = List.of(
+        "org.springdoc.core.configuration.SpringDocUIConfiguration");
+
+    @Override
+    public void initialize(final ConfigurableApplicationContext context) {
+        if (context.getEnvironment().getProperty(PROPERTY, Boolean.class, false)
+                && !context.getEnvironment().getProperty(AOT_PROCESSING, Boolean.class, false)) {
+            context.addBeanFactoryPostProcessor(new LazyDocumentationPostProcessor());
+        }
+    }
+
+    /**
+     * Markiert alle Dokumentations-Beans als lazy; auch @Bean-Methoden ihrer Konfigurationsklassen.
+     */
+    static final class LazyDocumentationPostProcessor implements BeanFactoryPostProcessor {
+
+        @Override
+        public void postProcessBeanFactory(final ConfigurableListableBeanFactory beanFactory) {
+            for (String name : beanFactory.getBeanDefinitionNames()) {
+                BeanDefinition definition = beanFactory.getBeanDefinition(name);
+                if (isDocumentation(definition.getBeanClassName())
+                        || isDocumentationFactory(beanFactory, definition.getFactoryBeanName())) {
+                    definition.setLazyInit(true);
+                }
+            }
+        }
+
+        private static boolean isDocumentationFactory(final ConfigurableListableBeanFactory beanFactory,
+                                                      final String factoryBeanName) {
+            return factoryBeanName != null && beanFactory.containsBeanDefinition(factoryBeanName)
+                && isDocumentation(beanFactory.getBeanDefinition(factoryBeanName).getBeanClassName());
+        }
+
+        private static boolean isDocumentation(final String className) {
+            return className != null && PREFIXES.stream().anyMatch(className::startsWith)
+                && EAGER.stream().noneMatch(className::startsWith);
+        }
+    }
+}
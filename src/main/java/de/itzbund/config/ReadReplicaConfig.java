@@ -0,0 +1,79 @@
+package de.itzbund.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import de.itzbund.jdbc.ReadWriteRoutingDataSource;
+import de.itzbund.web.ReadRoutingFilter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+import org.springframework.util.StringUtils;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Read-Replica-Routing: ersetzt die DataSource von Spring Boot durch eine {@link ReadWriteRoutingDataSource}
+ * aus Primär-Pool ({@code spring.datasource.*}) und einem Pool je {@code itzbund.datasource.replicas[n]}.
+ * Aktiv, sobald mindestens ein Replikat konfiguriert ist.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(prefix = "itzbund.datasource.replicas[0]", name = "url")
+public class ReadReplicaConfig {
+
+    /** Präfix der Hikari-Einstellungen, gilt für Primär- und Replikat-Pools. */
+    private static final String HIKARI_PREFIX = "spring.datasource.hikari";
+
+    /**
+     * Routing-DataSource (einzige DataSource-Bean, wird daher auch instrumentiert).
+     * @param properties Primär-Datenbank
+     * @param replicaProperties Replikate
+     * @param environment für die Hikari-Einstellungen
+     * @return DataSource
+     */
+    @Bean
+    public ReadWriteRoutingDataSource dataSource(final DataSourceProperties properties,
+                                                 final ReadReplicaProperties replicaProperties,
+                                                 final Environment environment) {
+        Binder binder = Binder.get(environment);
+        HikariDataSource primary = pool(binder, properties.initializeDataSourceBuilder(), "primary");
+        List<DataSource> replicas = new ArrayList<>();
+        for (ReadReplicaProperties.Replica replica : replicaProperties.replicas()) {
+            replicas.add(pool(binder, properties.initializeDataSourceBuilder()
+                .url(replica.url())
+                .username(StringUtils.hasText(replica.username()) ? replica.username() : properties.getUsername())
+                .password(StringUtils.hasText(replica.password()) ? replica.password() : properties.getPassword()),
+                "replica-" + (replicas.size() + 1)));
+        }
+        return new ReadWriteRoutingDataSource(primary, replicas);
+    }
+
+    /**
+     * Routing-Zustand je Request (read-your-writes per Header).
+     * @param properties Name des Request-Headers
+     * @return Filter-Registrierung
+     */
+    @Bean
+    public FilterRegistrationBean<ReadRoutingFilter> readRoutingFilter(final ReadReplicaProperties properties) {
+        FilterRegistrationBean<ReadRoutingFilter> registration = new FilterRegistrationBean<>(
+            new ReadRoutingFilter(properties.readYourWritesHeader()));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 2);
+        return registration;
+    }
+
+    private static HikariDataSource pool(final Binder binder,
+                                         final DataSourceBuilder<?> builder,
+                                         final String name) {
+        HikariDataSource pool = builder.type(HikariDataSource.class).build();
+        binder.bind(HIKARI_PREFIX, Bindable.ofInstance(pool));
+        pool.setPoolName(name);
+        return pool;
+    }
+}
@@ -0,0 +1,29 @@
+package de.itzbund.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.util.List;
+
+/**
+ * Lese-Replikate ({@code itzbund.datasource.*}). Ohne Replikat bleibt die DataSource von Spring Boot unverändert.
+ *
+ * @param replicas Replikate, reihum für Read-only-Transaktionen genutzt
+ * @param readYourWritesHeader Request-Header, mit dem ein Client alle Lesezugriffe auf die Primär-Datenbank
+ *                             lenkt (z.B. direkt nach einem eigenen Schreibzugriff)
+ */
+@ConfigurationProperties(prefix = "itzbund.datasource")
+public record ReadReplicaProperties(
+        @DefaultValue List<Replica> replicas,
+        @DefaultValue("X-Read-Your-Writes") String readYourWritesHeader) {
+
+    /**
+     * Verbindungsdaten eines Replikats; Treiber und Pool-Einstellungen wie bei {@code spring.datasource}.
+     *
+     * @param url JDBC-URL
+     * @param username Benutzer (leer: wie Primär-Datenbank)
+     * @param password Passwort (leer: wie Primär-Datenbank)
+     */
+    public record Replica(String url, String username, String password) {
+    }
+}
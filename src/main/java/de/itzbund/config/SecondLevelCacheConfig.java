@@ -0,0 +1,81 @@
+package de.itzbund.config;
+
+import de.itzbund.entity.Buch;
+import org.ehcache.config.builders.CacheConfigurationBuilder;
+import org.ehcache.config.builders.ConfigurationBuilder;
+import org.ehcache.config.builders.ExpiryPolicyBuilder;
+import org.ehcache.config.builders.ResourcePoolsBuilder;
+import org.ehcache.jsr107.Eh107Configuration;
+import org.ehcache.jsr107.EhcacheCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.spi.RegionFactory;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.time.Duration;
+import java.util.UUID;
+
+/**
+ * JCache-(Ehcache-)Regionen für den Hibernate Second-Level- und Query-Cache.
+ *
+ * <p>Die Regionen werden programmatisch aus {@link SecondLevelCacheProperties} angelegt; Hibernate ist mit
+ * {@code missing_cache_strategy=fail} konfiguriert, damit eine falsch benannte Region auffällt. Jeder
+ * Anwendungskontext erhält einen eigenen CacheManager (eindeutige URI), so teilen sich Testkontexte keine
+ * Einträge.</p>
+ */
+@Configuration(proxyBeanMethods = false)
+public class SecondLevelCacheConfig {
+
+    /** Region der Query-Ergebnisse. */
+    public static final String QUERY_RESULTS_REGION = RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME;
+
+    /** Region der letzten Änderungszeitpunkte je Tabelle (Invalidierung des Query-Caches). */
+    public static final String UPDATE_TIMESTAMPS_REGION =
+        RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME;
+
+    /**
+     * CacheManager mit den Regionen für {@link Buch}, Query-Ergebnisse und Update-Timestamps.
+     * Die Timestamps-Region verfällt nie, sonst könnten veraltete Query-Ergebnisse als gültig gelten.
+     *
+     * @param properties Regionsgrößen und Verweildauer
+     * @return JCache CacheManager (wird beim Herunterfahren geschlossen)
+     */
+    @Bean
+    public CacheManager hibernateCacheManager(final SecondLevelCacheProperties properties) {
+        EhcacheCachingProvider provider =
+            (EhcacheCachingProvider) Caching.getCachingProvider(EhcacheCachingProvider.class.getName());
+        CacheManager cacheManager = provider.getCacheManager(URI.create("urn:itzbund:hibernate:" + UUID.randomUUID()),
+            ConfigurationBuilder.newConfigurationBuilder().withClassLoader(getClass().getClassLoader()).build());
+        cacheManager.createCache(Buch.class.getName(),
+            region(properties.entityMaxEntries(), properties.entityTimeToLive()));
+        cacheManager.createCache(QUERY_RESULTS_REGION,
+            region(properties.queryMaxEntries(), properties.queryTimeToLive()));
+        cacheManager.createCache(UPDATE_TIMESTAMPS_REGION, region(properties.timestampsMaxEntries(), null));
+        return cacheManager;
+    }
+
+    /**
+     * Übergibt den CacheManager an Hibernate, statt ihn über eine Provider-URI neu zu erzeugen.
+     *
+     * @param hibernateCacheManager CacheManager mit den vorkonfigurierten Regionen
+     * @return Customizer für die Hibernate-Properties
+     */
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer(final CacheManager hibernateCacheManager) {
+        return hibernateProperties -> hibernateProperties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+    }
+
+    private static javax.cache.configuration.Configuration<Object, Object> region(final long maxEntries,
+                                                                                 final Duration timeToLive) {
+        return Eh107Configuration.fromEhcacheCacheConfiguration(
+            CacheConfigurationBuilder.newCacheConfigurationBuilder(Object.class, Object.class,
+                    ResourcePoolsBuilder.heap(maxEntries))
+                .withExpiry(timeToLive == null
+                    ? ExpiryPolicyBuilder.noExpiration()
+                    : ExpiryPolicyBuilder.timeToLiveExpiration(timeToLive)));
+    }
+}
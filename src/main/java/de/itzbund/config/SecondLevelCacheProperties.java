@@ -0,0 +1,24 @@
+package de.itzbund.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Größen und Verweildauer der Hibernate-Cache-Regionen ({@code itzbund.cache.*}).
+ *
+ * @param entityMaxEntries maximale Anzahl Bücher in der Entity-Region (Heap, LRU-Verdrängung)
+ * @param entityTimeToLive Verweildauer eines Buchs in der Entity-Region
+ * @param queryMaxEntries maximale Anzahl zwischengespeicherter Suchergebnisse
+ * @param queryTimeToLive Verweildauer eines Suchergebnisses
+ * @param timestampsMaxEntries Größe der Update-Timestamps-Region (ein Eintrag je Tabelle, verfällt nie)
+ */
+@ConfigurationProperties(prefix = "itzbund.cache")
+public record SecondLevelCacheProperties(
+        @DefaultValue("10000") long entityMaxEntries,
+        @DefaultValue("30m") Duration entityTimeToLive,
+        @DefaultValue("1000") long queryMaxEntries,
+        @DefaultValue("10m") Duration queryTimeToLive,
+        @DefaultValue("100") long timestampsMaxEntries) {
+}
@@ -0,0 +1,46 @@
+package de.itzbund.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.itzbund.web.ServerTimingFilter;
+import de.itzbund.web.TimedJackson2HttpMessageConverter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * {@code Server-Timing}-Header: äußerster Filter für {@code total} und Jackson-Converter für {@code serialize}.
+ * Die Phase {@code db} liefert die JDBC-Instrumentierung, {@code map} der {@code BuchMapper}.
+ * Bei {@code itzbund.server-timing.mode=off} wird nichts registriert.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnExpression("!'${itzbund.server-timing.mode:always}'.equalsIgnoreCase('off')")
+public class ServerTimingConfig {
+
+    /**
+     * Filter vor allen anderen, damit {@code total} den ganzen Request umfasst.
+     * @param properties Betriebsart und Request-Header
+     * @return Filter-Registrierung
+     */
+    @Bean
+    public FilterRegistrationBean<ServerTimingFilter> serverTimingFilter(final ServerTimingProperties properties) {
+        FilterRegistrationBean<ServerTimingFilter> registration = new FilterRegistrationBean<>(
+            new ServerTimingFilter(properties.mode(), properties.requestHeader()));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+
+    /**
+     * Ersetzt den Jackson-Converter von Spring Boot (gleicher ObjectMapper).
+     * @param objectMapper ObjectMapper der Anwendung
+     * @param properties Puffergrenze
+     * @return Converter
+     */
+    @Bean
+    public TimedJackson2HttpMessageConverter timedJackson2HttpMessageConverter(
+            final ObjectMapper objectMapper, final ServerTimingProperties properties) {
+        return new TimedJackson2HttpMessageConverter(objectMapper,
+            (int) properties.serializeBufferLimit().toBytes());
+    }
+}
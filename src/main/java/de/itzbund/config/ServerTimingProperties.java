@@ -0,0 +1,32 @@
+package de.itzbund.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Einstellungen für den {@code Server-Timing}-Header ({@code itzbund.server-timing.*}).
+ *
+ * @param mode {@code always}, {@code on-request} oder {@code off}
+ * @param requestHeader Request-Header zum Umschalten je Request: bei {@code on-request} schaltet jeder Wert außer
+ *                      {@code off} die Messung ein, bei {@code always} schaltet {@code off} sie aus
+ * @param serializeBufferLimit bis zu dieser Größe wird JSON gepuffert, damit die Serialisierungszeit im Header steht;
+ *                             größere Antworten werden ab dieser Grenze gestreamt (Serialisierungszeit anteilig);
+ *                             je Thread bleiben höchstens 64 KB Puffer erhalten
+ */
+@ConfigurationProperties(prefix = "itzbund.server-timing")
+public record ServerTimingProperties(
+        @DefaultValue("always") Mode mode,
+        @DefaultValue("X-Server-Timing") String requestHeader,
+        @DefaultValue("1MB") DataSize serializeBufferLimit) {
+
+    /** Betriebsart. */
+    public enum Mode {
+        /** Header an jeder Antwort (abschaltbar je Request). */
+        ALWAYS,
+        /** Header nur auf Anforderung per Request-Header. */
+        ON_REQUEST,
+        /** Keine Messung, Filter und Converter sind nicht registriert. */
+        OFF
+    }
+}
@@ -0,0 +1,23 @@
+package de.itzbund.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Aufwärmen der heißen Pfade beim Start, bevor die Readiness auf {@code ACCEPTING_TRAFFIC} wechselt
+ * ({@code itzbund.warmup.*}).
+ *
+ * @param enabled beim Start aufwärmen
+ * @param iterations Durchläufe je Phase (im Prozess und per HTTP); endet früher, wenn das Zeitbudget verbraucht ist
+ * @param timeBudget Zeitbudget insgesamt, je zur Hälfte für beide Phasen
+ * @param scratchBooks Bücher im Scratch-Datensatz (werden per Rollback wieder verworfen)
+ */
+@ConfigurationProperties(prefix = "itzbund.warmup")
+public record WarmupProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("300") int iterations,
+        @DefaultValue("20s") Duration timeBudget,
+        @DefaultValue("20") int scratchBooks) {
+}
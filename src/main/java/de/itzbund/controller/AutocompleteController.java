@@ -0,0 +1,32 @@
+package de.itzbund.controller;
+
+import de.itzbund.api.generated.api.AutocompleteApi;
+import de.itzbund.api.generated.dto.BuchSuggestion;
+import de.itzbund.service.suggest.AutocompleteService;
+import de.itzbund.service.suggest.Suggestion;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+public class AutocompleteController implements AutocompleteApi {
+
+    private final AutocompleteService service;
+
+    public AutocompleteController(final AutocompleteService service) {
+        this.service = service;
+    }
+
+    @Override
+    public ResponseEntity<List<BuchSuggestion>> suggestBuecher(final String q, final Integer limit) {
+        return ResponseEntity.ok(service.suggest(q, limit).stream().map(AutocompleteController::toDto).toList());
+    }
+
+    private static BuchSuggestion toDto(final Suggestion suggestion) {
+        return new BuchSuggestion()
+            .text(suggestion.text())
+            .field(BuchSuggestion.FieldEnum.valueOf(suggestion.field().name()))
+            .books(suggestion.books());
+    }
+}
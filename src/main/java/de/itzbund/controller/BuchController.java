@@ -1,35 +1,48 @@
 package de.itzbund.controller;
 import jakarta.validation.Valid;
 import de.itzbund.mapper.BuchMapper;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import de.itzbund.audit.AuditContext;
 import de.itzbund.entity.Buch;
+import de.itzbund.error.InvalidBulkRequestException;
+import de.itzbund.repository.BuchSpecifications;
 import de.itzbund.service.BuchService;
+import de.itzbund.api.generated.dto.BuchBatchResponse;
+import de.itzbund.api.generated.dto.BuchBulkResult;
+import de.itzbund.api.generated.dto.BuchBulkUpdateRequest;
+import de.itzbund.api.generated.dto.BuchFilter;
 import de.itzbund.api.generated.dto.BuchCreateRequest;
 import de.itzbund.api.generated.dto.BuchUpdateRequest;
+import de.itzbund.api.generated.dto.BuchPatchRequest;
 import de.itzbund.api.generated.dto.BuchResponse;
 import de.itzbund.api.generated.api.BuecherApi;
 
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
+import java.math.BigDecimal;
 import java.net.URI;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
 
 @RestController
 public class BuchController implements BuecherApi {
 
     private final BuchService service;
-    private static final Logger LOGGER = LoggerFactory.getLogger(BuchController.class);
 
     public BuchController(final BuchService service) {
         this.service = service;
     }
 
     @Override
-    public ResponseEntity<BuchResponse> createBuch(@Valid final BuchCreateRequest buchCreateRequest) {
+    public ResponseEntity<BuchResponse> createBuch(final BuchCreateRequest buchCreateRequest,
+                                                   final String idempotencyKey) {
+        // Idempotency-Key wertet der IdempotencyFilter aus, Wiederholungen erreichen den Controller nicht;
+        // @Valid steht am Interface (Hibernate Validator verbietet neu deklarierte Constraints in Overrides)
         Buch saved = service.save(BuchMapper.toEntity(buchCreateRequest));
-        LOGGER.info("Buch erstellt id={}", saved.getId());
+        AuditContext.subject(saved.getId(), saved.getVersion());
         return ResponseEntity.created(URI.create("/api/buecher/" + saved.getId()))
             .body(BuchMapper.toResponse(saved));
     }
@@ -41,6 +54,21 @@ public class BuchController implements BuecherApi {
             .orElse(ResponseEntity.notFound().build());
     }
 
+    @Override
+    public ResponseEntity<BuchBatchResponse> getBuecherBatch(final List<Long> ids) {
+        Map<Long, Buch> found = service.findAllByIds(ids);
+        BuchBatchResponse response = new BuchBatchResponse();
+        for (Long id : new LinkedHashSet<>(ids)) {
+            Buch buch = found.get(id);
+            if (buch != null) {
+                response.addItemsItem(BuchMapper.toResponse(buch));
+            } else {
+                response.addMissingIdsItem(id);
+            }
+        }
+        return ResponseEntity.ok(response);
+    }
+
     @Override
     public ResponseEntity<List<BuchResponse>> listBuecher(final String author, final String title) {
         List<Buch> books;
@@ -53,10 +81,33 @@ public class BuchController implements BuecherApi {
         } else {
             books = service.findAll();
         }
-        List<BuchResponse> response = books.stream()
-            .map(BuchMapper::toResponse)
-            .collect(Collectors.toList());
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok(BuchMapper.toResponseList(books));
+    }
+
+    @Override
+    public ResponseEntity<List<BuchResponse>> searchBuecher(final String author,
+                                                            final BigDecimal minPrice, final BigDecimal maxPrice,
+                                                            final Integer minPages, final Integer maxPages,
+                                                            final String isbnPrefix, final List<String> sort,
+                                                            final Integer limit) {
+        List<Buch> books = service.search(
+            BuchSpecifications.filter(author, minPrice, maxPrice, minPages, maxPages, isbnPrefix),
+            toSort(sort),
+            limit);
+        return ResponseEntity.ok(BuchMapper.toResponseList(books));
+    }
+
+    private static Sort toSort(final List<String> fields) {
+        if (fields == null || fields.isEmpty()) {
+            return Sort.by("id");
+        }
+        List<Sort.Order> orders = new ArrayList<>(fields.size());
+        for (String field : fields) {
+            orders.add(field.startsWith("-") ? Sort.Order.desc(field.substring(1)) : Sort.Order.asc(field));
+        }
+        Sort sort = Sort.by(orders);
+        // id als letzter Schlüssel macht die Reihenfolge bei gleichen Werten stabil
+        return sort.getOrderFor("id") == null ? sort.and(Sort.by("id")) : sort;
     }
 
     @Override
@@ -70,6 +121,21 @@ public class BuchController implements BuecherApi {
         if (updated == null) {
             return ResponseEntity.notFound().build();
         }
+        AuditContext.subject(updated.getId(), updated.getVersion());
+        return ResponseEntity.ok(BuchMapper.toResponse(updated));
+    }
+
+    @Override
+    public ResponseEntity<BuchResponse> patchBuch(final Long id, final BuchPatchRequest buchPatchRequest) {
+        Buch updated = service.updateWithVersionCheck(
+            id,
+            buchPatchRequest.getVersion(),
+            entity -> BuchMapper.applyPatch(entity, buchPatchRequest)
+        );
+        if (updated == null) {
+            return ResponseEntity.notFound().build();
+        }
+        AuditContext.subject(updated.getId(), updated.getVersion());
         return ResponseEntity.ok(BuchMapper.toResponse(updated));
     }
 
@@ -77,9 +143,38 @@ public class BuchController implements BuecherApi {
     public ResponseEntity<Void> deleteBuch(final Long id) {
         if (service.existsById(id)) {
             service.deleteById(id);
-            LOGGER.info("Buch gelöscht id={}", id);
             return ResponseEntity.noContent().build();
         }
         return ResponseEntity.notFound().build();
     }
+
+    @Override
+    public ResponseEntity<BuchBulkResult> bulkUpdateBuecher(final BuchBulkUpdateRequest request) {
+        BigDecimal percent = request.getPriceChangePercent();
+        if (percent == null && request.getAuthor() == null) {
+            throw new InvalidBulkRequestException("Keine Änderung angegeben (priceChangePercent oder author)");
+        }
+        BigDecimal factor = percent == null ? null : BigDecimal.ONE.add(percent.movePointLeft(2));
+        long affected = service.updateMatching(toSpecification(request.getFilter()), factor, request.getAuthor());
+        AuditContext.affected(affected);
+        return ResponseEntity.ok(new BuchBulkResult(affected));
+    }
+
+    @Override
+    public ResponseEntity<BuchBulkResult> bulkDeleteBuecher(final BuchFilter buchFilter) {
+        long affected = service.deleteMatching(toSpecification(buchFilter));
+        AuditContext.affected(affected);
+        return ResponseEntity.ok(new BuchBulkResult(affected));
+    }
+
+    /** Filter einer Mengenoperation; ohne jede Einschränkung wäre der ganze Bestand betroffen. */
+    private static Specification<Buch> toSpecification(final BuchFilter filter) {
+        if (filter == null || filter.getAuthor() == null && filter.getMinPrice() == null
+            && filter.getMaxPrice() == null && filter.getMinPages() == null && filter.getMaxPages() == null
+            && filter.getIsbnPrefix() == null) {
+            throw new InvalidBulkRequestException("Mengenoperation ohne Filter ist nicht erlaubt");
+        }
+        return BuchSpecifications.filter(filter.getAuthor(), filter.getMinPrice(), filter.getMaxPrice(),
+            filter.getMinPages(), filter.getMaxPages(), filter.getIsbnPrefix());
+    }
 }
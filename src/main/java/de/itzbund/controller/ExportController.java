@@ -0,0 +1,108 @@
+package de.itzbund.controller;
+
+import de.itzbund.api.generated.api.ExporteApi;
+import de.itzbund.api.generated.dto.ExportJobResponse;
+import de.itzbund.api.generated.dto.ExportRequest;
+import de.itzbund.mapper.JobMapper;
+import de.itzbund.service.job.CatalogFormat;
+import de.itzbund.service.job.ExportJob;
+import de.itzbund.service.job.ExportService;
+import de.itzbund.service.job.JobStatus;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.net.URI;
+import java.nio.file.Path;
+import java.util.UUID;
+
+@RestController
+public class ExportController implements ExporteApi {
+
+    /** Von Tomcat gesetzt, wenn der Connector sendfile (Zero-Copy) unterstützt. */
+    static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    private final ExportService service;
+
+    public ExportController(final ExportService service) {
+        this.service = service;
+    }
+
+    @Override
+    public ResponseEntity<ExportJobResponse> startExport(final ExportRequest exportRequest) {
+        ExportRequest request = exportRequest != null ? exportRequest : new ExportRequest();
+        ExportJob job = service.start(CatalogFormat.valueOf(request.getFormat().name()),
+            Boolean.TRUE.equals(request.getGzip()));
+        return ResponseEntity.accepted()
+            .location(URI.create("/api/exporte/" + job.getId()))
+            .body(JobMapper.toResponse(job));
+    }
+
+    @Override
+    public ResponseEntity<ExportJobResponse> getExport(final UUID jobId) {
+        return service.find(jobId)
+            .map(job -> ResponseEntity.ok(JobMapper.toResponse(job)))
+            .orElse(ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Liefert den Snapshot. Vollständige Downloads gehen per Tomcat-sendfile direkt vom Dateisystem auf den Socket
+     * (FileChannel.transferTo, keine Kopie durch den Heap); Range-Anfragen und Container ohne sendfile werden von
+     * Spring über die {@link Resource} bedient (206 Partial Content, ETag/Last-Modified).
+     */
+    @Override
+    public ResponseEntity<Resource> downloadExport(final UUID jobId) {
+        ExportJob job = service.find(jobId).orElse(null);
+        if (job == null) {
+            return ResponseEntity.notFound().build();
+        }
+        if (job.getStatus() != JobStatus.COMPLETED) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+        Path file = job.getFile();
+        String etag = "\"" + job.getId() + "\"";
+        long lastModified = job.getFinishedAt().toEpochMilli();
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(contentType(job));
+        headers.setContentDisposition(ContentDisposition.attachment().filename(file.getFileName().toString()).build());
+        headers.setETag(etag);
+        headers.setLastModified(lastModified);
+        headers.set(HttpHeaders.ACCEPT_RANGES, "bytes");
+
+        ServletRequestAttributes attributes =
+            (ServletRequestAttributes) RequestContextHolder.currentRequestAttributes();
+        HttpServletRequest request = attributes.getRequest();
+        boolean sendfile = Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT));
+        if (sendfile && request.getHeader(HttpHeaders.RANGE) == null) {
+            if (new ServletWebRequest(request, attributes.getResponse()).checkNotModified(etag, lastModified)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+            }
+            request.setAttribute(SENDFILE_FILENAME, file.toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START, 0L);
+            request.setAttribute(SENDFILE_END, job.getSizeBytes());
+            return ResponseEntity.ok().headers(headers).contentLength(job.getSizeBytes()).build();
+        }
+        return ResponseEntity.ok().headers(headers).body(new FileSystemResource(file));
+    }
+
+    private static MediaType contentType(final ExportJob job) {
+        if (job.isGzip()) {
+            return MediaType.parseMediaType("application/gzip");
+        }
+        return job.getFormat() == CatalogFormat.CSV
+            ? MediaType.parseMediaType("text/csv;charset=UTF-8")
+            : MediaType.parseMediaType("application/x-ndjson;charset=UTF-8");
+    }
+}
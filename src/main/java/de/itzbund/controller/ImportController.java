@@ -0,0 +1,65 @@
+package de.itzbund.controller;
+
+import de.itzbund.api.generated.api.ImporteApi;
+import de.itzbund.api.generated.dto.ImportFehler;
+import de.itzbund.api.generated.dto.ImportJobResponse;
+import de.itzbund.error.InvalidImportSourceException;
+import de.itzbund.mapper.JobMapper;
+import de.itzbund.service.job.CatalogFormat;
+import de.itzbund.service.job.ImportJob;
+import de.itzbund.service.job.ImportService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.UUID;
+
+@RestController
+public class ImportController implements ImporteApi {
+
+    private final ImportService service;
+
+    public ImportController(final ImportService service) {
+        this.service = service;
+    }
+
+    @Override
+    public ResponseEntity<ImportJobResponse> startImport(final MultipartFile file, final String path,
+                                                         final String format) throws IOException {
+        ImportJob job;
+        if (file != null && !file.isEmpty()) {
+            CatalogFormat resolved = CatalogFormat.resolve(format, file.getOriginalFilename());
+            String suffix = file.getOriginalFilename() != null && file.getOriginalFilename().endsWith(".gz")
+                ? ".gz" : ".tmp";
+            Path upload = Files.createTempFile("buch-import-", suffix);
+            file.transferTo(upload);
+            job = service.start(upload, resolved, file.getOriginalFilename(), true);
+        } else if (path != null && !path.isBlank()) {
+            job = service.start(service.resolveLocal(path), CatalogFormat.resolve(format, path), path, false);
+        } else {
+            throw new InvalidImportSourceException("Datei (file) oder Pfad (path) erforderlich");
+        }
+        return ResponseEntity.accepted()
+            .location(URI.create("/api/importe/" + job.getId()))
+            .body(JobMapper.toResponse(job));
+    }
+
+    @Override
+    public ResponseEntity<ImportJobResponse> getImport(final UUID jobId) {
+        return service.find(jobId)
+            .map(job -> ResponseEntity.ok(JobMapper.toResponse(job)))
+            .orElse(ResponseEntity.notFound().build());
+    }
+
+    @Override
+    public ResponseEntity<List<ImportFehler>> getImportFehler(final UUID jobId) {
+        return service.find(jobId)
+            .map(job -> ResponseEntity.ok(job.getErrors().stream().map(JobMapper::toResponse).toList()))
+            .orElse(ResponseEntity.notFound().build());
+    }
+}
@@ -0,0 +1,42 @@
+package de.itzbund.controller;
+
+import de.itzbund.api.generated.api.IngestApi;
+import de.itzbund.api.generated.dto.BuchCreateRequest;
+import de.itzbund.api.generated.dto.IngestResponse;
+import de.itzbund.mapper.BuchMapper;
+import de.itzbund.mapper.JobMapper;
+import de.itzbund.service.job.IngestItem;
+import de.itzbund.service.job.IngestService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.net.URI;
+import java.util.UUID;
+
+@RestController
+public class IngestController implements IngestApi {
+
+    private final IngestService service;
+
+    public IngestController(final IngestService service) {
+        this.service = service;
+    }
+
+    @Override
+    public ResponseEntity<IngestResponse> createBuchAsync(final BuchCreateRequest buchCreateRequest,
+                                                          final String idempotencyKey) {
+        // Idempotency-Key wertet der IdempotencyFilter aus, Wiederholungen erreichen den Controller nicht;
+        // @Valid steht am Interface (Hibernate Validator verbietet neu deklarierte Constraints in Overrides)
+        IngestItem item = service.submit(BuchMapper.toEntity(buchCreateRequest));
+        return ResponseEntity.accepted()
+            .location(URI.create("/api/buecher/async/" + item.getId()))
+            .body(JobMapper.toResponse(item));
+    }
+
+    @Override
+    public ResponseEntity<IngestResponse> getBuchAsync(final UUID trackingId) {
+        return service.find(trackingId)
+            .map(item -> ResponseEntity.ok(JobMapper.toResponse(item)))
+            .orElse(ResponseEntity.notFound().build());
+    }
+}
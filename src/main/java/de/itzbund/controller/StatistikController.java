@@ -0,0 +1,50 @@
+package de.itzbund.controller;
+
+import de.itzbund.api.generated.api.StatistikApi;
+import de.itzbund.api.generated.dto.BuchStatistik;
+import de.itzbund.service.columnar.CatalogFilter;
+import de.itzbund.service.columnar.CatalogStatistics;
+import de.itzbund.service.columnar.CatalogStatisticsService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.math.BigDecimal;
+
+@RestController
+public class StatistikController implements StatistikApi {
+
+    private final CatalogStatisticsService service;
+
+    public StatistikController(final CatalogStatisticsService service) {
+        this.service = service;
+    }
+
+    @Override
+    public ResponseEntity<BuchStatistik> getBuchStatistik(final String author,
+                                                          final BigDecimal minPrice, final BigDecimal maxPrice,
+                                                          final Integer minPages, final Integer maxPages) {
+        CatalogStatistics statistics = service.statistics(
+            new CatalogFilter(author, minPrice, maxPrice, minPages, maxPages));
+        return ResponseEntity.ok(toDto(statistics,
+            service.isColumnar() ? BuchStatistik.SourceEnum.COLUMNAR : BuchStatistik.SourceEnum.DATABASE));
+    }
+
+    private static BuchStatistik toDto(final CatalogStatistics statistics, final BuchStatistik.SourceEnum source) {
+        BuchStatistik dto = new BuchStatistik()
+            .count(statistics.count())
+            .priceSum(CatalogStatistics.euros(statistics.priceSum()))
+            .pagesSum(statistics.pagesSum())
+            .source(source);
+        if (statistics.priced() > 0) {
+            dto.priceMin(CatalogStatistics.euros(statistics.priceMin()))
+                .priceMax(CatalogStatistics.euros(statistics.priceMax()))
+                .priceAverage(statistics.priceAverage());
+        }
+        if (statistics.paged() > 0) {
+            dto.pagesMin(statistics.pagesMin())
+                .pagesMax(statistics.pagesMax())
+                .pagesAverage(statistics.pagesAverage());
+        }
+        return dto;
+    }
+}
@@ -0,0 +1,23 @@
+package de.itzbund.entity;
+
+import org.hibernate.annotations.IdGeneratorType;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * ID aus einer Datenbanksequenz, blockweise reserviert ({@link BlockSequenceGenerator}).
+ */
+@IdGeneratorType(BlockSequenceGenerator.class)
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.FIELD, ElementType.METHOD})
+public @interface BlockSequence {
+
+    /**
+     * Name der Datenbanksequenz.
+     * @return Sequenzname
+     */
+    String value();
+}
@@ -3,19 +3,31 @@ package de.itzbund.entity;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.DynamicUpdate;
 import java.math.BigDecimal;
 
 @Entity
-@Table(name = "books")
+@Table(name = "books",
+    uniqueConstraints = @UniqueConstraint(name = "uk_books_isbn", columnNames = "isbn"),
+    indexes = {
+        // Filtersuche (BuchSpecifications), identisch mit V3__books_search_indexes.sql
+        @Index(name = "idx_books_author_price", columnList = "author, price"),
+        @Index(name = "idx_books_pages", columnList = "pages")
+    })
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+@DynamicUpdate
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder(toBuilder = true)
 public class Buch {
 
-    /** Die eindeutige Kennung für das Buch. */
+    /** Die eindeutige Kennung für das Buch (blockweise aus der Sequenz {@code books_seq}). */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @BlockSequence("books_seq")
     private Long id;
 
     /** Der Titel des Buches. */
@@ -31,7 +43,7 @@ public class Buch {
     /** Die ISBN-Nummer des Buches. */
     @Size(max = 13)
     @Pattern(regexp = "[0-9Xx-]{10,17}", message = "ISBN muss 10–13 Stellen haben (Bindestriche erlaubt)")
-    @Column(unique = true, length = 17)
+    @Column(length = 17)
     private String isbn;
 
     /** Die Anzahl der Seiten im Buch. */
@@ -0,0 +1,19 @@
+package de.itzbund.error;
+
+import java.time.Duration;
+
+/**
+ * Anfrage abgewiesen, weil ihre Lane voll ist und innerhalb der Wartezeit kein Platz frei wurde (503 mit
+ * Retry-After).
+ */
+public class BulkheadRejectedException extends OverloadException {
+
+    /**
+     * Konstruktor.
+     * @param message Meldung für den Client
+     * @param retryAfter empfohlene Wartezeit
+     */
+    public BulkheadRejectedException(final String message, final Duration retryAfter) {
+        super(message, retryAfter);
+    }
+}
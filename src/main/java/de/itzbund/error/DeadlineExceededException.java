@@ -0,0 +1,10 @@
+package de.itzbund.error;
+
+/**
+ * Zeitbudget der Anfrage aufgebraucht, bevor sie verarbeitet wurde (504).
+ */
+public class DeadlineExceededException extends DomainException {
+    public DeadlineExceededException(final String message) {
+        super(message);
+    }
+}
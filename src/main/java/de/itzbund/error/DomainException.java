@@ -0,0 +1,21 @@
+package de.itzbund.error;
+
+/**
+ * Basis für fachliche Fehler, die als 4xx-Antwort enden (Konflikte, ungültige Eingaben), sowie für
+ * Lastabwehr mit 503 ({@link OverloadException}) und abgelaufene Zeitbudgets mit 504
+ * ({@link DeadlineExceededException}).
+ *
+ * <p>Stacktrace und Suppression sind abgeschaltet: Die Exceptions steuern nur die Antwort und werden nicht
+ * geloggt, und bei Konfliktwellen (Re-Importe, Retries mit veralteter Version) dominiert sonst
+ * {@code fillInStackTrace} die Kosten; ebenso bei abgewiesenen Lastspitzen.</p>
+ */
+public abstract class DomainException extends RuntimeException {
+
+    /**
+     * Erzeugt die Exception ohne Stacktrace.
+     * @param message Meldung für den Client
+     */
+    protected DomainException(final String message) {
+        super(message, null, false, false);
+    }
+}
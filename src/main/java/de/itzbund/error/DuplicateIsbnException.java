@@ -1,7 +1,26 @@
 package de.itzbund.error;
 
-public class DuplicateIsbnException extends RuntimeException {
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.util.Locale;
+
+public class DuplicateIsbnException extends DomainException {
+
+    /** Unique-Constraint auf {@code books.isbn}. */
+    public static final String CONSTRAINT = "uk_books_isbn";
+
     public DuplicateIsbnException(final String isbn) {
         super("ISBN bereits vergeben: " + isbn);
     }
+
+    /**
+     * Ob eine Integritätsverletzung von {@link #CONSTRAINT} stammt, also eine doppelte ISBN an der Prüfung im
+     * Service vorbei in die Datenbank kam (parallele Anlage, andere Instanz).
+     * @param ex Integritätsverletzung
+     * @return {@code true} bei doppelter ISBN
+     */
+    public static boolean isCausedBy(final DataIntegrityViolationException ex) {
+        String message = ex.getMostSpecificCause().getMessage();
+        return message != null && message.toLowerCase(Locale.ROOT).contains(CONSTRAINT);
+    }
 }
@@ -0,0 +1,63 @@
+package de.itzbund.error;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import org.springframework.http.HttpStatus;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Einheitlicher Fehler-Body aller Fehlerantworten ({@code timestamp}, {@code status}, {@code error},
+ * {@code message}, optional {@code fields}).
+ *
+ * @param timestamp Zeitpunkt (ISO-8601, Millisekunden)
+ * @param status HTTP-Status
+ * @param error Statustext
+ * @param message Fehlermeldung
+ * @param fields Feldfehler bei Validierungsfehlern, sonst nicht enthalten
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record ErrorResponse(String timestamp, int status, String error, String message, List<String> fields) {
+
+    /** Zuletzt formatierter Zeitstempel; wird nur neu formatiert, wenn sich die Millisekunde ändert. */
+    private static volatile Timestamp lastTimestamp = new Timestamp(Long.MIN_VALUE, "");
+
+    /**
+     * Fehler-Body ohne Feldfehler.
+     * @param status HTTP-Status
+     * @param message Fehlermeldung
+     * @return Fehler-Body
+     */
+    public static ErrorResponse of(final HttpStatus status, final String message) {
+        return of(status, message, null);
+    }
+
+    /**
+     * Fehler-Body mit Feldfehlern.
+     * @param status HTTP-Status
+     * @param message Fehlermeldung
+     * @param fields Feldfehler ({@code feld:meldung})
+     * @return Fehler-Body
+     */
+    public static ErrorResponse of(final HttpStatus status, final String message, final List<String> fields) {
+        return new ErrorResponse(currentTimestamp(), status.value(), status.getReasonPhrase(), message, fields);
+    }
+
+    private static String currentTimestamp() {
+        long now = System.currentTimeMillis();
+        Timestamp last = lastTimestamp;
+        if (last.millis() != now) {
+            last = new Timestamp(now, Instant.ofEpochMilli(now).toString());
+            lastTimestamp = last;
+        }
+        return last.text();
+    }
+
+    /**
+     * Formatierter Zeitstempel einer Millisekunde.
+     * @param millis Epoch-Millisekunden
+     * @param text ISO-8601
+     */
+    private record Timestamp(long millis, String text) {
+    }
+}
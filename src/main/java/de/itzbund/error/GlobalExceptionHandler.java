@@ -1,53 +1,104 @@
 package de.itzbund.error;
+import jakarta.validation.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.HttpMessageNotReadableException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
+import org.springframework.web.bind.MissingServletRequestParameterException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
-
-import java.time.Instant;
-import java.util.HashMap;
-import java.util.Map;
+import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
 
 @RestControllerAdvice
 public final class GlobalExceptionHandler {
 
-    /** Basismap für Error Response. */
-    private Map<String, Object> base(final HttpStatus status, final String message) {
-        Map<String, Object> body = new HashMap<>();
-        body.put("timestamp", Instant.now().toString());
-        body.put("status", status.value());
-        body.put("error", status.getReasonPhrase());
-        body.put("message", message);
-        return body;
-    }
-
     /** Validation Fehler. */
     @ExceptionHandler(MethodArgumentNotValidException.class)
-    public ResponseEntity<?> handleValidation(final MethodArgumentNotValidException ex) {
-        Map<String, Object> body = base(HttpStatus.BAD_REQUEST, "Validation failed");
-        body.put("fields", ex.getBindingResult().getFieldErrors().stream()
-                .map(f -> f.getField() + ":" + f.getDefaultMessage()).toList());
-        return ResponseEntity.badRequest().body(body);
+    public ResponseEntity<ErrorResponse> handleValidation(final MethodArgumentNotValidException ex) {
+        return ResponseEntity.badRequest().body(ErrorResponse.of(HttpStatus.BAD_REQUEST, "Validation failed",
+                ex.getBindingResult().getFieldErrors().stream()
+                        .map(f -> f.getField() + ":" + f.getDefaultMessage()).toList()));
+    }
+
+    /** Validation Fehler an Request-Parametern (z. B. Größe der ID-Liste). */
+    @ExceptionHandler(ConstraintViolationException.class)
+    public ResponseEntity<ErrorResponse> handleConstraintViolation(final ConstraintViolationException ex) {
+        return ResponseEntity.badRequest().body(ErrorResponse.of(HttpStatus.BAD_REQUEST, "Validation failed",
+                ex.getConstraintViolations().stream()
+                        .map(v -> v.getPropertyPath() + ":" + v.getMessage()).toList()));
+    }
+
+    /** Fehlende oder nicht konvertierbare Request-Parameter. */
+    @ExceptionHandler({MissingServletRequestParameterException.class, MethodArgumentTypeMismatchException.class})
+    public ResponseEntity<ErrorResponse> handleBadParameter(final Exception ex) {
+        return ResponseEntity.badRequest().body(ErrorResponse.of(HttpStatus.BAD_REQUEST, ex.getMessage()));
+    }
+
+    /** Nicht lesbarer Request-Body (z. B. {@code null} für ein Pflichtfeld im Merge Patch). */
+    @ExceptionHandler(HttpMessageNotReadableException.class)
+    public ResponseEntity<ErrorResponse> handleUnreadable(final HttpMessageNotReadableException ex) {
+        return ResponseEntity.badRequest()
+                .body(ErrorResponse.of(HttpStatus.BAD_REQUEST, ex.getMostSpecificCause().getMessage()));
+    }
+
+    /** Fehlende oder ungültige Importquelle. */
+    @ExceptionHandler(InvalidImportSourceException.class)
+    public ResponseEntity<ErrorResponse> handleImportSource(final InvalidImportSourceException ex) {
+        return ResponseEntity.badRequest().body(ErrorResponse.of(HttpStatus.BAD_REQUEST, ex.getMessage()));
+    }
+
+    /** Mengenoperation ohne Filter oder ohne Änderung. */
+    @ExceptionHandler(InvalidBulkRequestException.class)
+    public ResponseEntity<ErrorResponse> handleBulkRequest(final InvalidBulkRequestException ex) {
+        return ResponseEntity.badRequest().body(ErrorResponse.of(HttpStatus.BAD_REQUEST, ex.getMessage()));
     }
 
     /** Duplicate ISBN Konflikt. */
     @ExceptionHandler(DuplicateIsbnException.class)
-    public ResponseEntity<?> handleDuplicate(final DuplicateIsbnException ex) {
-        return ResponseEntity.status(HttpStatus.CONFLICT).body(base(HttpStatus.CONFLICT, ex.getMessage()));
+    public ResponseEntity<ErrorResponse> handleDuplicate(final DuplicateIsbnException ex) {
+        return ResponseEntity.status(HttpStatus.CONFLICT)
+                .body(ErrorResponse.of(HttpStatus.CONFLICT, ex.getMessage()));
+    }
+
+    /** Unique-Constraint der ISBN erst beim Commit verletzt: wie Duplicate ISBN; andere Verletzungen als Fallback. */
+    @ExceptionHandler(DataIntegrityViolationException.class)
+    public ResponseEntity<ErrorResponse> handleIntegrity(final DataIntegrityViolationException ex) {
+        if (!DuplicateIsbnException.isCausedBy(ex)) {
+            return handleOther(ex);
+        }
+        return ResponseEntity.status(HttpStatus.CONFLICT)
+                .body(ErrorResponse.of(HttpStatus.CONFLICT, "ISBN bereits vergeben"));
     }
 
     /** Version Mismatch (Optimistic Lock). */
     @ExceptionHandler(VersionMismatchException.class)
-    public ResponseEntity<?> handleVersion(final VersionMismatchException ex) {
+    public ResponseEntity<ErrorResponse> handleVersion(final VersionMismatchException ex) {
         return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED)
-                .body(base(HttpStatus.PRECONDITION_FAILED, ex.getMessage()));
+                .body(ErrorResponse.of(HttpStatus.PRECONDITION_FAILED, ex.getMessage()));
+    }
+
+    /** Überlast: Lane voll (Bulkhead) oder asynchrone Anlage abgewiesen (Backpressure). */
+    @ExceptionHandler(OverloadException.class)
+    public ResponseEntity<ErrorResponse> handleOverload(final OverloadException ex) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, Long.toString(Math.max(1, ex.getRetryAfter().toSeconds())))
+                .body(ErrorResponse.of(HttpStatus.SERVICE_UNAVAILABLE, ex.getMessage()));
+    }
+
+    /** Zeitbudget der Anfrage abgelaufen, vor oder während eines Statements (Query-Timeout). */
+    @ExceptionHandler({DeadlineExceededException.class, QueryTimeoutException.class})
+    public ResponseEntity<ErrorResponse> handleDeadline(final Exception ex) {
+        return ResponseEntity.status(HttpStatus.GATEWAY_TIMEOUT)
+                .body(ErrorResponse.of(HttpStatus.GATEWAY_TIMEOUT, "Zeitbudget der Anfrage abgelaufen"));
     }
 
     /** Fallback Fehler. */
     @ExceptionHandler(Exception.class)
-    public ResponseEntity<?> handleOther(final Exception ex) {
+    public ResponseEntity<ErrorResponse> handleOther(final Exception ex) {
         return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-                .body(base(HttpStatus.INTERNAL_SERVER_ERROR, ex.getMessage()));
+                .body(ErrorResponse.of(HttpStatus.INTERNAL_SERVER_ERROR, ex.getMessage()));
     }
 }
@@ -0,0 +1,18 @@
+package de.itzbund.error;
+
+import java.time.Duration;
+
+/**
+ * Asynchrone Anlage abgewiesen: Warteschlange voll oder Annahme wegen Shutdown beendet (503 mit Retry-After).
+ */
+public class IngestRejectedException extends OverloadException {
+
+    /**
+     * Konstruktor.
+     * @param message Meldung für den Client
+     * @param retryAfter empfohlene Wartezeit
+     */
+    public IngestRejectedException(final String message, final Duration retryAfter) {
+        super(message, retryAfter);
+    }
+}
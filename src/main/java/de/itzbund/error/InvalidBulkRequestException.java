@@ -0,0 +1,7 @@
+package de.itzbund.error;
+
+public class InvalidBulkRequestException extends DomainException {
+    public InvalidBulkRequestException(final String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package de.itzbund.error;
+
+public class InvalidImportSourceException extends DomainException {
+    public InvalidImportSourceException(final String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,30 @@
+package de.itzbund.error;
+
+import java.time.Duration;
+
+/**
+ * Basis für Anfragen, die wegen Überlast abgewiesen werden (503 mit Retry-After).
+ */
+public abstract class OverloadException extends DomainException {
+
+    /** Empfohlene Wartezeit bis zum erneuten Versuch. */
+    private final Duration retryAfter;
+
+    /**
+     * Konstruktor.
+     * @param message Meldung für den Client
+     * @param retryAfter empfohlene Wartezeit
+     */
+    protected OverloadException(final String message, final Duration retryAfter) {
+        super(message);
+        this.retryAfter = retryAfter;
+    }
+
+    /**
+     * Empfohlene Wartezeit bis zum erneuten Versuch.
+     * @return Wartezeit
+     */
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
@@ -1,6 +1,6 @@
 package de.itzbund.error;
 
-public class VersionMismatchException extends RuntimeException {
+public class VersionMismatchException extends DomainException {
     public VersionMismatchException(final Long id, final Long expected, final Long actual) {
         super("Versionskonflikt für ID=" + id + " erwartet=" + expected + " aktuell=" + actual);
     }
@@ -0,0 +1,102 @@
+package de.itzbund.jdbc;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.io.IOException;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.sql.Statement;
+
+/**
+ * DataSource, die jedem neuen Statement die Restzeit der {@link RequestDeadline} als Query-Timeout mitgibt. Der
+ * Treiber bricht das Statement nach Ablauf ab ({@link SQLTimeoutException}); die Transaktion wird zurückgerollt und
+ * die Verbindung geht an den Pool zurück. Ist die Deadline schon vorbei, wird gar kein Statement mehr erzeugt.
+ *
+ * <p>Ohne Deadline wird der Timeout auf {@code 0} zurückgesetzt, falls er noch gesetzt ist: H2 führt ihn pro
+ * Session, ein Timeout aus einem Request bliebe sonst an der gepoolten Verbindung hängen.</p>
+ */
+public final class DeadlineDataSource extends DelegatingDataSource implements Closeable {
+
+    /** SQLSTATE für ein abgebrochenes Statement, auch für Statements, die nach Ablauf gar nicht erst starten. */
+    private static final String QUERY_CANCELED = "57014";
+
+    /**
+     * Umhüllt eine DataSource.
+     * @param target eigentliche DataSource (z.B. Hikari-Pool oder instrumentierte DataSource)
+     */
+    public DeadlineDataSource(final DataSource target) {
+        super(target);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return proxy(obtainTargetDataSource().getConnection());
+    }
+
+    @Override
+    public Connection getConnection(final String username, final String password) throws SQLException {
+        return proxy(obtainTargetDataSource().getConnection(username, password));
+    }
+
+    /**
+     * Schließt die eigentliche DataSource (z.B. den Pool) beim Herunterfahren des Contexts.
+     * @throws IOException falls das Schließen fehlschlägt
+     */
+    @Override
+    public void close() throws IOException {
+        if (obtainTargetDataSource() instanceof AutoCloseable closeable) {
+            try {
+                closeable.close();
+            } catch (IOException | RuntimeException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new IOException(e);
+            }
+        }
+    }
+
+    private static Connection proxy(final Connection target) {
+        return (Connection) Proxy.newProxyInstance(DeadlineDataSource.class.getClassLoader(),
+            new Class<?>[] {Connection.class}, new ConnectionHandler(target));
+    }
+
+    /**
+     * Setzt den Query-Timeout auf jedem erzeugten Statement.
+     * @param target eigentliche Connection
+     */
+    private record ConnectionHandler(Connection target) implements InvocationHandler {
+
+        @Override
+        public Object invoke(final Object proxy, final Method method, final Object[] args) throws Throwable {
+            Object result;
+            try {
+                result = method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getTargetException();
+            }
+            if (result instanceof Statement statement && Statement.class.isAssignableFrom(method.getReturnType())) {
+                applyTimeout(statement);
+            }
+            return result;
+        }
+
+        private static void applyTimeout(final Statement statement) throws SQLException {
+            int seconds = RequestDeadline.queryTimeoutSeconds();
+            if (seconds < 0) {
+                statement.close();
+                throw new SQLTimeoutException("Deadline der Anfrage abgelaufen", QUERY_CANCELED);
+            }
+            // getQueryTimeout ist bei H2 gecacht; gesetzt wird nur bei Änderung
+            if (statement.getQueryTimeout() != seconds) {
+                statement.setQueryTimeout(seconds);
+            }
+        }
+    }
+}
@@ -0,0 +1,242 @@
+package de.itzbund.jdbc;
+
+import de.itzbund.jdbc.QueryRecorder.StatementKind;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.io.IOException;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * DataSource, deren Connections, Statements und ResultSets über JDK-Proxies gemessen werden:
+ * SQL, Ausführungsdauer und Zeilenzahl jedes Statements gehen an den {@link QueryRecorder}.
+ *
+ * <p>Die Dauer umfasst die Ausführung ({@code execute*}), nicht das Lesen des ResultSets. Die Zeilenzahl einer
+ * Abfrage steht erst fest, wenn das ResultSet (oder sein Statement) geschlossen wird; erst dann wird erfasst.</p>
+ */
+public final class InstrumentedDataSource extends DelegatingDataSource implements Closeable {
+
+    /** Empfänger der Messwerte. */
+    private final QueryRecorder recorder;
+
+    /**
+     * Umhüllt eine DataSource.
+     * @param target eigentliche DataSource (z.B. Hikari-Pool)
+     * @param recorder Empfänger der Messwerte
+     */
+    public InstrumentedDataSource(final DataSource target, final QueryRecorder recorder) {
+        super(target);
+        this.recorder = recorder;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return proxy(Connection.class, new ConnectionHandler(obtainTargetDataSource().getConnection(), recorder));
+    }
+
+    @Override
+    public Connection getConnection(final String username, final String password) throws SQLException {
+        return proxy(Connection.class,
+            new ConnectionHandler(obtainTargetDataSource().getConnection(username, password), recorder));
+    }
+
+    /**
+     * Schließt die eigentliche DataSource (z.B. den Pool) beim Herunterfahren des Contexts; ohne diese Methode
+     * fände Spring an der umhüllten Bean keine Destroy-Methode.
+     * @throws IOException falls das Schließen fehlschlägt
+     */
+    @Override
+    public void close() throws IOException {
+        if (obtainTargetDataSource() instanceof AutoCloseable closeable) {
+            try {
+                closeable.close();
+            } catch (IOException | RuntimeException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new IOException(e);
+            }
+        }
+    }
+
+    private static <T> T proxy(final Class<T> type, final InvocationHandler handler) {
+        return type.cast(Proxy.newProxyInstance(InstrumentedDataSource.class.getClassLoader(),
+            new Class<?>[] {type}, handler));
+    }
+
+    private static Object invoke(final Object target, final Method method, final Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+
+    /**
+     * Liefert Statements als messende Proxies aus.
+     * @param target eigentliche Connection
+     * @param recorder Empfänger der Messwerte
+     */
+    private record ConnectionHandler(Connection target, QueryRecorder recorder) implements InvocationHandler {
+
+        @Override
+        public Object invoke(final Object proxy, final Method method, final Object[] args) throws Throwable {
+            Object result = InstrumentedDataSource.invoke(target, method, args);
+            if (result instanceof Statement statement && Statement.class.isAssignableFrom(method.getReturnType())) {
+                String sql = args != null && args.length > 0 && args[0] instanceof String text ? text : null;
+                return proxy(method.getReturnType(), new StatementHandler(statement, sql, recorder));
+            }
+            return result;
+        }
+    }
+
+    /** Misst {@code execute*} und reicht ResultSets gezählt weiter. */
+    private static final class StatementHandler implements InvocationHandler {
+
+        /** Eigentliches Statement. */
+        private final Statement target;
+        /** Empfänger der Messwerte. */
+        private final QueryRecorder recorder;
+        /** SQL des PreparedStatements bzw. zuletzt ausgeführtes SQL. */
+        private String sql;
+        /** Offenes, noch nicht erfasstes ResultSet. */
+        private ResultSetHandler pending;
+        /** Dauer eines {@code execute} mit ResultSet, das noch nicht abgeholt wurde ({@code -1}: keines). */
+        private long executeNanos = -1;
+
+        StatementHandler(final Statement target, final String sql, final QueryRecorder recorder) {
+            this.target = target;
+            this.sql = sql;
+            this.recorder = recorder;
+        }
+
+        @Override
+        public Object invoke(final Object proxy, final Method method, final Object[] args) throws Throwable {
+            String name = method.getName();
+            if (!name.startsWith("execute")) {
+                if ("close".equals(name)) {
+                    finishPending();
+                } else if ("getResultSet".equals(name) && executeNanos >= 0) {
+                    long nanos = executeNanos;
+                    executeNanos = -1;
+                    return wrap((ResultSet) InstrumentedDataSource.invoke(target, method, args), StatementKind.QUERY,
+                        nanos);
+                }
+                return InstrumentedDataSource.invoke(target, method, args);
+            }
+            if (args != null && args.length > 0 && args[0] instanceof String text) {
+                sql = text;
+            }
+            finishPending();
+            long start = System.nanoTime();
+            Object result = InstrumentedDataSource.invoke(target, method, args);
+            long nanos = System.nanoTime() - start;
+            if (result instanceof ResultSet resultSet) {
+                return wrap(resultSet, StatementKind.QUERY, nanos);
+            }
+            if (result instanceof int[] counts) {
+                recorder.record(StatementKind.BATCH, sql, nanos, sum(counts));
+            } else if (result instanceof long[] counts) {
+                recorder.record(StatementKind.BATCH, sql, nanos, sum(counts));
+            } else if (result instanceof Number rows) {
+                recorder.record(StatementKind.UPDATE, sql, nanos, rows.longValue());
+            } else if (Boolean.TRUE.equals(result)) {
+                executeNanos = nanos;
+            } else {
+                recorder.record(StatementKind.EXECUTE, sql, nanos, target.getUpdateCount());
+            }
+            return result;
+        }
+
+        private ResultSet wrap(final ResultSet resultSet, final StatementKind kind, final long nanos) {
+            if (resultSet == null) {
+                return null;
+            }
+            pending = new ResultSetHandler(resultSet, kind, sql, nanos, recorder);
+            return proxy(ResultSet.class, pending);
+        }
+
+        private void finishPending() {
+            if (executeNanos >= 0) {
+                recorder.record(StatementKind.EXECUTE, sql, executeNanos, -1);
+                executeNanos = -1;
+            }
+            if (pending != null) {
+                pending.finish();
+                pending = null;
+            }
+        }
+
+        private static long sum(final int[] counts) {
+            long rows = 0;
+            for (int count : counts) {
+                rows += Math.max(count, 0);
+            }
+            return rows;
+        }
+
+        private static long sum(final long[] counts) {
+            long rows = 0;
+            for (long count : counts) {
+                rows += Math.max(count, 0);
+            }
+            return rows;
+        }
+    }
+
+    /** Zählt gelesene Zeilen und erfasst die Abfrage beim Schließen. */
+    private static final class ResultSetHandler implements InvocationHandler {
+
+        /** Eigentliches ResultSet. */
+        private final ResultSet target;
+        /** Art des auslösenden Statements. */
+        private final StatementKind kind;
+        /** SQL der Abfrage. */
+        private final String sql;
+        /** Ausführungsdauer. */
+        private final long nanos;
+        /** Empfänger der Messwerte. */
+        private final QueryRecorder recorder;
+        /** Gelesene Zeilen. */
+        private long rows;
+        /** Bereits erfasst. */
+        private boolean finished;
+
+        ResultSetHandler(final ResultSet target, final StatementKind kind, final String sql, final long nanos,
+                         final QueryRecorder recorder) {
+            this.target = target;
+            this.kind = kind;
+            this.sql = sql;
+            this.nanos = nanos;
+            this.recorder = recorder;
+        }
+
+        @Override
+        public Object invoke(final Object proxy, final Method method, final Object[] args) throws Throwable {
+            Object result = InstrumentedDataSource.invoke(target, method, args);
+            String name = method.getName();
+            if ("next".equals(name)) {
+                if (Boolean.TRUE.equals(result)) {
+                    rows++;
+                }
+            } else if ("close".equals(name)) {
+                finish();
+            }
+            return result;
+        }
+
+        void finish() {
+            if (!finished) {
+                finished = true;
+                recorder.record(kind, sql, nanos, rows);
+            }
+        }
+    }
+}
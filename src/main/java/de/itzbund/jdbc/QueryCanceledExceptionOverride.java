@@ -0,0 +1,22 @@
+package de.itzbund.jdbc;
+
+import com.zaxxer.hikari.SQLExceptionOverride;
+
+import java.sql.SQLException;
+
+/**
+ * Hikari verwirft eine Verbindung nach jeder {@link java.sql.SQLTimeoutException}. Ein per Query-Timeout
+ * abgebrochenes Statement (SQLSTATE {@code 57014}, siehe {@link DeadlineDataSource}) lässt die Verbindung aber
+ * intakt: Sie wird zurückgerollt und geht an den Pool zurück, statt bei jeder abgelaufenen Deadline eine neue
+ * Verbindung aufzubauen. Eingetragen über {@code spring.datasource.hikari.exception-override-class-name}.
+ */
+public final class QueryCanceledExceptionOverride implements SQLExceptionOverride {
+
+    /** SQLSTATE für ein abgebrochenes Statement (H2, PostgreSQL, Db2). */
+    private static final String QUERY_CANCELED = "57014";
+
+    @java.lang.Override
+    public Override adjudicate(final SQLException sqlException) {
+        return QUERY_CANCELED.equals(sqlException.getSQLState()) ? Override.DO_NOT_EVICT : Override.CONTINUE_EVICT;
+    }
+}
@@ -0,0 +1,162 @@
+package de.itzbund.jdbc;
+
+import de.itzbund.timing.ServerTiming;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.time.Instant;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Nimmt die Messwerte des {@link InstrumentedDataSource} entgegen: globaler Timer je Statement-Art,
+ * Zähler des laufenden Requests (thread-gebunden), Phase {@code db} von {@link ServerTiming} und Slow-Query-Log.
+ */
+public class QueryRecorder {
+
+    /** Name des Timers je Statement-Art. */
+    public static final String STATEMENT_TIMER = "jdbc.statements";
+
+    /** Umrechnung für das Slow-Query-Log. */
+    private static final double NANOS_PER_MILLI = 1_000_000d;
+
+    /** Zähler des Requests im aktuellen Thread. */
+    private static final ThreadLocal<RequestQueries> CURRENT = new ThreadLocal<>();
+
+    /** Schwelle für das Slow-Query-Log. */
+    private final long slowThresholdNanos;
+    /** Langsame Statements. */
+    private final SlowQueryLog slowQueryLog;
+    /** Timer je Statement-Art. */
+    private final Map<StatementKind, Timer> timers = new EnumMap<>(StatementKind.class);
+
+    /**
+     * Konstruktor.
+     * @param slowThresholdNanos Schwelle für das Slow-Query-Log in Nanosekunden
+     * @param slowQueryLog Slow-Query-Log
+     * @param registry Micrometer Registry
+     */
+    public QueryRecorder(final long slowThresholdNanos, final SlowQueryLog slowQueryLog,
+                         final MeterRegistry registry) {
+        this.slowThresholdNanos = slowThresholdNanos;
+        this.slowQueryLog = slowQueryLog;
+        for (StatementKind kind : StatementKind.values()) {
+            timers.put(kind, Timer.builder(STATEMENT_TIMER)
+                .description("Ausführungsdauer der JDBC-Statements")
+                .tag("kind", kind.name().toLowerCase(Locale.ROOT))
+                .register(registry));
+        }
+    }
+
+    /**
+     * Erfasst ein ausgeführtes Statement.
+     * @param kind Art des Statements
+     * @param sql SQL-Text
+     * @param nanos Ausführungsdauer
+     * @param rows gelesene bzw. geänderte Zeilen ({@code -1} wenn unbekannt)
+     */
+    public void record(final StatementKind kind, final String sql, final long nanos, final long rows) {
+        timers.get(kind).record(nanos, TimeUnit.NANOSECONDS);
+        ServerTiming.add(ServerTiming.Phase.DB, nanos);
+        RequestQueries request = CURRENT.get();
+        if (request != null) {
+            request.add(nanos);
+        }
+        if (nanos >= slowThresholdNanos) {
+            slowQueryLog.add(new SlowQueryLog.SlowQuery(Instant.now(), SqlShape.of(sql), nanos / NANOS_PER_MILLI, rows,
+                request == null ? null : request.getName()));
+        }
+    }
+
+    /**
+     * Beginnt die Zählung für einen Request im aktuellen Thread.
+     * @param name Bezeichnung für das Slow-Query-Log, z.B. {@code PUT /api/buecher/1}
+     * @return Zähler des Requests
+     */
+    public RequestQueries begin(final String name) {
+        RequestQueries request = new RequestQueries(name);
+        CURRENT.set(request);
+        return request;
+    }
+
+    /** Beendet die Zählung im aktuellen Thread. */
+    public void end() {
+        CURRENT.remove();
+    }
+
+    /**
+     * Slow-Query-Log.
+     * @return Log
+     */
+    public SlowQueryLog getSlowQueryLog() {
+        return slowQueryLog;
+    }
+
+    /**
+     * Schwelle des Slow-Query-Logs.
+     * @return Schwelle in Nanosekunden
+     */
+    public long getSlowThresholdNanos() {
+        return slowThresholdNanos;
+    }
+
+    /** Art eines Statements. */
+    public enum StatementKind {
+        /** {@code executeQuery}. */
+        QUERY,
+        /** {@code executeUpdate}. */
+        UPDATE,
+        /** {@code executeBatch}. */
+        BATCH,
+        /** {@code execute} (DDL, Prozeduren, unbestimmt). */
+        EXECUTE
+    }
+
+    /**
+     * Statement-Zähler eines Requests; wird nur vom Request-Thread geschrieben.
+     */
+    public static final class RequestQueries {
+
+        /** Bezeichnung des Requests. */
+        private final String name;
+        /** Anzahl Statements. */
+        private int count;
+        /** Summe der Ausführungsdauer. */
+        private long nanos;
+
+        RequestQueries(final String name) {
+            this.name = name;
+        }
+
+        void add(final long duration) {
+            count++;
+            nanos += duration;
+        }
+
+        /**
+         * Bezeichnung des Requests.
+         * @return z.B. {@code GET /api/buecher}
+         */
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * Anzahl ausgeführter Statements.
+         * @return Anzahl
+         */
+        public int getCount() {
+            return count;
+        }
+
+        /**
+         * Summe der Ausführungsdauer aller Statements.
+         * @return Nanosekunden
+         */
+        public long getNanos() {
+            return nanos;
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package de.itzbund.jdbc;
+
+/**
+ * Thread-gebundener Routing-Zustand eines Requests für die {@link ReadWriteRoutingDataSource}.
+ *
+ * <p>Lesende Transaktionen gehen auf ein Replikat, solange der Request nicht <em>read-your-writes</em>
+ * verlangt und noch nicht geschrieben hat. Nach dem ersten Zugriff auf die Primär-Datenbank bleiben
+ * alle weiteren Lesezugriffe desselben Requests dort. Außerhalb aktiver Requests (z.B. in Import-Jobs)
+ * lesen Read-only-Transaktionen immer vom Replikat.</p>
+ */
+public final class ReadRouting {
+
+    /** Zustand des aktuellen Requests ({@code null} außerhalb von Requests). */
+    private static final ThreadLocal<boolean[]> PRIMARY = new ThreadLocal<>();
+
+    private ReadRouting() {
+    }
+
+    /**
+     * Startet das Routing für den Request des aktuellen Threads.
+     * @param readYourWrites Lesezugriffe von Beginn an auf der Primär-Datenbank ausführen
+     */
+    public static void begin(final boolean readYourWrites) {
+        PRIMARY.set(new boolean[] {readYourWrites});
+    }
+
+    /** Beendet das Routing für den aktuellen Thread. */
+    public static void end() {
+        PRIMARY.remove();
+    }
+
+    /** Vermerkt einen Zugriff auf die Primär-Datenbank; folgende Lesezugriffe des Requests bleiben dort. */
+    static void markPrimary() {
+        boolean[] state = PRIMARY.get();
+        if (state != null) {
+            state[0] = true;
+        }
+    }
+
+    /**
+     * Ob Lesezugriffe des aktuellen Requests auf der Primär-Datenbank laufen müssen.
+     * @return {@code true} nach einem Schreibzugriff oder bei angefordertem read-your-writes
+     */
+    public static boolean primaryRequired() {
+        boolean[] state = PRIMARY.get();
+        return state != null && state[0];
+    }
+}
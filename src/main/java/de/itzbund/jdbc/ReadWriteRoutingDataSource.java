@@ -0,0 +1,132 @@
+package de.itzbund.jdbc;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Leitet Read-only-Transaktionen ({@code @Transactional(readOnly = true)}) auf Replikate, alle anderen
+ * Zugriffe auf die Primär-Datenbank.
+ *
+ * <p>Die Connection wird wie bei {@link LazyConnectionDataSourceProxy} erst beim ersten Statement geholt;
+ * zu diesem Zeitpunkt hat der Transaktionsmanager das Read-only-Flag bereits gesetzt. Replikate werden
+ * reihum gewählt; ist eines nicht erreichbar, wird das nächste und zuletzt die Primär-Datenbank versucht.
+ * Siehe {@link ReadRouting} für read-your-writes.</p>
+ */
+public final class ReadWriteRoutingDataSource extends LazyConnectionDataSourceProxy implements Closeable {
+
+    /** Logger. */
+    private static final Logger LOGGER = LoggerFactory.getLogger(ReadWriteRoutingDataSource.class);
+
+    /** Primär-Datenbank. */
+    private final DataSource primary;
+    /** Replikate in Round-Robin-Reihenfolge. */
+    private final List<DataSource> replicas;
+
+    /**
+     * Konstruktor.
+     * @param primary Primär-Datenbank (Schreibzugriffe, read-your-writes)
+     * @param replicas mindestens ein Replikat
+     */
+    public ReadWriteRoutingDataSource(final DataSource primary, final List<DataSource> replicas) {
+        super(new PrimaryDataSource(primary));
+        if (replicas.isEmpty()) {
+            throw new IllegalArgumentException("Mindestens ein Replikat erforderlich");
+        }
+        this.primary = primary;
+        this.replicas = List.copyOf(replicas);
+        setReadOnlyDataSource(new ReplicaSelector(primary, this.replicas));
+    }
+
+    /**
+     * Anzahl der Replikate.
+     * @return Anzahl
+     */
+    public int replicaCount() {
+        return replicas.size();
+    }
+
+    /** Schließt Primär- und Replikat-Pools. */
+    @Override
+    public void close() {
+        List<DataSource> all = new ArrayList<>(replicas);
+        all.add(primary);
+        for (DataSource dataSource : all) {
+            if (dataSource instanceof AutoCloseable closeable) {
+                try {
+                    closeable.close();
+                } catch (Exception e) {
+                    LOGGER.warn("DataSource konnte nicht geschlossen werden: {}", e.getMessage());
+                }
+            }
+        }
+    }
+
+    /** Primär-Datenbank, die jeden Zugriff für read-your-writes vermerkt. */
+    private static final class PrimaryDataSource extends DelegatingDataSource {
+
+        PrimaryDataSource(final DataSource target) {
+            super(target);
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            ReadRouting.markPrimary();
+            return super.getConnection();
+        }
+
+        @Override
+        public Connection getConnection(final String username, final String password) throws SQLException {
+            ReadRouting.markPrimary();
+            return super.getConnection(username, password);
+        }
+    }
+
+    /** Wählt das Replikat einer Read-only-Connection. */
+    private static final class ReplicaSelector extends AbstractDataSource {
+
+        /** Primär-Datenbank für read-your-writes und als letzte Ausweichmöglichkeit. */
+        private final DataSource primary;
+        /** Replikate. */
+        private final List<DataSource> replicas;
+        /** Zähler für Round-Robin. */
+        private final AtomicInteger next = new AtomicInteger();
+
+        ReplicaSelector(final DataSource primary, final List<DataSource> replicas) {
+            this.primary = primary;
+            this.replicas = replicas;
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            if (ReadRouting.primaryRequired()) {
+                return primary.getConnection();
+            }
+            int start = Math.floorMod(next.getAndIncrement(), replicas.size());
+            for (int i = 0; i < replicas.size(); i++) {
+                try {
+                    return replicas.get((start + i) % replicas.size()).getConnection();
+                } catch (SQLException e) {
+                    LOGGER.warn("Replikat {} nicht erreichbar: {}", (start + i) % replicas.size() + 1,
+                        e.getMessage());
+                }
+            }
+            return primary.getConnection();
+        }
+
+        @Override
+        public Connection getConnection(final String username, final String password) throws SQLException {
+            return getConnection();
+        }
+    }
+}
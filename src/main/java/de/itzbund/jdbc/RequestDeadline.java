@@ -0,0 +1,66 @@
+package de.itzbund.jdbc;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Thread-gebundene Deadline eines Requests für die {@link DeadlineDataSource}.
+ *
+ * <p>Außerhalb von Requests (Import-Jobs, Export, Aufwärmen) und in den Worker-Threads asynchroner Operationen ist
+ * keine Deadline gesetzt; Statements laufen dort ohne Query-Timeout.</p>
+ */
+public final class RequestDeadline {
+
+    /** Deadline des aktuellen Requests in {@link System#nanoTime()} ({@code null} außerhalb von Requests). */
+    private static final ThreadLocal<long[]> DEADLINE = new ThreadLocal<>();
+
+    private RequestDeadline() {
+    }
+
+    /**
+     * Setzt die Deadline für den Request des aktuellen Threads.
+     * @param timeoutNanos Zeitbudget ab jetzt in Nanosekunden
+     */
+    public static void begin(final long timeoutNanos) {
+        DEADLINE.set(new long[] {System.nanoTime() + timeoutNanos});
+    }
+
+    /** Entfernt die Deadline des aktuellen Threads. */
+    public static void end() {
+        DEADLINE.remove();
+    }
+
+    /**
+     * Ob für den aktuellen Thread eine Deadline gilt.
+     * @return {@code true} innerhalb eines Requests mit Deadline
+     */
+    public static boolean active() {
+        return DEADLINE.get() != null;
+    }
+
+    /**
+     * Verbleibende Zeit bis zur Deadline.
+     * @return Nanosekunden (höchstens 0 nach Ablauf), {@link Long#MAX_VALUE} ohne Deadline
+     */
+    public static long remainingNanos() {
+        long[] deadline = DEADLINE.get();
+        return deadline == null ? Long.MAX_VALUE : Math.max(0, deadline[0] - System.nanoTime());
+    }
+
+    /**
+     * Restzeit als JDBC-Query-Timeout. JDBC kennt nur volle Sekunden; aufgerundet, damit ein Rest unter einer
+     * Sekunde nicht als {@code 0} (kein Timeout) ankommt.
+     * @return Sekunden, {@code 0} ohne Deadline, {@code -1} nach Ablauf
+     */
+    static int queryTimeoutSeconds() {
+        long[] deadline = DEADLINE.get();
+        if (deadline == null) {
+            return 0;
+        }
+        long remaining = deadline[0] - System.nanoTime();
+        if (remaining <= 0) {
+            return -1;
+        }
+        long seconds = (remaining + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1);
+        return (int) Math.min(seconds, Integer.MAX_VALUE);
+    }
+}
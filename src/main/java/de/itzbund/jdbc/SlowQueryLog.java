@@ -0,0 +1,76 @@
+package de.itzbund.jdbc;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Ringpuffer fester Größe für langsame Statements; bei vollem Puffer wird der älteste Eintrag überschrieben.
+ * Schreibzugriffe sind selten (nur oberhalb der Schwelle), daher genügt Synchronisation.
+ */
+public final class SlowQueryLog {
+
+    /** Einträge, zyklisch beschrieben. */
+    private final SlowQuery[] entries;
+    /** Nächste Schreibposition. */
+    private int next;
+    /** Anzahl belegter Plätze. */
+    private int size;
+
+    /**
+     * Erzeugt ein leeres Log.
+     * @param capacity maximale Anzahl Einträge
+     */
+    public SlowQueryLog(final int capacity) {
+        this.entries = new SlowQuery[Math.max(1, capacity)];
+    }
+
+    /**
+     * Fügt einen Eintrag hinzu.
+     * @param entry langsames Statement
+     */
+    public synchronized void add(final SlowQuery entry) {
+        entries[next] = entry;
+        next = (next + 1) % entries.length;
+        size = Math.min(size + 1, entries.length);
+    }
+
+    /**
+     * Liefert die Einträge, neueste zuerst.
+     * @return Kopie der Einträge
+     */
+    public synchronized List<SlowQuery> snapshot() {
+        List<SlowQuery> result = new ArrayList<>(size);
+        for (int i = 1; i <= size; i++) {
+            result.add(entries[(next - i + entries.length) % entries.length]);
+        }
+        return result;
+    }
+
+    /** Leert das Log. */
+    public synchronized void clear() {
+        Arrays.fill(entries, null);
+        next = 0;
+        size = 0;
+    }
+
+    /**
+     * Maximale Anzahl Einträge.
+     * @return Kapazität
+     */
+    public int capacity() {
+        return entries.length;
+    }
+
+    /**
+     * Ein langsames Statement.
+     * @param timestamp Ausführungszeitpunkt
+     * @param sql SQL-Form (siehe {@link SqlShape})
+     * @param durationMillis Ausführungsdauer
+     * @param rows gelesene bzw. geänderte Zeilen ({@code -1} wenn unbekannt)
+     * @param request auslösender Request ({@code METHOD /pfad}) oder {@code null} außerhalb von Requests
+     */
+    public record SlowQuery(Instant timestamp, String sql, double durationMillis, long rows, String request) {
+    }
+}
@@ -0,0 +1,37 @@
+package de.itzbund.jdbc;
+
+import java.util.regex.Pattern;
+
+/**
+ * Normalisiert SQL auf seine Form: Literale werden zu {@code ?}, Parameterlisten zu {@code ?, ...},
+ * Leerraum wird zusammengefasst. So lassen sich Statements unabhängig von den Werten gruppieren.
+ */
+public final class SqlShape {
+
+    /** String-Literale inkl. verdoppelter Hochkommas. */
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    /** Zahlen-Literale, die nicht Teil eines Bezeichners sind. */
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("(?<![\\w.])-?\\d+(?:\\.\\d+)?\\b");
+    /** Aufeinanderfolgende Platzhalter ({@code IN}-Listen, Mehrfach-VALUES). */
+    private static final Pattern PLACEHOLDER_LIST = Pattern.compile("\\?(?:\\s*,\\s*\\?)+");
+    /** Leerraum. */
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private SqlShape() {
+    }
+
+    /**
+     * Liefert die normalisierte Form.
+     * @param sql SQL-Text (darf {@code null} sein)
+     * @return SQL-Form oder {@code null}
+     */
+    public static String of(final String sql) {
+        if (sql == null) {
+            return null;
+        }
+        String shape = STRING_LITERAL.matcher(sql).replaceAll("?");
+        shape = NUMBER_LITERAL.matcher(shape).replaceAll("?");
+        shape = PLACEHOLDER_LIST.matcher(shape).replaceAll("?, ...");
+        return WHITESPACE.matcher(shape).replaceAll(" ").trim();
+    }
+}
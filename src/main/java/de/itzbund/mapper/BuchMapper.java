@@ -1,12 +1,19 @@
 package de.itzbund.mapper;
 
 import de.itzbund.api.generated.dto.BuchCreateRequest;
+import de.itzbund.api.generated.dto.BuchPatchRequest;
 import de.itzbund.api.generated.dto.BuchUpdateRequest;
 import de.itzbund.api.generated.dto.BuchResponse;
 import de.itzbund.entity.Buch;
+import de.itzbund.timing.ServerTiming;
+import de.itzbund.timing.ServerTiming.Phase;
+
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Utility-Mapper zwischen Buch-Entity und den generierten OpenAPI DTOs.
+ * Die Umwandlung in Response DTOs wird als Phase {@code map} für {@link ServerTiming} gemessen.
  */
 public final class BuchMapper {
     private BuchMapper() { }
@@ -40,12 +47,58 @@ public final class BuchMapper {
         entity.setPrice(dto.getPrice());
     }
 
+    /**
+     * Wendet einen JSON Merge Patch ({@link BuchPatchRequest}) auf eine bestehende {@link Buch}-Entität an.
+     * Nur enthaltene Felder werden gesetzt; eine explizit auf {@code null} gesetzte ISBN wird entfernt.
+     * @param entity Ziel-Entity (wird mutiert)
+     * @param dto Patch-DTO
+     */
+    public static void applyPatch(final Buch entity, final BuchPatchRequest dto) {
+        if (dto.getTitle() != null) {
+            entity.setTitle(dto.getTitle());
+        }
+        if (dto.getAuthor() != null) {
+            entity.setAuthor(dto.getAuthor());
+        }
+        if (dto.getIsbn().isPresent()) {
+            entity.setIsbn(dto.getIsbn().get());
+        }
+        if (dto.getPages() != null) {
+            entity.setPages(dto.getPages());
+        }
+        if (dto.getPrice() != null) {
+            entity.setPrice(dto.getPrice());
+        }
+    }
+
     /**
      * Wandelt eine {@link Buch} Entität in ein {@link BuchResponse} DTO für die API-Ausgabe um.
      * @param entity Quell-Entity
      * @return Response DTO
      */
     public static BuchResponse toResponse(final Buch entity) {
+        long start = System.nanoTime();
+        BuchResponse response = map(entity);
+        ServerTiming.add(Phase.MAP, System.nanoTime() - start);
+        return response;
+    }
+
+    /**
+     * Wandelt eine Liste von {@link Buch} Entitäten in Response DTOs um (Reihenfolge bleibt erhalten).
+     * @param entities Quell-Entities
+     * @return Response DTOs
+     */
+    public static List<BuchResponse> toResponseList(final List<Buch> entities) {
+        long start = System.nanoTime();
+        List<BuchResponse> responses = new ArrayList<>(entities.size());
+        for (Buch entity : entities) {
+            responses.add(map(entity));
+        }
+        ServerTiming.add(Phase.MAP, System.nanoTime() - start);
+        return responses;
+    }
+
+    private static BuchResponse map(final Buch entity) {
         return new BuchResponse()
             .id(entity.getId())
             .title(entity.getTitle())
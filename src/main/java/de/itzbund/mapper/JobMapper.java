@@ -0,0 +1,86 @@
+package de.itzbund.mapper;
+
+import de.itzbund.api.generated.dto.ExportJobResponse;
+import de.itzbund.api.generated.dto.ImportFehler;
+import de.itzbund.api.generated.dto.ImportJobResponse;
+import de.itzbund.api.generated.dto.IngestResponse;
+import de.itzbund.service.job.ExportJob;
+import de.itzbund.service.job.ImportJob;
+import de.itzbund.service.job.IngestItem;
+
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Utility-Mapper zwischen Hintergrund-Jobs (inkl. asynchroner Anlage) und den generierten OpenAPI DTOs.
+ */
+public final class JobMapper {
+    private JobMapper() { }
+
+    /**
+     * Wandelt einen {@link ImportJob} in ein {@link ImportJobResponse} DTO um (Momentaufnahme der Zähler).
+     * @param job Import-Job
+     * @return Response DTO
+     */
+    public static ImportJobResponse toResponse(final ImportJob job) {
+        return new ImportJobResponse()
+            .id(job.getId())
+            .status(ImportJobResponse.StatusEnum.valueOf(job.getStatus().name()))
+            .format(ImportJobResponse.FormatEnum.valueOf(job.getFormat().name()))
+            .source(job.getSource())
+            .linesRead(job.getLinesRead())
+            .imported(job.getImported())
+            .rejected(job.getRejected())
+            .rowsPerSecond(job.rowsPerSecond())
+            .startedAt(toOffset(job.getStartedAt()))
+            .finishedAt(toOffset(job.getFinishedAt()))
+            .message(job.getMessage());
+    }
+
+    /**
+     * Wandelt einen Zeilenfehler in ein {@link ImportFehler} DTO um.
+     * @param error Zeilenfehler
+     * @return Response DTO
+     */
+    public static ImportFehler toResponse(final ImportJob.RowError error) {
+        return new ImportFehler().line(error.line()).message(error.message());
+    }
+
+    /**
+     * Wandelt einen {@link ExportJob} in ein {@link ExportJobResponse} DTO um.
+     * @param job Export-Job
+     * @return Response DTO
+     */
+    public static ExportJobResponse toResponse(final ExportJob job) {
+        return new ExportJobResponse()
+            .id(job.getId())
+            .status(ExportJobResponse.StatusEnum.valueOf(job.getStatus().name()))
+            .format(ExportJobResponse.FormatEnum.valueOf(job.getFormat().name()))
+            .gzip(job.isGzip())
+            .rowsWritten(job.getRowsWritten())
+            .sizeBytes(job.getFile() == null ? null : job.getSizeBytes())
+            .startedAt(toOffset(job.getStartedAt()))
+            .finishedAt(toOffset(job.getFinishedAt()))
+            .message(job.getMessage());
+    }
+
+    /**
+     * Wandelt einen {@link IngestItem} in ein {@link IngestResponse} DTO um.
+     * @param item Tracking-Eintrag
+     * @return Response DTO
+     */
+    public static IngestResponse toResponse(final IngestItem item) {
+        return new IngestResponse()
+            .trackingId(item.getId())
+            .status(IngestResponse.StatusEnum.valueOf(item.getStatus().name()))
+            .buchId(item.getBuchId())
+            .acceptedAt(toOffset(item.getAcceptedAt()))
+            .processedAt(toOffset(item.getProcessedAt()))
+            .message(item.getMessage());
+    }
+
+    private static OffsetDateTime toOffset(final Instant instant) {
+        return instant == null ? null : instant.atOffset(ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,55 @@
+package de.itzbund.repository;
+
+import java.math.BigDecimal;
+
+/**
+ * Ergebnis einer Aggregat-Abfrage über Bücher. Summen, Minima und Maxima sind {@code null}, wenn kein Buch mit
+ * dem jeweiligen Feld gezählt wurde.
+ */
+public interface BuchAggregate {
+
+    /**
+     * @return Anzahl Bücher
+     */
+    long getCount();
+
+    /**
+     * @return Anzahl Bücher mit Preis
+     */
+    long getPriced();
+
+    /**
+     * @return Summe der Preise
+     */
+    BigDecimal getPriceSum();
+
+    /**
+     * @return kleinster Preis
+     */
+    BigDecimal getPriceMin();
+
+    /**
+     * @return größter Preis
+     */
+    BigDecimal getPriceMax();
+
+    /**
+     * @return Anzahl Bücher mit Seitenzahl
+     */
+    long getPaged();
+
+    /**
+     * @return Summe der Seiten
+     */
+    Long getPagesSum();
+
+    /**
+     * @return kleinste Seitenzahl
+     */
+    Integer getPagesMin();
+
+    /**
+     * @return größte Seitenzahl
+     */
+    Integer getPagesMax();
+}
@@ -0,0 +1,39 @@
+package de.itzbund.repository;
+
+import de.itzbund.entity.Buch;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Mengenoperationen auf {@link Buch}: erst die IDs per Filter lesen, dann je Abschnitt von IDs eine
+ * {@code UPDATE}- oder {@code DELETE}-Anweisung mit {@code id IN (...)}. Geändert wird damit genau, was gelesen
+ * wurde, auch wenn parallel neue Bücher den Filter erfüllen. Hibernate verwirft dabei die Cache-Region
+ * {@code books} und die Query-Cache-Einträge der Tabelle.
+ */
+public interface BuchBulkOperations {
+
+    /**
+     * IDs aller Bücher, die den Filter erfüllen (reine Skalar-Abfrage, lädt keine Entities).
+     * @param filter Filter
+     * @return IDs aufsteigend
+     */
+    List<Long> findIds(Specification<Buch> filter);
+
+    /**
+     * Ändert die Bücher mit den angegebenen IDs und erhöht deren Version.
+     * @param ids IDs, z.B. aus {@link #findIds(Specification)}
+     * @param priceFactor Faktor für den Preis (auf Cent gerundet, mindestens 0.01) oder {@code null}
+     * @param author neuer Autor oder {@code null}
+     * @return Anzahl geänderter Zeilen
+     */
+    int updateByIds(List<Long> ids, BigDecimal priceFactor, String author);
+
+    /**
+     * Löscht die Bücher mit den angegebenen IDs.
+     * @param ids IDs, z.B. aus {@link #findIds(Specification)}
+     * @return Anzahl gelöschter Zeilen
+     */
+    int deleteByIds(List<Long> ids);
+}
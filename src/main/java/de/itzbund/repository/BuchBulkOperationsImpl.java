@@ -0,0 +1,91 @@
+package de.itzbund.repository;
+
+import de.itzbund.entity.Buch;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaDelete;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.CriteriaUpdate;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Criteria-Umsetzung von {@link BuchBulkOperations}; Spring Data bindet sie über das Suffix {@code Impl} an
+ * {@link BuchRepository}. Die ID-Listen werden in Abschnitten von {@link #ID_CHUNK} gebunden, damit die
+ * {@code IN}-Liste in den Grenzen üblicher Datenbanken bleibt (Oracle: 1000 Ausdrücke).
+ */
+final class BuchBulkOperationsImpl implements BuchBulkOperations {
+
+    /** Untergrenze des Preises nach der Änderung (die Spalte verlangt einen positiven Preis). */
+    private static final BigDecimal MIN_PRICE = new BigDecimal("0.01");
+
+    /** Nachkommastellen des Preises. */
+    private static final int PRICE_SCALE = 2;
+
+    /** IDs je {@code UPDATE}/{@code DELETE}. */
+    static final int ID_CHUNK = 1000;
+
+    /** Persistence Context der laufenden Transaktion. */
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Long> findIds(final Specification<Buch> filter) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<Buch> root = query.from(Buch.class);
+        query.select(root.get("id")).orderBy(cb.asc(root.get("id")));
+        if (filter != null) {
+            query.where(filter.toPredicate(root, query, cb));
+        }
+        return entityManager.createQuery(query).getResultList();
+    }
+
+    @Override
+    public int updateByIds(final List<Long> ids, final BigDecimal priceFactor, final String author) {
+        int affected = 0;
+        for (int from = 0; from < ids.size(); from += ID_CHUNK) {
+            affected += update(ids.subList(from, Math.min(from + ID_CHUNK, ids.size())), priceFactor, author);
+        }
+        return affected;
+    }
+
+    @Override
+    public int deleteByIds(final List<Long> ids) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        int affected = 0;
+        for (int from = 0; from < ids.size(); from += ID_CHUNK) {
+            CriteriaDelete<Buch> delete = cb.createCriteriaDelete(Buch.class);
+            Root<Buch> root = delete.from(Buch.class);
+            delete.where(root.get("id").in(ids.subList(from, Math.min(from + ID_CHUNK, ids.size()))));
+            affected += entityManager.createQuery(delete).executeUpdate();
+        }
+        return affected;
+    }
+
+    private int update(final List<Long> ids, final BigDecimal priceFactor, final String author) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaUpdate<Buch> update = cb.createCriteriaUpdate(Buch.class);
+        Root<Buch> root = update.from(Buch.class);
+        Path<Long> version = root.get("version");
+        update.set(version, cb.sum(version, 1L));
+        if (priceFactor != null) {
+            Path<BigDecimal> price = root.get("price");
+            Expression<BigDecimal> rounded = cb.function("round", BigDecimal.class,
+                cb.prod(price, priceFactor), cb.literal(PRICE_SCALE));
+            update.set(price, cb.<BigDecimal>selectCase().when(cb.lessThan(rounded, MIN_PRICE), MIN_PRICE)
+                .otherwise(rounded));
+        }
+        if (author != null) {
+            update.set(root.<String>get("author"), author);
+        }
+        update.where(root.get("id").in(ids));
+        return entityManager.createQuery(update).executeUpdate();
+    }
+}
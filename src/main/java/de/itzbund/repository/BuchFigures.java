@@ -0,0 +1,29 @@
+package de.itzbund.repository;
+
+import java.math.BigDecimal;
+
+/**
+ * Projektion auf die Kennzahl-Felder (z.B. für das spaltenorientierte Lesemodell), ohne Entities zu laden.
+ */
+public interface BuchFigures {
+
+    /**
+     * @return Buch-ID
+     */
+    Long getId();
+
+    /**
+     * @return Autor
+     */
+    String getAuthor();
+
+    /**
+     * @return Seitenzahl
+     */
+    Integer getPages();
+
+    /**
+     * @return Preis
+     */
+    BigDecimal getPrice();
+}
@@ -0,0 +1,22 @@
+package de.itzbund.repository;
+
+/**
+ * Projektion auf ID, Titel und Autor (z.B. für den Autocomplete-Index), ohne Entities zu laden.
+ */
+public interface BuchLabel {
+
+    /**
+     * @return Buch-ID
+     */
+    Long getId();
+
+    /**
+     * @return Titel
+     */
+    String getTitle();
+
+    /**
+     * @return Autor
+     */
+    String getAuthor();
+}
@@ -0,0 +1,19 @@
+package de.itzbund.repository;
+
+import de.itzbund.entity.Buch;
+
+import java.util.List;
+
+/**
+ * Mehrfachlesen von {@link Buch} per ID über den Second-Level-Cache.
+ */
+public interface BuchMultiGet {
+
+    /**
+     * Lädt Bücher per ID. Persistence Context und Second-Level-Cache werden zuerst gelesen, nur die dort fehlenden
+     * IDs gehen mit einer Abfrage an die Datenbank (anders als {@code findAllById}, das immer abfragt).
+     * @param ids IDs ohne Duplikate
+     * @return Bücher in Reihenfolge der IDs, {@code null} für nicht vorhandene
+     */
+    List<Buch> loadAllById(List<Long> ids);
+}
@@ -0,0 +1,31 @@
+package de.itzbund.repository;
+
+import de.itzbund.entity.Buch;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+
+import java.util.List;
+
+/**
+ * Umsetzung von {@link BuchMultiGet} mit Hibernates {@code multiLoad}; Spring Data bindet sie über das Suffix
+ * {@code Impl} an {@link BuchRepository}. Die fehlenden IDs liest Hibernate in einer Abfrage fester SQL-Form
+ * (Array-Parameter bzw. aufgefüllte IN-Liste).
+ */
+final class BuchMultiGetImpl implements BuchMultiGet {
+
+    /** Persistence Context der laufenden Transaktion. */
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Buch> loadAllById(final List<Long> ids) {
+        return entityManager.unwrap(Session.class)
+            .byMultipleIds(Buch.class)
+            // ohne ausdrücklichen CacheMode prüft multiLoad den Second-Level-Cache nicht
+            .with(CacheMode.NORMAL)
+            .withBatchSize(ids.size())
+            .multiLoad(ids);
+    }
+}
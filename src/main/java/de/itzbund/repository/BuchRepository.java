@@ -1,18 +1,122 @@
 package de.itzbund.repository;
 
 import de.itzbund.entity.Buch;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Zentrales Repository für {@link Buch} mit zusätzlichen Such-Methoden.
+ * Die Such-Methoden nutzen den Query-Cache; Hibernate verwirft die Ergebnisse, sobald {@code books} geändert wird.
  */
-public interface BuchRepository extends JpaRepository<Buch, Long>, JpaSpecificationExecutor<Buch> {
+public interface BuchRepository extends JpaRepository<Buch, Long>, JpaSpecificationExecutor<Buch>,
+        BuchBulkOperations, BuchMultiGet {
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<Buch> findByAuthor(String author);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<Buch> findByTitleContainingIgnoreCase(String title);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<Buch> findByIsbn(String isbn);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<Buch> findByAuthorContainingIgnoreCaseAndTitleContainingIgnoreCase(String author, String title);
+
+    /**
+     * Liefert die bereits vergebenen ISBNs aus der übergebenen Menge (eine Abfrage je Block).
+     * @param isbns zu prüfende ISBNs
+     * @return vorhandene ISBNs
+     */
+    @Query("select b.isbn from Buch b where b.isbn in :isbns")
+    List<String> findExistingIsbns(@Param("isbns") Collection<String> isbns);
+
+    /**
+     * Vorwärts-Scroll über alle Bücher in ID-Reihenfolge für Exporte. Muss in einer (read-only) Transaktion
+     * konsumiert und geschlossen werden; gelesene Entities sollten vom Aufrufer detached werden.
+     * Der Second-Level-Cache wird umgangen, damit ein Vollscan die Region nicht verdrängt.
+     * @return Stream aller Bücher
+     */
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+        @QueryHint(name = HibernateHints.HINT_CACHE_MODE, value = "IGNORE")
+    })
+    Stream<Buch> streamAllByOrderByIdAsc();
+
+    /**
+     * Alle vergebenen ISBNs (Skalar-Projektion, füllt weder Persistence Context noch Cache).
+     * Muss in einer (read-only) Transaktion konsumiert und geschlossen werden.
+     * @return Stream der ISBNs
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("select b.isbn from Buch b where b.isbn is not null")
+    Stream<String> streamIsbns();
+
+    /**
+     * Titel und Autor aller Bücher als Skalar-Projektion (füllt weder Persistence Context noch Cache).
+     * Muss in einer (read-only) Transaktion konsumiert und geschlossen werden.
+     * @return Stream aller Buch-Labels
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("select b.id as id, b.title as title, b.author as author from Buch b")
+    Stream<BuchLabel> streamLabels();
+
+    /**
+     * Titel und Autor der angegebenen Bücher als Skalar-Projektion (füllt weder Persistence Context noch Cache).
+     * @param ids Buch-IDs
+     * @return Labels der vorhandenen Bücher
+     */
+    @Query("select b.id as id, b.title as title, b.author as author from Buch b where b.id in :ids")
+    List<BuchLabel> findLabels(@Param("ids") Collection<Long> ids);
+
+    /**
+     * ID, Autor, Seiten und Preis aller Bücher als Skalar-Projektion (füllt weder Persistence Context noch Cache).
+     * Muss in einer (read-only) Transaktion konsumiert und geschlossen werden.
+     * @return Stream aller Kennzahl-Felder
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("select b.id as id, b.author as author, b.pages as pages, b.price as price from Buch b")
+    Stream<BuchFigures> streamFigures();
+
+    /**
+     * ID, Autor, Seiten und Preis der angegebenen Bücher als Skalar-Projektion (füllt weder Persistence Context noch
+     * Cache).
+     * @param ids Buch-IDs
+     * @return Kennzahl-Felder der vorhandenen Bücher
+     */
+    @Query("select b.id as id, b.author as author, b.pages as pages, b.price as price from Buch b where b.id in :ids")
+    List<BuchFigures> findFigures(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Kennzahlen der Bücher, die alle gesetzten Filter erfüllen ({@code null} schränkt nicht ein).
+     * @param author Autor (exakt)
+     * @param minPrice Mindestpreis
+     * @param maxPrice Höchstpreis
+     * @param minPages Mindestseitenzahl
+     * @param maxPages Höchstseitenzahl
+     * @return Kennzahlen
+     */
+    @Query("""
+        select count(b) as count, count(b.price) as priced, sum(b.price) as priceSum,
+               min(b.price) as priceMin, max(b.price) as priceMax,
+               count(b.pages) as paged, sum(b.pages) as pagesSum, min(b.pages) as pagesMin, max(b.pages) as pagesMax
+        from Buch b
+        where (:author is null or b.author = :author)
+          and (:minPrice is null or b.price >= :minPrice) and (:maxPrice is null or b.price <= :maxPrice)
+          and (:minPages is null or b.pages >= :minPages) and (:maxPages is null or b.pages <= :maxPages)
+        """)
+    BuchAggregate aggregate(@Param("author") String author,
+                            @Param("minPrice") BigDecimal minPrice, @Param("maxPrice") BigDecimal maxPrice,
+                            @Param("minPages") Integer minPages, @Param("maxPages") Integer maxPages);
 }
@@ -0,0 +1,102 @@
+package de.itzbund.repository;
+
+import de.itzbund.entity.Buch;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.math.BigDecimal;
+
+/**
+ * Kombinierbare Filter für {@link BuchRepository#findAll(Specification)}. Jede Methode liefert {@code null}, wenn
+ * kein Wert angegeben ist; {@link Specification#and} ignoriert solche Filter.
+ * Die Bedingungen sind so formuliert, dass die Indizes aus {@code V3__books_search_indexes.sql} greifen.
+ */
+public final class BuchSpecifications {
+
+    private BuchSpecifications() { }
+
+    /**
+     * Verknüpft alle angegebenen Filter mit UND.
+     * @param author Autor (exakt)
+     * @param minPrice Mindestpreis (inklusive)
+     * @param maxPrice Höchstpreis (inklusive)
+     * @param minPages Mindestseitenzahl (inklusive)
+     * @param maxPages Höchstseitenzahl (inklusive)
+     * @param isbnPrefix Anfang der ISBN
+     * @return zusammengesetzte Specification (ohne Filter: alle Bücher)
+     */
+    public static Specification<Buch> filter(final String author, final BigDecimal minPrice, final BigDecimal maxPrice,
+                                             final Integer minPages, final Integer maxPages, final String isbnPrefix) {
+        return Specification.where(authorEquals(author))
+            .and(priceBetween(minPrice, maxPrice))
+            .and(pagesBetween(minPages, maxPages))
+            .and(isbnStartsWith(isbnPrefix));
+    }
+
+    /**
+     * Autor exakt (führende Spalte von {@code idx_books_author_price}).
+     * @param author Autor oder {@code null}
+     * @return Filter oder {@code null}
+     */
+    public static Specification<Buch> authorEquals(final String author) {
+        if (author == null) {
+            return null;
+        }
+        return (root, query, cb) -> cb.equal(root.get("author"), author);
+    }
+
+    /**
+     * Preisbereich, beide Grenzen optional und inklusive.
+     * @param min Mindestpreis oder {@code null}
+     * @param max Höchstpreis oder {@code null}
+     * @return Filter oder {@code null}
+     */
+    public static Specification<Buch> priceBetween(final BigDecimal min, final BigDecimal max) {
+        return range("price", min, max);
+    }
+
+    /**
+     * Seitenbereich, beide Grenzen optional und inklusive.
+     * @param min Mindestseitenzahl oder {@code null}
+     * @param max Höchstseitenzahl oder {@code null}
+     * @return Filter oder {@code null}
+     */
+    public static Specification<Buch> pagesBetween(final Integer min, final Integer max) {
+        return range("pages", min, max);
+    }
+
+    /**
+     * ISBN beginnt mit dem Präfix. Zusätzlich zum {@code LIKE} wird der Präfix als Bereich
+     * {@code isbn >= präfix and isbn < nachfolger} formuliert, damit der ISBN-Index auch bei gebundenem
+     * Parameter genutzt wird.
+     * @param prefix ISBN-Anfang oder {@code null}
+     * @return Filter oder {@code null}
+     */
+    public static Specification<Buch> isbnStartsWith(final String prefix) {
+        if (prefix == null || prefix.isEmpty()) {
+            return null;
+        }
+        char last = prefix.charAt(prefix.length() - 1);
+        String upper = prefix.substring(0, prefix.length() - 1) + (char) (last + 1);
+        return (root, query, cb) -> cb.and(
+            cb.greaterThanOrEqualTo(root.get("isbn"), prefix),
+            cb.lessThan(root.get("isbn"), upper),
+            cb.like(root.get("isbn"), prefix.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_") + "%",
+                '\\'));
+    }
+
+    private static <T extends Comparable<? super T>> Specification<Buch> range(final String attribute, final T min,
+                                                                               final T max) {
+        if (min == null && max == null) {
+            return null;
+        }
+        return (root, query, cb) -> {
+            if (min == null) {
+                return cb.lessThanOrEqualTo(root.get(attribute), max);
+            }
+            if (max == null) {
+                return cb.greaterThanOrEqualTo(root.get(attribute), min);
+            }
+            return cb.between(root.get(attribute), min, max);
+        };
+    }
+}
@@ -0,0 +1,14 @@
+package de.itzbund.service;
+
+import de.itzbund.entity.Buch;
+
+import java.util.List;
+
+/**
+ * Ergebnis von {@link BuchService#saveBatch(List)}.
+ *
+ * @param saved gespeicherte Bücher
+ * @param rejected Positionen (im übergebenen Block) der wegen doppelter ISBN abgelehnten Bücher
+ */
+public record BatchSaveResult(List<Buch> saved, List<Integer> rejected) {
+}
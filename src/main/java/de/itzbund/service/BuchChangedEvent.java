@@ -0,0 +1,46 @@
+package de.itzbund.service;
+
+import de.itzbund.entity.Buch;
+
+import java.util.List;
+
+/**
+ * Von {@link BuchService} innerhalb der Schreib-Transaktion veröffentlichte Änderung. Listener, die nur
+ * bestätigte Daten sehen dürfen (z.B. Such-Indizes), verwenden {@code @TransactionalEventListener}.
+ *
+ * <p>Massen-Updates liefern nur die IDs der geänderten Bücher; Listener laden die Felder, die sie brauchen, selbst
+ * nach (Skalar-Projektion in Blöcken), statt dass jedes Update alle Entities in den Persistence Context lädt.</p>
+ *
+ * @param saved gespeicherte (neue oder geänderte) Bücher
+ * @param updated IDs per Massen-Update geänderter Bücher (ISBN und Titel unverändert)
+ * @param deleted IDs gelöschter Bücher
+ */
+public record BuchChangedEvent(List<Buch> saved, List<Long> updated, List<Long> deleted) {
+
+    /**
+     * Änderung durch Speichern.
+     * @param saved gespeicherte Bücher
+     * @return Event ohne Löschungen
+     */
+    public static BuchChangedEvent saved(final List<Buch> saved) {
+        return new BuchChangedEvent(saved, List.of(), List.of());
+    }
+
+    /**
+     * Änderung durch Massen-Update.
+     * @param ids geänderte IDs
+     * @return Event nur mit IDs
+     */
+    public static BuchChangedEvent updated(final List<Long> ids) {
+        return new BuchChangedEvent(List.of(), ids, List.of());
+    }
+
+    /**
+     * Änderung durch Löschen.
+     * @param ids gelöschte IDs
+     * @return Event ohne gespeicherte Bücher
+     */
+    public static BuchChangedEvent deleted(final List<Long> ids) {
+        return new BuchChangedEvent(List.of(), List.of(), ids);
+    }
+}
@@ -4,65 +4,265 @@ import de.itzbund.entity.Buch;
 import de.itzbund.repository.BuchRepository;
 import de.itzbund.error.DuplicateIsbnException;
 import de.itzbund.error.VersionMismatchException;
+import de.itzbund.service.isbn.IsbnFilter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 
 @Service
 public class BuchService {
 
+    /**
+     * Maximale Anzahl IDs je Block beim Mehrfachlesen. Hibernate hält die SQL-Form je Block fest, damit der
+     * Statement-Cache greift.
+     */
+    public static final int ID_CHUNK_SIZE = 32;
+
     /** Repository für den Datenzugriff auf {@link Buch}. */
     private final BuchRepository repository;
+    /** Veröffentlicht {@link BuchChangedEvent}s für Schreibzugriffe. */
+    private final ApplicationEventPublisher events;
+    /** Bloom-Filter der vergebenen ISBNs ({@code null}: jede Prüfung fragt die Datenbank). */
+    private final IsbnFilter isbnFilter;
+    /** Transaktionen für {@link #saveBatch(List)} ({@code null}: Block ohne zeilenweise Wiederholung). */
+    private final TransactionTemplate transactions;
     /** Logger. */
     private static final Logger LOGGER = LoggerFactory.getLogger(BuchService.class);
 
     /**
      * Konstruktor Injection.
      * @param repository Buch-Repository
+     * @param events Publisher für {@link BuchChangedEvent}
+     */
+    public BuchService(final BuchRepository repository, final ApplicationEventPublisher events) {
+        this(repository, events, null, null);
+    }
+
+    /**
+     * Konstruktor Injection mit ISBN-Filter.
+     * @param repository Buch-Repository
+     * @param events Publisher für {@link BuchChangedEvent}
+     * @param isbnFilter Bloom-Filter der vergebenen ISBNs ({@code null}: jede Prüfung fragt die Datenbank)
+     * @param transactionManager Transaktionsmanager für {@link #saveBatch(List)}
      */
-    public BuchService(final BuchRepository repository) {
+    @Autowired
+    public BuchService(final BuchRepository repository, final ApplicationEventPublisher events,
+                       final IsbnFilter isbnFilter, final PlatformTransactionManager transactionManager) {
         this.repository = repository;
+        this.events = events;
+        this.isbnFilter = isbnFilter;
+        this.transactions = transactionManager == null ? null : new TransactionTemplate(transactionManager);
     }
 
-    /** Speichert oder aktualisiert ein Buch (inkl. Duplicate-ISBN-Prüfung). */
+    /** Speichert oder aktualisiert ein Buch (inkl. Duplicate-ISBN-Prüfung, sicher freie ISBNs ohne Abfrage). */
+    @Transactional
     public Buch save(final Buch buch) {
-        if (buch.getIsbn() != null) {
-            repository.findByIsbn(buch.getIsbn())
-                .filter(existing -> !existing.getId().equals(buch.getId()))
-                .ifPresent(b -> {
-                    throw new DuplicateIsbnException(buch.getIsbn());
-                });
-        }
+        checkIsbn(buch);
+        return store(buch);
+    }
+
+    /**
+     * Speichert sofort ({@code flush}), damit eine an der Prüfung vorbeigekommene doppelte ISBN (falsches
+     * "nicht vergeben" des Filters bei paralleler Anlage oder auf einer anderen Instanz) hier als
+     * {@link DuplicateIsbnException} endet.
+     */
+    private Buch store(final Buch buch) {
         Buch saved = repository.save(buch);
+        try {
+            repository.flush();
+        } catch (DataIntegrityViolationException e) {
+            if (DuplicateIsbnException.isCausedBy(e)) {
+                throw new DuplicateIsbnException(buch.getIsbn());
+            }
+            throw e;
+        }
+        if (isbnFilter != null) {
+            isbnFilter.add(saved.getIsbn());
+        }
         LOGGER.debug("Gespeichert Buch id={} isbn={}", saved.getId(), saved.getIsbn());
+        events.publishEvent(BuchChangedEvent.saved(List.of(saved)));
         return saved;
     }
 
+    private void checkIsbn(final Buch buch) {
+        if (buch.getIsbn() == null || !mightBeTaken(buch.getIsbn())) {
+            return;
+        }
+        Optional<Buch> existing = repository.findByIsbn(buch.getIsbn());
+        if (isbnFilter != null) {
+            isbnFilter.recordLookups(1, existing.isPresent() ? 1 : 0);
+        }
+        existing.filter(b -> !b.getId().equals(buch.getId()))
+            .ifPresent(b -> {
+                throw new DuplicateIsbnException(buch.getIsbn());
+            });
+    }
+
+    /** Ob die ISBN vergeben sein könnte; {@code false} erspart die Abfrage. */
+    private boolean mightBeTaken(final String isbn) {
+        return isbnFilter == null || isbnFilter.mightContain(isbn);
+    }
+
+    /**
+     * Speichert einen Block neuer Bücher in einer Transaktion (Batch-Insert).
+     * Die Duplicate-ISBN-Prüfung erfolgt mit einer Abfrage für den ganzen Block (nur für ISBNs, die laut
+     * {@link IsbnFilter} vergeben sein könnten); ISBNs, die bereits vergeben sind oder im Block mehrfach vorkommen,
+     * werden abgelehnt statt den Block abzubrechen.
+     *
+     * <p>Verletzt der Block trotzdem die Unique-Constraint der ISBN (parallele Anlage, andere Instanz), wird er
+     * zeilenweise in je einer eigenen Transaktion wiederholt; abgelehnt werden nur die betroffenen Positionen.
+     * Deshalb nicht innerhalb einer laufenden Transaktion aufrufen.</p>
+     * @param buecher neue Bücher
+     * @return gespeicherte Bücher und Positionen der abgelehnten Einträge
+     */
+    public BatchSaveResult saveBatch(final List<Buch> buecher) {
+        if (transactions == null) {
+            return insertBatch(buecher);
+        }
+        try {
+            return transactions.execute(status -> insertBatch(buecher));
+        } catch (DataIntegrityViolationException e) {
+            if (!DuplicateIsbnException.isCausedBy(e)) {
+                throw e;
+            }
+            LOGGER.info("Block verletzt {}, speichere zeilenweise", DuplicateIsbnException.CONSTRAINT);
+            return insertRows(buecher);
+        }
+    }
+
+    private BatchSaveResult insertRows(final List<Buch> buecher) {
+        List<Buch> saved = new ArrayList<>(buecher.size());
+        List<Integer> rejected = new ArrayList<>();
+        for (int i = 0; i < buecher.size(); i++) {
+            Buch buch = buecher.get(i);
+            // Vom zurückgerollten Versuch vergebene ID und Version verwerfen, sonst gilt das Buch nicht als neu
+            buch.setId(null);
+            buch.setVersion(null);
+            try {
+                BatchSaveResult row = transactions.execute(status -> insertBatch(List.of(buch)));
+                saved.addAll(row.saved());
+                if (!row.rejected().isEmpty()) {
+                    rejected.add(i);
+                }
+            } catch (DataIntegrityViolationException e) {
+                if (!DuplicateIsbnException.isCausedBy(e)) {
+                    throw e;
+                }
+                rejected.add(i);
+            }
+        }
+        return new BatchSaveResult(saved, rejected);
+    }
+
+    private BatchSaveResult insertBatch(final List<Buch> buecher) {
+        Set<String> isbns = buecher.stream()
+            .map(Buch::getIsbn)
+            .filter(Objects::nonNull)
+            .filter(this::mightBeTaken)
+            .collect(Collectors.toSet());
+        Set<String> taken = isbns.isEmpty() ? new HashSet<>() : new HashSet<>(repository.findExistingIsbns(isbns));
+        if (isbnFilter != null && !isbns.isEmpty()) {
+            isbnFilter.recordLookups(isbns.size(), taken.size());
+        }
+        List<Buch> accepted = new ArrayList<>(buecher.size());
+        List<Integer> rejected = new ArrayList<>();
+        for (int i = 0; i < buecher.size(); i++) {
+            Buch buch = buecher.get(i);
+            if (buch.getIsbn() != null && !taken.add(buch.getIsbn())) {
+                rejected.add(i);
+            } else {
+                accepted.add(buch);
+            }
+        }
+        List<Buch> saved = repository.saveAll(accepted);
+        repository.flush();
+        if (isbnFilter != null) {
+            saved.forEach(b -> isbnFilter.add(b.getIsbn()));
+        }
+        events.publishEvent(BuchChangedEvent.saved(saved));
+        LOGGER.debug("Block gespeichert: {} neu, {} abgelehnt", saved.size(), rejected.size());
+        return new BatchSaveResult(saved, rejected);
+    }
+
     /** Sucht ein Buch per ID. */
+    @Transactional(readOnly = true)
     public Optional<Buch> findById(final Long id) {
         return repository.findById(id);
     }
 
+    /**
+     * Liest mehrere Bücher per ID in Blöcken von {@link #ID_CHUNK_SIZE}; Treffer im Second-Level-Cache kommen ohne
+     * Abfrage, nur die fehlenden IDs eines Blocks gehen an die Datenbank. Doppelte IDs werden nur einmal gelesen.
+     * @param ids angefragte IDs
+     * @return gefundene Bücher nach ID (fehlende IDs sind nicht enthalten)
+     */
+    @Transactional(readOnly = true)
+    public Map<Long, Buch> findAllByIds(final List<Long> ids) {
+        List<Long> distinct = new ArrayList<>(new LinkedHashSet<>(ids));
+        Map<Long, Buch> result = new HashMap<>(distinct.size() * 2);
+        for (int from = 0; from < distinct.size(); from += ID_CHUNK_SIZE) {
+            List<Long> chunk = distinct.subList(from, Math.min(from + ID_CHUNK_SIZE, distinct.size()));
+            for (Buch buch : repository.loadAllById(chunk)) {
+                if (buch != null) {
+                    result.put(buch.getId(), buch);
+                }
+            }
+        }
+        return result;
+    }
+
     /** Liefert alle Bücher. */
+    @Transactional(readOnly = true)
     public List<Buch> findAll() {
         return repository.findAll();
     }
 
     /** Liefert alle Bücher anhand einer Specification. */
+    @Transactional(readOnly = true)
     public List<Buch> findAll(final Specification<Buch> spec) {
         return repository.findAll(spec);
     }
 
+    /**
+     * Gefilterte Suche mit Sortierung und Obergrenze in der Datenbank.
+     * @param spec Filter (siehe {@code BuchSpecifications})
+     * @param sort Sortierung
+     * @param limit maximale Anzahl Treffer
+     * @return höchstens {@code limit} Bücher in Sortierreihenfolge
+     */
+    @Transactional(readOnly = true)
+    public List<Buch> search(final Specification<Buch> spec, final Sort sort, final int limit) {
+        return repository.findBy(spec, query -> query.sortBy(sort).limit(limit).all());
+    }
+
     /** Sucht Bücher nach Autor (exakte Übereinstimmung). */
+    @Transactional(readOnly = true)
     public List<Buch> findByAuthor(final String author) {
         return repository.findByAuthor(author);
     }
 
     /** Sucht Bücher deren Titel den übergebenen Teilstring (case-insensitive) enthält. */
+    @Transactional(readOnly = true)
     public List<Buch> findByTitleContainingIgnoreCase(final String title) {
         return repository.findByTitleContainingIgnoreCase(title);
     }
@@ -73,18 +273,21 @@ public class BuchService {
      * @param title teilweiser Titel
      * @return Liste gefundener Bücher
      */
+    @Transactional(readOnly = true)
     public List<Buch> searchAuthorAndTitle(final String author, final String title) {
         return repository.findByAuthorContainingIgnoreCaseAndTitleContainingIgnoreCase(author, title);
     }
 
     /**
      * Aktualisiert ein Buch falls vorhanden und Version passend ist.
+     * Die Duplicate-ISBN-Prüfung läuft nur, wenn der Mutator die ISBN ändert.
      * @param id Buch-ID
      * @param expectedVersion erwartete Version (Pflicht extern)
      * @param mutator Änderungslambda
      * @return aktualisierte Entität oder null falls nicht gefunden
      * @throws VersionMismatchException bei Versionskonflikt
      */
+    @Transactional
     public Buch updateWithVersionCheck(final Long id,
                                        final Long expectedVersion,
                                        final java.util.function.Consumer<Buch> mutator) {
@@ -96,17 +299,62 @@ public class BuchService {
         if (expectedVersion != null && !expectedVersion.equals(current)) {
             throw new VersionMismatchException(id, expectedVersion, current);
         }
+        String isbn = entity.getIsbn();
         mutator.accept(entity);
-        return save(entity);
+        if (!Objects.equals(isbn, entity.getIsbn())) {
+            checkIsbn(entity);
+        }
+        return store(entity);
     }
 
     /** Prüft ob ein Buch mit der ID existiert. */
+    @Transactional(readOnly = true)
     public boolean existsById(final Long id) {
         return repository.existsById(id);
     }
 
     /** Löscht ein Buch per ID. */
+    @Transactional
     public void deleteById(final Long id) {
         repository.deleteById(id);
+        events.publishEvent(BuchChangedEvent.deleted(List.of(id)));
+    }
+
+    /**
+     * Ändert alle Bücher, die den Filter erfüllen, und erhöht deren Version. Die IDs werden vorab gelesen; das
+     * UPDATE trifft nur diese IDs (je 1000 eine Anweisung), damit das Ereignis genau die geänderten Bücher nennt,
+     * auch wenn parallel weitere den Filter erfüllen. Die In-Memory-Indizes laden die geänderten Felder nach dem
+     * Commit selbst nach.
+     * @param filter Filter (Pflicht; ohne Filter wären alle Bücher betroffen)
+     * @param priceFactor Faktor für den Preis oder {@code null}
+     * @param author neuer Autor oder {@code null}
+     * @return Anzahl geänderter Bücher
+     */
+    @Transactional
+    public long updateMatching(final Specification<Buch> filter, final BigDecimal priceFactor, final String author) {
+        List<Long> ids = repository.findIds(filter);
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        int affected = repository.updateByIds(ids, priceFactor, author);
+        events.publishEvent(BuchChangedEvent.updated(ids));
+        return affected;
+    }
+
+    /**
+     * Löscht alle Bücher, die den Filter erfüllen. Wie bei {@link #updateMatching} trifft das DELETE nur die vorab
+     * gelesenen IDs.
+     * @param filter Filter (Pflicht; ohne Filter wären alle Bücher betroffen)
+     * @return Anzahl gelöschter Bücher
+     */
+    @Transactional
+    public long deleteMatching(final Specification<Buch> filter) {
+        List<Long> ids = repository.findIds(filter);
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        long affected = repository.deleteByIds(ids);
+        events.publishEvent(BuchChangedEvent.deleted(ids));
+        return affected;
     }
 }
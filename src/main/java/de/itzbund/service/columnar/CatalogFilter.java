@@ -0,0 +1,16 @@
+package de.itzbund.service.columnar;
+
+import java.math.BigDecimal;
+
+/**
+ * Filter für Katalog-Kennzahlen; {@code null} bedeutet "nicht eingeschränkt". Grenzen sind inklusive.
+ *
+ * @param author Autor (exakte Übereinstimmung)
+ * @param minPrice Mindestpreis
+ * @param maxPrice Höchstpreis
+ * @param minPages Mindestseitenzahl
+ * @param maxPages Höchstseitenzahl
+ */
+public record CatalogFilter(String author, BigDecimal minPrice, BigDecimal maxPrice,
+                            Integer minPages, Integer maxPages) {
+}
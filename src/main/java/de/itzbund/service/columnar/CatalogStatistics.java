@@ -0,0 +1,83 @@
+package de.itzbund.service.columnar;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Kennzahlen über eine Menge von Büchern. Preise in Cent; Bücher ohne Preis bzw. Seitenzahl zählen in
+ * {@link #count()}, aber nicht in Summe, Minimum und Maximum des jeweiligen Felds (wie {@code SUM}/{@code MIN} in SQL).
+ *
+ * @param count Anzahl Bücher
+ * @param priced Anzahl Bücher mit Preis
+ * @param priceSum Summe der Preise in Cent
+ * @param priceMin kleinster Preis in Cent ({@code 0}, wenn {@code priced == 0})
+ * @param priceMax größter Preis in Cent ({@code 0}, wenn {@code priced == 0})
+ * @param paged Anzahl Bücher mit Seitenzahl
+ * @param pagesSum Summe der Seiten
+ * @param pagesMin kleinste Seitenzahl ({@code 0}, wenn {@code paged == 0})
+ * @param pagesMax größte Seitenzahl ({@code 0}, wenn {@code paged == 0})
+ */
+public record CatalogStatistics(long count, long priced, long priceSum, long priceMin, long priceMax,
+                                long paged, long pagesSum, int pagesMin, int pagesMax) {
+
+    /** Keine Treffer. */
+    public static final CatalogStatistics EMPTY = new CatalogStatistics(0, 0, 0, 0, 0, 0, 0, 0, 0);
+
+    /**
+     * Fasst die Kennzahlen zweier disjunkter Teilmengen zusammen (z.B. zweier Scan-Abschnitte).
+     * @param other Kennzahlen der anderen Teilmenge
+     * @return Kennzahlen der Vereinigung
+     */
+    public CatalogStatistics merge(final CatalogStatistics other) {
+        if (other.count == 0) {
+            return this;
+        }
+        if (count == 0) {
+            return other;
+        }
+        return new CatalogStatistics(count + other.count,
+            priced + other.priced, priceSum + other.priceSum,
+            min(priced, priceMin, other.priced, other.priceMin), max(priced, priceMax, other.priced, other.priceMax),
+            paged + other.paged, pagesSum + other.pagesSum,
+            (int) min(paged, pagesMin, other.paged, other.pagesMin),
+            (int) max(paged, pagesMax, other.paged, other.pagesMax));
+    }
+
+    /**
+     * @param cents Betrag in Cent
+     * @return Betrag in Euro mit zwei Nachkommastellen
+     */
+    public static BigDecimal euros(final long cents) {
+        return BigDecimal.valueOf(cents, 2);
+    }
+
+    /**
+     * @return Durchschnittspreis in Euro (kaufmännisch gerundet) oder {@code null} ohne Preise
+     */
+    public BigDecimal priceAverage() {
+        return priced == 0 ? null : BigDecimal.valueOf(priceSum).divide(BigDecimal.valueOf(priced), 0,
+            RoundingMode.HALF_UP).movePointLeft(2);
+    }
+
+    /**
+     * @return durchschnittliche Seitenzahl (zwei Nachkommastellen) oder {@code null} ohne Seitenzahlen
+     */
+    public BigDecimal pagesAverage() {
+        return paged == 0 ? null : BigDecimal.valueOf(pagesSum).divide(BigDecimal.valueOf(paged), 2,
+            RoundingMode.HALF_UP);
+    }
+
+    private static long min(final long n, final long value, final long otherN, final long otherValue) {
+        if (n == 0) {
+            return otherValue;
+        }
+        return otherN == 0 ? value : Math.min(value, otherValue);
+    }
+
+    private static long max(final long n, final long value, final long otherN, final long otherValue) {
+        if (n == 0) {
+            return otherValue;
+        }
+        return otherN == 0 ? value : Math.max(value, otherValue);
+    }
+}
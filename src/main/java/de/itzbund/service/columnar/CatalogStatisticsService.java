@@ -0,0 +1,72 @@
+package de.itzbund.service.columnar;
+
+import de.itzbund.repository.BuchAggregate;
+import de.itzbund.repository.BuchRepository;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+
+/**
+ * Katalog-Kennzahlen: aus dem {@link ColumnarReadModel}, wenn es aktiviert ist, sonst per Aggregat-Abfrage.
+ */
+@Service
+public class CatalogStatisticsService {
+
+    /** Repository für die Aggregat-Abfrage. */
+    private final BuchRepository repository;
+    /** Lesemodell im Speicher oder {@code null}. */
+    private final ColumnarReadModel readModel;
+
+    /**
+     * Konstruktor Injection.
+     * @param repository Buch-Repository
+     * @param readModel Lesemodell, falls aktiviert
+     */
+    public CatalogStatisticsService(final BuchRepository repository,
+                                    final ObjectProvider<ColumnarReadModel> readModel) {
+        this.repository = repository;
+        this.readModel = readModel.getIfAvailable();
+    }
+
+    /**
+     * @return {@code true}, wenn Kennzahlen aus dem Lesemodell im Speicher kommen
+     */
+    public boolean isColumnar() {
+        return readModel != null;
+    }
+
+    /**
+     * Kennzahlen der Bücher, die den Filter erfüllen.
+     * @param filter Filter
+     * @return Kennzahlen
+     */
+    public CatalogStatistics statistics(final CatalogFilter filter) {
+        return readModel != null ? readModel.aggregate(filter) : aggregateInDatabase(filter);
+    }
+
+    /**
+     * Kennzahlen per Aggregat-Abfrage, auch bei aktiviertem Lesemodell (Abgleich, Vergleichsmessungen).
+     * @param filter Filter
+     * @return Kennzahlen
+     */
+    @Transactional(readOnly = true)
+    public CatalogStatistics aggregateInDatabase(final CatalogFilter filter) {
+        BuchAggregate aggregate = repository.aggregate(filter.author(), filter.minPrice(), filter.maxPrice(),
+            filter.minPages(), filter.maxPages());
+        if (aggregate.getCount() == 0) {
+            return CatalogStatistics.EMPTY;
+        }
+        return new CatalogStatistics(aggregate.getCount(),
+            aggregate.getPriced(), cents(aggregate.getPriceSum()),
+            cents(aggregate.getPriceMin()), cents(aggregate.getPriceMax()),
+            aggregate.getPaged(), aggregate.getPagesSum() == null ? 0 : aggregate.getPagesSum(),
+            aggregate.getPagesMin() == null ? 0 : aggregate.getPagesMin(),
+            aggregate.getPagesMax() == null ? 0 : aggregate.getPagesMax());
+    }
+
+    private static long cents(final BigDecimal euros) {
+        return euros == null ? 0 : euros.movePointRight(2).longValueExact();
+    }
+}
@@ -0,0 +1,281 @@
+package de.itzbund.service.columnar;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.IntStream;
+
+/**
+ * Spaltenorientierte Kopie der Kennzahl-Felder aller Bücher in primitiven Arrays: ID ({@code long}), Seiten
+ * ({@code int}), Preis in Cent ({@code long}) und Autor als Code in ein Wörterbuch ({@code int}). Je Buch fallen so
+ * 24 Bytes plus die ID-Tabelle an, statt eines Entity-Objekts mit Wrappern und {@code BigDecimal}.
+ *
+ * <p>Zeilen sind lückenlos belegt: Löschen verschiebt die letzte Zeile in die frei gewordene. Auswertungen laufen
+ * unter der Lesesperre und teilen den Scan ab {@code chunkSize} Zeilen in parallel bearbeitete Abschnitte;
+ * Änderungen nehmen die Schreibsperre nur für die betroffenen Zeilen.</p>
+ */
+public final class ColumnarCatalog {
+
+    /** Platzhalter für fehlende Seitenzahl. */
+    private static final int NO_PAGES = Integer.MIN_VALUE;
+    /** Platzhalter für fehlenden Preis. */
+    private static final long NO_PRICE = Long.MIN_VALUE;
+    /** Platzhalter für fehlenden Autor. */
+    private static final int NO_AUTHOR = -1;
+    /** Anfangskapazität der Spalten. */
+    private static final int INITIAL_CAPACITY = 1024;
+    /** Geschätzter Speicher je Wörterbuch-Eintrag ohne Zeichen (String, Array, Map-Eintrag, Listenplatz). */
+    private static final int DICTIONARY_ENTRY_BYTES = 96;
+
+    /** Trennt Auswertungen (geteilt) von Änderungen (exklusiv). */
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    /** Zeilen je Scan-Abschnitt. */
+    private final int chunkSize;
+    /** Zeile je Buch-ID. */
+    private final LongIntMap rows = new LongIntMap();
+    /** Autorennamen je Code. */
+    private final List<String> authorNames = new ArrayList<>();
+    /** Code je Autorenname. */
+    private final Map<String, Integer> authorCodes = new HashMap<>();
+    /** Buch-IDs. */
+    private long[] ids = new long[INITIAL_CAPACITY];
+    /** Seitenzahlen. */
+    private int[] pages = new int[INITIAL_CAPACITY];
+    /** Preise in Cent. */
+    private long[] prices = new long[INITIAL_CAPACITY];
+    /** Autor-Codes. */
+    private int[] authors = new int[INITIAL_CAPACITY];
+    /** Belegte Zeilen. */
+    private int size;
+    /** Zeichen aller Autorennamen (für {@link #bytes()}). */
+    private long authorChars;
+
+    /**
+     * @param chunkSize Zeilen je parallel bearbeitetem Scan-Abschnitt
+     */
+    public ColumnarCatalog(final int chunkSize) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("chunkSize muss positiv sein");
+        }
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Nimmt ein Buch auf oder überschreibt dessen Zeile.
+     * @param id Buch-ID
+     * @param author Autor
+     * @param pageCount Seitenzahl oder {@code null}
+     * @param price Preis oder {@code null} (wird wie in der Datenbank auf Cent gerundet)
+     */
+    public void put(final long id, final String author, final Integer pageCount, final BigDecimal price) {
+        lock.writeLock().lock();
+        try {
+            int row = rows.get(id);
+            if (row == LongIntMap.MISSING) {
+                if (size == ids.length) {
+                    grow();
+                }
+                row = size++;
+                rows.put(id, row);
+            }
+            ids[row] = id;
+            authors[row] = author == null ? NO_AUTHOR : authorCode(author);
+            pages[row] = pageCount == null ? NO_PAGES : pageCount;
+            prices[row] = price == null ? NO_PRICE : price.setScale(2, RoundingMode.HALF_UP).unscaledValue()
+                .longValueExact();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Entfernt ein Buch; unbekannte IDs werden ignoriert.
+     * @param id Buch-ID
+     */
+    public void remove(final long id) {
+        lock.writeLock().lock();
+        try {
+            int row = rows.get(id);
+            if (row == LongIntMap.MISSING) {
+                return;
+            }
+            rows.remove(id);
+            int last = --size;
+            if (row != last) {
+                ids[row] = ids[last];
+                authors[row] = authors[last];
+                pages[row] = pages[last];
+                prices[row] = prices[last];
+                rows.put(ids[row], row);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Kennzahlen aller Bücher, die den Filter erfüllen.
+     * @param filter Filter
+     * @return Kennzahlen
+     */
+    public CatalogStatistics aggregate(final CatalogFilter filter) {
+        lock.readLock().lock();
+        try {
+            Integer author = filter.author() == null ? null : authorCodes.get(filter.author());
+            if (filter.author() != null && author == null) {
+                return CatalogStatistics.EMPTY;
+            }
+            Scan scan = new Scan(authors, pages, prices,
+                author == null ? NO_AUTHOR : author,
+                filter.minPrice() == null ? Long.MIN_VALUE : cents(filter.minPrice(), RoundingMode.CEILING),
+                filter.maxPrice() == null ? Long.MAX_VALUE : cents(filter.maxPrice(), RoundingMode.FLOOR),
+                filter.minPages() == null ? Integer.MIN_VALUE : filter.minPages(),
+                filter.maxPages() == null ? Integer.MAX_VALUE : filter.maxPages(),
+                filter.minPrice() != null || filter.maxPrice() != null,
+                filter.minPages() != null || filter.maxPages() != null);
+            int count = size;
+            int chunks = (count + chunkSize - 1) / chunkSize;
+            if (chunks <= 1) {
+                return scan.range(0, count);
+            }
+            // Die Lesesperre des Aufrufers schützt auch die Worker-Threads: Schreiber warten bis zum Ende des Scans
+            return IntStream.range(0, chunks).parallel()
+                .mapToObj(chunk -> scan.range(chunk * chunkSize, Math.min(count, (chunk + 1) * chunkSize)))
+                .reduce(CatalogStatistics.EMPTY, CatalogStatistics::merge);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Leert den Katalog (z.B. vor einem Neuaufbau).
+     */
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            while (size > 0) {
+                rows.remove(ids[--size]);
+            }
+            authorNames.clear();
+            authorCodes.clear();
+            authorChars = 0;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * @return Anzahl Bücher
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Belegter Speicher: Spalten und ID-Tabelle exakt (Kapazität, nicht nur belegte Zeilen), Autoren-Wörterbuch
+     * geschätzt.
+     * @return Bytes
+     */
+    public long bytes() {
+        lock.readLock().lock();
+        try {
+            long columns = (long) ids.length * (Long.BYTES + Integer.BYTES + Long.BYTES + Integer.BYTES);
+            return columns + rows.bytes() + (long) authorNames.size() * DICTIONARY_ENTRY_BYTES + authorChars;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private int authorCode(final String author) {
+        Integer code = authorCodes.get(author);
+        if (code == null) {
+            code = authorNames.size();
+            authorNames.add(author);
+            authorCodes.put(author, code);
+            authorChars += author.length();
+        }
+        return code;
+    }
+
+    private void grow() {
+        int capacity = ids.length + (ids.length >> 1);
+        ids = Arrays.copyOf(ids, capacity);
+        pages = Arrays.copyOf(pages, capacity);
+        prices = Arrays.copyOf(prices, capacity);
+        authors = Arrays.copyOf(authors, capacity);
+    }
+
+    private static long cents(final BigDecimal euros, final RoundingMode rounding) {
+        return euros.setScale(2, rounding).unscaledValue().longValueExact();
+    }
+
+    /**
+     * Ein Scan mit aufgelösten Filtergrenzen über die Spalten zum Zeitpunkt der Anfrage.
+     *
+     * @param authors Autor-Codes
+     * @param pages Seitenzahlen
+     * @param prices Preise in Cent
+     * @param author gesuchter Autor-Code oder {@link #NO_AUTHOR} für alle
+     * @param minPrice Mindestpreis in Cent
+     * @param maxPrice Höchstpreis in Cent
+     * @param minPages Mindestseitenzahl
+     * @param maxPages Höchstseitenzahl
+     * @param priceFiltered Preisfilter gesetzt (Bücher ohne Preis fallen heraus)
+     * @param pagesFiltered Seitenfilter gesetzt (Bücher ohne Seitenzahl fallen heraus)
+     */
+    private record Scan(int[] authors, int[] pages, long[] prices, int author, long minPrice, long maxPrice,
+                        int minPages, int maxPages, boolean priceFiltered, boolean pagesFiltered) {
+
+        CatalogStatistics range(final int from, final int to) {
+            long count = 0;
+            long priced = 0;
+            long priceSum = 0;
+            long priceMin = Long.MAX_VALUE;
+            long priceMax = Long.MIN_VALUE;
+            long paged = 0;
+            long pagesSum = 0;
+            int pagesMin = Integer.MAX_VALUE;
+            int pagesMax = Integer.MIN_VALUE;
+            for (int row = from; row < to; row++) {
+                if (author != NO_AUTHOR && authors[row] != author) {
+                    continue;
+                }
+                long price = prices[row];
+                if (priceFiltered && (price == NO_PRICE || price < minPrice || price > maxPrice)) {
+                    continue;
+                }
+                int pageCount = pages[row];
+                if (pagesFiltered && (pageCount == NO_PAGES || pageCount < minPages || pageCount > maxPages)) {
+                    continue;
+                }
+                count++;
+                if (price != NO_PRICE) {
+                    priced++;
+                    priceSum += price;
+                    priceMin = Math.min(priceMin, price);
+                    priceMax = Math.max(priceMax, price);
+                }
+                if (pageCount != NO_PAGES) {
+                    paged++;
+                    pagesSum += pageCount;
+                    pagesMin = Math.min(pagesMin, pageCount);
+                    pagesMax = Math.max(pagesMax, pageCount);
+                }
+            }
+            return count == 0 ? CatalogStatistics.EMPTY : new CatalogStatistics(count,
+                priced, priceSum, priced == 0 ? 0 : priceMin, priced == 0 ? 0 : priceMax,
+                paged, pagesSum, paged == 0 ? 0 : pagesMin, paged == 0 ? 0 : pagesMax);
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package de.itzbund.service.columnar;
+
+import de.itzbund.config.ColumnarProperties;
+import de.itzbund.entity.Buch;
+import de.itzbund.repository.BuchFigures;
+import de.itzbund.repository.BuchRepository;
+import de.itzbund.service.BuchChangedEvent;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Hält den Katalog als {@link ColumnarCatalog} im Speicher ({@code itzbund.columnar.enabled=true}).
+ *
+ * <p>Aufbau beim Start (vor dem Webserver) aus {@link BuchRepository#streamFigures()}, danach inkrementell über
+ * {@link BuchChangedEvent}s von {@code BuchService} nach jedem Commit. Belegter Speicher und Anzahl Bücher sind als
+ * Gauges {@code itzbund.columnar.bytes} und {@code itzbund.columnar.books} sichtbar.</p>
+ */
+@Service
+@ConditionalOnProperty(prefix = "itzbund.columnar", name = "enabled", havingValue = "true")
+public final class ColumnarReadModel implements SmartInitializingSingleton {
+
+    /** Logger. */
+    private static final Logger LOGGER = LoggerFactory.getLogger(ColumnarReadModel.class);
+    /** Bytes je KiB (Log-Ausgabe). */
+    private static final long KIB = 1024;
+    /** IDs je Abfrage beim Nachladen nach Massen-Updates. */
+    private static final int RELOAD_CHUNK_SIZE = 500;
+
+    /** Repository für den Aufbau. */
+    private final BuchRepository repository;
+    /** Read-only-Transaktion für den Aufbau. */
+    private final TransactionTemplate readOnly;
+    /** Eigene Transaktion auf der Primär-Datenbank zum Nachladen nach dem Commit. */
+    private final TransactionTemplate reload;
+    /** Spalten. */
+    private final ColumnarCatalog catalog;
+    /** Serialisiert Neuaufbau und Änderungen, damit ein Neuaufbau keine Änderung überschreibt. */
+    private final Object writeLock = new Object();
+
+    /**
+     * Konstruktor Injection.
+     * @param repository Buch-Repository
+     * @param transactionManager Transaktionsmanager für den Aufbau
+     * @param properties Einstellungen
+     * @param registry Micrometer Registry
+     */
+    public ColumnarReadModel(final BuchRepository repository, final PlatformTransactionManager transactionManager,
+                             final ColumnarProperties properties, final MeterRegistry registry) {
+        this.repository = repository;
+        this.readOnly = new TransactionTemplate(transactionManager);
+        this.readOnly.setReadOnly(true);
+        this.reload = new TransactionTemplate(transactionManager);
+        this.reload.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.catalog = new ColumnarCatalog(properties.chunkSize());
+        Gauge.builder("itzbund.columnar.books", catalog, ColumnarCatalog::size)
+            .description("Bücher im spaltenorientierten Lesemodell")
+            .register(registry);
+        Gauge.builder("itzbund.columnar.bytes", catalog, ColumnarCatalog::bytes)
+            .description("Belegter Speicher des spaltenorientierten Lesemodells")
+            .baseUnit("bytes")
+            .register(registry);
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        rebuild();
+    }
+
+    /**
+     * Lädt alle Bücher neu aus der Datenbank.
+     */
+    public void rebuild() {
+        long start = System.nanoTime();
+        synchronized (writeLock) {
+            catalog.clear();
+            readOnly.executeWithoutResult(status -> {
+                try (Stream<BuchFigures> figures = repository.streamFigures()) {
+                    figures.forEach(row -> catalog.put(row.getId(), row.getAuthor(), row.getPages(), row.getPrice()));
+                }
+            });
+        }
+        int books = catalog.size();
+        long bytes = catalog.bytes();
+        LOGGER.info("Spalten-Lesemodell aufgebaut: {} Bücher, {} KiB ({} Bytes je Buch) in {} ms", books,
+            bytes / KIB, books == 0 ? 0 : bytes / books,
+            Duration.ofNanos(System.nanoTime() - start).toMillis());
+    }
+
+    /**
+     * Übernimmt gespeicherte und gelöschte Bücher nach dem Commit (ohne Transaktion sofort). Per Massen-Update
+     * geänderte Bücher werden blockweise von der Primär-Datenbank nachgeladen.
+     * @param event Änderung aus {@code BuchService}
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onChange(final BuchChangedEvent event) {
+        synchronized (writeLock) {
+            for (Buch buch : event.saved()) {
+                catalog.put(buch.getId(), buch.getAuthor(), buch.getPages(), buch.getPrice());
+            }
+            List<Long> updated = event.updated();
+            for (int from = 0; from < updated.size(); from += RELOAD_CHUNK_SIZE) {
+                List<Long> chunk = updated.subList(from, Math.min(from + RELOAD_CHUNK_SIZE, updated.size()));
+                for (BuchFigures row : reload.execute(status -> repository.findFigures(chunk))) {
+                    catalog.put(row.getId(), row.getAuthor(), row.getPages(), row.getPrice());
+                }
+            }
+            for (Long id : event.deleted()) {
+                catalog.remove(id);
+            }
+        }
+    }
+
+    /**
+     * Kennzahlen per parallelem Spalten-Scan.
+     * @param filter Filter
+     * @return Kennzahlen
+     */
+    public CatalogStatistics aggregate(final CatalogFilter filter) {
+        return catalog.aggregate(filter);
+    }
+
+    /**
+     * @return belegter Speicher je Buch in Bytes ({@code 0} bei leerem Katalog)
+     */
+    public long bytesPerBook() {
+        int books = catalog.size();
+        return books == 0 ? 0 : catalog.bytes() / books;
+    }
+}
@@ -0,0 +1,125 @@
+package de.itzbund.service.columnar;
+
+/**
+ * Offene Hash-Tabelle {@code long -> int} ohne Boxing (ID auf Zeile im {@link ColumnarCatalog}).
+ * Nicht thread-sicher; Zugriffe laufen unter der Sperre des Katalogs.
+ */
+final class LongIntMap {
+
+    /** Markiert einen leeren Platz (IDs sind positiv). */
+    private static final long EMPTY = 0L;
+    /** Ergebnis von {@link #get(long)} für fehlende Schlüssel. */
+    static final int MISSING = -1;
+    /** Anfangsgröße der Tabelle (Zweierpotenz). */
+    private static final int INITIAL_CAPACITY = 16;
+    /** Multiplikator (Fibonacci-Hashing), verteilt fortlaufende IDs über die Tabelle. */
+    private static final long GOLDEN_RATIO = 0x9E3779B97F4A7C15L;
+
+    /** Schlüssel. */
+    private long[] keys;
+    /** Werte. */
+    private int[] values;
+    /** Belegte Plätze. */
+    private int size;
+
+    /**
+     * Leere Tabelle.
+     */
+    LongIntMap() {
+        keys = new long[INITIAL_CAPACITY];
+        values = new int[INITIAL_CAPACITY];
+    }
+
+    /**
+     * @param key Schlüssel ({@code > 0})
+     * @return Wert oder {@link #MISSING}
+     */
+    int get(final long key) {
+        int mask = keys.length - 1;
+        for (int i = slot(key, mask); keys[i] != EMPTY; i = (i + 1) & mask) {
+            if (keys[i] == key) {
+                return values[i];
+            }
+        }
+        return MISSING;
+    }
+
+    /**
+     * Setzt oder überschreibt einen Wert.
+     * @param key Schlüssel ({@code > 0})
+     * @param value Wert
+     */
+    void put(final long key, final int value) {
+        if ((size + 1) * 2 > keys.length) {
+            resize(keys.length * 2);
+        }
+        int mask = keys.length - 1;
+        int i = slot(key, mask);
+        while (keys[i] != EMPTY && keys[i] != key) {
+            i = (i + 1) & mask;
+        }
+        if (keys[i] == EMPTY) {
+            size++;
+        }
+        keys[i] = key;
+        values[i] = value;
+    }
+
+    /**
+     * Entfernt einen Schlüssel (Backward-Shift, keine Grabsteine).
+     * @param key Schlüssel
+     */
+    void remove(final long key) {
+        int mask = keys.length - 1;
+        int i = slot(key, mask);
+        while (keys[i] != key) {
+            if (keys[i] == EMPTY) {
+                return;
+            }
+            i = (i + 1) & mask;
+        }
+        size--;
+        for (int next = (i + 1) & mask; keys[next] != EMPTY; next = (next + 1) & mask) {
+            int home = slot(keys[next], mask);
+            // Eintrag darf nur nach vorn rücken, wenn seine Heimatposition nicht zwischen Lücke und ihm liegt
+            if (((next - home) & mask) >= ((next - i) & mask)) {
+                keys[i] = keys[next];
+                values[i] = values[next];
+                i = next;
+            }
+        }
+        keys[i] = EMPTY;
+    }
+
+    /**
+     * @return Anzahl Einträge
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * @return belegter Speicher der Tabelle in Bytes
+     */
+    long bytes() {
+        return (long) keys.length * Long.BYTES + (long) values.length * Integer.BYTES;
+    }
+
+    private void resize(final int capacity) {
+        long[] oldKeys = keys;
+        int[] oldValues = values;
+        keys = new long[capacity];
+        values = new int[capacity];
+        size = 0;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != EMPTY) {
+                put(oldKeys[i], oldValues[i]);
+            }
+        }
+    }
+
+    private static int slot(final long key, final int mask) {
+        long h = key * GOLDEN_RATIO;
+        return (int) (h ^ (h >>> Integer.SIZE)) & mask;
+    }
+}
@@ -0,0 +1,145 @@
+package de.itzbund.service.isbn;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bloom-Filter für Strings mit fester Größe: {@link #mightContain(String)} liefert für jeden eingefügten Wert
+ * {@code true}, für andere Werte mit der angestrebten Fehlerrate ebenfalls. Entfernen ist nicht möglich.
+ *
+ * <p>Die Bit-Positionen entstehen per Double Hashing (Kirsch/Mitzenmacher) aus einem 64-Bit-Hash. Einfügen und
+ * Abfragen sind ohne Sperre threadsicher; die Zahl gesetzter Bits wird mitgezählt und liefert Fehlerrate und
+ * Füllstand ohne Scan.</p>
+ */
+final class BloomFilter {
+
+    /** Bits je {@code long}. */
+    private static final int WORD_BITS = Long.SIZE;
+    /** Startwert FNV-1a (64 Bit). */
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    /** Primzahl FNV-1a (64 Bit). */
+    private static final long FNV_PRIME = 0x100000001b3L;
+    /** Konstante für den zweiten Hash. */
+    private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+    /** Verschiebung im Finalizer von MurmurHash3. */
+    private static final int MIX_SHIFT = 33;
+    /** Erster Multiplikator im Finalizer von MurmurHash3. */
+    private static final long MIX_1 = 0xff51afd7ed558ccdL;
+    /** Zweiter Multiplikator im Finalizer von MurmurHash3. */
+    private static final long MIX_2 = 0xc4ceb93fe53e87e5L;
+
+    /** Bits. */
+    private final AtomicLongArray words;
+    /** Anzahl Bits. */
+    private final long size;
+    /** Anzahl Hash-Funktionen. */
+    private final int hashes;
+    /** Kapazität, für die der Filter ausgelegt ist. */
+    private final long capacity;
+    /** Gesetzte Bits. */
+    private final AtomicLong setBits = new AtomicLong();
+
+    /**
+     * Legt einen leeren Filter an.
+     * @param capacity erwartete Anzahl Werte
+     * @param falsePositiveRate angestrebte Fehlerrate bei {@code capacity} Werten
+     */
+    BloomFilter(final long capacity, final double falsePositiveRate) {
+        long bits = (long) Math.ceil(-capacity * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        this.words = new AtomicLongArray(Math.toIntExact(Math.max(1, (bits + WORD_BITS - 1) / WORD_BITS)));
+        this.size = (long) words.length() * WORD_BITS;
+        this.hashes = (int) Math.max(1, Math.round((double) size / capacity * Math.log(2)));
+        this.capacity = capacity;
+    }
+
+    /**
+     * Fügt einen Wert ein.
+     * @param value Wert
+     */
+    void put(final String value) {
+        long h1 = hash(value);
+        long h2 = mix(h1 + GOLDEN_GAMMA) | 1;
+        for (int i = 0; i < hashes; i++) {
+            long bit = Math.floorMod(h1 + i * h2, size);
+            long mask = 1L << bit;
+            int word = (int) (bit / WORD_BITS);
+            if ((words.get(word) & mask) == 0 && (words.getAndAccumulate(word, mask, (a, b) -> a | b) & mask) == 0) {
+                setBits.incrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * Ob der Wert eingefügt sein könnte.
+     * @param value Wert
+     * @return {@code false}: sicher nicht eingefügt
+     */
+    boolean mightContain(final String value) {
+        long h1 = hash(value);
+        long h2 = mix(h1 + GOLDEN_GAMMA) | 1;
+        for (int i = 0; i < hashes; i++) {
+            long bit = Math.floorMod(h1 + i * h2, size);
+            if ((words.get((int) (bit / WORD_BITS)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Fehlerrate beim aktuellen Füllstand: Wahrscheinlichkeit, dass alle Bits eines unbekannten Werts gesetzt sind.
+     * @return Fehlerrate zwischen 0 und 1
+     */
+    double estimatedFalsePositiveRate() {
+        return Math.pow((double) setBits.get() / size, hashes);
+    }
+
+    /**
+     * Geschätzte Anzahl verschiedener eingefügter Werte (aus dem Füllstand, doppelt eingefügte zählen einmal).
+     * @return Schätzung
+     */
+    long estimatedEntries() {
+        long set = setBits.get();
+        if (set >= size) {
+            return Long.MAX_VALUE;
+        }
+        return Math.round(-(double) size / hashes * Math.log1p(-(double) set / size));
+    }
+
+    /** @return Kapazität, für die der Filter ausgelegt ist */
+    long capacity() {
+        return capacity;
+    }
+
+    /** @return Anzahl Bits */
+    long size() {
+        return size;
+    }
+
+    /** @return Anzahl Hash-Funktionen */
+    int hashes() {
+        return hashes;
+    }
+
+    /** @return belegter Speicher der Bits in Bytes */
+    long bytes() {
+        return (long) words.length() * Long.BYTES;
+    }
+
+    /** FNV-1a über die Zeichen, anschließend gemischt (FNV allein verteilt die oberen Bits schlecht). */
+    private static long hash(final String value) {
+        long hash = FNV_OFFSET;
+        for (int i = 0; i < value.length(); i++) {
+            hash = (hash ^ value.charAt(i)) * FNV_PRIME;
+        }
+        return mix(hash);
+    }
+
+    /** Finalizer von MurmurHash3 (64 Bit). */
+    private static long mix(final long value) {
+        long h = value;
+        h = (h ^ (h >>> MIX_SHIFT)) * MIX_1;
+        h = (h ^ (h >>> MIX_SHIFT)) * MIX_2;
+        return h ^ (h >>> MIX_SHIFT);
+    }
+}
@@ -0,0 +1,278 @@
+package de.itzbund.service.isbn;
+
+import de.itzbund.config.IsbnFilterProperties;
+import de.itzbund.entity.Buch;
+import de.itzbund.repository.BuchRepository;
+import de.itzbund.service.BuchChangedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Bloom-Filter der vergebenen ISBNs als schneller Pfad der Duplicate-ISBN-Prüfung in {@code BuchService}: Ist eine
+ * ISBN sicher nicht vergeben, entfällt die Abfrage; nur mögliche Treffer gehen an die Datenbank.
+ *
+ * <p>Aufbau beim Start (vor dem Webserver) aus {@link BuchRepository#streamIsbns()}, immer auf der
+ * Primär-Datenbank: Ein nachlaufendes Replikat würde frisch vergebene ISBNs als frei melden. Neue ISBNs nimmt
+ * {@code BuchService} schon vor dem Commit auf, damit eine parallele Prüfung sie ab dem Commit nicht übersieht;
+ * nach dem Commit kommen sie über {@link BuchChangedEvent} ein zweites Mal, damit ein gleichzeitig laufender
+ * Neuaufbau sie enthält. Gelöschte ISBNs bleiben bis zum nächsten Neuaufbau im Filter und kosten nur eine
+ * überflüssige Abfrage. Neu aufgebaut wird im Hintergrund, sobald die Fehlerrate das Doppelte des Ziels erreicht,
+ * sowie optional regelmäßig ({@link IsbnFilterProperties#rebuildInterval()}).</p>
+ *
+ * <p>Solange der Filter nicht aufgebaut ist (oder abgeschaltet), gilt jede ISBN als möglicher Treffer.</p>
+ *
+ * <p>Nur für eine einzelne Instanz ausgelegt: ISBNs, die eine andere Instanz vergibt, kennt der Filter erst nach
+ * dem nächsten Neuaufbau. Die Unique-Constraint fängt solche Duplikate ab ({@code BuchService} meldet sie als
+ * Duplicate ISBN bzw. lehnt im Block nur die betroffene Position ab), sie kosten aber einen Rollback. Bei mehreren
+ * Instanzen daher {@code itzbund.isbn-filter.enabled=false} setzen.</p>
+ */
+@Service
+public final class IsbnFilter implements SmartInitializingSingleton, DisposableBean {
+
+    /** Logger. */
+    private static final Logger LOGGER = LoggerFactory.getLogger(IsbnFilter.class);
+    /** Bytes je KiB (Log-Ausgabe). */
+    private static final long KIB = 1024;
+    /** Neuaufbau im Hintergrund ab diesem Vielfachen der angestrebten Fehlerrate. */
+    private static final double REBUILD_FACTOR = 2.0;
+
+    /** Repository für den Aufbau. */
+    private final BuchRepository repository;
+    /** Transaktion für den Aufbau (nicht read-only, damit sie nicht auf ein Replikat geroutet wird). */
+    private final TransactionTemplate primary;
+    /** Konfiguration. */
+    private final IsbnFilterProperties properties;
+    /** Thread für Neuaufbauten im Hintergrund ({@code null} wenn abgeschaltet). */
+    private final ScheduledExecutorService rebuilder;
+    /** Serialisiert Neuaufbauten. */
+    private final Object rebuildLock = new Object();
+    /** Serialisiert Einfügen und Austausch des Filters, damit ein Neuaufbau keine ISBN verliert. */
+    private final Object writeLock = new Object();
+    /** Neuaufbau im Hintergrund angefordert. */
+    private final AtomicBoolean rebuildPending = new AtomicBoolean();
+    /** Prüfungen ohne Datenbankabfrage. */
+    private final Counter skipped;
+    /** Prüfungen mit Treffer in der Datenbank. */
+    private final Counter present;
+    /** Prüfungen ohne Treffer in der Datenbank. */
+    private final Counter falsePositives;
+    /** Gelöschte Bücher seit dem letzten Aufbau. */
+    private final AtomicLong deletes = new AtomicLong();
+    /** Aktueller Filter ({@code null} bis zum ersten Aufbau). */
+    private volatile BloomFilter filter;
+    /** Während eines Neuaufbaus eingefügte ISBNs (nur unter {@link #writeLock}, sonst {@code null}). */
+    private List<String> inserted;
+    /** Zeitpunkt des letzten Aufbaus. */
+    private volatile Instant lastRebuild;
+
+    /**
+     * Konstruktor Injection.
+     * @param repository Buch-Repository
+     * @param transactionManager Transaktionsmanager für den Aufbau
+     * @param properties Einstellungen
+     * @param registry Micrometer Registry
+     */
+    public IsbnFilter(final BuchRepository repository, final PlatformTransactionManager transactionManager,
+                      final IsbnFilterProperties properties, final MeterRegistry registry) {
+        this.repository = repository;
+        this.primary = new TransactionTemplate(transactionManager);
+        this.properties = properties;
+        this.rebuilder = properties.enabled() ? Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "isbn-filter-rebuild");
+            thread.setDaemon(true);
+            return thread;
+        }) : null;
+        this.skipped = lookups(registry, "skipped");
+        this.present = lookups(registry, "present");
+        this.falsePositives = lookups(registry, "false-positive");
+        Gauge.builder("itzbund.isbn.filter.bytes", this, f -> f.filter == null ? 0 : f.filter.bytes())
+            .description("Belegter Speicher des ISBN-Bloom-Filters")
+            .baseUnit("bytes")
+            .register(registry);
+        Gauge.builder("itzbund.isbn.filter.fpp", this,
+                f -> f.filter == null ? 1 : f.filter.estimatedFalsePositiveRate())
+            .description("Geschätzte Fehlerrate des ISBN-Bloom-Filters beim aktuellen Füllstand")
+            .register(registry);
+    }
+
+    private static Counter lookups(final MeterRegistry registry, final String result) {
+        return Counter.builder("itzbund.isbn.filter.lookups")
+            .description("Duplicate-ISBN-Prüfungen nach Ergebnis des Bloom-Filters")
+            .tag("result", result)
+            .register(registry);
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (rebuilder == null) {
+            return;
+        }
+        rebuild();
+        long interval = properties.rebuildInterval().toMillis();
+        if (interval > 0) {
+            rebuilder.scheduleWithFixedDelay(this::rebuildQuietly, interval, interval, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        if (rebuilder != null) {
+            rebuilder.shutdownNow();
+        }
+    }
+
+    /**
+     * Baut den Filter aus der Datenbank neu auf und ersetzt den bisherigen. ISBNs, die währenddessen eingefügt
+     * werden, landen in beiden Filtern. Ohne Wirkung, wenn der Filter abgeschaltet ist.
+     */
+    public void rebuild() {
+        if (rebuilder == null) {
+            return;
+        }
+        long start = System.nanoTime();
+        synchronized (rebuildLock) {
+            synchronized (writeLock) {
+                inserted = new ArrayList<>();
+            }
+            BloomFilter next = null;
+            try {
+                next = primary.execute(status -> {
+                    long capacity = Math.max(properties.minCapacity(),
+                        (long) Math.ceil(repository.count() * properties.headroom()));
+                    BloomFilter created = new BloomFilter(capacity, properties.falsePositiveRate());
+                    try (Stream<String> isbns = repository.streamIsbns()) {
+                        isbns.forEach(created::put);
+                    }
+                    return created;
+                });
+            } finally {
+                synchronized (writeLock) {
+                    List<String> during = inserted;
+                    inserted = null;
+                    if (next != null) {
+                        during.forEach(next::put);
+                        filter = next;
+                    }
+                }
+            }
+            deletes.set(0);
+            lastRebuild = Instant.now();
+            LOGGER.info("ISBN-Filter aufgebaut: ~{} ISBNs, Kapazität {}, {} KiB, Fehlerrate {} in {} ms",
+                next.estimatedEntries(), next.capacity(), next.bytes() / KIB,
+                String.format("%.4f", next.estimatedFalsePositiveRate()),
+                Duration.ofNanos(System.nanoTime() - start).toMillis());
+        }
+    }
+
+    private void rebuildQuietly() {
+        try {
+            rebuild();
+        } catch (RuntimeException e) {
+            LOGGER.warn("Neuaufbau des ISBN-Filters fehlgeschlagen, der bisherige Filter bleibt aktiv", e);
+        } finally {
+            rebuildPending.set(false);
+        }
+    }
+
+    /**
+     * Ob die ISBN vergeben sein könnte; zählt sicher freie ISBNs als übersprungene Abfrage.
+     * @param isbn ISBN
+     * @return {@code false}: sicher nicht vergeben, die Datenbankabfrage kann entfallen
+     */
+    public boolean mightContain(final String isbn) {
+        BloomFilter current = filter;
+        if (current == null || current.mightContain(isbn)) {
+            return true;
+        }
+        skipped.increment();
+        return false;
+    }
+
+    /**
+     * Erfasst das Ergebnis von Datenbankabfragen nach möglichen Treffern.
+     * @param lookups abgefragte ISBNs
+     * @param found davon vergeben
+     */
+    public void recordLookups(final int lookups, final int found) {
+        if (filter != null) {
+            present.increment(found);
+            falsePositives.increment(lookups - found);
+        }
+    }
+
+    /**
+     * Nimmt eine vergebene ISBN auf (auch vor dem Commit; bei Rollback bleibt nur ein möglicher Fehltreffer).
+     * @param isbn ISBN oder {@code null}
+     */
+    public void add(final String isbn) {
+        if (isbn == null || rebuilder == null) {
+            return;
+        }
+        BloomFilter current;
+        synchronized (writeLock) {
+            current = filter;
+            if (current != null) {
+                current.put(isbn);
+            }
+            if (inserted != null) {
+                inserted.add(isbn);
+            }
+        }
+        if (current != null && current.estimatedFalsePositiveRate() > REBUILD_FACTOR * properties.falsePositiveRate()
+            && rebuildPending.compareAndSet(false, true)) {
+            rebuilder.execute(this::rebuildQuietly);
+        }
+    }
+
+    /**
+     * Übernimmt gespeicherte ISBNs und zählt Löschungen nach dem Commit (ohne Transaktion sofort). Massen-Updates
+     * ändern keine ISBN und werden ignoriert.
+     * @param event Änderung aus {@code BuchService}
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onChange(final BuchChangedEvent event) {
+        for (Buch buch : event.saved()) {
+            add(buch.getIsbn());
+        }
+        deletes.addAndGet(event.deleted().size());
+    }
+
+    /**
+     * Aktueller Zustand.
+     * @return Kennzahlen
+     */
+    public IsbnFilterStats stats() {
+        BloomFilter current = filter;
+        long skippedLookups = (long) skipped.count();
+        long negatives = (long) falsePositives.count();
+        long lookups = (long) present.count() + negatives;
+        double observed = skippedLookups + negatives == 0 ? 0 : (double) negatives / (skippedLookups + negatives);
+        if (current == null) {
+            return new IsbnFilterStats(false, 0, 0, 0, 0, 0, properties.falsePositiveRate(), 1, observed,
+                skippedLookups, lookups, negatives, deletes.get(), lastRebuild);
+        }
+        return new IsbnFilterStats(true, current.capacity(), current.estimatedEntries(), current.size(),
+            current.hashes(), current.bytes(), properties.falsePositiveRate(), current.estimatedFalsePositiveRate(),
+            observed, skippedLookups, lookups, negatives, deletes.get(), lastRebuild);
+    }
+}
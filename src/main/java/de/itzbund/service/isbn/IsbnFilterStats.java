@@ -0,0 +1,27 @@
+package de.itzbund.service.isbn;
+
+import java.time.Instant;
+
+/**
+ * Zustand des {@link IsbnFilter} für Actuator und Tests.
+ *
+ * @param loaded Filter aufgebaut; sonst geht jede Prüfung an die Datenbank
+ * @param capacity Kapazität in ISBNs
+ * @param estimatedEntries geschätzte Anzahl ISBNs im Filter (inklusive gelöschter seit dem letzten Aufbau)
+ * @param bits Größe in Bits
+ * @param hashFunctions Anzahl Hash-Funktionen
+ * @param bytes belegter Speicher in Bytes
+ * @param targetFalsePositiveRate angestrebte Fehlerrate
+ * @param estimatedFalsePositiveRate Fehlerrate beim aktuellen Füllstand
+ * @param observedFalsePositiveRate Anteil der Abfragen unbekannter ISBNs, die trotzdem an die Datenbank gingen
+ * @param skippedLookups Prüfungen ohne Datenbankabfrage (ISBN sicher nicht vergeben)
+ * @param lookups Prüfungen mit Datenbankabfrage
+ * @param falsePositives davon ohne Treffer in der Datenbank
+ * @param deletesSinceRebuild gelöschte Bücher seit dem letzten Aufbau (bleiben bis dahin im Filter)
+ * @param lastRebuild Zeitpunkt des letzten Aufbaus
+ */
+public record IsbnFilterStats(boolean loaded, long capacity, long estimatedEntries, long bits, int hashFunctions,
+                              long bytes, double targetFalsePositiveRate, double estimatedFalsePositiveRate,
+                              double observedFalsePositiveRate, long skippedLookups, long lookups,
+                              long falsePositives, long deletesSinceRebuild, Instant lastRebuild) {
+}
@@ -0,0 +1,91 @@
+package de.itzbund.service.job;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Gemeinsamer Lebenszyklus von Hintergrund-Jobs (Import, Export). Zustandswechsel erfolgen im Worker-Thread,
+ * Request-Threads lesen ohne Sperren.
+ */
+public abstract class BackgroundJob {
+
+    /** Job-ID. */
+    private final UUID id = UUID.randomUUID();
+    /** Dateiformat. */
+    private final CatalogFormat format;
+    /** Status. */
+    private volatile JobStatus status = JobStatus.QUEUED;
+    /** Startzeitpunkt. */
+    private volatile Instant startedAt;
+    /** Endzeitpunkt. */
+    private volatile Instant finishedAt;
+    /** Abbruchmeldung. */
+    private volatile String message;
+
+    /**
+     * @param format Dateiformat des Jobs
+     */
+    protected BackgroundJob(final CatalogFormat format) {
+        this.format = format;
+    }
+
+    final void markRunning() {
+        startedAt = Instant.now();
+        status = JobStatus.RUNNING;
+    }
+
+    final void markCompleted() {
+        finishedAt = Instant.now();
+        status = JobStatus.COMPLETED;
+    }
+
+    final void markFailed(final String reason) {
+        message = reason;
+        finishedAt = Instant.now();
+        status = JobStatus.FAILED;
+    }
+
+    /**
+     * Laufzeit seit Start bis Ende bzw. bis jetzt.
+     * @return Millisekunden (mindestens 1), 0 solange der Job nicht läuft
+     */
+    protected final long elapsedMillis() {
+        Instant start = startedAt;
+        if (start == null) {
+            return 0;
+        }
+        Instant end = finishedAt == null ? Instant.now() : finishedAt;
+        return Math.max(1, Duration.between(start, end).toMillis());
+    }
+
+    /** @return Job-ID */
+    public final UUID getId() {
+        return id;
+    }
+
+    /** @return Dateiformat */
+    public final CatalogFormat getFormat() {
+        return format;
+    }
+
+    /** @return Status */
+    public final JobStatus getStatus() {
+        return status;
+    }
+
+    /** @return Startzeitpunkt oder null */
+    public final Instant getStartedAt() {
+        return startedAt;
+    }
+
+    /** @return Endzeitpunkt oder null */
+    public final Instant getFinishedAt() {
+        return finishedAt;
+    }
+
+    /** @return Abbruchmeldung oder null */
+    public final String getMessage() {
+        return message;
+    }
+}
@@ -0,0 +1,192 @@
+package de.itzbund.service.job;
+
+import de.itzbund.api.generated.dto.BuchCreateRequest;
+import de.itzbund.entity.Buch;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * CSV-Darstellung von Büchern: Kopfzeile mit Spaltennamen, Felder optional in doppelten Anführungszeichen.
+ */
+public final class BuchCsv {
+
+    /** Bekannte Spalten in Standard-Reihenfolge. */
+    public static final List<String> COLUMNS = List.of("title", "author", "isbn", "pages", "price");
+
+    /** Spalten eines Exports; {@code id} und {@code version} werden beim Import ignoriert. */
+    public static final List<String> EXPORT_COLUMNS =
+        List.of("id", "title", "author", "isbn", "pages", "price", "version");
+
+    /** Spaltenindex von {@code title} in {@link #COLUMNS}. */
+    private static final int TITLE = 0;
+    /** Spaltenindex von {@code author} in {@link #COLUMNS}. */
+    private static final int AUTHOR = 1;
+    /** Spaltenindex von {@code isbn} in {@link #COLUMNS}. */
+    private static final int ISBN = 2;
+    /** Spaltenindex von {@code pages} in {@link #COLUMNS}. */
+    private static final int PAGES = 3;
+    /** Spaltenindex von {@code price} in {@link #COLUMNS}. */
+    private static final int PRICE = 4;
+
+    private BuchCsv() { }
+
+    /**
+     * Ermittelt für jede bekannte Spalte die Position in der Kopfzeile.
+     * @param headerLine Kopfzeile der Datei
+     * @return Positionen in Reihenfolge von {@link #COLUMNS}, -1 für fehlende Spalten
+     * @throws IllegalArgumentException wenn Pflichtspalten fehlen
+     */
+    public static int[] columnIndexes(final String headerLine) {
+        List<String> header = split(headerLine);
+        int[] indexes = new int[COLUMNS.size()];
+        for (int i = 0; i < indexes.length; i++) {
+            indexes[i] = -1;
+        }
+        for (int pos = 0; pos < header.size(); pos++) {
+            int column = COLUMNS.indexOf(header.get(pos).trim().toLowerCase(Locale.ROOT));
+            if (column >= 0) {
+                indexes[column] = pos;
+            }
+        }
+        if (indexes[TITLE] < 0 || indexes[AUTHOR] < 0) {
+            throw new IllegalArgumentException("Kopfzeile muss mindestens title und author enthalten");
+        }
+        return indexes;
+    }
+
+    /**
+     * Ob eine Zeile den Quotierungszustand umschaltet (ungerade Anzahl Anführungszeichen; maskierte {@code ""} zählen
+     * doppelt). Ein Datensatz setzt sich über die nächste Zeile fort, solange die Summe über seine Zeilen ungerade
+     * ist; so wird jede Zeile nur einmal gelesen.
+     * @param line eine Zeile des Datensatzes
+     * @return {@code true}, wenn die Zeile ein quotiertes Feld öffnet oder schließt
+     */
+    public static boolean togglesQuote(final String line) {
+        boolean toggles = false;
+        for (int i = 0; i < line.length(); i++) {
+            if (line.charAt(i) == '"') {
+                toggles = !toggles;
+            }
+        }
+        return toggles;
+    }
+
+    /**
+     * Zerlegt einen CSV-Datensatz. Doppelte Anführungszeichen innerhalb eines quotierten Feldes werden als
+     * {@code ""} geschrieben; quotierte Felder dürfen Zeilenumbrüche enthalten.
+     * @param line Datensatz ohne abschließenden Zeilenumbruch
+     * @return Feldwerte
+     */
+    public static List<String> split(final String line) {
+        List<String> fields = new ArrayList<>(COLUMNS.size());
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    current.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("Nicht geschlossenes Anführungszeichen");
+        }
+        fields.add(current.toString());
+        return fields;
+    }
+
+    /**
+     * Baut aus einer Datenzeile ein Create-DTO. Leere Felder werden zu {@code null}.
+     * @param line Datenzeile
+     * @param indexes Spaltenpositionen aus {@link #columnIndexes(String)}
+     * @return DTO (noch nicht validiert)
+     * @throws IllegalArgumentException bei nicht lesbaren Zahlen
+     */
+    public static BuchCreateRequest toRequest(final String line, final int[] indexes) {
+        List<String> fields = split(line);
+        String pages = field(fields, indexes[PAGES]);
+        String price = field(fields, indexes[PRICE]);
+        try {
+            return new BuchCreateRequest()
+                .title(field(fields, indexes[TITLE]))
+                .author(field(fields, indexes[AUTHOR]))
+                .isbn(field(fields, indexes[ISBN]))
+                .pages(pages == null ? null : Integer.valueOf(pages))
+                .price(price == null ? null : new BigDecimal(price));
+        } catch (NumberFormatException ex) {
+            throw new IllegalArgumentException("Ungültige Zahl in pages/price", ex);
+        }
+    }
+
+    private static String field(final List<String> fields, final int index) {
+        if (index < 0 || index >= fields.size()) {
+            return null;
+        }
+        String value = fields.get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    /**
+     * Hängt ein Buch als CSV-Zeile in Reihenfolge von {@link #EXPORT_COLUMNS} an (inkl. Zeilenumbruch).
+     * @param out Ziel
+     * @param buch Buch
+     */
+    public static void appendLine(final StringBuilder out, final Buch buch) {
+        out.append(buch.getId()).append(',');
+        appendQuoted(out, buch.getTitle());
+        out.append(',');
+        appendQuoted(out, buch.getAuthor());
+        out.append(',');
+        appendQuoted(out, buch.getIsbn());
+        out.append(',');
+        if (buch.getPages() != null) {
+            out.append(buch.getPages());
+        }
+        out.append(',');
+        if (buch.getPrice() != null) {
+            out.append(buch.getPrice().toPlainString());
+        }
+        out.append(',');
+        if (buch.getVersion() != null) {
+            out.append(buch.getVersion());
+        }
+        out.append('\n');
+    }
+
+    private static void appendQuoted(final StringBuilder out, final String value) {
+        if (value == null) {
+            return;
+        }
+        boolean quote = value.indexOf(',') >= 0 || value.indexOf('"') >= 0
+            || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0;
+        if (!quote) {
+            out.append(value);
+            return;
+        }
+        out.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"') {
+                out.append('"');
+            }
+            out.append(c);
+        }
+        out.append('"');
+    }
+}
@@ -0,0 +1,54 @@
+package de.itzbund.service.job;
+
+import de.itzbund.error.InvalidImportSourceException;
+
+import java.util.Locale;
+
+/**
+ * Unterstützte Dateiformate für Katalog-Importe und -Exporte.
+ */
+public enum CatalogFormat {
+    /** Komma-separiert mit Kopfzeile ({@link BuchCsv#COLUMNS}). */
+    CSV(".csv"),
+    /** Ein JSON-Objekt pro Zeile. */
+    NDJSON(".ndjson");
+
+    /** Übliche Dateiendung. */
+    private final String extension;
+
+    CatalogFormat(final String extension) {
+        this.extension = extension;
+    }
+
+    /** @return übliche Dateiendung inkl. Punkt */
+    public String getExtension() {
+        return extension;
+    }
+
+    /**
+     * Bestimmt das Format aus einer expliziten Angabe oder der Dateiendung.
+     * @param explicit Formatname (optional)
+     * @param fileName Dateiname (optional)
+     * @return Format
+     * @throws InvalidImportSourceException wenn kein Format bestimmt werden kann
+     */
+    public static CatalogFormat resolve(final String explicit, final String fileName) {
+        if (explicit != null && !explicit.isBlank()) {
+            try {
+                return valueOf(explicit.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException ex) {
+                throw new InvalidImportSourceException("Unbekanntes Format: " + explicit);
+            }
+        }
+        String name = fileName == null ? "" : fileName.toLowerCase(Locale.ROOT);
+        for (CatalogFormat format : values()) {
+            if (name.endsWith(format.extension) || name.endsWith(format.extension + ".gz")) {
+                return format;
+            }
+        }
+        if (name.endsWith(".jsonl")) {
+            return NDJSON;
+        }
+        throw new InvalidImportSourceException("Format nicht erkennbar für Datei: " + fileName);
+    }
+}
@@ -0,0 +1,81 @@
+package de.itzbund.service.job;
+
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Zustand eines Export-Jobs. Nach Abschluss verweist der Job auf eine unveränderliche Snapshot-Datei.
+ */
+public final class ExportJob extends BackgroundJob {
+
+    /** Datei gzip-komprimiert. */
+    private final boolean gzip;
+    /** Geschriebene Bücher. */
+    private final AtomicLong rowsWritten = new AtomicLong();
+    /** Fertige Datei (erst nach Abschluss gesetzt). */
+    private volatile Path file;
+    /** Dateigröße nach Abschluss. */
+    private volatile long sizeBytes;
+    /** Aus der Job-Liste verdrängt; eine Datei wird dann nicht mehr gebraucht. */
+    private volatile boolean evicted;
+
+    /**
+     * @param format Dateiformat
+     * @param gzip Datei gzip-komprimiert schreiben
+     */
+    public ExportJob(final CatalogFormat format, final boolean gzip) {
+        super(format);
+        this.gzip = gzip;
+    }
+
+    void rowWritten() {
+        rowsWritten.incrementAndGet();
+    }
+
+    /**
+     * Schließt den Job mit der fertigen Datei ab.
+     * @param snapshot Datei
+     * @param size Dateigröße
+     * @return {@code false}, wenn der Job inzwischen verdrängt wurde; der Aufrufer löscht die Datei dann selbst
+     */
+    synchronized boolean finish(final Path snapshot, final long size) {
+        this.file = snapshot;
+        this.sizeBytes = size;
+        markCompleted();
+        return !evicted;
+    }
+
+    /**
+     * Markiert den Job als verdrängt.
+     * @return fertige Datei zum Löschen oder {@code null}, solange der Job noch läuft
+     */
+    synchronized Path evict() {
+        evicted = true;
+        return file;
+    }
+
+    /** @return aus der Job-Liste verdrängt; ein laufender Export bricht ab */
+    boolean isEvicted() {
+        return evicted;
+    }
+
+    /** @return Datei gzip-komprimiert */
+    public boolean isGzip() {
+        return gzip;
+    }
+
+    /** @return bisher geschriebene Bücher */
+    public long getRowsWritten() {
+        return rowsWritten.get();
+    }
+
+    /** @return fertige Datei oder null solange der Job läuft */
+    public Path getFile() {
+        return file;
+    }
+
+    /** @return Dateigröße nach Abschluss */
+    public long getSizeBytes() {
+        return sizeBytes;
+    }
+}
@@ -0,0 +1,211 @@
+package de.itzbund.service.job;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import de.itzbund.api.generated.dto.BuchResponse;
+import de.itzbund.config.ExportProperties;
+import de.itzbund.entity.Buch;
+import de.itzbund.mapper.BuchMapper;
+import de.itzbund.repository.BuchRepository;
+import jakarta.persistence.EntityManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.task.ThreadPoolTaskExecutorBuilder;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Schreibt Katalog-Snapshots im Hintergrund in lokale Dateien. Gelesen wird über einen Vorwärts-Scroll
+ * ({@link BuchRepository#streamAllByOrderByIdAsc()}) in einer read-only Transaktion; jede Entity wird nach dem
+ * Schreiben detached, der Speicherbedarf bleibt dadurch unabhängig von der Katalog-Größe.
+ */
+@Service
+public class ExportService implements DisposableBean {
+
+    /** Logger. */
+    private static final Logger LOGGER = LoggerFactory.getLogger(ExportService.class);
+    /** Schreibpuffer für Export-Dateien. */
+    private static final int WRITE_BUFFER = 64 * 1024;
+
+    /** Repository für den Scroll. */
+    private final BuchRepository repository;
+    /** Persistence Context des Scrolls (zum Detachen gelesener Entities). */
+    private final EntityManager entityManager;
+    /** Read-only Transaktion für den Scroll. */
+    private final TransactionTemplate readOnlyTx;
+    /** Jackson-Writer für NDJSON-Zeilen. */
+    private final ObjectWriter ndjsonWriter;
+    /** Konfiguration. */
+    private final ExportProperties properties;
+    /** Worker für Export-Jobs. */
+    private final ThreadPoolTaskExecutor executor;
+    /** Zuletzt gestartete Jobs (verdrängte Snapshots werden gelöscht, verdrängte laufende Jobs abgebrochen). */
+    private final Map<UUID, ExportJob> jobs;
+
+    /**
+     * Konstruktor Injection.
+     * @param repository Buch-Repository
+     * @param entityManager Entity Manager
+     * @param transactionManager Transaktionsmanager
+     * @param objectMapper Jackson-Konfiguration der Anwendung
+     * @param properties Export-Einstellungen
+     */
+    public ExportService(final BuchRepository repository,
+                         final EntityManager entityManager,
+                         final PlatformTransactionManager transactionManager,
+                         final ObjectMapper objectMapper,
+                         final ExportProperties properties) {
+        this.repository = repository;
+        this.entityManager = entityManager;
+        this.readOnlyTx = new TransactionTemplate(transactionManager);
+        this.readOnlyTx.setReadOnly(true);
+        this.ndjsonWriter = objectMapper.writerFor(BuchResponse.class)
+            .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        this.properties = properties;
+        this.jobs = Collections.synchronizedMap(new LinkedHashMap<>() {
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<UUID, ExportJob> eldest) {
+                boolean evict = size() > properties.retainedJobs();
+                if (evict) {
+                    // laufende Jobs löschen ihre Datei beim Abschluss selbst
+                    Path file = eldest.getValue().evict();
+                    if (file != null) {
+                        deleteQuietly(file);
+                    }
+                }
+                return evict;
+            }
+        });
+        this.executor = new ThreadPoolTaskExecutorBuilder()
+            .corePoolSize(properties.threads())
+            .maxPoolSize(properties.threads())
+            .threadNamePrefix("export-")
+            .build();
+        this.executor.initialize();
+    }
+
+    /**
+     * Startet einen Export-Job.
+     * @param format Dateiformat
+     * @param gzip Datei gzip-komprimiert schreiben
+     * @return angelegter Job
+     */
+    public ExportJob start(final CatalogFormat format, final boolean gzip) {
+        ExportJob job = new ExportJob(format, gzip);
+        jobs.put(job.getId(), job);
+        executor.execute(() -> run(job));
+        return job;
+    }
+
+    /**
+     * Sucht einen Job.
+     * @param id Job-ID
+     * @return Job falls noch vorgehalten
+     */
+    public Optional<ExportJob> find(final UUID id) {
+        return Optional.ofNullable(jobs.get(id));
+    }
+
+    private void run(final ExportJob job) {
+        job.markRunning();
+        Path target = properties.directory().resolve("buecher-" + job.getId() + job.getFormat().getExtension()
+            + (job.isGzip() ? ".gz" : ""));
+        Path part = target.resolveSibling(target.getFileName() + ".part");
+        try {
+            Files.createDirectories(properties.directory());
+            try (Writer writer = open(part, job.isGzip())) {
+                readOnlyTx.executeWithoutResult(status -> write(job, writer));
+            }
+            Files.move(part, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            if (!job.finish(target, Files.size(target))) {
+                deleteQuietly(target);
+                LOGGER.info("Export {} während des Laufs verdrängt, Datei gelöscht", job.getId());
+                return;
+            }
+            LOGGER.info("Export {} beendet: {} Bücher, {} Bytes", job.getId(), job.getRowsWritten(),
+                job.getSizeBytes());
+        } catch (IOException | RuntimeException ex) {
+            if (job.isEvicted()) {
+                LOGGER.info("Export {} verdrängt und abgebrochen", job.getId());
+            } else {
+                LOGGER.warn("Export {} abgebrochen", job.getId(), ex);
+            }
+            deleteQuietly(part);
+            job.markFailed(ex.getMessage());
+        }
+    }
+
+    private Writer open(final Path file, final boolean gzip) throws IOException {
+        OutputStream out = Files.newOutputStream(file);
+        if (gzip) {
+            out = new GZIPOutputStream(out, WRITE_BUFFER);
+        }
+        return new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), WRITE_BUFFER);
+    }
+
+    private void write(final ExportJob job, final Writer writer) {
+        StringBuilder line = new StringBuilder();
+        try (Stream<Buch> rows = repository.streamAllByOrderByIdAsc()) {
+            if (job.getFormat() == CatalogFormat.CSV) {
+                writer.write(String.join(",", BuchCsv.EXPORT_COLUMNS));
+                writer.write('\n');
+            }
+            Iterator<Buch> it = rows.iterator();
+            while (it.hasNext()) {
+                if (job.isEvicted()) {
+                    throw new IllegalStateException("Export verdrängt, Ergebnis wird nicht mehr abgerufen");
+                }
+                Buch buch = it.next();
+                if (job.getFormat() == CatalogFormat.CSV) {
+                    line.setLength(0);
+                    BuchCsv.appendLine(line, buch);
+                    writer.append(line);
+                } else {
+                    ndjsonWriter.writeValue(writer, BuchMapper.toResponse(buch));
+                    writer.write('\n');
+                }
+                entityManager.detach(buch);
+                job.rowWritten();
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private static void deleteQuietly(final Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException ex) {
+            LOGGER.warn("Export-Datei {} nicht gelöscht", file, ex);
+        }
+    }
+
+    /** Beendet die Worker beim Herunterfahren. */
+    @Override
+    public void destroy() {
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,100 @@
+package de.itzbund.service.job;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Zustand eines laufenden oder beendeten Import-Jobs. Zähler werden vom Worker-Thread geschrieben
+ * und sind von Request-Threads ohne Sperren lesbar.
+ */
+public final class ImportJob extends BackgroundJob {
+
+    /** Millisekunden je Sekunde (Durchsatzberechnung). */
+    private static final double MILLIS_PER_SECOND = 1000.0;
+
+    /** Anzeigename der Quelle. */
+    private final String source;
+    /** Obergrenze gespeicherter Zeilenfehler. */
+    private final int maxErrors;
+    /** Gelesene Datenzeilen. */
+    private final AtomicLong linesRead = new AtomicLong();
+    /** Gespeicherte Bücher. */
+    private final AtomicLong imported = new AtomicLong();
+    /** Abgelehnte Zeilen. */
+    private final AtomicLong rejected = new AtomicLong();
+    /** Gespeicherte Zeilenfehler (höchstens {@link #maxErrors}). */
+    private final Queue<RowError> errors = new ConcurrentLinkedQueue<>();
+    /** Anzahl gespeicherter Zeilenfehler. */
+    private final AtomicInteger storedErrors = new AtomicInteger();
+
+    /**
+     * Fehler zu einer einzelnen Zeile.
+     * @param line Zeilennummer (1-basiert)
+     * @param message Grund
+     */
+    public record RowError(long line, String message) { }
+
+    /**
+     * @param format Dateiformat
+     * @param source Anzeigename der Quelle
+     * @param maxErrors Obergrenze gespeicherter Zeilenfehler
+     */
+    public ImportJob(final CatalogFormat format, final String source, final int maxErrors) {
+        super(format);
+        this.source = source;
+        this.maxErrors = maxErrors;
+    }
+
+    void lineRead() {
+        linesRead.incrementAndGet();
+    }
+
+    void imported(final int count) {
+        imported.addAndGet(count);
+    }
+
+    void reject(final long line, final String reason) {
+        rejected.incrementAndGet();
+        if (storedErrors.incrementAndGet() <= maxErrors) {
+            errors.add(new RowError(line, reason));
+        }
+    }
+
+    /**
+     * Verarbeitete Zeilen (gespeichert oder abgelehnt) pro Sekunde seit Start.
+     * @return Durchsatz, 0 solange der Job nicht läuft
+     */
+    public double rowsPerSecond() {
+        long millis = elapsedMillis();
+        return millis == 0 ? 0 : (imported.get() + rejected.get()) * MILLIS_PER_SECOND / millis;
+    }
+
+    /** @return Anzeigename der Quelle */
+    public String getSource() {
+        return source;
+    }
+
+    /** @return gelesene Datenzeilen */
+    public long getLinesRead() {
+        return linesRead.get();
+    }
+
+    /** @return gespeicherte Bücher */
+    public long getImported() {
+        return imported.get();
+    }
+
+    /** @return abgelehnte Zeilen */
+    public long getRejected() {
+        return rejected.get();
+    }
+
+    /** @return Kopie der gespeicherten Zeilenfehler in Dateireihenfolge */
+    public List<RowError> getErrors() {
+        return new ArrayList<>(errors);
+    }
+}
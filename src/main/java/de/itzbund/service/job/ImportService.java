@@ -0,0 +1,283 @@
+package de.itzbund.service.job;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import de.itzbund.api.generated.dto.BuchCreateRequest;
+import de.itzbund.config.ImportProperties;
+import de.itzbund.entity.Buch;
+import de.itzbund.error.InvalidImportSourceException;
+import de.itzbund.mapper.BuchMapper;
+import de.itzbund.service.BatchSaveResult;
+import de.itzbund.service.BuchService;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.task.ThreadPoolTaskExecutorBuilder;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Führt Massenimporte aus CSV- oder NDJSON-Dateien im Hintergrund aus. Die Datei wird zeilenweise gestreamt,
+ * jede Zeile mit denselben Constraints wie {@link BuchCreateRequest} und {@link Buch} validiert und in Blöcken
+ * über {@link BuchService#saveBatch(List)} gespeichert.
+ */
+@Service
+public class ImportService implements DisposableBean {
+
+    /** Logger. */
+    private static final Logger LOGGER = LoggerFactory.getLogger(ImportService.class);
+    /** Lesepuffer für Importdateien. */
+    private static final int READ_BUFFER = 64 * 1024;
+
+    /** Buch-Service für die Block-Speicherung. */
+    private final BuchService buchService;
+    /** Bean Validation für Zeilen. */
+    private final Validator validator;
+    /** Wiederverwendbarer Reader für NDJSON-Zeilen. */
+    private final ObjectReader ndjsonReader;
+    /** Konfiguration. */
+    private final ImportProperties properties;
+    /** Worker für Import-Jobs. */
+    private final ThreadPoolTaskExecutor executor;
+    /** Zuletzt gestartete Jobs (älteste werden verdrängt). */
+    private final Map<UUID, ImportJob> jobs;
+
+    /**
+     * Konstruktor Injection.
+     * @param buchService Buch-Service
+     * @param validator Bean Validation
+     * @param objectMapper Jackson-Konfiguration der Anwendung
+     * @param properties Import-Einstellungen
+     */
+    public ImportService(final BuchService buchService,
+                         final Validator validator,
+                         final ObjectMapper objectMapper,
+                         final ImportProperties properties) {
+        this.buchService = buchService;
+        this.validator = validator;
+        this.ndjsonReader = objectMapper.readerFor(BuchCreateRequest.class);
+        this.properties = properties;
+        this.jobs = Collections.synchronizedMap(new LinkedHashMap<>() {
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<UUID, ImportJob> eldest) {
+                return size() > properties.retainedJobs();
+            }
+        });
+        this.executor = new ThreadPoolTaskExecutorBuilder()
+            .corePoolSize(properties.threads())
+            .maxPoolSize(properties.threads())
+            .threadNamePrefix("import-")
+            .build();
+        this.executor.initialize();
+    }
+
+    /**
+     * Löst einen Dateinamen relativ zum Importverzeichnis auf.
+     * @param name Dateiname
+     * @return vorhandene Datei innerhalb des Importverzeichnisses
+     * @throws InvalidImportSourceException wenn die Datei fehlt oder außerhalb des Verzeichnisses liegt
+     */
+    public Path resolveLocal(final String name) {
+        Path base = properties.directory().toAbsolutePath().normalize();
+        Path file = base.resolve(name).normalize();
+        if (!file.startsWith(base) || !Files.isRegularFile(file)) {
+            throw new InvalidImportSourceException("Importdatei nicht gefunden: " + name);
+        }
+        return file;
+    }
+
+    /**
+     * Startet einen Import-Job.
+     * @param file zu lesende Datei (bei Endung {@code .gz} gzip-komprimiert)
+     * @param format Dateiformat
+     * @param source Anzeigename der Quelle
+     * @param deleteWhenDone Datei nach dem Import löschen (temporäre Uploads)
+     * @return angelegter Job
+     */
+    public ImportJob start(final Path file, final CatalogFormat format, final String source,
+                           final boolean deleteWhenDone) {
+        ImportJob job = new ImportJob(format, source, properties.maxErrors());
+        jobs.put(job.getId(), job);
+        executor.execute(() -> run(job, file, deleteWhenDone));
+        return job;
+    }
+
+    /**
+     * Sucht einen Job.
+     * @param id Job-ID
+     * @return Job falls noch vorgehalten
+     */
+    public Optional<ImportJob> find(final UUID id) {
+        return Optional.ofNullable(jobs.get(id));
+    }
+
+    private void run(final ImportJob job, final Path file, final boolean deleteWhenDone) {
+        job.markRunning();
+        LOGGER.info("Import {} gestartet: {} ({})", job.getId(), job.getSource(), job.getFormat());
+        try (BufferedReader reader = open(file)) {
+            readLines(job, reader);
+            job.markCompleted();
+            LOGGER.info("Import {} beendet: {} gespeichert, {} abgelehnt, {} Zeilen/s", job.getId(),
+                job.getImported(), job.getRejected(), Math.round(job.rowsPerSecond()));
+        } catch (IOException | RuntimeException ex) {
+            LOGGER.warn("Import {} abgebrochen", job.getId(), ex);
+            job.markFailed(ex.getMessage());
+        } finally {
+            if (deleteWhenDone) {
+                deleteQuietly(file);
+            }
+        }
+    }
+
+    private BufferedReader open(final Path file) throws IOException {
+        InputStream in = Files.newInputStream(file);
+        if (file.getFileName().toString().endsWith(".gz")) {
+            in = new GZIPInputStream(in, READ_BUFFER);
+        }
+        return new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8), READ_BUFFER);
+    }
+
+    private void readLines(final ImportJob job, final BufferedReader reader) throws IOException {
+        long lineNo = 0;
+        int[] csvColumns = null;
+        if (job.getFormat() == CatalogFormat.CSV) {
+            String header = reader.readLine();
+            lineNo++;
+            if (header == null) {
+                return;
+            }
+            csvColumns = BuchCsv.columnIndexes(header);
+        }
+        List<Buch> chunk = new ArrayList<>(properties.chunkSize());
+        List<Long> chunkLines = new ArrayList<>(properties.chunkSize());
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNo++;
+            long recordLine = lineNo;
+            if (line.isBlank()) {
+                continue;
+            }
+            // quotierte CSV-Felder mit Zeilenumbruch (z.B. aus einem Export) über mehrere Zeilen zusammensetzen,
+            // höchstens maxRecordLines Zeilen, damit ein offenes Anführungszeichen nicht den Rest der Datei sammelt
+            String record = line;
+            boolean open = csvColumns != null && BuchCsv.togglesQuote(line);
+            if (open) {
+                StringBuilder lines = new StringBuilder(line);
+                int recordLines = 1;
+                while (open && recordLines < properties.maxRecordLines()) {
+                    String next = reader.readLine();
+                    if (next == null) {
+                        break;
+                    }
+                    lineNo++;
+                    recordLines++;
+                    lines.append('\n').append(next);
+                    open = BuchCsv.togglesQuote(next) != open;
+                }
+                record = lines.toString();
+                if (open && recordLines >= properties.maxRecordLines()) {
+                    job.lineRead();
+                    job.reject(recordLine, "Datensatz länger als " + properties.maxRecordLines()
+                        + " Zeilen (Anführungszeichen nicht geschlossen?), Zeilen " + recordLine + "-" + lineNo);
+                    continue;
+                }
+            }
+            job.lineRead();
+            String error = parse(record, csvColumns, chunk);
+            if (error != null) {
+                job.reject(recordLine, error);
+                continue;
+            }
+            chunkLines.add(recordLine);
+            if (chunk.size() >= properties.chunkSize()) {
+                flush(job, chunk, chunkLines);
+            }
+        }
+        flush(job, chunk, chunkLines);
+    }
+
+    /** Parst und validiert eine Zeile; bei Erfolg landet das Buch im Block, sonst wird der Fehler geliefert. */
+    private String parse(final String line, final int[] csvColumns, final List<Buch> chunk) {
+        BuchCreateRequest dto;
+        try {
+            dto = csvColumns != null ? BuchCsv.toRequest(line, csvColumns) : ndjsonReader.readValue(line);
+        } catch (JsonProcessingException ex) {
+            return "Ungültiges JSON: " + ex.getOriginalMessage();
+        } catch (IllegalArgumentException ex) {
+            return ex.getMessage();
+        }
+        Set<ConstraintViolation<BuchCreateRequest>> dtoViolations = validator.validate(dto);
+        if (!dtoViolations.isEmpty()) {
+            return describe(dtoViolations);
+        }
+        Buch entity = BuchMapper.toEntity(dto);
+        Set<ConstraintViolation<Buch>> entityViolations = validator.validate(entity);
+        if (!entityViolations.isEmpty()) {
+            return describe(entityViolations);
+        }
+        chunk.add(entity);
+        return null;
+    }
+
+    private void flush(final ImportJob job, final List<Buch> chunk, final List<Long> chunkLines) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        try {
+            BatchSaveResult result = buchService.saveBatch(chunk);
+            job.imported(result.saved().size());
+            for (int index : result.rejected()) {
+                job.reject(chunkLines.get(index), "ISBN bereits vergeben: " + chunk.get(index).getIsbn());
+            }
+        } catch (DataAccessException ex) {
+            for (Long line : chunkLines) {
+                job.reject(line, "Block nicht gespeichert: " + ex.getMostSpecificCause().getMessage());
+            }
+        }
+        chunk.clear();
+        chunkLines.clear();
+    }
+
+    private static String describe(final Set<? extends ConstraintViolation<?>> violations) {
+        return violations.stream()
+            .map(v -> v.getPropertyPath() + ":" + v.getMessage())
+            .sorted()
+            .collect(Collectors.joining(", "));
+    }
+
+    private static void deleteQuietly(final Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException ex) {
+            LOGGER.warn("Temporäre Importdatei {} nicht gelöscht", file, ex);
+        }
+    }
+
+    /** Beendet die Worker beim Herunterfahren. */
+    @Override
+    public void destroy() {
+        executor.shutdown();
+    }
+}
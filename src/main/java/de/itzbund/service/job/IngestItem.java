@@ -0,0 +1,82 @@
+package de.itzbund.service.job;
+
+import de.itzbund.entity.Buch;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Ein asynchron angelegtes Buch mit Tracking-ID. Das Ergebnis setzt der Flush-Thread, Request-Threads lesen
+ * ohne Sperren. Nach der Verarbeitung wird die Entity freigegeben, nur das Ergebnis bleibt abrufbar.
+ */
+public final class IngestItem {
+
+    /** Tracking-ID. */
+    private final UUID id = UUID.randomUUID();
+    /** Annahmezeitpunkt. */
+    private final Instant acceptedAt = Instant.now();
+    /** Zu speicherndes Buch (nach der Verarbeitung null). */
+    private volatile Buch buch;
+    /** Status. */
+    private volatile IngestStatus status = IngestStatus.QUEUED;
+    /** ID des gespeicherten Buches. */
+    private volatile Long buchId;
+    /** Ablehnungsgrund. */
+    private volatile String message;
+    /** Verarbeitungszeitpunkt. */
+    private volatile Instant processedAt;
+
+    IngestItem(final Buch buch) {
+        this.buch = buch;
+    }
+
+    void saved(final Long savedId) {
+        buchId = savedId;
+        finish(IngestStatus.SAVED);
+    }
+
+    void rejected(final String reason) {
+        message = reason;
+        finish(IngestStatus.REJECTED);
+    }
+
+    private void finish(final IngestStatus result) {
+        buch = null;
+        processedAt = Instant.now();
+        status = result;
+    }
+
+    Buch getBuch() {
+        return buch;
+    }
+
+    /** @return Tracking-ID */
+    public UUID getId() {
+        return id;
+    }
+
+    /** @return Annahmezeitpunkt */
+    public Instant getAcceptedAt() {
+        return acceptedAt;
+    }
+
+    /** @return Status */
+    public IngestStatus getStatus() {
+        return status;
+    }
+
+    /** @return ID des gespeicherten Buches oder null */
+    public Long getBuchId() {
+        return buchId;
+    }
+
+    /** @return Ablehnungsgrund oder null */
+    public String getMessage() {
+        return message;
+    }
+
+    /** @return Verarbeitungszeitpunkt oder null */
+    public Instant getProcessedAt() {
+        return processedAt;
+    }
+}
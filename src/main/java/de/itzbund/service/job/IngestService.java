@@ -0,0 +1,260 @@
+package de.itzbund.service.job;
+
+import de.itzbund.config.IngestProperties;
+import de.itzbund.entity.Buch;
+import de.itzbund.error.IngestRejectedException;
+import de.itzbund.service.BatchSaveResult;
+import de.itzbund.service.BuchService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.ConstraintViolationException;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Asynchrone Buchanlage (Write-Behind): Bücher werden sofort validiert und in eine begrenzte Warteschlange
+ * gestellt; ein Flush-Thread speichert sie in Blöcken über {@link BuchService#saveBatch(List)}.
+ *
+ * <p>Ist die Warteschlange voll, wird die Anlage mit {@link IngestRejectedException} abgewiesen (Backpressure).
+ * Beim Herunterfahren stoppt der Service erst nach dem Webserver, nimmt nichts mehr an und arbeitet die
+ * Warteschlange bis {@link IngestProperties#drainTimeout()} ab. Annahme-Prüfung und Einstellen laufen unter
+ * derselben Sperre, mit der {@link #stop()} die Annahme schließt; danach kommt nichts mehr in die Warteschlange.</p>
+ */
+@Service
+public final class IngestService implements SmartLifecycle {
+
+    /** Logger. */
+    private static final Logger LOGGER = LoggerFactory.getLogger(IngestService.class);
+
+    /** Stop-Phase nach dem Webserver (Graceful Shutdown bei {@code DEFAULT_PHASE - 1024}). */
+    private static final int PHASE = SmartLifecycle.DEFAULT_PHASE - 4096;
+
+    /** Buch-Service für die Block-Speicherung. */
+    private final BuchService buchService;
+    /** Bean Validation der Entity. */
+    private final Validator validator;
+    /** Konfiguration. */
+    private final IngestProperties properties;
+    /** Wartende Bücher. */
+    private final BlockingQueue<IngestItem> queue;
+    /** Zuletzt angenommene Bücher nach Tracking-ID (älteste werden verdrängt). */
+    private final Map<UUID, IngestItem> items;
+    /** Gespeicherte Bücher. */
+    private final Counter savedCounter;
+    /** Beim Speichern abgelehnte Bücher. */
+    private final Counter rejectedCounter;
+    /** Wegen voller Warteschlange abgewiesene Anfragen. */
+    private final Counter refusedCounter;
+    /** Flush-Thread. */
+    private volatile Thread flusher;
+    /** Annahme geöffnet. */
+    private volatile boolean accepting;
+    /** Einstellen (geteilt) gegen Schließen der Annahme (exklusiv). */
+    private final ReadWriteLock admission = new ReentrantReadWriteLock();
+
+    /**
+     * Konstruktor Injection.
+     * @param buchService Buch-Service
+     * @param validator Bean Validation
+     * @param properties Einstellungen
+     * @param registry Micrometer Registry
+     */
+    public IngestService(final BuchService buchService, final Validator validator,
+                         final IngestProperties properties, final MeterRegistry registry) {
+        this.buchService = buchService;
+        this.validator = validator;
+        this.properties = properties;
+        this.queue = new ArrayBlockingQueue<>(properties.queueCapacity());
+        this.items = Collections.synchronizedMap(new LinkedHashMap<>() {
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<UUID, IngestItem> eldest) {
+                return size() > properties.retainedResults();
+            }
+        });
+        registry.gauge("itzbund.ingest.queue", queue, BlockingQueue::size);
+        this.savedCounter = registry.counter("itzbund.ingest.items", "result", "saved");
+        this.rejectedCounter = registry.counter("itzbund.ingest.items", "result", "rejected");
+        this.refusedCounter = registry.counter("itzbund.ingest.items", "result", "refused");
+    }
+
+    /**
+     * Validiert ein Buch und stellt es in die Warteschlange.
+     * @param buch neues Buch
+     * @return Tracking-Eintrag
+     * @throws ConstraintViolationException bei ungültigem Buch
+     * @throws IngestRejectedException bei voller Warteschlange oder nach Beginn des Shutdowns
+     */
+    public IngestItem submit(final Buch buch) {
+        Set<ConstraintViolation<Buch>> violations = validator.validate(buch);
+        if (!violations.isEmpty()) {
+            throw new ConstraintViolationException(violations);
+        }
+        IngestItem item = new IngestItem(buch);
+        admission.readLock().lock();
+        try {
+            if (!accepting) {
+                refusedCounter.increment();
+                throw new IngestRejectedException("Annahme beendet, Anwendung fährt herunter",
+                    properties.retryAfter());
+            }
+            items.put(item.getId(), item);
+            if (!queue.offer(item)) {
+                items.remove(item.getId());
+                refusedCounter.increment();
+                throw new IngestRejectedException("Warteschlange voll (" + properties.queueCapacity() + ")",
+                    properties.retryAfter());
+            }
+        } finally {
+            admission.readLock().unlock();
+        }
+        return item;
+    }
+
+    /**
+     * Sucht einen Tracking-Eintrag.
+     * @param id Tracking-ID
+     * @return Eintrag falls noch vorgehalten
+     */
+    public Optional<IngestItem> find(final UUID id) {
+        return Optional.ofNullable(items.get(id));
+    }
+
+    /**
+     * Anzahl wartender Bücher.
+     * @return Länge der Warteschlange
+     */
+    public int queued() {
+        return queue.size();
+    }
+
+    @Override
+    public void start() {
+        accepting = true;
+        Thread thread = new Thread(this::flushLoop, "ingest-flusher");
+        thread.setDaemon(true);
+        flusher = thread;
+        thread.start();
+    }
+
+    /** Nimmt nichts mehr an und wartet, bis die Warteschlange gespeichert ist (höchstens drainTimeout). */
+    @Override
+    public void stop() {
+        admission.writeLock().lock();
+        try {
+            accepting = false;
+        } finally {
+            admission.writeLock().unlock();
+        }
+        // Erst jetzt endet die Schleife des Flush-Threads; alles Angenommene liegt bereits in der Warteschlange
+        Thread thread = flusher;
+        flusher = null;
+        if (thread == null) {
+            return;
+        }
+        LOGGER.info("Ingest: {} wartende Bücher werden gespeichert", queue.size());
+        try {
+            thread.join(properties.drainTimeout().toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (thread.isAlive()) {
+            thread.interrupt();
+            LOGGER.warn("Ingest: Drain-Timeout, {} Bücher nicht gespeichert", queue.size());
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return flusher != null;
+    }
+
+    @Override
+    public int getPhase() {
+        return PHASE;
+    }
+
+    /** Läuft bis zum Stop und danach, bis die Warteschlange leer ist. */
+    private void flushLoop() {
+        List<IngestItem> batch = new ArrayList<>(properties.batchSize());
+        while (flusher != null || !queue.isEmpty()) {
+            try {
+                IngestItem first = queue.poll(properties.maxDelay().toMillis(), TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                fill(batch);
+                flush(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                LOGGER.warn("Ingest: Block mit {} Büchern nicht gespeichert", batch.size(), e);
+                reject(batch, "Block nicht gespeichert: " + e.getMessage());
+            }
+            batch.clear();
+        }
+    }
+
+    /** Füllt den Block bis zur Blockgröße, wartet dabei höchstens maxDelay auf weitere Bücher. */
+    private void fill(final List<IngestItem> batch) throws InterruptedException {
+        long deadline = System.nanoTime() + properties.maxDelay().toNanos();
+        queue.drainTo(batch, properties.batchSize() - batch.size());
+        while (batch.size() < properties.batchSize() && flusher != null) {
+            long remaining = deadline - System.nanoTime();
+            IngestItem next = remaining > 0 ? queue.poll(remaining, TimeUnit.NANOSECONDS) : null;
+            if (next == null) {
+                return;
+            }
+            batch.add(next);
+            queue.drainTo(batch, properties.batchSize() - batch.size());
+        }
+    }
+
+    private void flush(final List<IngestItem> batch) {
+        List<Buch> buecher = new ArrayList<>(batch.size());
+        for (IngestItem item : batch) {
+            buecher.add(item.getBuch());
+        }
+        BatchSaveResult result = buchService.saveBatch(buecher);
+        Set<Integer> rejected = new HashSet<>(result.rejected());
+        Iterator<Buch> saved = result.saved().iterator();
+        for (int i = 0; i < batch.size(); i++) {
+            if (rejected.contains(i)) {
+                batch.get(i).rejected("ISBN bereits vergeben: " + buecher.get(i).getIsbn());
+                rejectedCounter.increment();
+            } else {
+                batch.get(i).saved(saved.next().getId());
+                savedCounter.increment();
+            }
+        }
+        LOGGER.debug("Ingest: Block gespeichert, {} neu, {} abgelehnt", result.saved().size(), rejected.size());
+    }
+
+    private void reject(final List<IngestItem> batch, final String reason) {
+        for (IngestItem item : batch) {
+            item.rejected(reason);
+            rejectedCounter.increment();
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package de.itzbund.service.job;
+
+/**
+ * Zustand eines asynchron angelegten Buches.
+ */
+public enum IngestStatus {
+    /** Angenommen, wartet auf den nächsten Speicherblock. */
+    QUEUED,
+    /** Gespeichert. */
+    SAVED,
+    /** Abgelehnt (siehe Meldung). */
+    REJECTED
+}
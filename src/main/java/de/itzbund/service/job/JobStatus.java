@@ -0,0 +1,15 @@
+package de.itzbund.service.job;
+
+/**
+ * Lebenszyklus eines Hintergrund-Jobs.
+ */
+public enum JobStatus {
+    /** Angenommen, wartet auf einen freien Worker. */
+    QUEUED,
+    /** Wird gerade verarbeitet. */
+    RUNNING,
+    /** Erfolgreich abgeschlossen. */
+    COMPLETED,
+    /** Abgebrochen (siehe Meldung des Jobs). */
+    FAILED
+}
@@ -0,0 +1,287 @@
+package de.itzbund.service.suggest;
+
+import de.itzbund.config.AutocompleteProperties;
+import de.itzbund.entity.Buch;
+import de.itzbund.repository.BuchLabel;
+import de.itzbund.repository.BuchRepository;
+import de.itzbund.service.BuchChangedEvent;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+/**
+ * Autocomplete für Titel und Autoren aus einem {@link PrefixIndex} im Speicher.
+ *
+ * <p>Der Index wird beim Start (vor dem Webserver) aus {@link BuchRepository#streamLabels()} aufgebaut und danach
+ * über {@link BuchChangedEvent}s von {@code BuchService} nach jedem Commit aktualisiert. Schreiber sind
+ * serialisiert und ersetzen den Index per Copy-on-Write; {@link #suggest(String, int)} liest nur die aktuelle
+ * Referenz und nimmt keine Sperre.</p>
+ *
+ * <p>Ein Commit kopiert dabei nicht den ganzen Index: Neue Begriffe landen in einem kleinen Delta-Index, entfernte
+ * Begriffe des Haupt-Index in einer Ausschlussmenge. Erst ab {@link AutocompleteProperties#mergeThreshold()}
+ * Änderungen mischt ein Hintergrund-Thread beides in einen neuen Haupt-Index; Abfragen fragen bis dahin beide
+ * Indizes.</p>
+ */
+@Service
+public final class AutocompleteService implements SmartInitializingSingleton, DisposableBean {
+
+    /** Logger. */
+    private static final Logger LOGGER = LoggerFactory.getLogger(AutocompleteService.class);
+    /** IDs je Abfrage beim Nachladen nach Massen-Updates. */
+    private static final int RELOAD_CHUNK_SIZE = 500;
+
+    /** Repository für den Aufbau. */
+    private final BuchRepository repository;
+    /** Read-only-Transaktion für den Aufbau. */
+    private final TransactionTemplate readOnly;
+    /** Eigene Transaktion auf der Primär-Datenbank zum Nachladen nach dem Commit. */
+    private final TransactionTemplate reload;
+    /** Konfiguration. */
+    private final AutocompleteProperties properties;
+    /** Serialisiert Schreiber; Leser sperren nie. */
+    private final Object writeLock = new Object();
+    /** Aktive Begriffe nach Feld und Text (nur unter {@link #writeLock}). */
+    private final Map<String, Term> terms = new HashMap<>();
+    /** Titel- und Autor-Begriff je Buch-ID (nur unter {@link #writeLock}). */
+    private final Map<Long, Term[]> books = new HashMap<>();
+    /** Begriffe im Delta-Index (nur unter {@link #writeLock}). */
+    private final Set<Term> deltaTerms = new HashSet<>();
+    /** Thread für das Mischen von Delta- und Haupt-Index. */
+    private final ExecutorService merger = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "autocomplete-merge");
+        thread.setDaemon(true);
+        return thread;
+    });
+    /** Mischen angefordert. */
+    private final AtomicBoolean mergePending = new AtomicBoolean();
+    /** Aktueller Stand; wird ersetzt, nie verändert. */
+    private volatile Layers index = Layers.EMPTY;
+
+    /**
+     * Konstruktor Injection.
+     * @param repository Buch-Repository
+     * @param transactionManager Transaktionsmanager für den Aufbau
+     * @param properties Einstellungen
+     * @param registry Micrometer Registry
+     */
+    public AutocompleteService(final BuchRepository repository, final PlatformTransactionManager transactionManager,
+                               final AutocompleteProperties properties, final MeterRegistry registry) {
+        this.repository = repository;
+        this.readOnly = new TransactionTemplate(transactionManager);
+        this.readOnly.setReadOnly(true);
+        this.reload = new TransactionTemplate(transactionManager);
+        this.reload.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.properties = properties;
+        Gauge.builder("itzbund.autocomplete.entries", this, service -> service.index.size())
+            .description("Wortanfänge im Autocomplete-Index")
+            .register(registry);
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        rebuild();
+    }
+
+    @Override
+    public void destroy() {
+        merger.shutdownNow();
+    }
+
+    /**
+     * Baut den Index vollständig aus der Datenbank neu auf.
+     */
+    public void rebuild() {
+        long start = System.nanoTime();
+        synchronized (writeLock) {
+            terms.clear();
+            books.clear();
+            deltaTerms.clear();
+            Changes changes = new Changes();
+            readOnly.executeWithoutResult(status -> {
+                try (Stream<BuchLabel> labels = repository.streamLabels()) {
+                    labels.forEach(label -> put(label.getId(), label.getTitle(), label.getAuthor(), changes));
+                }
+            });
+            index = new Layers(PrefixIndex.EMPTY.with(changes.added, Set.of()), PrefixIndex.EMPTY, Set.of());
+            LOGGER.info("Autocomplete-Index aufgebaut: {} Bücher, {} Einträge in {} ms", books.size(), index.size(),
+                Duration.ofNanos(System.nanoTime() - start).toMillis());
+        }
+    }
+
+    /**
+     * Übernimmt gespeicherte und gelöschte Bücher nach dem Commit (ohne Transaktion sofort). Per Massen-Update
+     * geänderte Bücher werden blockweise von der Primär-Datenbank nachgeladen.
+     * @param event Änderung aus {@code BuchService}
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onChange(final BuchChangedEvent event) {
+        synchronized (writeLock) {
+            Changes changes = new Changes();
+            for (Buch buch : event.saved()) {
+                put(buch.getId(), buch.getTitle(), buch.getAuthor(), changes);
+            }
+            List<Long> updated = event.updated();
+            for (int from = 0; from < updated.size(); from += RELOAD_CHUNK_SIZE) {
+                List<Long> chunk = updated.subList(from, Math.min(from + RELOAD_CHUNK_SIZE, updated.size()));
+                for (BuchLabel label : reload.execute(status -> repository.findLabels(chunk))) {
+                    put(label.getId(), label.getTitle(), label.getAuthor(), changes);
+                }
+            }
+            for (Long id : event.deleted()) {
+                Term[] old = books.remove(id);
+                if (old != null) {
+                    release(old, changes);
+                }
+            }
+            if (!changes.added.isEmpty() || !changes.removed.isEmpty()) {
+                apply(changes);
+            }
+        }
+    }
+
+    /** Übernimmt Änderungen in Delta-Index und Ausschlussmenge; Kosten wachsen mit dem Delta, nicht dem Katalog. */
+    private void apply(final Changes changes) {
+        Layers current = index;
+        Set<Term> fromDelta = new HashSet<>();
+        Set<Term> excluded = new HashSet<>(current.excluded);
+        for (Term term : changes.removed) {
+            if (deltaTerms.remove(term)) {
+                fromDelta.add(term);
+            } else {
+                excluded.add(term);
+            }
+        }
+        deltaTerms.addAll(changes.added);
+        index = new Layers(current.base, current.delta.with(changes.added, fromDelta), Set.copyOf(excluded));
+        boolean large = deltaTerms.size() + excluded.size() >= properties.mergeThreshold();
+        if (large && mergePending.compareAndSet(false, true)) {
+            merger.execute(() -> {
+                mergePending.set(false);
+                merge();
+            });
+        }
+    }
+
+    /**
+     * Mischt Delta-Index und Ausschlussmenge in einen neuen Haupt-Index (sonst im Hintergrund ab
+     * {@link AutocompleteProperties#mergeThreshold()} Änderungen).
+     */
+    public void merge() {
+        synchronized (writeLock) {
+            Layers current = index;
+            if (deltaTerms.isEmpty() && current.excluded.isEmpty()) {
+                return;
+            }
+            index = new Layers(current.base.with(deltaTerms, current.excluded), PrefixIndex.EMPTY, Set.of());
+            deltaTerms.clear();
+        }
+    }
+
+    /**
+     * @return aktueller Haupt-Index (Tests: ein Commit ersetzt ihn nicht)
+     */
+    PrefixIndex base() {
+        return index.base;
+    }
+
+    /**
+     * Vorschläge für eine Eingabe (ohne Sperre).
+     * @param prefix Eingabe
+     * @param limit maximale Anzahl
+     * @return Vorschläge in Rangfolge
+     */
+    public List<Suggestion> suggest(final String prefix, final int limit) {
+        Layers current = index;
+        List<Suggestion> base = current.base.lookup(prefix, limit, properties.scanLimit(), current.excluded);
+        if (current.delta.size() == 0) {
+            return base;
+        }
+        List<Suggestion> merged = new ArrayList<>(base);
+        merged.addAll(current.delta.lookup(prefix, limit, properties.scanLimit()));
+        merged.sort(Suggestion.RANKING);
+        return List.copyOf(merged.subList(0, Math.min(limit, merged.size())));
+    }
+
+    private void put(final Long id, final String title, final String author, final Changes changes) {
+        Term[] old = books.get(id);
+        if (old != null && matches(old[0], title) && matches(old[1], author)) {
+            return;
+        }
+        Term[] current = {acquire(SuggestField.TITLE, title, changes), acquire(SuggestField.AUTHOR, author, changes)};
+        if (old != null) {
+            release(old, changes);
+        }
+        books.put(id, current);
+    }
+
+    private Term acquire(final SuggestField field, final String text, final Changes changes) {
+        if (text == null || text.isBlank()) {
+            return null;
+        }
+        Term term = terms.computeIfAbsent(field + ":" + text, key -> {
+            Term created = new Term(field, text);
+            changes.added.add(created);
+            return created;
+        });
+        term.increment();
+        return term;
+    }
+
+    private void release(final Term[] old, final Changes changes) {
+        for (Term term : old) {
+            if (term != null && term.decrement() == 0) {
+                terms.remove(term.field() + ":" + term.text());
+                if (!changes.added.remove(term)) {
+                    changes.removed.add(term);
+                }
+            }
+        }
+    }
+
+    private static boolean matches(final Term term, final String text) {
+        return term == null ? text == null || text.isBlank() : term.text().equals(text);
+    }
+
+    /**
+     * Haupt-Index, Delta-Index und Begriffe, die im Haupt-Index noch stehen, aber entfernt sind.
+     * @param base Haupt-Index
+     * @param delta neue Begriffe seit dem letzten Mischen
+     * @param excluded entfernte Begriffe des Haupt-Index
+     */
+    private record Layers(PrefixIndex base, PrefixIndex delta, Set<Term> excluded) {
+        /** Leerer Stand. */
+        static final Layers EMPTY = new Layers(PrefixIndex.EMPTY, PrefixIndex.EMPTY, Set.of());
+
+        int size() {
+            return base.size() + delta.size();
+        }
+    }
+
+    /** Neue und weggefallene Begriffe einer Änderung. */
+    private static final class Changes {
+        /** Neu aufgenommene Begriffe. */
+        private final Set<Term> added = new HashSet<>();
+        /** Begriffe ohne Bücher. */
+        private final Set<Term> removed = new HashSet<>();
+    }
+}
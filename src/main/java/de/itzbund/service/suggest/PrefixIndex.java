@@ -0,0 +1,205 @@
+package de.itzbund.service.suggest;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Unveränderlicher Präfix-Index über Titel und Autoren: ein sortiertes Array aller Wortanfänge
+ * ({@code "spring boot"} liefert die Einträge {@code "spring boot"} und {@code "boot"}). Ein Eintrag besteht nur aus
+ * Verweis auf den {@link Term} und Offset im gefalteten Text; Schlüssel werden nicht als eigene Strings angelegt.
+ *
+ * <p>Änderungen erzeugen mit {@link #with(Collection, Set)} eine neue Instanz (Copy-on-Write), Lesezugriffe
+ * brauchen deshalb keine Sperre.</p>
+ */
+public final class PrefixIndex {
+
+    /** Leerer Index. */
+    public static final PrefixIndex EMPTY = new PrefixIndex(new Term[0], new int[0]);
+
+    /** Kombinierende Zeichen nach NFD-Zerlegung (Umlaute und Akzente werden auf den Grundbuchstaben gefaltet). */
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+
+    /** Sortierung der Einträge nach dem gefalteten Text ab Offset. */
+    private static final Comparator<Entry> ORDER =
+        (a, b) -> compare(a.term.folded(), a.offset, b.term.folded(), b.offset);
+
+    /** Begriff je Eintrag. */
+    private final Term[] terms;
+    /** Offset des Wortanfangs im gefalteten Text je Eintrag. */
+    private final int[] offsets;
+
+    private PrefixIndex(final Term[] terms, final int[] offsets) {
+        this.terms = terms;
+        this.offsets = offsets;
+    }
+
+    /**
+     * Faltet einen Text für Vergleiche: Kleinschreibung, ohne Akzente, Leerraum am Rand entfernt.
+     * @param text Eingabe
+     * @return gefalteter Text
+     */
+    public static String fold(final String text) {
+        String lower = text.strip().toLowerCase(Locale.ROOT);
+        for (int i = 0; i < lower.length(); i++) {
+            if (lower.charAt(i) > '\u007f') {
+                return MARKS.matcher(Normalizer.normalize(lower, Normalizer.Form.NFD)).replaceAll("");
+            }
+        }
+        return lower;
+    }
+
+    /**
+     * @return Anzahl Einträge (Wortanfänge)
+     */
+    public int size() {
+        return terms.length;
+    }
+
+    /**
+     * Neuer Index mit zusätzlichen und ohne entfernte Begriffe.
+     * @param added neue Begriffe
+     * @param removed zu entfernende Begriffe (Identität)
+     * @return neuer Index; dieser bleibt unverändert
+     */
+    public PrefixIndex with(final Collection<Term> added, final Set<Term> removed) {
+        List<Entry> fresh = new ArrayList<>();
+        for (Term term : added) {
+            String folded = term.folded();
+            for (int i = 0; i < folded.length(); i++) {
+                if (Character.isLetterOrDigit(folded.charAt(i))
+                    && (i == 0 || !Character.isLetterOrDigit(folded.charAt(i - 1)))) {
+                    fresh.add(new Entry(term, i));
+                }
+            }
+        }
+        fresh.sort(ORDER);
+        Term[] newTerms = new Term[terms.length + fresh.size()];
+        int[] newOffsets = new int[newTerms.length];
+        int size = 0;
+        int j = 0;
+        for (int i = 0; i < terms.length; i++) {
+            if (removed.contains(terms[i])) {
+                continue;
+            }
+            while (j < fresh.size()
+                && compare(fresh.get(j).term.folded(), fresh.get(j).offset, terms[i].folded(), offsets[i]) < 0) {
+                newTerms[size] = fresh.get(j).term;
+                newOffsets[size++] = fresh.get(j++).offset;
+            }
+            newTerms[size] = terms[i];
+            newOffsets[size++] = offsets[i];
+        }
+        for (; j < fresh.size(); j++) {
+            newTerms[size] = fresh.get(j).term;
+            newOffsets[size++] = fresh.get(j).offset;
+        }
+        return new PrefixIndex(Arrays.copyOf(newTerms, size), Arrays.copyOf(newOffsets, size));
+    }
+
+    /**
+     * Sucht Begriffe, bei denen ein Wort mit dem Präfix beginnt, und liefert die besten {@code limit}.
+     * Rangfolge: Treffer am Textanfang vor Treffer an späteren Wörtern, dann mehr Bücher, dann kürzerer Text.
+     * @param prefix Eingabe (wird gefaltet)
+     * @param limit maximale Anzahl Vorschläge
+     * @param scanLimit maximale Anzahl geprüfter Einträge (begrenzt die Kosten sehr kurzer Präfixe)
+     * @return Vorschläge in Rangfolge
+     */
+    public List<Suggestion> lookup(final String prefix, final int limit, final int scanLimit) {
+        return lookup(prefix, limit, scanLimit, Set.of());
+    }
+
+    /**
+     * Wie {@link #lookup(String, int, int)}, überspringt aber die angegebenen Begriffe (inzwischen entfernt, aber
+     * noch nicht aus diesem Index herausgemischt).
+     * @param prefix Eingabe (wird gefaltet)
+     * @param limit maximale Anzahl Vorschläge
+     * @param scanLimit maximale Anzahl geprüfter Einträge
+     * @param excluded zu überspringende Begriffe (Identität)
+     * @return Vorschläge in Rangfolge
+     */
+    public List<Suggestion> lookup(final String prefix, final int limit, final int scanLimit,
+                                   final Set<Term> excluded) {
+        String query = fold(prefix);
+        if (query.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        // Bestenliste fester Größe statt alle Treffer zu sammeln und zu sortieren
+        Suggestion[] best = new Suggestion[limit];
+        int size = 0;
+        int start = lowerBound(query);
+        int end = Math.min(terms.length, start + scanLimit);
+        for (int i = start; i < end && terms[i].folded().startsWith(query, offsets[i]); i++) {
+            Term term = terms[i];
+            if (!excluded.isEmpty() && excluded.contains(term)) {
+                continue;
+            }
+            Suggestion candidate = new Suggestion(term.field(), term.text(), term.books(), offsets[i] == 0);
+            int existing = indexOf(best, size, term);
+            if (existing >= 0) {
+                if (!candidate.leading() || best[existing].leading()) {
+                    continue;
+                }
+                System.arraycopy(best, existing + 1, best, existing, --size - existing);
+            }
+            if (size == limit && Suggestion.RANKING.compare(candidate, best[size - 1]) >= 0) {
+                continue;
+            }
+            int pos = size == limit ? size - 1 : size++;
+            while (pos > 0 && Suggestion.RANKING.compare(candidate, best[pos - 1]) < 0) {
+                best[pos] = best[pos - 1];
+                pos--;
+            }
+            best[pos] = candidate;
+        }
+        return List.of(Arrays.copyOf(best, size));
+    }
+
+    private static int indexOf(final Suggestion[] best, final int size, final Term term) {
+        for (int k = 0; k < size; k++) {
+            if (best[k].field() == term.field() && best[k].text().equals(term.text())) {
+                return k;
+            }
+        }
+        return -1;
+    }
+
+    private int lowerBound(final String query) {
+        int low = 0;
+        int high = terms.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (compare(terms[mid].folded(), offsets[mid], query, 0) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private static int compare(final String a, final int aOffset, final String b, final int bOffset) {
+        int length = Math.min(a.length() - aOffset, b.length() - bOffset);
+        for (int k = 0; k < length; k++) {
+            int diff = a.charAt(aOffset + k) - b.charAt(bOffset + k);
+            if (diff != 0) {
+                return diff;
+            }
+        }
+        return (a.length() - aOffset) - (b.length() - bOffset);
+    }
+
+    /**
+     * Eintrag beim Aufbau.
+     * @param term Begriff
+     * @param offset Wortanfang im gefalteten Text
+     */
+    private record Entry(Term term, int offset) {
+    }
+}
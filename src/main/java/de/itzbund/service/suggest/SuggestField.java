@@ -0,0 +1,11 @@
+package de.itzbund.service.suggest;
+
+/**
+ * Feld, aus dem ein Vorschlag stammt.
+ */
+public enum SuggestField {
+    /** Buchtitel. */
+    TITLE,
+    /** Autor. */
+    AUTHOR
+}
@@ -0,0 +1,20 @@
+package de.itzbund.service.suggest;
+
+import java.util.Comparator;
+
+/**
+ * Autocomplete-Vorschlag.
+ *
+ * @param field Herkunftsfeld
+ * @param text Titel bzw. Autor im Original
+ * @param books Anzahl Bücher mit diesem Text
+ * @param leading {@code true}, wenn der Text selbst (nicht ein späteres Wort) mit der Eingabe beginnt
+ */
+public record Suggestion(SuggestField field, String text, int books, boolean leading) {
+
+    /** Rangfolge: Textanfang vor späterem Wort, mehr Bücher, kürzerer Text, alphabetisch. */
+    public static final Comparator<Suggestion> RANKING = Comparator.comparing(Suggestion::leading).reversed()
+        .thenComparing(Comparator.comparingInt(Suggestion::books).reversed())
+        .thenComparingInt(s -> s.text().length())
+        .thenComparing(Suggestion::text);
+}
@@ -0,0 +1,75 @@
+package de.itzbund.service.suggest;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Ein unterschiedlicher Titel oder Autor im {@link PrefixIndex}. Die Anzahl Bücher wird ohne Kopie des Index
+ * gezählt; Leser sehen sie ohne Sperre (für die Rangfolge genügt ein aktueller Näherungswert).
+ * Gleichheit ist Identität: pro Feld und Text existiert höchstens eine aktive Instanz.
+ */
+public final class Term {
+
+    /** Herkunftsfeld. */
+    private final SuggestField field;
+    /** Originaltext. */
+    private final String text;
+    /** Gefalteter Text (siehe {@link PrefixIndex#fold(String)}). */
+    private final String folded;
+    /** Anzahl Bücher mit diesem Text. */
+    private final AtomicInteger books = new AtomicInteger();
+
+    /**
+     * Neuer Begriff ohne Bücher.
+     * @param field Herkunftsfeld
+     * @param text Originaltext
+     */
+    public Term(final SuggestField field, final String text) {
+        this.field = field;
+        this.text = text;
+        this.folded = PrefixIndex.fold(text);
+    }
+
+    /**
+     * @return Herkunftsfeld
+     */
+    public SuggestField field() {
+        return field;
+    }
+
+    /**
+     * @return Originaltext
+     */
+    public String text() {
+        return text;
+    }
+
+    /**
+     * @return gefalteter Text
+     */
+    public String folded() {
+        return folded;
+    }
+
+    /**
+     * @return Anzahl Bücher
+     */
+    public int books() {
+        return books.get();
+    }
+
+    /**
+     * Zählt ein Buch hinzu.
+     * @return neue Anzahl
+     */
+    int increment() {
+        return books.incrementAndGet();
+    }
+
+    /**
+     * Zählt ein Buch ab.
+     * @return neue Anzahl
+     */
+    int decrement() {
+        return books.decrementAndGet();
+    }
+}
@@ -0,0 +1,135 @@
+package de.itzbund.timing;
+
+import java.util.Arrays;
+
+/**
+ * Thread-gebundene Phasenzeiten eines Requests für den {@code Server-Timing}-Header.
+ *
+ * <p>Je Thread existiert genau ein Exemplar, das bei jedem Request zurückgesetzt wird; die Zeiten liegen in
+ * einem festen {@code long[]} je {@link Phase}. {@link #add(Phase, long)} ist außerhalb aktiver Requests
+ * (z.B. in Import-Jobs) ein No-op.</p>
+ */
+public final class ServerTiming {
+
+    /** Header-Name nach W3C Server Timing. */
+    public static final String HEADER = "Server-Timing";
+
+    /** Phasen, gecacht statt {@code Phase.values()} je Aufruf. */
+    private static final Phase[] PHASES = Phase.values();
+
+    /** Umrechnung Nanosekunden in Mikrosekunden. */
+    private static final long NANOS_PER_MICRO = 1_000L;
+
+    /** Mikrosekunden je Millisekunde. */
+    private static final long MICROS_PER_MILLI = 1_000L;
+
+    /** Grenzen für führende Nullen der Nachkommastellen. */
+    private static final long TEN = 10L;
+
+    /** Anfangskapazität des Header-Puffers. */
+    private static final int HEADER_CAPACITY = 96;
+
+    /** Exemplar des aktuellen Threads (nur auf Request-Threads belegt). */
+    private static final ThreadLocal<ServerTiming> CURRENT = new ThreadLocal<>();
+
+    /** Summierte Dauer je Phase. */
+    private final long[] nanos = new long[PHASES.length];
+    /** Wiederverwendeter Puffer für den Header-Wert. */
+    private final StringBuilder header = new StringBuilder(HEADER_CAPACITY);
+    /** Request aktiv. */
+    private boolean active;
+    /** Startzeitpunkt des Requests. */
+    private long start;
+
+    private ServerTiming() {
+    }
+
+    /** Messbare Phasen eines Requests. */
+    public enum Phase {
+        /** JDBC-Statements. */
+        DB("db"),
+        /** Entity-DTO-Mapping. */
+        MAP("map"),
+        /** JSON-Serialisierung. */
+        SERIALIZE("serialize");
+
+        /** Metrikname im Header. */
+        private final String metric;
+
+        Phase(final String metric) {
+            this.metric = metric;
+        }
+    }
+
+    /** Startet die Messung für den Request des aktuellen Threads. */
+    public static void begin() {
+        ServerTiming timing = CURRENT.get();
+        if (timing == null) {
+            timing = new ServerTiming();
+            CURRENT.set(timing);
+        }
+        Arrays.fill(timing.nanos, 0L);
+        timing.start = System.nanoTime();
+        timing.active = true;
+    }
+
+    /** Beendet die Messung; das Exemplar bleibt für den nächsten Request des Threads erhalten. */
+    public static void end() {
+        ServerTiming timing = CURRENT.get();
+        if (timing != null) {
+            timing.active = false;
+        }
+    }
+
+    /**
+     * Ob auf diesem Thread gerade gemessen wird.
+     * @return {@code true} innerhalb eines gemessenen Requests
+     */
+    public static boolean isActive() {
+        ServerTiming timing = CURRENT.get();
+        return timing != null && timing.active;
+    }
+
+    /**
+     * Addiert eine Dauer zu einer Phase.
+     * @param phase Phase
+     * @param duration Dauer in Nanosekunden
+     */
+    public static void add(final Phase phase, final long duration) {
+        ServerTiming timing = CURRENT.get();
+        if (timing != null && timing.active) {
+            timing.nanos[phase.ordinal()] += duration;
+        }
+    }
+
+    /**
+     * Header-Wert mit allen Phasen und {@code total} bis jetzt, z.B.
+     * {@code db;dur=1.204, map;dur=0.031, serialize;dur=0.410, total;dur=2.870}.
+     * @return Header-Wert oder {@code null}, wenn nicht gemessen wird
+     */
+    public static String headerValue() {
+        ServerTiming timing = CURRENT.get();
+        if (timing == null || !timing.active) {
+            return null;
+        }
+        StringBuilder value = timing.header;
+        value.setLength(0);
+        for (Phase phase : PHASES) {
+            appendMetric(value, phase.metric, timing.nanos[phase.ordinal()]).append(", ");
+        }
+        return appendMetric(value, "total", System.nanoTime() - timing.start).toString();
+    }
+
+    private static StringBuilder appendMetric(final StringBuilder value, final String metric, final long duration) {
+        long micros = duration / NANOS_PER_MICRO;
+        long fraction = micros % MICROS_PER_MILLI;
+        value.append(metric).append(";dur=").append(micros / MICROS_PER_MILLI).append('.');
+        if (fraction < TEN * TEN) {
+            value.append('0');
+        }
+        if (fraction < TEN) {
+            value.append('0');
+        }
+        return value.append(fraction);
+    }
+}
@@ -0,0 +1,16 @@
+package de.itzbund.warmup;
+
+import java.time.Duration;
+
+/**
+ * Ergebnis des Aufwärmens.
+ *
+ * @param inProcessIterations Durchläufe über Mapper, Serialisierung und Repository
+ * @param httpIterations Durchläufe über die HTTP-Endpunkte ({@code 0} ohne Webserver)
+ * @param duration Gesamtdauer
+ * @param firstRequest Latenz der ersten Anfrage (kalt)
+ * @param lastRequest Latenz derselben Anfrage im letzten Durchlauf (warm)
+ */
+public record WarmupReport(int inProcessIterations, int httpIterations, Duration duration,
+                           Duration firstRequest, Duration lastRequest) {
+}
@@ -0,0 +1,305 @@
+package de.itzbund.warmup;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.itzbund.api.generated.dto.BuchCreateRequest;
+import de.itzbund.api.generated.dto.BuchResponse;
+import de.itzbund.config.WarmupProperties;
+import de.itzbund.entity.Buch;
+import de.itzbund.mapper.BuchMapper;
+import de.itzbund.repository.BuchRepository;
+import de.itzbund.repository.BuchSpecifications;
+import jakarta.persistence.EntityManager;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.actuate.info.Info;
+import org.springframework.boot.actuate.info.InfoContributor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Wärmt beim Start die heißen Pfade auf, damit der JIT-Compiler sie übersetzt hat, bevor echter Verkehr ankommt:
+ * Mapper, JSON-Serialisierung, Repository-Finder und Filtersuche sowie über HTTP die Controller samt
+ * Fehlerbehandlung (404, ungültige Parameter, ungültiger Body).
+ *
+ * <p>Spring Boot meldet die Readiness {@code ACCEPTING_TRAFFIC} erst, nachdem alle {@link ApplicationRunner}
+ * gelaufen sind; solange das Aufwärmen läuft, antwortet {@code /actuator/health/readiness} also mit
+ * {@code OUT_OF_SERVICE} und der Load Balancer leitet noch nichts weiter.</p>
+ *
+ * <p>Die Finder laufen gegen einen Scratch-Datensatz in einer Transaktion, die am Ende zurückgerollt wird, mit
+ * {@link CacheMode#IGNORE}, damit nichts davon in den L2- oder Query-Cache gelangt. Die HTTP-Anfragen lesen nur
+ * begrenzte Ausschnitte der echten Daten. Sie tragen im Header {@link #HEADER} ein Token, das nur für diesen Start
+ * und nur während des Aufwärmens gilt; das Audit-Log lässt sie daran aus.</p>
+ */
+@Component
+@ConditionalOnProperty(prefix = "itzbund.warmup", name = "enabled", havingValue = "true")
+public final class WarmupRunner implements ApplicationRunner, InfoContributor {
+
+    /** Header mit dem Token der Aufwärm-Anfragen. */
+    public static final String HEADER = "X-Warmup-Token";
+
+    /** Logger. */
+    private static final Logger LOGGER = LoggerFactory.getLogger(WarmupRunner.class);
+    /** Timeout je HTTP-Anfrage. */
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(10);
+    /** Limit der Filtersuche beim Aufwärmen. */
+    private static final int SEARCH_LIMIT = 20;
+    /** Seitenzahl des ersten Scratch-Buchs. */
+    private static final int SCRATCH_PAGES = 100;
+    /** Preis des ersten Scratch-Buchs in Cent. */
+    private static final int SCRATCH_CENTS = 999;
+    /** Ab diesem Status gilt eine Antwort als Serverfehler. */
+    private static final int SERVER_ERROR = 500;
+    /** Nanosekunden je Millisekunde (für den Log). */
+    private static final double NANOS_PER_MILLI = 1e6;
+
+    /** Einstellungen. */
+    private final WarmupProperties properties;
+    /** Repository. */
+    private final BuchRepository repository;
+    /** Gemeinsamer EntityManager (an die laufende Transaktion gebunden). */
+    private final EntityManager entityManager;
+    /** ObjectMapper der Anwendung. */
+    private final ObjectMapper objectMapper;
+    /** Für Port und Readiness-Kontext. */
+    private final ApplicationContext context;
+    /** Scratch-Transaktion, wird immer zurückgerollt. */
+    private final TransactionTemplate scratchTransaction;
+    /** Ergebnis oder {@code null}, solange nicht aufgewärmt wurde. */
+    private volatile WarmupReport report;
+    /** Token der Aufwärm-Anfragen; {@code null}, sobald das Aufwärmen per HTTP beendet ist. */
+    private volatile String token = UUID.randomUUID().toString();
+
+    /**
+     * @param properties Einstellungen
+     * @param repository Repository
+     * @param entityManager gemeinsamer EntityManager
+     * @param objectMapper ObjectMapper der Anwendung
+     * @param context Anwendungskontext
+     * @param transactionManager Transaktionsmanager
+     */
+    public WarmupRunner(final WarmupProperties properties, final BuchRepository repository,
+                        final EntityManager entityManager, final ObjectMapper objectMapper,
+                        final ApplicationContext context, final PlatformTransactionManager transactionManager) {
+        this.properties = properties;
+        this.repository = repository;
+        this.entityManager = entityManager;
+        this.objectMapper = objectMapper;
+        this.context = context;
+        this.scratchTransaction = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    public void run(final ApplicationArguments args) throws Exception {
+        long start = System.nanoTime();
+        long phaseBudget = properties.timeBudget().toNanos() / 2;
+        Timings inProcess = warmInProcess(start + phaseBudget);
+        Timings http = inProcess;
+        int httpIterations = 0;
+        if (context instanceof WebServerApplicationContext web && web.getWebServer() != null) {
+            try {
+                http = warmHttp(web.getWebServer().getPort(), System.nanoTime() + phaseBudget);
+            } finally {
+                token = null;
+            }
+            httpIterations = http.iterations();
+        } else {
+            token = null;
+        }
+        report = new WarmupReport(inProcess.iterations(), httpIterations,
+            Duration.ofNanos(System.nanoTime() - start), Duration.ofNanos(http.first()),
+            Duration.ofNanos(http.last()));
+        LOGGER.info("Aufgewärmt in {} ms ({} Durchläufe im Prozess, {} per HTTP): erste Anfrage {} ms, "
+                + "zuletzt {} ms", report.duration().toMillis(), report.inProcessIterations(),
+            report.httpIterations(), String.format("%.2f", http.first() / NANOS_PER_MILLI),
+            String.format("%.2f", http.last() / NANOS_PER_MILLI));
+    }
+
+    /**
+     * @return Ergebnis des Aufwärmens oder {@code null}, solange es noch läuft
+     */
+    public WarmupReport report() {
+        return report;
+    }
+
+    /**
+     * @param headerValue Wert des Headers {@link #HEADER} oder {@code null}
+     * @return ob der Request eine Aufwärm-Anfrage dieses Starts ist
+     */
+    public boolean isWarmupRequest(final String headerValue) {
+        String current = token;
+        return current != null && current.equals(headerValue);
+    }
+
+    @Override
+    public void contribute(final Info.Builder builder) {
+        WarmupReport current = report;
+        if (current != null) {
+            builder.withDetail("warmup", Map.of(
+                "inProcessIterations", current.inProcessIterations(),
+                "httpIterations", current.httpIterations(),
+                "durationMs", current.duration().toMillis(),
+                "firstRequestMicros", TimeUnit.NANOSECONDS.toMicros(current.firstRequest().toNanos()),
+                "lastRequestMicros", TimeUnit.NANOSECONDS.toMicros(current.lastRequest().toNanos())));
+        }
+    }
+
+    private Timings warmInProcess(final long deadline) {
+        return scratchTransaction.execute(status -> {
+            status.setRollbackOnly();
+            entityManager.unwrap(Session.class).setCacheMode(CacheMode.IGNORE);
+            String author = "Warm-up " + UUID.randomUUID();
+            List<Buch> scratch = new ArrayList<>(properties.scratchBooks());
+            for (int i = 0; i < properties.scratchBooks(); i++) {
+                scratch.add(Buch.builder().title("Warm-up Band " + i).author(author).pages(SCRATCH_PAGES + i)
+                    .price(BigDecimal.valueOf(SCRATCH_CENTS + i, 2)).build());
+            }
+            repository.saveAllAndFlush(scratch);
+            Timings timings = new Timings();
+            while (timings.iterations() < properties.iterations() && System.nanoTime() < deadline) {
+                long iteration = System.nanoTime();
+                inProcessIteration(author);
+                timings.record(System.nanoTime() - iteration);
+                // Ohne clear() kämen die Finder aus dem Persistenzkontext statt aus Abfrage und Mapping
+                entityManager.clear();
+            }
+            return timings;
+        });
+    }
+
+    private void inProcessIteration(final String author) {
+        List<Buch> found = new ArrayList<>(repository.findByAuthor(author));
+        found.addAll(repository.findByTitleContainingIgnoreCase("warm-up band 1"));
+        found.addAll(repository.findByAuthorContainingIgnoreCaseAndTitleContainingIgnoreCase("warm-up", "band 2"));
+        repository.findByIsbn("9780000000000");
+        repository.findExistingIsbns(List.of("9780000000000", "9780000000001"));
+        found.addAll(repository.findAll(BuchSpecifications.filter(author, BigDecimal.ONE, BigDecimal.TEN,
+            SCRATCH_PAGES, null, null), PageRequest.of(0, SEARCH_LIMIT, Sort.by("price").descending())).getContent());
+        repository.aggregate(author, null, null, null, null);
+        try {
+            for (BuchResponse response : BuchMapper.toResponseList(found)) {
+                objectMapper.readValue(objectMapper.writeValueAsBytes(response), BuchResponse.class);
+            }
+            BuchCreateRequest create = new BuchCreateRequest().title("Warm-up").author(author)
+                .pages(SCRATCH_PAGES).price(BigDecimal.TEN);
+            BuchMapper.toEntity(objectMapper.readValue(objectMapper.writeValueAsString(create),
+                BuchCreateRequest.class));
+        } catch (IOException e) {
+            throw new IllegalStateException("Aufwärmen der Serialisierung fehlgeschlagen", e);
+        }
+    }
+
+    private Timings warmHttp(final int port, final long deadline) throws InterruptedException {
+        String base = "http://localhost:" + port + "/api/buecher";
+        String invalidCreate;
+        try {
+            invalidCreate = objectMapper.writeValueAsString(new BuchCreateRequest().title("").author(""));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+        List<HttpRequest> requests = List.of(
+            // Die erste Anfrage ist die gemessene (kalt gegen warm)
+            get(base + "/suche?limit=" + SEARCH_LIMIT),
+            get(base + "/suche?author=Warm-up&minPrice=1&maxPrice=100&sort=-price&limit=" + SEARCH_LIMIT),
+            get(base + "/batch?ids=1,2,3"),
+            get(base + "/1"),
+            get(base + "/" + Long.MAX_VALUE),
+            get(base + "/keine-zahl"),
+            get(base + "/suche?limit=0"),
+            post(base, invalidCreate),
+            post(base, "{"));
+        HttpClient client = HttpClient.newBuilder().connectTimeout(REQUEST_TIMEOUT).build();
+        Timings timings = new Timings();
+        int serverErrors = 0;
+        while (timings.iterations() < properties.iterations() && System.nanoTime() < deadline) {
+            for (int i = 0; i < requests.size(); i++) {
+                long sent = System.nanoTime();
+                int status = send(client, requests.get(i));
+                if (i == 0) {
+                    timings.record(System.nanoTime() - sent);
+                }
+                if (status >= SERVER_ERROR) {
+                    serverErrors++;
+                }
+            }
+        }
+        if (serverErrors > 0) {
+            LOGGER.warn("Aufwärmen: {} Anfragen mit Serverfehler", serverErrors);
+        }
+        return timings;
+    }
+
+    private static int send(final HttpClient client, final HttpRequest request) throws InterruptedException {
+        try {
+            return client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+        } catch (IOException e) {
+            throw new IllegalStateException("Aufwärmen: " + request.uri() + " nicht erreichbar", e);
+        }
+    }
+
+    private HttpRequest get(final String uri) {
+        return HttpRequest.newBuilder(URI.create(uri)).timeout(REQUEST_TIMEOUT).header(HEADER, token).GET().build();
+    }
+
+    private HttpRequest post(final String uri, final String body) {
+        return HttpRequest.newBuilder(URI.create(uri)).timeout(REQUEST_TIMEOUT).header(HEADER, token)
+            .header("Content-Type", "application/json")
+            .POST(HttpRequest.BodyPublishers.ofString(body)).build();
+    }
+
+    /**
+     * Durchläufe einer Phase mit der Dauer des ersten und des letzten.
+     */
+    private static final class Timings {
+
+        /** Anzahl Durchläufe. */
+        private int count;
+        /** Dauer des ersten Durchlaufs in Nanosekunden. */
+        private long firstNanos;
+        /** Dauer des letzten Durchlaufs in Nanosekunden. */
+        private long lastNanos;
+
+        void record(final long nanos) {
+            if (count == 0) {
+                firstNanos = nanos;
+            }
+            lastNanos = nanos;
+            count++;
+        }
+
+        int iterations() {
+            return count;
+        }
+
+        long first() {
+            return firstNanos;
+        }
+
+        long last() {
+            return lastNanos;
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package de.itzbund.web;
+
+import de.itzbund.audit.AuditContext;
+import de.itzbund.audit.AuditLog;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * Übergibt jeden API-Request nach Abschluss an das {@link AuditLog}: operationId (wie beim
+ * {@link BulkheadInterceptor}), Buch-ID und Version aus dem {@link AuditContext} (ohne Angabe des Controllers die
+ * ID aus dem Pfad), Dauer und Status. Bei asynchronen Operationen zählt die Dauer bis zum Ende des Async-Dispatch.
+ * Ausgenommene Requests (Aufwärmen beim Start) werden nicht protokolliert.
+ */
+public final class AuditInterceptor implements AsyncHandlerInterceptor {
+
+    /** Request-Attribut mit der Startzeit über einen Async-Dispatch hinweg. */
+    private static final String START = AuditInterceptor.class.getName() + ".start";
+
+    /** Pfadvariable der Buch-ID. */
+    private static final String ID = "id";
+
+    /** Ziel der Einträge. */
+    private final AuditLog log;
+
+    /** Requests, die nicht ins Audit-Log gehören. */
+    private final Predicate<HttpServletRequest> excluded;
+
+    /**
+     * Konstruktor.
+     * @param log Audit-Log
+     * @param excluded Requests, die nicht protokolliert werden
+     */
+    public AuditInterceptor(final AuditLog log, final Predicate<HttpServletRequest> excluded) {
+        this.log = log;
+        this.excluded = excluded;
+    }
+
+    @Override
+    public boolean preHandle(final HttpServletRequest request, final HttpServletResponse response,
+                             final Object handler) {
+        // Ohne begin() liefert end() null, der Request wird dann weder hier noch nach einem Async-Dispatch erfasst
+        if (handler instanceof HandlerMethod && request.getDispatcherType() != DispatcherType.ASYNC
+            && !excluded.test(request)) {
+            AuditContext.begin();
+        }
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(final HttpServletRequest request, final HttpServletResponse response,
+                                               final Object handler) {
+        AuditContext context = AuditContext.end();
+        if (context != null) {
+            request.setAttribute(START, context.start());
+        }
+    }
+
+    @Override
+    public void afterCompletion(final HttpServletRequest request, final HttpServletResponse response,
+                                final Object handler, final Exception ex) {
+        if (!(handler instanceof HandlerMethod method)) {
+            return;
+        }
+        int status = ex != null ? HttpStatus.INTERNAL_SERVER_ERROR.value() : response.getStatus();
+        String operation = method.getMethod().getName();
+        if (request.getDispatcherType() == DispatcherType.ASYNC) {
+            if (request.getAttribute(START) instanceof Long start) {
+                log.record(operation, pathId(request), -1, -1, System.nanoTime() - start, status);
+            }
+            return;
+        }
+        AuditContext context = AuditContext.end();
+        if (context == null) {
+            return;
+        }
+        long id = context.id() >= 0 ? context.id() : pathId(request);
+        log.record(operation, id, context.version(), context.affected(), System.nanoTime() - context.start(),
+            status);
+    }
+
+    /** Buch-ID aus der Pfadvariable {@code id} oder {@code -1}. */
+    private static long pathId(final HttpServletRequest request) {
+        if (!(request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE) instanceof Map<?, ?> variables)
+            || !(variables.get(ID) instanceof String value)) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,170 @@
+package de.itzbund.web;
+
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+
+import java.io.FilterWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+
+/**
+ * Ruft eine Aktion genau einmal auf, bevor die Antwort committet werden kann: beim ersten Schreiben in den Body,
+ * bei {@code flushBuffer}, {@code sendError}, {@code sendRedirect} oder spätestens über {@link #beforeCommit()}
+ * nach der Filterkette. So lassen sich Header mit Messwerten setzen, ohne den Body zu puffern.
+ */
+public final class BeforeCommitResponseWrapper extends HttpServletResponseWrapper {
+
+    /** Aktion vor dem Commit, z.B. Diagnose-Header setzen. */
+    private final Runnable action;
+    /** Aktion bereits ausgeführt. */
+    private boolean done;
+    /** Umhüllter Ausgabestrom (lazy). */
+    private ServletOutputStream outputStream;
+    /** Umhüllter Writer (lazy). */
+    private PrintWriter writer;
+
+    /**
+     * Umhüllt eine Antwort.
+     * @param response eigentliche Antwort
+     * @param action Aktion vor dem Commit
+     */
+    public BeforeCommitResponseWrapper(final HttpServletResponse response, final Runnable action) {
+        super(response);
+        this.action = action;
+    }
+
+    /** Führt die Aktion aus, falls noch nicht geschehen und die Antwort noch nicht committet ist. */
+    public void beforeCommit() {
+        if (!done) {
+            done = true;
+            if (!getResponse().isCommitted()) {
+                action.run();
+            }
+        }
+    }
+
+    @Override
+    public ServletOutputStream getOutputStream() throws IOException {
+        if (outputStream == null) {
+            outputStream = new CommitAwareOutputStream(super.getOutputStream());
+        }
+        return outputStream;
+    }
+
+    @Override
+    public PrintWriter getWriter() throws IOException {
+        if (writer == null) {
+            writer = new PrintWriter(new CommitAwareWriter(super.getWriter()));
+        }
+        return writer;
+    }
+
+    @Override
+    public void flushBuffer() throws IOException {
+        beforeCommit();
+        super.flushBuffer();
+    }
+
+    @Override
+    public void sendError(final int sc) throws IOException {
+        beforeCommit();
+        super.sendError(sc);
+    }
+
+    @Override
+    public void sendError(final int sc, final String msg) throws IOException {
+        beforeCommit();
+        super.sendError(sc, msg);
+    }
+
+    @Override
+    public void sendRedirect(final String location) throws IOException {
+        beforeCommit();
+        super.sendRedirect(location);
+    }
+
+    /** Ausgabestrom, der vor dem ersten Byte die Aktion auslöst. */
+    private final class CommitAwareOutputStream extends ServletOutputStream {
+
+        /** Eigentlicher Strom. */
+        private final ServletOutputStream delegate;
+
+        CommitAwareOutputStream(final ServletOutputStream delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void write(final int b) throws IOException {
+            beforeCommit();
+            delegate.write(b);
+        }
+
+        @Override
+        public void write(final byte[] b, final int off, final int len) throws IOException {
+            beforeCommit();
+            delegate.write(b, off, len);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            beforeCommit();
+            delegate.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            beforeCommit();
+            delegate.close();
+        }
+
+        @Override
+        public boolean isReady() {
+            return delegate.isReady();
+        }
+
+        @Override
+        public void setWriteListener(final WriteListener listener) {
+            delegate.setWriteListener(listener);
+        }
+    }
+
+    /** Writer, der vor dem ersten Zeichen die Aktion auslöst. */
+    private final class CommitAwareWriter extends FilterWriter {
+
+        CommitAwareWriter(final PrintWriter delegate) {
+            super(delegate);
+        }
+
+        @Override
+        public void write(final int c) throws IOException {
+            beforeCommit();
+            super.write(c);
+        }
+
+        @Override
+        public void write(final char[] cbuf, final int off, final int len) throws IOException {
+            beforeCommit();
+            super.write(cbuf, off, len);
+        }
+
+        @Override
+        public void write(final String str, final int off, final int len) throws IOException {
+            beforeCommit();
+            super.write(str, off, len);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            beforeCommit();
+            super.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            beforeCommit();
+            super.close();
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package de.itzbund.web;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Eine Lane: faire Semaphore mit begrenzter Wartezeit. Metriken je Lane (Tag {@code lane}):
+ * {@code itzbund.bulkhead.active}, {@code itzbund.bulkhead.queued}, {@code itzbund.bulkhead.wait} und
+ * {@code itzbund.bulkhead.rejected}.
+ */
+public final class Bulkhead {
+
+    /** Name der Lane. */
+    private final String lane;
+    /** Freie Plätze; fair, damit Wartende in Ankunftsreihenfolge drankommen. */
+    private final Semaphore permits;
+    /** Maximale Wartezeit in Nanosekunden. */
+    private final long maxWaitNanos;
+    /** Wartezeit bis zum Platz (nur erfolgreiche). */
+    private final Timer waited;
+    /** Abgewiesene Anfragen. */
+    private final Counter rejected;
+
+    /**
+     * Konstruktor.
+     * @param lane Name der Lane
+     * @param maxConcurrent gleichzeitig laufende Anfragen
+     * @param maxWait maximale Wartezeit auf einen freien Platz
+     * @param registry Micrometer Registry
+     */
+    public Bulkhead(final String lane, final int maxConcurrent, final Duration maxWait, final MeterRegistry registry) {
+        if (maxConcurrent < 1) {
+            throw new IllegalArgumentException("Lane " + lane + ": max-concurrent muss mindestens 1 sein");
+        }
+        this.lane = lane;
+        this.permits = new Semaphore(maxConcurrent, true);
+        this.maxWaitNanos = maxWait.toNanos();
+        Gauge.builder("itzbund.bulkhead.active", permits, p -> maxConcurrent - p.availablePermits())
+            .tag("lane", lane).description("Laufende Anfragen").register(registry);
+        Gauge.builder("itzbund.bulkhead.queued", permits, Semaphore::getQueueLength)
+            .tag("lane", lane).description("Auf einen Platz wartende Anfragen").register(registry);
+        this.waited = Timer.builder("itzbund.bulkhead.wait").tag("lane", lane)
+            .description("Wartezeit bis zum Platz").register(registry);
+        this.rejected = Counter.builder("itzbund.bulkhead.rejected").tag("lane", lane)
+            .description("Wegen voller Lane abgewiesene Anfragen").register(registry);
+    }
+
+    /**
+     * Name der Lane.
+     * @return Name
+     */
+    public String lane() {
+        return lane;
+    }
+
+    /**
+     * Belegt einen Platz, wartet dafür höchstens die konfigurierte Zeit.
+     * @return {@code true}, wenn ein Platz belegt wurde ({@link #release()} ist dann Pflicht)
+     * @throws InterruptedException wenn der Thread beim Warten unterbrochen wird
+     */
+    public boolean tryAcquire() throws InterruptedException {
+        long start = System.nanoTime();
+        if (permits.tryAcquire(maxWaitNanos, TimeUnit.NANOSECONDS)) {
+            waited.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return true;
+        }
+        rejected.increment();
+        return false;
+    }
+
+    /**
+     * Gibt einen mit {@link #tryAcquire()} belegten Platz frei.
+     */
+    public void release() {
+        permits.release();
+    }
+}
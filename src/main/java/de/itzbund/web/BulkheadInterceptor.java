@@ -0,0 +1,63 @@
+package de.itzbund.web;
+
+import de.itzbund.error.BulkheadRejectedException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Ordnet jede Anfrage über ihre operationId (Name der Controller-Methode, gleich der Methode der generierten
+ * API) einer {@link Bulkhead}-Lane zu und hält den Platz bis zum Ende der Anfrage, bei asynchroner Verarbeitung bis
+ * zum Ende des Async-Dispatch. Operationen ohne Lane laufen unbegrenzt.
+ */
+public final class BulkheadInterceptor implements AsyncHandlerInterceptor {
+
+    /** Request-Attribut mit der belegten Lane. */
+    private static final String PERMIT = BulkheadInterceptor.class.getName() + ".permit";
+
+    /** Lane je operationId. */
+    private final Map<String, Bulkhead> lanes;
+    /** Wert des {@code Retry-After}-Headers bei Abweisung. */
+    private final Duration retryAfter;
+
+    /**
+     * Konstruktor.
+     * @param lanes Lane je operationId
+     * @param retryAfter empfohlene Wartezeit bei Abweisung
+     */
+    public BulkheadInterceptor(final Map<String, Bulkhead> lanes, final Duration retryAfter) {
+        this.lanes = Map.copyOf(lanes);
+        this.retryAfter = retryAfter;
+    }
+
+    @Override
+    public boolean preHandle(final HttpServletRequest request, final HttpServletResponse response,
+                             final Object handler) throws InterruptedException {
+        // Beim Async-Dispatch ist der Platz schon belegt
+        if (!(handler instanceof HandlerMethod method) || request.getAttribute(PERMIT) != null) {
+            return true;
+        }
+        Bulkhead bulkhead = lanes.get(method.getMethod().getName());
+        if (bulkhead == null) {
+            return true;
+        }
+        if (!bulkhead.tryAcquire()) {
+            throw new BulkheadRejectedException("Lane " + bulkhead.lane() + " ausgelastet", retryAfter);
+        }
+        request.setAttribute(PERMIT, bulkhead);
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(final HttpServletRequest request, final HttpServletResponse response,
+                                final Object handler, final Exception ex) {
+        if (request.getAttribute(PERMIT) instanceof Bulkhead bulkhead) {
+            request.removeAttribute(PERMIT);
+            bulkhead.release();
+        }
+    }
+}
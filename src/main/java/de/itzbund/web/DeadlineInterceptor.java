@@ -0,0 +1,83 @@
+package de.itzbund.web;
+
+import de.itzbund.error.DeadlineExceededException;
+import de.itzbund.jdbc.RequestDeadline;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Setzt die {@link RequestDeadline} je Anfrage: Budget der Operation (operationId wie beim
+ * {@link BulkheadInterceptor}), verkürzt durch ein kürzeres Budget im Request-Header. Ein nicht lesbarer Header
+ * wird ignoriert; ein Budget von 0 oder weniger beendet die Anfrage sofort mit 504.
+ */
+public final class DeadlineInterceptor implements AsyncHandlerInterceptor {
+
+    /** Request-Header mit dem Zeitbudget des Clients. */
+    private final String header;
+    /** Budget der Operationen ohne eigenes Budget. */
+    private final Duration defaultTimeout;
+    /** Budget je operationId. */
+    private final Map<String, Duration> timeouts;
+
+    /**
+     * Konstruktor.
+     * @param header Request-Header mit dem Zeitbudget des Clients
+     * @param defaultTimeout Budget der Operationen ohne eigenes Budget
+     * @param timeouts Budget je operationId
+     */
+    public DeadlineInterceptor(final String header, final Duration defaultTimeout,
+                               final Map<String, Duration> timeouts) {
+        this.header = header;
+        this.defaultTimeout = defaultTimeout;
+        this.timeouts = Map.copyOf(timeouts);
+    }
+
+    @Override
+    public boolean preHandle(final HttpServletRequest request, final HttpServletResponse response,
+                             final Object handler) {
+        // Der Async-Dispatch schreibt nur noch das Ergebnis
+        if (!(handler instanceof HandlerMethod method) || request.getDispatcherType() == DispatcherType.ASYNC) {
+            return true;
+        }
+        Duration timeout = timeouts.getOrDefault(method.getMethod().getName(), defaultTimeout);
+        Duration requested = parse(request.getHeader(header));
+        if (requested != null && requested.compareTo(timeout) < 0) {
+            if (requested.isNegative() || requested.isZero()) {
+                throw new DeadlineExceededException("Zeitbudget der Anfrage ist aufgebraucht");
+            }
+            timeout = requested;
+        }
+        RequestDeadline.begin(timeout.toNanos());
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(final HttpServletRequest request, final HttpServletResponse response,
+                                               final Object handler) {
+        RequestDeadline.end();
+    }
+
+    @Override
+    public void afterCompletion(final HttpServletRequest request, final HttpServletResponse response,
+                                final Object handler, final Exception ex) {
+        RequestDeadline.end();
+    }
+
+    private static Duration parse(final String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            return DurationStyle.detectAndParse(value.trim());
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
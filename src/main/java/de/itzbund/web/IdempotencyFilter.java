@@ -0,0 +1,282 @@
+package de.itzbund.web;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.itzbund.error.ErrorResponse;
+import de.itzbund.web.IdempotencyStore.Entry;
+import de.itzbund.web.IdempotencyStore.StoredResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Idempotente POST-Anfragen: Die erste Antwort je {@value #HEADER} wird im {@link IdempotencyStore} abgelegt und
+ * für Wiederholungen unverändert erneut geliefert ({@value #REPLAYED_HEADER}: true), ohne Controller und
+ * Datenbank zu erreichen. Eine Wiederholung, während das Original noch läuft, wartet auf dessen Antwort.
+ *
+ * <p>Der Schlüssel gilt für genau eine Anfrage (Methode, Pfad, Body-Hash); wird er für eine andere verwendet,
+ * folgt 422. Antworten mit 5xx werden nicht gespeichert, damit ein Retry erneut ausgeführt wird; auch
+ * wartende Wiederholungen führen die Anfrage dann selbst aus.
+ * Multipart-Uploads sind ausgenommen.</p>
+ */
+public final class IdempotencyFilter extends OncePerRequestFilter {
+
+    /** Request-Header mit dem Schlüssel. */
+    public static final String HEADER = "Idempotency-Key";
+    /** Response-Header wiederholter Antworten. */
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    /** Maximale Schlüssellänge (wie in der API-Spezifikation). */
+    private static final int MAX_KEY_LENGTH = 255;
+
+    /** Antworten ab diesem Status werden nicht gespeichert. */
+    private static final int SERVER_ERROR = 500;
+
+    /** Gespeicherte Antworten. */
+    private final IdempotencyStore store;
+    /** Maximale Wartezeit auf ein laufendes Original. */
+    private final Duration waitTimeout;
+    /** Maximale Body-Größe in Bytes. */
+    private final int maxBodySize;
+    /** Für Fehlerantworten. */
+    private final ObjectMapper objectMapper;
+    /** Ausgeführte Originale. */
+    private final Counter executed;
+    /** Wiederholte Antworten. */
+    private final Counter replayed;
+    /** Abgewiesene Anfragen (anderer Body, Original läuft zu lange). */
+    private final Counter refused;
+
+    /**
+     * Konstruktor.
+     * @param store gespeicherte Antworten
+     * @param waitTimeout maximale Wartezeit auf ein laufendes Original
+     * @param maxBodySize maximale Body-Größe in Bytes
+     * @param objectMapper für Fehlerantworten
+     * @param registry Micrometer Registry
+     */
+    public IdempotencyFilter(final IdempotencyStore store, final Duration waitTimeout, final int maxBodySize,
+                             final ObjectMapper objectMapper, final MeterRegistry registry) {
+        this.store = store;
+        this.waitTimeout = waitTimeout;
+        this.maxBodySize = maxBodySize;
+        this.objectMapper = objectMapper;
+        this.executed = registry.counter("itzbund.idempotency.requests", "outcome", "executed");
+        this.replayed = registry.counter("itzbund.idempotency.requests", "outcome", "replayed");
+        this.refused = registry.counter("itzbund.idempotency.requests", "outcome", "refused");
+    }
+
+    @Override
+    protected boolean shouldNotFilter(final HttpServletRequest request) {
+        String contentType = request.getContentType();
+        return !"POST".equals(request.getMethod()) || request.getHeader(HEADER) == null
+            || contentType != null && contentType.startsWith(MediaType.MULTIPART_FORM_DATA.getType());
+    }
+
+    @Override
+    protected void doFilterInternal(final HttpServletRequest request, final HttpServletResponse response,
+                                    final FilterChain chain) throws ServletException, IOException {
+        String key = request.getHeader(HEADER);
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            error(response, HttpStatus.BAD_REQUEST, HEADER + " muss 1 bis " + MAX_KEY_LENGTH + " Zeichen haben");
+            return;
+        }
+        byte[] body = request.getInputStream().readNBytes(maxBodySize + 1);
+        if (body.length > maxBodySize) {
+            error(response, HttpStatus.PAYLOAD_TOO_LARGE,
+                HEADER + " nur für Anfragen bis " + maxBodySize + " Bytes");
+            return;
+        }
+        String query = request.getQueryString();
+        String fingerprint = request.getMethod() + " " + request.getRequestURI() + (query != null ? "?" + query : "")
+            + " " + sha256(body);
+        Entry entry = store.begin(key, fingerprint);
+        if (entry.owner()) {
+            execute(entry, new CachedBodyRequest(request, body), response, chain);
+        } else if (!entry.fingerprint().equals(fingerprint)) {
+            refused.increment();
+            error(response, HttpStatus.UNPROCESSABLE_ENTITY, HEADER + " wurde für eine andere Anfrage verwendet");
+        } else {
+            awaitAndReplay(entry, new CachedBodyRequest(request, body), response, chain);
+        }
+    }
+
+    private void execute(final Entry entry, final HttpServletRequest request, final HttpServletResponse response,
+                         final FilterChain chain) throws ServletException, IOException {
+        executed.increment();
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+        try {
+            chain.doFilter(request, wrapper);
+        } catch (IOException | ServletException | RuntimeException e) {
+            store.remove(entry);
+            entry.response().completeExceptionally(e);
+            throw e;
+        }
+        if (wrapper.getStatus() >= SERVER_ERROR) {
+            store.remove(entry);
+            entry.response().completeExceptionally(
+                new ServletException("Original mit Status " + wrapper.getStatus() + " nicht gespeichert"));
+        } else {
+            entry.response().complete(capture(wrapper));
+        }
+        wrapper.copyBodyToResponse();
+    }
+
+    private void awaitAndReplay(final Entry entry, final HttpServletRequest request,
+                                final HttpServletResponse response, final FilterChain chain)
+            throws ServletException, IOException {
+        StoredResponse stored;
+        try {
+            stored = entry.response().get(waitTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            refused.increment();
+            response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+            error(response, HttpStatus.CONFLICT, "Anfrage mit diesem " + HEADER + " wird noch verarbeitet");
+            return;
+        } catch (ExecutionException e) {
+            // Original ist mit einer Exception oder 5xx beendet und nicht gespeichert: selbst ausführen
+            Entry retry = store.begin(entry.key(), entry.fingerprint());
+            if (retry.owner()) {
+                execute(retry, request, response, chain);
+            } else {
+                awaitAndReplay(retry, request, response, chain);
+            }
+            return;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ServletException(e);
+        }
+        replayed.increment();
+        response.setStatus(stored.status());
+        if (stored.contentType() != null) {
+            response.setContentType(stored.contentType());
+        }
+        stored.headers().forEach((name, values) -> values.forEach(value -> response.addHeader(name, value)));
+        response.setHeader(REPLAYED_HEADER, "true");
+        response.setContentLength(stored.body().length);
+        response.getOutputStream().write(stored.body());
+    }
+
+    private static StoredResponse capture(final ContentCachingResponseWrapper wrapper) {
+        Map<String, List<String>> headers = new LinkedHashMap<>();
+        for (String name : wrapper.getHeaderNames()) {
+            if (!HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name)
+                    && !HttpHeaders.CONTENT_TYPE.equalsIgnoreCase(name)) {
+                headers.put(name, new ArrayList<>(wrapper.getHeaders(name)));
+            }
+        }
+        return new StoredResponse(wrapper.getStatus(), wrapper.getContentType(), headers,
+            wrapper.getContentAsByteArray());
+    }
+
+    private void error(final HttpServletResponse response, final HttpStatus status, final String message)
+            throws IOException {
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), ErrorResponse.of(status, message));
+    }
+
+    private static String sha256(final byte[] body) {
+        try {
+            return Base64.getEncoder().encodeToString(MessageDigest.getInstance("SHA-256").digest(body));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /** Request, dessen Body bereits gelesen wurde und erneut geliefert wird. */
+    private static final class CachedBodyRequest extends HttpServletRequestWrapper {
+
+        /** Gelesener Body. */
+        private final byte[] body;
+
+        CachedBodyRequest(final HttpServletRequest request, final byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream in = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public int read() {
+                    return in.read();
+                }
+
+                @Override
+                public int read(final byte[] b, final int off, final int len) {
+                    return in.read(b, off, len);
+                }
+
+                @Override
+                public boolean isFinished() {
+                    return in.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(final ReadListener listener) {
+                    // Der Body liegt vollständig im Speicher: sofort lesbar und danach zu Ende
+                    try {
+                        if (!isFinished()) {
+                            listener.onDataAvailable();
+                        }
+                        listener.onAllDataRead();
+                    } catch (IOException e) {
+                        listener.onError(e);
+                    }
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            String encoding = getCharacterEncoding();
+            return new BufferedReader(new InputStreamReader(getInputStream(),
+                encoding != null ? Charset.forName(encoding) : StandardCharsets.UTF_8));
+        }
+
+        @Override
+        public int getContentLength() {
+            return body.length;
+        }
+
+        @Override
+        public long getContentLengthLong() {
+            return body.length;
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package de.itzbund.web;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+
+/**
+ * Begrenzter Speicher der ersten Antwort je {@code Idempotency-Key}.
+ *
+ * <p>Jeder Eintrag hält ein Future, das beim Abschluss des Originals erfüllt wird; Wiederholungen warten darauf,
+ * statt parallel zu laufen. Einträge verfallen nach der TTL; wird {@code maxEntries} überschritten, fallen die
+ * ältesten heraus. Da alle Einträge dieselbe TTL haben, ist die Einfügereihenfolge zugleich die
+ * Verfallsreihenfolge: Aufgeräumt wird beim Einfügen vom Kopf der Reihenfolge aus.</p>
+ */
+public final class IdempotencyStore {
+
+    /** Einträge nach Schlüssel. */
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    /** Einfügereihenfolge zum Verdrängen und Verfallen. */
+    private final Queue<Entry> order = new ConcurrentLinkedQueue<>();
+    /** Länge von {@link #order} ({@code size()} der Queue ist nicht konstant). */
+    private final AtomicInteger orderSize = new AtomicInteger();
+    /** Maximale Anzahl Einträge. */
+    private final int maxEntries;
+    /** Lebensdauer eines Eintrags in Nanosekunden. */
+    private final long ttlNanos;
+    /** Zeitquelle (Nanosekunden). */
+    private final LongSupplier clock;
+
+    /**
+     * Konstruktor.
+     * @param maxEntries maximale Anzahl Einträge
+     * @param timeToLive Lebensdauer eines Eintrags
+     */
+    public IdempotencyStore(final int maxEntries, final Duration timeToLive) {
+        this(maxEntries, timeToLive, System::nanoTime);
+    }
+
+    IdempotencyStore(final int maxEntries, final Duration timeToLive, final LongSupplier clock) {
+        this.maxEntries = maxEntries;
+        this.ttlNanos = timeToLive.toNanos();
+        this.clock = clock;
+    }
+
+    /**
+     * Gespeicherte Antwort.
+     * @param status HTTP-Status
+     * @param contentType Content-Type oder null
+     * @param headers übrige Header (Name, Werte)
+     * @param body Body
+     */
+    public record StoredResponse(int status, String contentType, Map<String, List<String>> headers, byte[] body) {
+    }
+
+    /**
+     * Eintrag eines Schlüssels.
+     * @param key Idempotency-Key
+     * @param fingerprint Methode, Pfad und Body-Hash der Originalanfrage
+     * @param response Antwort des Originals (erfüllt, sobald es abgeschlossen ist)
+     * @param createdAt Zeitpunkt der Anlage (Nanosekunden)
+     * @param owner {@code true} für den Aufrufer, der das Original ausführen muss
+     */
+    public record Entry(String key, String fingerprint, CompletableFuture<StoredResponse> response, long createdAt,
+                        boolean owner) {
+    }
+
+    /**
+     * Liefert den vorhandenen Eintrag oder legt einen neuen an, dessen Original der Aufrufer ausführt
+     * ({@link Entry#owner()}).
+     * @param key Idempotency-Key
+     * @param fingerprint Fingerabdruck der Anfrage
+     * @return vorhandener oder neuer Eintrag
+     */
+    public Entry begin(final String key, final String fingerprint) {
+        long now = clock.getAsLong();
+        expire(now);
+        Entry created = new Entry(key, fingerprint, new CompletableFuture<>(), now, true);
+        Entry existing = entries.compute(key, (k, current) ->
+            current == null || isExpired(current, now) ? created : current);
+        if (existing != created) {
+            return new Entry(key, existing.fingerprint(), existing.response(), existing.createdAt(), false);
+        }
+        order.add(created);
+        orderSize.incrementAndGet();
+        return created;
+    }
+
+    /**
+     * Entfernt einen Eintrag, z.B. wenn das Original nicht wiederholbar gescheitert ist.
+     * @param entry eigener Eintrag
+     */
+    public void remove(final Entry entry) {
+        entries.remove(entry.key(), entry);
+    }
+
+    /**
+     * Anzahl Einträge (inkl. laufender Originale).
+     * @return Anzahl
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    private boolean isExpired(final Entry entry, final long now) {
+        return now - entry.createdAt() > ttlNanos;
+    }
+
+    private void expire(final long now) {
+        Entry head;
+        while ((head = order.peek()) != null
+                && (isExpired(head, now) || entries.get(head.key()) != head || orderSize.get() >= maxEntries)) {
+            if (order.remove(head)) {
+                orderSize.decrementAndGet();
+                entries.remove(head.key(), head);
+            }
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package de.itzbund.web;
+
+import de.itzbund.jdbc.QueryRecorder;
+import de.itzbund.jdbc.QueryRecorder.RequestQueries;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Zählt die JDBC-Statements je Request und veröffentlicht sie als Metriken je Endpunkt
+ * ({@value #STATEMENTS_METRIC}, {@value #TIME_METRIC}; Tags {@code method}, {@code uri}).
+ *
+ * <p>Im Diagnosemodus werden zusätzlich {@value #COUNT_HEADER} und {@value #TIME_HEADER} (Millisekunden)
+ * gesetzt. Sie enthalten die Statements bis zum ersten Byte des Bodys; bei {@code spring.jpa.open-in-view=false}
+ * sind das alle.</p>
+ */
+public final class QueryDiagnosticsFilter extends OncePerRequestFilter {
+
+    /** Header mit der Anzahl Statements. */
+    public static final String COUNT_HEADER = "X-Query-Count";
+    /** Header mit der Summe der Ausführungsdauer in Millisekunden. */
+    public static final String TIME_HEADER = "X-Query-Time";
+    /** Verteilung der Statements je Request. */
+    public static final String STATEMENTS_METRIC = "http.server.requests.jdbc.statements";
+    /** Summe der Statement-Dauer je Request. */
+    public static final String TIME_METRIC = "http.server.requests.jdbc.time";
+
+    /** Umrechnung für den Zeit-Header. */
+    private static final double NANOS_PER_MILLI = 1_000_000d;
+
+    /** Statement-Zählung. */
+    private final QueryRecorder recorder;
+    /** Micrometer Registry. */
+    private final MeterRegistry registry;
+    /** Diagnose-Header setzen. */
+    private final boolean diagnosticHeaders;
+
+    /**
+     * Konstruktor.
+     * @param recorder Statement-Zählung
+     * @param registry Micrometer Registry
+     * @param diagnosticHeaders Diagnose-Header setzen
+     */
+    public QueryDiagnosticsFilter(final QueryRecorder recorder, final MeterRegistry registry,
+                                  final boolean diagnosticHeaders) {
+        this.recorder = recorder;
+        this.registry = registry;
+        this.diagnosticHeaders = diagnosticHeaders;
+    }
+
+    @Override
+    protected void doFilterInternal(final HttpServletRequest request, final HttpServletResponse response,
+                                    final FilterChain chain) throws ServletException, IOException {
+        RequestQueries queries = recorder.begin(request.getMethod() + " " + request.getRequestURI());
+        BeforeCommitResponseWrapper wrapper = diagnosticHeaders
+            ? new BeforeCommitResponseWrapper(response, () -> writeHeaders(response, queries))
+            : null;
+        try {
+            chain.doFilter(request, wrapper != null ? wrapper : response);
+        } finally {
+            recorder.end();
+            if (wrapper != null) {
+                wrapper.beforeCommit();
+            }
+            publish(request, queries);
+        }
+    }
+
+    private static void writeHeaders(final HttpServletResponse response, final RequestQueries queries) {
+        response.setHeader(COUNT_HEADER, Integer.toString(queries.getCount()));
+        response.setHeader(TIME_HEADER, String.format(Locale.ROOT, "%.3f", queries.getNanos() / NANOS_PER_MILLI));
+    }
+
+    private void publish(final HttpServletRequest request, final RequestQueries queries) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+        DistributionSummary.builder(STATEMENTS_METRIC)
+            .description("JDBC-Statements je Request")
+            .tag("method", request.getMethod())
+            .tag("uri", uri)
+            .register(registry)
+            .record(queries.getCount());
+        Timer.builder(TIME_METRIC)
+            .description("Summe der JDBC-Ausführungsdauer je Request")
+            .tag("method", request.getMethod())
+            .tag("uri", uri)
+            .register(registry)
+            .record(queries.getNanos(), TimeUnit.NANOSECONDS);
+    }
+}
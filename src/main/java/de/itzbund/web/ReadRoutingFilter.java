@@ -0,0 +1,39 @@
+package de.itzbund.web;
+
+import de.itzbund.jdbc.ReadRouting;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Startet das {@link ReadRouting} je Request. Mit dem Request-Header (Wert {@code true}) liest der Request
+ * ausschließlich von der Primär-Datenbank.
+ */
+public final class ReadRoutingFilter extends OncePerRequestFilter {
+
+    /** Request-Header für read-your-writes. */
+    private final String readYourWritesHeader;
+
+    /**
+     * Konstruktor.
+     * @param readYourWritesHeader Request-Header für read-your-writes
+     */
+    public ReadRoutingFilter(final String readYourWritesHeader) {
+        this.readYourWritesHeader = readYourWritesHeader;
+    }
+
+    @Override
+    protected void doFilterInternal(final HttpServletRequest request, final HttpServletResponse response,
+                                    final FilterChain chain) throws ServletException, IOException {
+        ReadRouting.begin(Boolean.parseBoolean(request.getHeader(readYourWritesHeader)));
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            ReadRouting.end();
+        }
+    }
+}
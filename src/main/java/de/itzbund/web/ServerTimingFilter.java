@@ -0,0 +1,61 @@
+package de.itzbund.web;
+
+import de.itzbund.config.ServerTimingProperties.Mode;
+import de.itzbund.timing.ServerTiming;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Misst den Request und setzt {@value ServerTiming#HEADER} unmittelbar vor dem Commit der Antwort
+ * (Phasen {@code db}, {@code map}, {@code serialize} und {@code total}).
+ */
+public final class ServerTimingFilter extends OncePerRequestFilter {
+
+    /** Wert des Request-Headers, der die Messung abschaltet. */
+    private static final String OFF = "off";
+
+    /** Betriebsart ({@code always} oder {@code on-request}). */
+    private final Mode mode;
+    /** Request-Header zum Umschalten je Request. */
+    private final String requestHeader;
+
+    /**
+     * Konstruktor.
+     * @param mode Betriebsart
+     * @param requestHeader Request-Header zum Umschalten je Request
+     */
+    public ServerTimingFilter(final Mode mode, final String requestHeader) {
+        this.mode = mode;
+        this.requestHeader = requestHeader;
+    }
+
+    @Override
+    protected void doFilterInternal(final HttpServletRequest request, final HttpServletResponse response,
+                                    final FilterChain chain) throws ServletException, IOException {
+        if (!enabled(request.getHeader(requestHeader))) {
+            chain.doFilter(request, response);
+            return;
+        }
+        ServerTiming.begin();
+        BeforeCommitResponseWrapper wrapper = new BeforeCommitResponseWrapper(response,
+            () -> response.setHeader(ServerTiming.HEADER, ServerTiming.headerValue()));
+        try {
+            chain.doFilter(request, wrapper);
+            wrapper.beforeCommit();
+        } finally {
+            ServerTiming.end();
+        }
+    }
+
+    private boolean enabled(final String toggle) {
+        if (mode == Mode.ALWAYS) {
+            return !OFF.equalsIgnoreCase(toggle);
+        }
+        return toggle != null && !OFF.equalsIgnoreCase(toggle);
+    }
+}
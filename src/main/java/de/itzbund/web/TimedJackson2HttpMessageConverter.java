@@ -0,0 +1,164 @@
+package de.itzbund.web;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.itzbund.timing.ServerTiming;
+import de.itzbund.timing.ServerTiming.Phase;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Type;
+import java.util.Arrays;
+
+/**
+ * Jackson-Converter, der bei aktiver {@link ServerTiming}-Messung die Serialisierung misst.
+ *
+ * <p>Das JSON wird dazu in einen je Thread wiederverwendeten Puffer geschrieben, die Dauer als Phase
+ * {@code serialize} erfasst und erst danach (mit {@code Content-Length}) in die Antwort kopiert. Überschreitet
+ * die Antwort die Puffergrenze, wird ab dort direkt gestreamt; die Phase enthält dann die Zeit bis zur Grenze.
+ * Je Thread bleibt höchstens ein Puffer von {@value #RETAINED_BUFFER} Bytes erhalten; für größere Antworten
+ * vergrößerte Puffer gelten nur für diese Antwort, damit nicht jeder Worker-Thread die Puffergrenze dauerhaft belegt.
+ * Ohne aktive Messung verhält sich der Converter wie {@link MappingJackson2HttpMessageConverter}.</p>
+ */
+public final class TimedJackson2HttpMessageConverter extends MappingJackson2HttpMessageConverter {
+
+    /** Anfangsgröße des Puffers je Thread. */
+    private static final int INITIAL_BUFFER = 8 * 1024;
+
+    /** Größter Puffer, der nach der Antwort im Thread bleibt. */
+    static final int RETAINED_BUFFER = 64 * 1024;
+
+    /** Puffer je Thread, höchstens {@link #RETAINED_BUFFER} Bytes. */
+    private static final ThreadLocal<byte[]> BUFFER = ThreadLocal.withInitial(() -> new byte[INITIAL_BUFFER]);
+
+    /** Maximale Puffergröße in Bytes. */
+    private final int bufferLimit;
+
+    /**
+     * Konstruktor.
+     * @param objectMapper konfigurierter ObjectMapper der Anwendung
+     * @param bufferLimit maximale Puffergröße in Bytes
+     */
+    public TimedJackson2HttpMessageConverter(final ObjectMapper objectMapper, final int bufferLimit) {
+        super(objectMapper);
+        this.bufferLimit = bufferLimit;
+    }
+
+    @Override
+    protected void writeInternal(final Object object, final Type type, final HttpOutputMessage outputMessage)
+            throws IOException, HttpMessageNotWritableException {
+        if (!ServerTiming.isActive()) {
+            super.writeInternal(object, type, outputMessage);
+            return;
+        }
+        TimedBody body = new TimedBody(outputMessage, System.nanoTime());
+        super.writeInternal(object, type, body);
+        body.finish();
+    }
+
+    /**
+     * @return Größe des Puffers, der im aktuellen Thread bleibt (Tests)
+     */
+    static int retainedBufferSize() {
+        return BUFFER.get().length;
+    }
+
+    /** Puffert bis zur Grenze und misst die Serialisierung. */
+    private final class TimedBody extends OutputStream implements HttpOutputMessage {
+
+        /** Eigentliche Antwort. */
+        private final HttpOutputMessage target;
+        /** Beginn der Serialisierung. */
+        private final long start;
+        /** Puffer (aus dem ThreadLocal, ggf. nur für diese Antwort vergrößert). */
+        private byte[] buffer;
+        /** Belegte Bytes. */
+        private int count;
+        /** Direkt in die Antwort schreiben (Grenze überschritten). */
+        private OutputStream direct;
+
+        TimedBody(final HttpOutputMessage target, final long start) {
+            this.target = target;
+            this.start = start;
+            this.buffer = BUFFER.get();
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return target.getHeaders();
+        }
+
+        @Override
+        public OutputStream getBody() {
+            return this;
+        }
+
+        @Override
+        public void write(final int b) throws IOException {
+            if (direct != null) {
+                direct.write(b);
+                return;
+            }
+            ensureCapacity(count + 1);
+            if (direct != null) {
+                direct.write(b);
+            } else {
+                buffer[count++] = (byte) b;
+            }
+        }
+
+        @Override
+        public void write(final byte[] b, final int off, final int len) throws IOException {
+            if (direct != null) {
+                direct.write(b, off, len);
+                return;
+            }
+            ensureCapacity(count + len);
+            if (direct != null) {
+                direct.write(b, off, len);
+            } else {
+                System.arraycopy(b, off, buffer, count, len);
+                count += len;
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+            if (direct != null) {
+                direct.flush();
+            }
+        }
+
+        /** Schließt die Messung ab und kopiert den Puffer in die Antwort. */
+        void finish() throws IOException {
+            if (direct != null) {
+                direct.flush();
+                return;
+            }
+            ServerTiming.add(Phase.SERIALIZE, System.nanoTime() - start);
+            target.getHeaders().setContentLength(count);
+            OutputStream out = target.getBody();
+            out.write(buffer, 0, count);
+            out.flush();
+        }
+
+        private void ensureCapacity(final int required) throws IOException {
+            if (required <= buffer.length) {
+                return;
+            }
+            if (required > bufferLimit) {
+                ServerTiming.add(Phase.SERIALIZE, System.nanoTime() - start);
+                direct = target.getBody();
+                direct.write(buffer, 0, count);
+                return;
+            }
+            buffer = Arrays.copyOf(buffer, Math.min(bufferLimit, Math.max(required, buffer.length * 2)));
+            if (buffer.length <= RETAINED_BUFFER) {
+                BUFFER.set(buffer);
+            }
+        }
+    }
+}
@@ -0,0 +1,11 @@
+-- Ausgangsschema der Tabelle books (entspricht der Entity Buch)
+CREATE TABLE books (
+    id      BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    title   VARCHAR(200)   NOT NULL,
+    author  VARCHAR(100)   NOT NULL,
+    isbn    VARCHAR(17),
+    pages   INTEGER,
+    price   NUMERIC(10, 2),
+    version BIGINT,
+    CONSTRAINT uk_books_isbn UNIQUE (isbn)
+);
@@ -0,0 +1,9 @@
+-- IDs aus der Sequenz books_seq statt IDENTITY: jeder Knoten reserviert per nextval einen Block von
+-- INCREMENT BY IDs (Pooled-Lo, Blockgröße = itzbund.id.block-size) und vergibt sie ohne weiteren Datenbankzugriff.
+CREATE SEQUENCE books_seq START WITH 1 INCREMENT BY 50;
+
+-- Vorhandene IDs bleiben unverändert, die Sequenz beginnt hinter der höchsten vergebenen ID
+ALTER SEQUENCE books_seq RESTART WITH (SELECT COALESCE(MAX(id), 0) + 1 FROM books);
+
+-- Inserts ohne ID würden an der Sequenz vorbei vergeben
+ALTER TABLE books ALTER COLUMN id DROP IDENTITY;
@@ -0,0 +1,4 @@
+-- Indizes für die Filtersuche (BuchSpecifications): Autor mit Preisbereich, Seitenbereich.
+-- Der ISBN-Präfix nutzt den Index der Unique-Constraint uk_books_isbn als Bereichsabfrage.
+CREATE INDEX idx_books_author_price ON books (author, price);
+CREATE INDEX idx_books_pages ON books (pages);
@@ -0,0 +1,21 @@
+package de.itzbund.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Reaktive Lese-API ({@code itzbund.reactive.*}): eigener WebFlux-Kontext mit R2DBC auf derselben Datenbank.
+ *
+ * @param enabled reaktive Lese-API starten
+ * @param port Port des Netty-Servers ({@code 0}: zufällig)
+ * @param poolSize maximale Anzahl R2DBC-Verbindungen
+ * @param streamPageSize Zeilen je Abfrage beim Streamen ({@code /api/buecher/stream}); höchstens eine Seite je
+ *                       Verbindung liegt im Speicher
+ */
+@ConfigurationProperties(prefix = "itzbund.reactive")
+public record ReactiveProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("8081") int port,
+        @DefaultValue("10") int poolSize,
+        @DefaultValue("500") int streamPageSize) {
+}
@@ -0,0 +1,28 @@
+package de.itzbund.config;
+
+import de.itzbund.reactive.ReactiveReadServer;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Startet die reaktive Lese-API ({@code itzbund.reactive.enabled=true}) neben dem Servlet-Stack.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "itzbund.reactive", name = "enabled", havingValue = "true")
+public class ReactiveReadConfig {
+
+    /**
+     * Reaktiver Server auf der Datenbank von {@code spring.datasource}.
+     * @param properties Einstellungen
+     * @param dataSource Verbindungsdaten der Primär-Datenbank
+     * @return Server (Start nach dem Servlet-Webserver)
+     */
+    @Bean
+    public ReactiveReadServer reactiveReadServer(final ReactiveProperties properties,
+                                                 final DataSourceProperties dataSource) {
+        return new ReactiveReadServer(properties, dataSource.determineUrl(), dataSource.determineUsername(),
+            dataSource.determinePassword());
+    }
+}
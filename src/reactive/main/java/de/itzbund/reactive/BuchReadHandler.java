@@ -0,0 +1,214 @@
+package de.itzbund.reactive;
+
+import de.itzbund.api.generated.dto.BuchResponse;
+import de.itzbund.error.ErrorResponse;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.data.relational.core.query.Criteria;
+import org.springframework.data.relational.core.query.Query;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+
+/**
+ * Lese-Endpunkte der reaktiven API. Parameter und Antworten entsprechen {@code BuecherApi}; ungültige Parameter
+ * ergeben 400 mit {@link ErrorResponse}.
+ */
+public final class BuchReadHandler {
+
+    /** Standard-Limit der Filtersuche. */
+    private static final int DEFAULT_LIMIT = 100;
+    /** Höchstes Limit der Filtersuche. */
+    private static final int MAX_LIMIT = 1000;
+    /** Höchstzahl Sortierfelder. */
+    private static final int MAX_SORT_FIELDS = 6;
+    /** Höchstlänge des Autors. */
+    private static final int MAX_AUTHOR_LENGTH = 100;
+    /** Erlaubter ISBN-Anfang. */
+    private static final Pattern ISBN_PREFIX = Pattern.compile("[0-9Xx-]{1,17}");
+    /** Erlaubte Sortierfelder, {@code -} für absteigend. */
+    private static final Pattern SORT_FIELD = Pattern.compile("-?(id|title|author|isbn|pages|price)");
+
+    /** Repository. */
+    private final BuchRowRepository repository;
+    /** Für Abfragen mit dynamischen Filtern. */
+    private final R2dbcEntityTemplate template;
+    /** Zeilen je Abfrage beim Streamen. */
+    private final int streamPageSize;
+
+    /**
+     * @param repository Repository
+     * @param template für die Filtersuche
+     * @param streamPageSize Zeilen je Abfrage beim Streamen
+     */
+    public BuchReadHandler(final BuchRowRepository repository, final R2dbcEntityTemplate template,
+                           final int streamPageSize) {
+        this.repository = repository;
+        this.template = template;
+        this.streamPageSize = streamPageSize;
+    }
+
+    /**
+     * {@code GET /api/buecher/{id}}.
+     * @param request Anfrage
+     * @return Buch oder 404
+     */
+    public Mono<ServerResponse> get(final ServerRequest request) {
+        long id;
+        try {
+            id = Long.parseLong(request.pathVariable("id"));
+        } catch (NumberFormatException e) {
+            return badRequest("id muss eine Zahl sein");
+        }
+        return repository.findById(id)
+            .flatMap(row -> ServerResponse.ok().bodyValue(row.toResponse()))
+            .switchIfEmpty(ServerResponse.notFound().build());
+    }
+
+    /**
+     * {@code GET /api/buecher?author=&title=}: alle oder gefilterte Bücher wie {@code listBuecher}.
+     * @param request Anfrage
+     * @return Bücher als JSON-Array
+     */
+    public Mono<ServerResponse> list(final ServerRequest request) {
+        String author = request.queryParam("author").orElse(null);
+        String title = request.queryParam("title").orElse(null);
+        Flux<BuchRow> rows;
+        if (author != null && title != null) {
+            rows = repository.findByAuthorContainingIgnoreCaseAndTitleContainingIgnoreCase(author, title);
+        } else if (author != null) {
+            rows = repository.findByAuthor(author);
+        } else if (title != null) {
+            rows = repository.findByTitleContainingIgnoreCase(title);
+        } else {
+            rows = repository.findAll(Sort.by("id"));
+        }
+        return ServerResponse.ok().contentType(MediaType.APPLICATION_JSON)
+            .body(rows.map(BuchRow::toResponse), BuchResponse.class);
+    }
+
+    /**
+     * {@code GET /api/buecher/suche}: Filtersuche wie {@code searchBuecher}, in SQL gefiltert, sortiert und begrenzt.
+     * @param request Anfrage
+     * @return Treffer als JSON-Array
+     */
+    public Mono<ServerResponse> search(final ServerRequest request) {
+        Query query;
+        try {
+            query = searchQuery(request);
+        } catch (IllegalArgumentException e) {
+            return badRequest(e.getMessage());
+        }
+        return ServerResponse.ok().contentType(MediaType.APPLICATION_JSON)
+            .body(template.select(query, BuchRow.class).map(BuchRow::toResponse), BuchResponse.class);
+    }
+
+    /**
+     * {@code GET /api/buecher/stream}: alle Bücher in ID-Reihenfolge als NDJSON. Gelesen wird seitenweise und erst,
+     * wenn der Client die vorige Seite abgenommen hat; langsame Clients halten so weder Thread noch Verbindung zur
+     * Datenbank, sondern nur höchstens eine Seite im Speicher.
+     * @param request Anfrage
+     * @return Bücher, eine JSON-Zeile je Buch
+     */
+    public Mono<ServerResponse> stream(final ServerRequest request) {
+        return ServerResponse.ok().contentType(MediaType.APPLICATION_NDJSON)
+            .body(pagesAfter(0L).map(BuchRow::toResponse), BuchResponse.class);
+    }
+
+    private Flux<BuchRow> pagesAfter(final long afterId) {
+        return repository.findPage(afterId, streamPageSize).collectList().flatMapMany(page -> {
+            if (page.isEmpty()) {
+                return Flux.empty();
+            }
+            Flux<BuchRow> current = Flux.fromIterable(page);
+            // concatWith abonniert die nächste Seite erst, wenn diese vollständig abgenommen wurde
+            return page.size() < streamPageSize ? current
+                : current.concatWith(Flux.defer(() -> pagesAfter(page.get(page.size() - 1).id())));
+        });
+    }
+
+    private static Query searchQuery(final ServerRequest request) {
+        Criteria criteria = Criteria.empty();
+        Optional<String> author = request.queryParam("author");
+        if (author.isPresent()) {
+            require(author.get().length() <= MAX_AUTHOR_LENGTH, "author: höchstens 100 Zeichen");
+            criteria = criteria.and("author").is(author.get());
+        }
+        criteria = range(criteria, "price", param(request, "minPrice", BigDecimal::new),
+            param(request, "maxPrice", BigDecimal::new));
+        criteria = range(criteria, "pages", param(request, "minPages", Integer::valueOf),
+            param(request, "maxPages", Integer::valueOf));
+        Optional<String> isbnPrefix = request.queryParam("isbnPrefix");
+        if (isbnPrefix.isPresent()) {
+            String prefix = isbnPrefix.get();
+            require(ISBN_PREFIX.matcher(prefix).matches(), "isbnPrefix: nur Ziffern, X und -");
+            // Bereich statt LIKE, damit der Index uk_books_isbn genutzt wird (wie BuchSpecifications)
+            String upper = prefix.substring(0, prefix.length() - 1) + (char) (prefix.charAt(prefix.length() - 1) + 1);
+            criteria = criteria.and("isbn").greaterThanOrEquals(prefix).and("isbn").lessThan(upper);
+        }
+        Integer limit = param(request, "limit", Integer::valueOf);
+        int effectiveLimit = limit == null ? DEFAULT_LIMIT : limit;
+        require(effectiveLimit >= 1 && effectiveLimit <= MAX_LIMIT, "limit: 1 bis 1000");
+        return Query.query(criteria).sort(sort(request.queryParam("sort").orElse(null))).limit(effectiveLimit);
+    }
+
+    private static Sort sort(final String param) {
+        if (param == null || param.isEmpty()) {
+            return Sort.by("id");
+        }
+        String[] fields = param.split(",");
+        require(fields.length <= MAX_SORT_FIELDS, "sort: höchstens 6 Felder");
+        List<Sort.Order> orders = new ArrayList<>(fields.length);
+        for (String field : fields) {
+            require(SORT_FIELD.matcher(field).matches(), "sort: unbekanntes Feld " + field);
+            orders.add(field.startsWith("-") ? Sort.Order.desc(field.substring(1)) : Sort.Order.asc(field));
+        }
+        Sort sort = Sort.by(orders);
+        // id als letzter Schlüssel macht die Reihenfolge bei gleichen Werten stabil
+        return sort.getOrderFor("id") == null ? sort.and(Sort.by("id")) : sort;
+    }
+
+    private static <T> Criteria range(final Criteria criteria, final String column, final T min, final T max) {
+        Criteria result = criteria;
+        if (min != null) {
+            result = result.and(column).greaterThanOrEquals(min);
+        }
+        if (max != null) {
+            result = result.and(column).lessThanOrEquals(max);
+        }
+        return result;
+    }
+
+    private static <T> T param(final ServerRequest request, final String name, final Function<String, T> parser) {
+        Optional<String> value = request.queryParam(name);
+        if (value.isEmpty()) {
+            return null;
+        }
+        try {
+            return parser.apply(value.get());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(name + ": keine gültige Zahl", e);
+        }
+    }
+
+    private static void require(final boolean condition, final String message) {
+        if (!condition) {
+            throw new IllegalArgumentException(message);
+        }
+    }
+
+    private static Mono<ServerResponse> badRequest(final String message) {
+        return ServerResponse.badRequest().contentType(MediaType.APPLICATION_JSON)
+            .bodyValue(ErrorResponse.of(HttpStatus.BAD_REQUEST, message));
+    }
+}
@@ -0,0 +1,37 @@
+package de.itzbund.reactive;
+
+import de.itzbund.api.generated.dto.BuchResponse;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.math.BigDecimal;
+
+/**
+ * Zeile der Tabelle {@code books} für R2DBC (nur lesend; geschrieben wird über JPA und {@code Buch}).
+ *
+ * @param id Buch-ID
+ * @param title Titel
+ * @param author Autor
+ * @param isbn ISBN
+ * @param pages Seitenzahl
+ * @param price Preis
+ * @param version Version (Optimistic Locking)
+ */
+@Table("books")
+public record BuchRow(@Id Long id, String title, String author, String isbn, Integer pages, BigDecimal price,
+                      Long version) {
+
+    /**
+     * @return API-Darstellung wie bei der Servlet-API
+     */
+    public BuchResponse toResponse() {
+        return new BuchResponse()
+            .id(id)
+            .title(title)
+            .author(author)
+            .isbn(isbn)
+            .pages(pages)
+            .price(price)
+            .version(version);
+    }
+}
@@ -0,0 +1,26 @@
+package de.itzbund.reactive;
+
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import reactor.core.publisher.Flux;
+
+/**
+ * Reaktives Repository auf {@code books} mit denselben Suchen wie {@code BuchRepository}.
+ */
+public interface BuchRowRepository extends R2dbcRepository<BuchRow, Long> {
+
+    Flux<BuchRow> findByAuthor(String author);
+
+    Flux<BuchRow> findByTitleContainingIgnoreCase(String title);
+
+    Flux<BuchRow> findByAuthorContainingIgnoreCaseAndTitleContainingIgnoreCase(String author, String title);
+
+    /**
+     * Nächste Seite in ID-Reihenfolge (Keyset statt Offset, jede Seite kostet gleich viel).
+     * @param afterId letzte ID der vorigen Seite ({@code 0} für die erste)
+     * @param limit Zeilen je Seite
+     * @return Seite
+     */
+    @Query("SELECT * FROM books WHERE id > :afterId ORDER BY id LIMIT :limit")
+    Flux<BuchRow> findPage(long afterId, int limit);
+}
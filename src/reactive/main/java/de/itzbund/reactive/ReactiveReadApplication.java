@@ -0,0 +1,112 @@
+package de.itzbund.reactive;
+
+import io.r2dbc.h2.H2ConnectionConfiguration;
+import io.r2dbc.h2.H2ConnectionFactory;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.context.PropertyPlaceholderAutoConfiguration;
+import org.springframework.boot.autoconfigure.data.r2dbc.R2dbcDataAutoConfiguration;
+import org.springframework.boot.autoconfigure.http.codec.CodecsAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.reactive.HttpHandlerAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.reactive.ReactiveWebServerFactoryAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.reactive.WebFluxAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.reactive.error.ErrorWebFluxAutoConfiguration;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.env.Environment;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.data.r2dbc.repository.config.EnableR2dbcRepositories;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerResponse;
+
+/**
+ * Kontext der reaktiven Lese-API (gestartet von {@link ReactiveReadServer}): WebFlux auf Netty und R2DBC auf der
+ * Tabelle {@code books}. Absichtlich keine {@code @Configuration}, damit der Component-Scan der Servlet-Anwendung
+ * die Klasse nicht aufnimmt; Auto-Konfigurationen sind einzeln aufgeführt, damit JPA, Flyway und Actuator nicht
+ * ein zweites Mal starten.
+ */
+@ImportAutoConfiguration({
+    PropertyPlaceholderAutoConfiguration.class,
+    JacksonAutoConfiguration.class,
+    CodecsAutoConfiguration.class,
+    ReactiveWebServerFactoryAutoConfiguration.class,
+    WebFluxAutoConfiguration.class,
+    HttpHandlerAutoConfiguration.class,
+    ErrorWebFluxAutoConfiguration.class,
+    R2dbcAutoConfiguration.class,
+    R2dbcDataAutoConfiguration.class
+})
+@EnableR2dbcRepositories(basePackageClasses = BuchRowRepository.class)
+public class ReactiveReadApplication {
+
+    /** Property: H2-URL ohne {@code jdbc:h2:}. */
+    static final String H2_URL = "itzbund.reactive.h2-url";
+    /** Property: Datenbank-Benutzer. */
+    static final String USERNAME = "itzbund.reactive.username";
+    /** Property: Datenbank-Passwort. */
+    static final String PASSWORD = "itzbund.reactive.password";
+    /** Property: maximale Anzahl Verbindungen. */
+    static final String POOL_SIZE = "itzbund.reactive.pool-size";
+    /** Property: Zeilen je Abfrage beim Streamen. */
+    static final String STREAM_PAGE_SIZE = "itzbund.reactive.stream-page-size";
+
+    /**
+     * Netty statt Tomcat: Tomcat liegt für den Servlet-Stack auf dem Classpath und würde sonst bevorzugt.
+     * @return Server-Factory ({@code server.port} wird von Spring Boot angewendet)
+     */
+    @Bean
+    public NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+        return new NettyReactiveWebServerFactory();
+    }
+
+    /**
+     * Verbindungspool auf die H2-Datenbank der Servlet-Anwendung.
+     * @param environment Properties von {@link ReactiveReadServer}
+     * @return Pool
+     */
+    @Bean(destroyMethod = "dispose")
+    public ConnectionPool connectionFactory(final Environment environment) {
+        H2ConnectionFactory h2 = new H2ConnectionFactory(H2ConnectionConfiguration.builder()
+            .url(environment.getRequiredProperty(H2_URL))
+            .username(environment.getRequiredProperty(USERNAME))
+            .password(environment.getProperty(PASSWORD, ""))
+            .build());
+        int size = environment.getRequiredProperty(POOL_SIZE, Integer.class);
+        return new ConnectionPool(ConnectionPoolConfiguration.builder(h2)
+            .initialSize(1)
+            .maxSize(size)
+            .build());
+    }
+
+    /**
+     * @param repository R2DBC-Repository
+     * @param template für dynamische Filter
+     * @param environment Properties von {@link ReactiveReadServer}
+     * @return Handler der Lese-Endpunkte
+     */
+    @Bean
+    public BuchReadHandler buchReadHandler(final BuchRowRepository repository, final R2dbcEntityTemplate template,
+                                           final Environment environment) {
+        return new BuchReadHandler(repository, template,
+            environment.getRequiredProperty(STREAM_PAGE_SIZE, Integer.class));
+    }
+
+    /**
+     * Lese-Endpunkte wie in {@code buecher-api.yaml} plus {@code /api/buecher/stream} (NDJSON).
+     * @param handler Handler
+     * @return Routen
+     */
+    @Bean
+    public RouterFunction<ServerResponse> buchReadRoutes(final BuchReadHandler handler) {
+        return RouterFunctions.route()
+            .GET("/api/buecher", handler::list)
+            .GET("/api/buecher/suche", handler::search)
+            .GET("/api/buecher/stream", handler::stream)
+            .GET("/api/buecher/{id}", handler::get)
+            .build();
+    }
+}
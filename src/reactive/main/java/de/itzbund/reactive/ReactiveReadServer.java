@@ -0,0 +1,100 @@
+package de.itzbund.reactive;
+
+import de.itzbund.config.ReactiveProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.Banner;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.reactive.context.ReactiveWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.SmartLifecycle;
+
+import java.util.Map;
+
+/**
+ * Startet und stoppt den Kontext der reaktiven Lese-API ({@link ReactiveReadApplication}) zusammen mit der
+ * Anwendung. Der Kontext ist eigenständig (kein Eltern-Kontext), damit Servlet- und WebFlux-Konfiguration sich nicht
+ * mischen; beide greifen über eigene Verbindungen auf dieselbe Datenbank zu.
+ */
+public final class ReactiveReadServer implements SmartLifecycle {
+
+    /** Logger. */
+    private static final Logger LOGGER = LoggerFactory.getLogger(ReactiveReadServer.class);
+    /** Präfix der H2-JDBC-URLs. */
+    private static final String H2_JDBC_PREFIX = "jdbc:h2:";
+
+    /** Einstellungen. */
+    private final ReactiveProperties properties;
+    /** H2-URL ohne {@code jdbc:h2:} (In-Memory-Datenbanken werden im selben Prozess geteilt). */
+    private final String h2Url;
+    /** Datenbank-Benutzer. */
+    private final String username;
+    /** Datenbank-Passwort. */
+    private final String password;
+    /** Laufender Kontext oder {@code null}. */
+    private volatile ConfigurableApplicationContext context;
+
+    /**
+     * @param properties Einstellungen
+     * @param jdbcUrl JDBC-URL der Primär-Datenbank (nur H2)
+     * @param username Datenbank-Benutzer
+     * @param password Datenbank-Passwort
+     */
+    public ReactiveReadServer(final ReactiveProperties properties, final String jdbcUrl, final String username,
+                              final String password) {
+        if (jdbcUrl == null || !jdbcUrl.startsWith(H2_JDBC_PREFIX)) {
+            throw new IllegalStateException("Reaktive Lese-API unterstützt nur H2, nicht " + jdbcUrl);
+        }
+        this.properties = properties;
+        this.h2Url = jdbcUrl.substring(H2_JDBC_PREFIX.length());
+        this.username = username;
+        this.password = password == null ? "" : password;
+    }
+
+    @Override
+    public void start() {
+        context = new SpringApplicationBuilder(ReactiveReadApplication.class)
+            .web(WebApplicationType.REACTIVE)
+            .bannerMode(Banner.Mode.OFF)
+            .registerShutdownHook(false)
+            .properties(Map.<String, Object>of(
+                // Keine application.properties der Servlet-Anwendung übernehmen
+                "spring.config.name", "reactive",
+                "spring.application.name", "itzbund-reactive",
+                "server.port", properties.port(),
+                ReactiveReadApplication.H2_URL, h2Url,
+                ReactiveReadApplication.USERNAME, username,
+                ReactiveReadApplication.PASSWORD, password,
+                ReactiveReadApplication.POOL_SIZE, properties.poolSize(),
+                ReactiveReadApplication.STREAM_PAGE_SIZE, properties.streamPageSize()))
+            .run();
+        LOGGER.info("Reaktive Lese-API auf Port {}", port());
+    }
+
+    @Override
+    public void stop() {
+        ConfigurableApplicationContext running = context;
+        if (running != null) {
+            running.close();
+            context = null;
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return context != null;
+    }
+
+    /**
+     * @return tatsächlicher Port des Netty-Servers
+     * @throws IllegalStateException wenn der Server nicht läuft
+     */
+    public int port() {
+        ConfigurableApplicationContext running = context;
+        if (running == null) {
+            throw new IllegalStateException("Reaktive Lese-API läuft nicht");
+        }
+        return ((ReactiveWebServerApplicationContext) running).getWebServer().getPort();
+    }
+}
@@ -0,0 +1,131 @@
+package de.itzbund.benchmark;
+
+import de.itzbund.entity.Buch;
+import de.itzbund.reactive.ReactiveReadServer;
+import de.itzbund.service.BuchService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Gleichzeitige Verbindungen: dieselbe Filtersuche über den Servlet-Stack (Tomcat, ein Thread je laufender Anfrage)
+ * und die reaktive Lese-API (Netty, R2DBC). Meldet je Stufe Gesamtdauer, Median und 99. Perzentil sowie die
+ * höchste Zahl der Server-Threads des Stacks während der Stufe ({@code http-nio-*} bzw. {@code reactor-http-*}).
+ *
+ * <pre>mvn test -Pbenchmark -Dtest=ReactiveBenchmarkTest -Dbenchmark.connections=100,1000,3000</pre>
+ */
+@Tag("benchmark")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+    "spring.datasource.url=jdbc:h2:mem:reactive-benchmark;DB_CLOSE_DELAY=-1",
+    "spring.jpa.properties.hibernate.cache.use_query_cache=false",
+    "itzbund.reactive.enabled=true",
+    "itzbund.reactive.port=0",
+    "itzbund.bulkhead.enabled=false",
+    "logging.level.de.itzbund=WARN",
+    "logging.level.de.itzbund.benchmark.ReactiveBenchmarkTest=INFO"
+})
+class ReactiveBenchmarkTest {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ReactiveBenchmarkTest.class);
+
+    private static final int BOOKS = Integer.getInteger("benchmark.books", 5_000);
+    private static final String CONNECTIONS = System.getProperty("benchmark.connections", "100,500,1000");
+    private static final int AUTHORS = 50;
+    private static final int CHUNK = 1_000;
+    private static final int CLIENT_THREADS = 4;
+
+    @LocalServerPort
+    private int servletPort;
+
+    @Autowired
+    private ReactiveReadServer reactive;
+
+    @Autowired
+    private BuchService service;
+
+    @Test
+    @DisplayName("Benchmark: gleichzeitige Verbindungen Servlet gegen WebFlux")
+    void concurrentConnections() throws Exception {
+        for (int chunk = 0; chunk < BOOKS; chunk += CHUNK) {
+            List<Buch> buecher = new ArrayList<>(CHUNK);
+            for (int i = chunk; i < Math.min(chunk + CHUNK, BOOKS); i++) {
+                buecher.add(Buch.builder().title("Band " + i).author("Autor " + i % AUTHORS)
+                    .pages(100 + i % 900).price(BigDecimal.valueOf(500 + i % 9_500, 2)).build());
+            }
+            service.saveBatch(buecher);
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(CLIENT_THREADS);
+        try {
+            HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).executor(executor).build();
+            // Aufwärmen beider Stacks (JIT, Pools)
+            run(client, servletPort, "http-nio", 50);
+            run(client, reactive.port(), "reactor-http", 50);
+            LOGGER.info(String.format("=== Gleichzeitige Verbindungen (%,d Bücher, Filtersuche limit=100) ===",
+                BOOKS));
+            for (String level : CONNECTIONS.split(",")) {
+                int connections = Integer.parseInt(level.trim());
+                report("Servlet (Tomcat)", connections, run(client, servletPort, "http-nio", connections));
+                report("WebFlux (Netty)", connections, run(client, reactive.port(), "reactor-http", connections));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static Result run(final HttpClient client, final int port, final String threadPrefix,
+                              final int connections) {
+        AtomicInteger peakThreads = new AtomicInteger();
+        ScheduledExecutorService sampler = Executors.newSingleThreadScheduledExecutor();
+        sampler.scheduleAtFixedRate(() -> peakThreads.accumulateAndGet((int) Thread.getAllStackTraces().keySet()
+            .stream().filter(t -> t.getName().startsWith(threadPrefix)).count(), Math::max), 0, 10,
+            TimeUnit.MILLISECONDS);
+        long[] nanos = new long[connections];
+        List<CompletableFuture<HttpResponse<Void>>> calls = new ArrayList<>(connections);
+        long start = System.nanoTime();
+        for (int i = 0; i < connections; i++) {
+            int slot = i;
+            HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port
+                + "/api/buecher/suche?author=Autor%20" + i % AUTHORS + "&limit=100")).GET().build();
+            long sent = System.nanoTime();
+            calls.add(client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                .whenComplete((response, error) -> nanos[slot] = System.nanoTime() - sent));
+        }
+        long failed = calls.stream().map(CompletableFuture::join).filter(r -> r.statusCode() != 200).count();
+        long total = System.nanoTime() - start;
+        sampler.shutdownNow();
+        assertThat(failed).isZero();
+        Arrays.sort(nanos);
+        return new Result(total, nanos[connections / 2], nanos[connections * 99 / 100], peakThreads.get());
+    }
+
+    private static void report(final String label, final int connections, final Result result) {
+        LOGGER.info(String.format(
+            "%-18s %,6d Verbindungen  gesamt %8.1f ms   p50 %8.1f ms   p99 %8.1f ms   Threads %4d", label,
+            connections, result.total / 1e6, result.p50 / 1e6, result.p99 / 1e6, result.peakThreads));
+    }
+
+    private record Result(long total, long p50, long p99, int peakThreads) {
+    }
+}
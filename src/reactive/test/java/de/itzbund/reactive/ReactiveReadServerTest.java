@@ -0,0 +1,92 @@
+package de.itzbund.reactive;
+
+import de.itzbund.api.generated.dto.BuchResponse;
+import de.itzbund.entity.Buch;
+import de.itzbund.service.BuchService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Reaktive Lese-API: eigener Kontext auf eigenem Port, liest über R2DBC, was über JPA gespeichert wurde.
+ */
+@SpringBootTest(properties = {
+    "itzbund.reactive.enabled=true",
+    "itzbund.reactive.port=0",
+    "itzbund.reactive.stream-page-size=3"
+})
+class ReactiveReadServerTest {
+
+    @Autowired
+    private BuchService buchService;
+
+    @Autowired
+    private ReactiveReadServer server;
+
+    private WebTestClient client;
+
+    @BeforeEach
+    void setUp() {
+        client = WebTestClient.bindToServer().baseUrl("http://localhost:" + server.port()).build();
+    }
+
+    @Test
+    @DisplayName("GET /api/buecher/{id}, Liste und Filtersuche lesen dieselbe Tabelle")
+    void readsBooksWrittenThroughJpa() {
+        String author = "Autor " + UUID.randomUUID();
+        List<Buch> saved = buchService.saveBatch(List.of(buch(author, 120, "19.99"), buch(author, 480, "49.50")))
+            .saved();
+
+        client.get().uri("/api/buecher/{id}", saved.get(0).getId()).exchange()
+            .expectStatus().isOk()
+            .expectBody()
+            .jsonPath("$.author").isEqualTo(author)
+            .jsonPath("$.price").isEqualTo(19.99)
+            .jsonPath("$.version").isEqualTo(0);
+        client.get().uri("/api/buecher/{id}", Long.MAX_VALUE).exchange().expectStatus().isNotFound();
+        client.get().uri("/api/buecher?author={a}", author).exchange()
+            .expectStatus().isOk()
+            .expectBodyList(BuchResponse.class).hasSize(2);
+        client.get().uri("/api/buecher/suche?author={a}&minPages=200&sort=-price", author).exchange()
+            .expectStatus().isOk()
+            .expectBody()
+            .jsonPath("$.length()").isEqualTo(1)
+            .jsonPath("$[0].pages").isEqualTo(480);
+        client.get().uri("/api/buecher/suche?limit=0").exchange()
+            .expectStatus().isBadRequest()
+            .expectBody().jsonPath("$.message").isEqualTo("limit: 1 bis 1000");
+        client.get().uri("/api/buecher/suche?sort=version").exchange().expectStatus().isBadRequest();
+    }
+
+    @Test
+    @DisplayName("GET /api/buecher/stream liefert alle Bücher seitenweise als NDJSON in ID-Reihenfolge")
+    void streamsAllBooksInPages() {
+        String author = "Autor " + UUID.randomUUID();
+        buchService.saveBatch(IntStream.range(0, 10).mapToObj(i -> buch(author, 100 + i, "10.00")).toList());
+
+        List<BuchResponse> streamed = client.get().uri("/api/buecher/stream")
+            .accept(MediaType.APPLICATION_NDJSON).exchange()
+            .expectStatus().isOk()
+            .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+            .returnResult(BuchResponse.class).getResponseBody().collectList().block();
+
+        assertThat(streamed).extracting(BuchResponse::getId).isSorted().doesNotHaveDuplicates();
+        assertThat(streamed).filteredOn(b -> author.equals(b.getAuthor())).extracting(BuchResponse::getPages)
+            .containsExactly(100, 101, 102, 103, 104, 105, 106, 107, 108, 109);
+    }
+
+    private static Buch buch(final String author, final int pages, final String price) {
+        return Buch.builder().title("Reaktiv").author(author).pages(pages).price(new BigDecimal(price)).build();
+    }
+}
@@ -0,0 +1,117 @@
+package de.itzbund.audit;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.itzbund.config.AuditProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Audit-Log: Einträge vieler Threads vollständig in der Datei, Rollen nach Größe, Verwerfen bei vollem Puffer.
+ */
+class AuditLogTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    @DisplayName("Einträge paralleler Schreiber stehen nach dem Stop vollständig als JSON-Zeilen in der Datei")
+    void writesAllRecordsOnStop() throws Exception {
+        AuditLog log = new AuditLog(properties(1024, DataSize.ofMegabytes(10), 5), registry);
+        log.start();
+        List<CompletableFuture<Void>> writers = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            int thread = t;
+            writers.add(CompletableFuture.runAsync(() -> {
+                for (int i = 0; i < 250; i++) {
+                    log.record("updateBuch", thread * 1000L + i, i, -1, 1_234_567, 200);
+                }
+            }));
+        }
+        CompletableFuture.allOf(writers.toArray(CompletableFuture[]::new)).get();
+        log.record("bulkDeleteBuecher", -1, -1, 42, 5_000, 200);
+        log.stop();
+
+        List<String> lines = Files.readAllLines(directory.resolve("audit.log"));
+        assertThat(lines).hasSize(1001);
+        Set<Long> ids = new HashSet<>();
+        for (String line : lines.subList(0, 1000)) {
+            JsonNode entry = objectMapper.readTree(line);
+            assertThat(entry.get("op").asText()).isEqualTo("updateBuch");
+            assertThat(entry.get("ms").asText()).isEqualTo("1.234");
+            assertThat(entry.get("status").asInt()).isEqualTo(200);
+            assertThat(entry.has("ts")).isTrue();
+            assertThat(entry.has("n")).isFalse();
+            ids.add(entry.get("id").asLong());
+        }
+        assertThat(ids).hasSize(1000);
+        JsonNode bulk = objectMapper.readTree(lines.get(1000));
+        assertThat(bulk.get("n").asLong()).isEqualTo(42);
+        assertThat(bulk.has("id")).isFalse();
+        assertThat(bulk.get("ms").asText()).isEqualTo("0.005");
+        assertThat(registry.get("itzbund.audit.records").tag("result", "written").counter().count()).isEqualTo(1001);
+        assertThat(log.isRunning()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Ab der Maximalgröße wird gerollt, ältere Dateien über maxHistory hinaus entfallen")
+    void rollsBySize() throws Exception {
+        AuditLog log = new AuditLog(properties(1024, DataSize.ofBytes(1_000), 2), registry);
+        log.start();
+        for (int i = 0; i < 100; i++) {
+            log.record("createBuch", i, 0, -1, 1_000_000, 201);
+            // kleine Blöcke, damit die Grenze mehrfach überschritten wird
+            Thread.sleep(1);
+        }
+        log.stop();
+
+        assertThat(directory.resolve("audit.log")).exists();
+        assertThat(directory.resolve("audit.log.1")).exists();
+        assertThat(directory.resolve("audit.log.2")).exists();
+        assertThat(directory.resolve("audit.log.3")).doesNotExist();
+        long kept = Files.readAllLines(directory.resolve("audit.log")).size()
+            + Files.readAllLines(directory.resolve("audit.log.1")).size()
+            + Files.readAllLines(directory.resolve("audit.log.2")).size();
+        assertThat(kept).isLessThan(100);
+        List<String> newest = Files.readAllLines(directory.resolve("audit.log"));
+        assertThat(objectMapper.readTree(newest.get(newest.size() - 1)).get("id").asLong()).isEqualTo(99);
+    }
+
+    @Test
+    @DisplayName("Voller Puffer verwirft und zählt, statt den Request-Thread warten zu lassen")
+    void dropsWhenFull() throws Exception {
+        AuditLog log = new AuditLog(properties(4, DataSize.ofMegabytes(1), 1), registry);
+        for (int i = 0; i < 10; i++) {
+            log.record("getBuch", i, 0, -1, 1_000, 200);
+        }
+        assertThat(log.pending()).isEqualTo(4);
+        assertThat(registry.get("itzbund.audit.records").tag("result", "dropped").counter().count()).isEqualTo(6);
+
+        log.start();
+        log.stop();
+        assertThat(Files.readAllLines(directory.resolve("audit.log"))).hasSize(4);
+        assertThat(log.pending()).isZero();
+    }
+
+    private AuditProperties properties(final int bufferSize, final DataSize maxFileSize, final int maxHistory) {
+        return new AuditProperties(true, directory.resolve("audit.log"), bufferSize, 64, Duration.ofMillis(5),
+            maxFileSize, maxHistory, Duration.ofSeconds(10));
+    }
+}
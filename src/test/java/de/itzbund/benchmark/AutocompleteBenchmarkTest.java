@@ -0,0 +1,87 @@
+package de.itzbund.benchmark;
+
+import de.itzbund.entity.Buch;
+import de.itzbund.service.BuchService;
+import de.itzbund.service.suggest.AutocompleteService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tastendruck-Latenz: Titelsuche per {@code LIKE} ({@code listBuecher?title=}) gegen den Autocomplete-Index.
+ * Meldet Median und 99. Perzentil je Variante.
+ *
+ * <pre>mvn test -Pbenchmark -Dtest=AutocompleteBenchmarkTest -Dbenchmark.books=200000</pre>
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:autocomplete-benchmark;DB_CLOSE_DELAY=-1",
+    "spring.jpa.properties.hibernate.cache.use_second_level_cache=false",
+    "spring.jpa.properties.hibernate.cache.use_query_cache=false",
+    "logging.level.de.itzbund=WARN",
+    "logging.level.de.itzbund.benchmark.AutocompleteBenchmarkTest=INFO"
+})
+class AutocompleteBenchmarkTest {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(AutocompleteBenchmarkTest.class);
+
+    private static final int BOOKS = Integer.getInteger("benchmark.books", 50_000);
+    private static final int LOOKUPS = 2_000;
+    private static final int CHUNK = 1_000;
+    private static final String[] WORDS = {"Spring", "Boot", "Java", "Kotlin", "Daten", "Muster", "Praxis",
+        "Handbuch", "Einführung", "Verwaltung", "Netzwerke", "Sicherheit", "Architektur", "Cloud", "Test"};
+
+    @Autowired
+    private BuchService service;
+
+    @Autowired
+    private AutocompleteService autocomplete;
+
+    @Test
+    @DisplayName("Benchmark: Autocomplete-Index gegen LIKE-Suche")
+    void keystrokeLatency() {
+        for (int chunk = 0; chunk < BOOKS; chunk += CHUNK) {
+            List<Buch> buecher = new ArrayList<>(CHUNK);
+            for (int i = chunk; i < Math.min(chunk + CHUNK, BOOKS); i++) {
+                buecher.add(buch(i));
+            }
+            service.saveBatch(buecher);
+        }
+        LOGGER.info(String.format("=== Autocomplete (%,d Bücher, %,d Abfragen) ===", BOOKS, LOOKUPS));
+        run("LIKE (Datenbank)", prefix -> service.findByTitleContainingIgnoreCase(prefix).size());
+        run("Präfix-Index", prefix -> autocomplete.suggest(prefix, 10).size());
+        assertThat(autocomplete.suggest("handb", 10)).isNotEmpty();
+    }
+
+    private void run(final String label, final Function<String, Integer> lookup) {
+        long[] nanos = new long[LOOKUPS];
+        for (int i = 0; i < LOOKUPS; i++) {
+            String word = WORDS[i % WORDS.length];
+            String prefix = word.substring(0, 2 + i % (word.length() - 1));
+            long start = System.nanoTime();
+            lookup.apply(prefix);
+            nanos[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(nanos);
+        LOGGER.info(String.format("%-20s p50 %8.3f ms   p99 %8.3f ms", label,
+            nanos[LOOKUPS / 2] / 1e6, nanos[LOOKUPS * 99 / 100] / 1e6));
+    }
+
+    private static Buch buch(final int i) {
+        String title = WORDS[i % WORDS.length] + " " + WORDS[(i / WORDS.length) % WORDS.length] + " Band " + i;
+        return Buch.builder().title(title).author("Autor " + i % 500)
+            .isbn(String.format("979%010d", i)).pages(1).price(BigDecimal.ONE).build();
+    }
+}
@@ -0,0 +1,132 @@
+package de.itzbund.benchmark;
+
+import de.itzbund.entity.Buch;
+import de.itzbund.service.BuchService;
+import de.itzbund.service.columnar.CatalogFilter;
+import de.itzbund.service.columnar.CatalogStatisticsService;
+import de.itzbund.service.columnar.ColumnarCatalog;
+import de.itzbund.service.columnar.ColumnarReadModel;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Spaltenorientiertes Lesemodell: Heap je Buch gegenüber {@link Buch}-Entities und Latenz der Kennzahlen
+ * gegenüber der Aggregat-Abfrage in der Datenbank.
+ *
+ * <pre>mvn test -Pbenchmark -Dtest=ColumnarBenchmarkTest -Dbenchmark.books=200000</pre>
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:columnar-benchmark;DB_CLOSE_DELAY=-1",
+    "spring.jpa.properties.hibernate.cache.use_second_level_cache=false",
+    "spring.jpa.properties.hibernate.cache.use_query_cache=false",
+    "itzbund.columnar.enabled=true",
+    "itzbund.columnar.chunk-size=16384",
+    "logging.level.de.itzbund=WARN",
+    "logging.level.de.itzbund.benchmark.ColumnarBenchmarkTest=INFO"
+})
+class ColumnarBenchmarkTest {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ColumnarBenchmarkTest.class);
+
+    private static final int BOOKS = Integer.getInteger("benchmark.books", 50_000);
+    private static final int FOOTPRINT_BOOKS = 200_000;
+    private static final int QUERIES = 200;
+    private static final int CHUNK = 1_000;
+    private static final int AUTHORS = 500;
+
+    @Autowired
+    private BuchService service;
+
+    @Autowired
+    private ColumnarReadModel readModel;
+
+    @Autowired
+    private CatalogStatisticsService statistics;
+
+    @Test
+    @DisplayName("Benchmark: Speicher je Buch und Kennzahlen-Latenz")
+    void footprintAndLatency() {
+        LOGGER.info(String.format("=== Speicher je Buch (%,d Bücher) ===", FOOTPRINT_BOOKS));
+        long entityBytes = heapPerBook(n -> {
+            List<Buch> entities = new ArrayList<>(n);
+            for (int i = 0; i < n; i++) {
+                entities.add(buch(i).toBuilder().id((long) i + 1).version(0L).build());
+            }
+            return entities;
+        });
+        long columnarBytes = heapPerBook(n -> {
+            ColumnarCatalog catalog = new ColumnarCatalog(CHUNK);
+            for (int i = 0; i < n; i++) {
+                catalog.put(i + 1, "Autor " + i % AUTHORS, 100 + i % 900, BigDecimal.valueOf(500 + i % 9_500, 2));
+            }
+            return catalog;
+        });
+        LOGGER.info(String.format("%-20s %6d Bytes", "Buch-Entities", entityBytes));
+        LOGGER.info(String.format("%-20s %6d Bytes", "Spalten", columnarBytes));
+
+        for (int chunk = 0; chunk < BOOKS; chunk += CHUNK) {
+            List<Buch> buecher = new ArrayList<>(CHUNK);
+            for (int i = chunk; i < Math.min(chunk + CHUNK, BOOKS); i++) {
+                buecher.add(buch(i));
+            }
+            service.saveBatch(buecher);
+        }
+        LOGGER.info(String.format("=== Kennzahlen (%,d Bücher, %,d Abfragen, Lesemodell %d Bytes je Buch) ===",
+            BOOKS, QUERIES, readModel.bytesPerBook()));
+        run("Aggregat (Datenbank)", statistics::aggregateInDatabase);
+        run("Spalten-Scan", readModel::aggregate);
+        assertThat(columnarBytes).isLessThan(entityBytes);
+    }
+
+    private void run(final String label, final Function<CatalogFilter, Object> query) {
+        long[] nanos = new long[QUERIES];
+        for (int i = 0; i < QUERIES; i++) {
+            CatalogFilter filter = i % 2 == 0
+                ? new CatalogFilter("Autor " + i % AUTHORS, null, null, null, null)
+                : new CatalogFilter(null, BigDecimal.valueOf(i % 50), BigDecimal.valueOf(50 + i % 50), 200, null);
+            long start = System.nanoTime();
+            query.apply(filter);
+            nanos[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(nanos);
+        LOGGER.info(String.format("%-20s p50 %8.3f ms   p99 %8.3f ms", label,
+            nanos[QUERIES / 2] / 1e6, nanos[QUERIES * 99 / 100] / 1e6));
+    }
+
+    private static long heapPerBook(final IntFunction<Object> build) {
+        long before = usedHeap();
+        Object retained = build.apply(FOOTPRINT_BOOKS);
+        long after = usedHeap();
+        assertThat(retained).isNotNull();
+        return (after - before) / FOOTPRINT_BOOKS;
+    }
+
+    private static long usedHeap() {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+
+    private static Buch buch(final int i) {
+        return Buch.builder().title("Kennzahlen Band " + i).author("Autor " + i % AUTHORS)
+            .isbn(String.format("978%010d", i)).pages(100 + i % 900).price(BigDecimal.valueOf(500 + i % 9_500, 2))
+            .build();
+    }
+}
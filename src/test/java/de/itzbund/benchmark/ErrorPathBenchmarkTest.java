@@ -0,0 +1,171 @@
+package de.itzbund.benchmark;
+
+import de.itzbund.entity.Buch;
+import de.itzbund.error.VersionMismatchException;
+import de.itzbund.repository.BuchRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Lastprofil "Konfliktwelle": parallele POSTs mit vergebener ISBN (409) und PUTs mit veralteter Version (412).
+ * Meldet Durchsatz und Latenz-Perzentile sowie die Kosten einer Exception mit und ohne Stacktrace.
+ *
+ * <pre>mvn test -Pbenchmark -Dtest=ErrorPathBenchmarkTest -Dbenchmark.seconds=20 -Dbenchmark.threads=16</pre>
+ */
+@Tag("benchmark")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+    "itzbund.bulkhead.enabled=false",
+    "logging.level.de.itzbund=WARN",
+    "logging.level.de.itzbund.benchmark.ErrorPathBenchmarkTest=INFO"
+})
+class ErrorPathBenchmarkTest {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ErrorPathBenchmarkTest.class);
+
+    private static final int SECONDS = Integer.getInteger("benchmark.seconds", 10);
+    private static final int THREADS = Integer.getInteger("benchmark.threads", 16);
+    private static final String ISBN = "9783400000019";
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private BuchRepository repository;
+
+    @Test
+    @DisplayName("Benchmark: 409/412-Antworten je Sekunde")
+    void conflictStorm() throws Exception {
+        Buch buch = repository.findByIsbn(ISBN).orElseGet(() -> repository.save(Buch.builder()
+            .title("Konflikt").author("Benchmark").isbn(ISBN).pages(1).price(BigDecimal.ONE).build()));
+        String duplicate = "{\"title\":\"Dublette\",\"author\":\"Benchmark\",\"isbn\":\"" + ISBN
+            + "\",\"pages\":1,\"price\":1.0}";
+        String stale = "{\"title\":\"Alt\",\"author\":\"Benchmark\",\"isbn\":\"" + ISBN
+            + "\",\"pages\":1,\"price\":1.0,\"version\":" + (buch.getVersion() + 100) + "}";
+        HttpRequest conflict = json(HttpRequest.newBuilder(uri("/api/buecher")), duplicate, "POST");
+        HttpRequest precondition = json(HttpRequest.newBuilder(uri("/api/buecher/" + buch.getId())), stale, "PUT");
+
+        HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        run(client, conflict, precondition, Duration.ofSeconds(2));
+        Result result = run(client, conflict, precondition, Duration.ofSeconds(SECONDS));
+
+        LOGGER.info(String.format("=== Fehlerpfad-Benchmark (%d Threads, %d s) ===", THREADS, SECONDS));
+        LOGGER.info(String.format("409: %,d  412: %,d  andere: %,d", result.conflicts, result.preconditions,
+            result.other));
+        LOGGER.info(String.format("Durchsatz: %,.0f Antworten/s", result.latencies.length / (double) SECONDS));
+        LOGGER.info(String.format("Latenz p50 %.2f ms, p99 %.2f ms, max %.2f ms",
+            percentile(result.latencies, 0.50), percentile(result.latencies, 0.99),
+            percentile(result.latencies, 1.0)));
+        LOGGER.info(String.format("Exception-Erzeugung: mit Stacktrace %.0f ns, ohne %.0f ns",
+            constructionNanos(true), constructionNanos(false)));
+        assertThat(result.other).isZero();
+    }
+
+    private Result run(final HttpClient client, final HttpRequest conflict, final HttpRequest precondition,
+                       final Duration duration) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        long end = System.nanoTime() + duration.toNanos();
+        List<Future<Result>> futures = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            HttpRequest request = t % 2 == 0 ? conflict : precondition;
+            futures.add(pool.submit(() -> {
+                Result partial = new Result();
+                List<Long> latencies = new ArrayList<>();
+                while (System.nanoTime() < end) {
+                    long start = System.nanoTime();
+                    int status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+                    latencies.add(System.nanoTime() - start);
+                    partial.count(status);
+                }
+                partial.latencies = latencies.stream().mapToLong(Long::longValue).toArray();
+                return partial;
+            }));
+        }
+        Result total = new Result();
+        for (Future<Result> future : futures) {
+            total.merge(future.get());
+        }
+        pool.shutdown();
+        Arrays.sort(total.latencies);
+        return total;
+    }
+
+    private static double constructionNanos(final boolean withStackTrace) {
+        int iterations = 200_000;
+        Object sink = null;
+        long start = 0;
+        for (int round = 0; round < 2; round++) {
+            start = System.nanoTime();
+            for (int i = 0; i < iterations; i++) {
+                sink = withStackTrace
+                    ? new IllegalStateException("Versionskonflikt für ID=" + i)
+                    : new VersionMismatchException((long) i, 1L, 2L);
+            }
+        }
+        assertThat(sink).isNotNull();
+        return (System.nanoTime() - start) / (double) iterations;
+    }
+
+    private static double percentile(final long[] sorted, final double p) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.min(sorted.length - 1, Math.ceil(p * sorted.length) - 1);
+        return sorted[Math.max(index, 0)] / 1e6;
+    }
+
+    private static HttpRequest json(final HttpRequest.Builder builder, final String body, final String method) {
+        return builder.header("Content-Type", "application/json")
+            .method(method, HttpRequest.BodyPublishers.ofString(body)).build();
+    }
+
+    private URI uri(final String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+
+    private static final class Result {
+        private long conflicts;
+        private long preconditions;
+        private long other;
+        private long[] latencies = new long[0];
+
+        void count(final int status) {
+            if (status == 409) {
+                conflicts++;
+            } else if (status == 412) {
+                preconditions++;
+            } else {
+                other++;
+            }
+        }
+
+        void merge(final Result partial) {
+            conflicts += partial.conflicts;
+            preconditions += partial.preconditions;
+            other += partial.other;
+            long[] merged = Arrays.copyOf(latencies, latencies.length + partial.latencies.length);
+            System.arraycopy(partial.latencies, 0, merged, latencies.length, partial.latencies.length);
+            latencies = merged;
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package de.itzbund.benchmark;
+
+import de.itzbund.entity.Buch;
+import de.itzbund.service.BuchService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Parallele Inserts über {@code BuchService}: Einzel-Inserts ({@code save}) und Blöcke ({@code saveBatch}).
+ * Meldet Inserts je Sekunde und die Anzahl Sequenzabrufe (ein Abruf je Block von {@code itzbund.id.block-size}).
+ *
+ * <pre>mvn test -Pbenchmark -Dtest=IdGenerationBenchmarkTest -Dbenchmark.inserts=200000 -Dbenchmark.threads=8</pre>
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:id-benchmark;DB_CLOSE_DELAY=-1",
+    "spring.flyway.enabled=true",
+    "spring.jpa.hibernate.ddl-auto=validate",
+    "spring.jpa.properties.hibernate.cache.use_second_level_cache=false",
+    "logging.level.de.itzbund=WARN",
+    "logging.level.de.itzbund.benchmark.IdGenerationBenchmarkTest=INFO"
+})
+class IdGenerationBenchmarkTest {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(IdGenerationBenchmarkTest.class);
+
+    private static final int INSERTS = Integer.getInteger("benchmark.inserts", 40_000);
+    private static final int THREADS = Integer.getInteger("benchmark.threads", 8);
+    private static final int CHUNK = 500;
+
+    @Autowired
+    private BuchService service;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName("Benchmark: parallele Inserts mit blockweiser ID-Vergabe")
+    void parallelInserts() throws Exception {
+        LOGGER.info(String.format("=== ID-Vergabe (%d Threads, %,d Inserts je Variante) ===", THREADS, INSERTS));
+        Set<Long> ids = new HashSet<>();
+        ids.addAll(run("save (einzeln)", 0, false));
+        ids.addAll(run("saveBatch (" + CHUNK + ")", INSERTS, true));
+        assertThat(ids).hasSize(2 * INSERTS);
+    }
+
+    private List<Long> run(final String label, final int offset, final boolean batch) throws Exception {
+        long sequenceBefore = sequence();
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        int perThread = INSERTS / THREADS;
+        long start = System.nanoTime();
+        List<Future<List<Long>>> futures = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            int from = offset + t * perThread;
+            futures.add(pool.submit(() -> batch ? batch(from, perThread) : single(from, perThread)));
+        }
+        List<Long> ids = new ArrayList<>();
+        for (Future<List<Long>> future : futures) {
+            ids.addAll(future.get());
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        pool.shutdown();
+        long blocks = (sequence() - sequenceBefore) / blockSize();
+        LOGGER.info(String.format("%-20s %,10.0f Inserts/s  %,6d Sequenzabrufe", label, ids.size() / seconds,
+            blocks));
+        return ids;
+    }
+
+    private List<Long> single(final int from, final int count) {
+        List<Long> ids = new ArrayList<>(count);
+        for (int i = from; i < from + count; i++) {
+            ids.add(service.save(buch(i)).getId());
+        }
+        return ids;
+    }
+
+    private List<Long> batch(final int from, final int count) {
+        List<Long> ids = new ArrayList<>(count);
+        for (int chunk = from; chunk < from + count; chunk += CHUNK) {
+            List<Buch> buecher = new ArrayList<>(CHUNK);
+            for (int i = chunk; i < Math.min(chunk + CHUNK, from + count); i++) {
+                buecher.add(buch(i));
+            }
+            service.saveBatch(buecher).saved().forEach(b -> ids.add(b.getId()));
+        }
+        return ids;
+    }
+
+    private static Buch buch(final int i) {
+        return Buch.builder().title("Titel " + i).author("Autor " + i % 100)
+            .isbn(String.format("978%010d", i)).pages(1).price(BigDecimal.ONE).build();
+    }
+
+    private long sequence() {
+        return jdbcTemplate.queryForObject(
+            "SELECT BASE_VALUE FROM INFORMATION_SCHEMA.SEQUENCES WHERE SEQUENCE_NAME = 'BOOKS_SEQ'", Long.class);
+    }
+
+    private long blockSize() {
+        return jdbcTemplate.queryForObject(
+            "SELECT INCREMENT FROM INFORMATION_SCHEMA.SEQUENCES WHERE SEQUENCE_NAME = 'BOOKS_SEQ'", Long.class);
+    }
+}
@@ -0,0 +1,133 @@
+package de.itzbund.benchmark;
+
+import de.itzbund.Application;
+import de.itzbund.repository.BuchRepository;
+import de.itzbund.service.job.CatalogFormat;
+import de.itzbund.service.job.ImportJob;
+import de.itzbund.service.job.ImportService;
+import de.itzbund.service.job.JobStatus;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import javax.sql.DataSource;
+import java.io.BufferedWriter;
+import java.math.BigDecimal;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+/**
+ * Vergleicht die Zeit bis zur Betriebsbereitschaft nach einem Neustart:
+ * persistentes Profil "prod" (H2-Datei + Flyway) gegenüber In-Memory-Start mit anschließendem Re-Import.
+ *
+ * <pre>mvn test -Pbenchmark -Dtest=RestartBenchmarkTest -Dbenchmark.books=1000000</pre>
+ */
+@Tag("benchmark")
+class RestartBenchmarkTest {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(RestartBenchmarkTest.class);
+
+    private static final int BOOKS = Integer.getInteger("benchmark.books", 1_000_000);
+    private static final int JDBC_BATCH = 10_000;
+
+    @TempDir
+    private Path dataDir;
+
+    @Test
+    @DisplayName("Benchmark: Time-to-ready nach Neustart vs. Re-Import")
+    void restartVersusReimport() throws Exception {
+        try (ConfigurableApplicationContext ctx = start("prod", "itzbund.data-dir=" + dataDir)) {
+            fill(ctx.getBean(DataSource.class));
+        }
+        Path catalog = writeCatalog(dataDir.resolve("katalog.ndjson"));
+
+        long t0 = System.nanoTime();
+        long restartMillis;
+        try (ConfigurableApplicationContext ctx = start("prod", "itzbund.data-dir=" + dataDir)) {
+            assertThat(ctx.getBean(BuchRepository.class).count()).isEqualTo(BOOKS);
+            restartMillis = Duration.ofNanos(System.nanoTime() - t0).toMillis();
+        }
+
+        t0 = System.nanoTime();
+        long reimportMillis;
+        try (ConfigurableApplicationContext ctx = start("default",
+                "spring.datasource.url=jdbc:h2:mem:reimport;DB_CLOSE_ON_EXIT=FALSE")) {
+            ImportJob job = ctx.getBean(ImportService.class)
+                .start(catalog, CatalogFormat.NDJSON, catalog.getFileName().toString(), false);
+            await().atMost(Duration.ofHours(2)).pollInterval(Duration.ofMillis(200))
+                .until(() -> job.getFinishedAt() != null);
+            assertThat(job.getStatus()).isEqualTo(JobStatus.COMPLETED);
+            assertThat(job.getImported()).isEqualTo(BOOKS);
+            reimportMillis = Duration.ofNanos(System.nanoTime() - t0).toMillis();
+        }
+
+        LOGGER.info(String.format("=== Restart-Benchmark (%,d Bücher) ===", BOOKS));
+        LOGGER.info(String.format("prod (H2-Datei, Flyway):  %,8d ms bis bereit", restartMillis));
+        LOGGER.info(String.format("In-Memory + Re-Import:    %,8d ms bis bereit", reimportMillis));
+        LOGGER.info(String.format("Faktor:                   %8.1fx", (double) reimportMillis / restartMillis));
+    }
+
+    private static ConfigurableApplicationContext start(final String profile, final String... properties) {
+        return new SpringApplicationBuilder(Application.class)
+            .profiles(profile)
+            .properties("server.port=0", "spring.devtools.restart.enabled=false")
+            .properties(properties)
+            .run();
+    }
+
+    private static void fill(final DataSource dataSource) throws SQLException {
+        try (Connection con = dataSource.getConnection();
+             PreparedStatement insert = con.prepareStatement(
+                 "INSERT INTO books (id, title, author, isbn, pages, price, version) VALUES (?, ?, ?, ?, ?, ?, 0)")) {
+            con.setAutoCommit(false);
+            for (int i = 0; i < BOOKS; i++) {
+                insert.setLong(1, i + 1L);
+                insert.setString(2, "Titel " + i);
+                insert.setString(3, "Autor " + (i % 5000));
+                insert.setString(4, isbn(i));
+                insert.setInt(5, 100 + i % 900);
+                insert.setBigDecimal(6, BigDecimal.valueOf(500 + i % 5000, 2));
+                insert.addBatch();
+                if ((i + 1) % JDBC_BATCH == 0) {
+                    insert.executeBatch();
+                    con.commit();
+                }
+            }
+            insert.executeBatch();
+            try (Statement restart = con.createStatement()) {
+                restart.execute("ALTER SEQUENCE books_seq RESTART WITH " + (BOOKS + 1));
+            }
+            con.commit();
+        }
+    }
+
+    private static Path writeCatalog(final Path file) throws IOException {
+        try (BufferedWriter out = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            for (int i = 0; i < BOOKS; i++) {
+                out.write(String.format("{\"title\":\"Titel %d\",\"author\":\"Autor %d\",\"isbn\":\"%s\","
+                    + "\"pages\":%d,\"price\":%d.%02d}%n", i, i % 5000, isbn(i), 100 + i % 900,
+                    (500 + i % 5000) / 100, (500 + i % 5000) % 100));
+            }
+        }
+        return file;
+    }
+
+    private static String isbn(final int i) {
+        return String.format("978%010d", i);
+    }
+}
@@ -0,0 +1,51 @@
+package de.itzbund.config;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Dokumentations-Beans werden bei aktivierter Option erst beim ersten Docs-Aufruf erzeugt.
+ */
+@SpringBootTest(properties = LazyDocumentationInitializer.PROPERTY + "=true")
+@AutoConfigureMockMvc
+class LazyDocumentationInitializerTest {
+
+    @Autowired
+    private ConfigurableListableBeanFactory beanFactory;
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Test
+    @DisplayName("Lazy Docs: OpenApiConfig erst beim Aufruf von /v3/api-docs erzeugt")
+    void documentationBeansCreatedOnFirstRequest() throws Exception {
+        assertThat(beanFactory.getBeanDefinition("openApiConfig").isLazyInit()).isTrue();
+        assertThat(beanFactory.getBeanDefinition("customOpenAPI").isLazyInit()).isTrue();
+        assertThat(beanFactory.getBeanDefinition("buchController").isLazyInit()).isFalse();
+        assertThat(beanFactory.containsSingleton("customOpenAPI")).isFalse();
+        // JsonNullable für PATCH gehört zum ObjectMapper, nicht zur Dokumentation
+        assertThat(beanFactory.getBeanDefinition("jsonNullableModule").isLazyInit()).isFalse();
+        assertThat(beanFactory.containsSingleton("jsonNullableModule")).isTrue();
+
+        mvc.perform(get("/v3/api-docs"))
+            .andExpect(status().isOk())
+            .andExpect(content().string(containsString("Verwaltung API")));
+
+        assertThat(beanFactory.containsSingleton("customOpenAPI")).isTrue();
+
+        // SpringDocUIConfiguration bleibt eager und ermittelt die Swagger-UI-Version
+        mvc.perform(get("/swagger-ui/index.html"))
+            .andExpect(status().isOk());
+    }
+}
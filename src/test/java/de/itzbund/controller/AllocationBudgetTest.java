@@ -0,0 +1,234 @@
+package de.itzbund.controller;
+
+import de.itzbund.entity.Buch;
+import de.itzbund.service.BuchService;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.MockMvcPrint;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Allokationsbudgets der heißen API-Pfade: Bytes je Anfrage über den ganzen Weg durch MockMvc (Filter,
+ * DispatcherServlet, Controller, Service, Hibernate, Jackson), gemessen mit dem Allokationszähler des Threads nach
+ * dem Aufwärmen. Wird ein Budget überschritten, wiederholt der Test die Messung unter JFR
+ * ({@code jdk.ObjectAllocationSample}) und hängt die größten Allokationsstellen an die Fehlermeldung.
+ *
+ * <p>Die Budgets liegen rund 50 % über dem gemessenen Stand; eine Verdopplung fällt damit sicher auf. Wer
+ * einen Pfad bewusst teurer macht, passt das Budget im selben Commit an.</p>
+ *
+ * <p>Läuft über {@code @Tag("allocation")} in einer eigenen Surefire-Ausführung und damit in einer eigenen JVM:
+ * Jeder Anwendungskontext im Kontext-Cache hängt einen {@code MetricsTurboFilter} an den JVM-weiten
+ * Logback-Kontext, und ab zwei Filtern kopiert Logback die Liste bei jeder Level-Abfrage. Allein gibt es wie in
+ * Produktion genau einen.</p>
+ */
+@Tag("allocation")
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:allocation-budget;DB_CLOSE_DELAY=-1",
+    "logging.level.de.itzbund=WARN",
+    "logging.level.de.itzbund.controller.AllocationBudgetTest=INFO"
+})
+@AutoConfigureMockMvc(print = MockMvcPrint.NONE)
+class AllocationBudgetTest {
+
+    /** Budgets in Bytes je Anfrage bzw. je Zeile (gemessen: 53,5 KB, 838 B, 111 KB, 103 KB). */
+    private static final long GET_BUCH_BUDGET = 80_000;
+    private static final long LIST_ROW_BUDGET = 1_300;
+    private static final long CREATE_BUCH_BUDGET = 170_000;
+    private static final long ERROR_RESPONSE_BUDGET = 155_000;
+
+    private static final int WARMUP = 500;
+    private static final int MEASURED = 200;
+    private static final int ROWS = 200;
+    private static final int FEW_ROWS = 20;
+    /** JFR tastet Allokationen je TLAB ab; für eine aussagekräftige Verteilung deutlich mehr Anfragen. */
+    private static final int PROFILED = 2_000;
+    private static final int TOP_SITES = 15;
+    private static final Logger LOGGER = LoggerFactory.getLogger(AllocationBudgetTest.class);
+
+    private static final com.sun.management.ThreadMXBean THREADS =
+        (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private BuchService service;
+
+    @Test
+    @DisplayName("getBuch bleibt im Allokationsbudget")
+    void getBuch() throws Exception {
+        Long id = service.save(buch("Budget Einzel", null)).getId();
+        assertWithinBudget("getBuch", GET_BUCH_BUDGET,
+            () -> mockMvc.perform(get("/api/buecher/{id}", id)).andExpect(status().isOk()));
+    }
+
+    @Test
+    @DisplayName("listBuecher bleibt je Zeile im Allokationsbudget")
+    void listBuecherPerRow() throws Exception {
+        saveAll("Budget Viele", ROWS);
+        saveAll("Budget Wenige", FEW_ROWS);
+        Request many = () -> mockMvc.perform(get("/api/buecher").param("author", "Budget Viele"))
+            .andExpect(status().isOk());
+        Request few = () -> mockMvc.perform(get("/api/buecher").param("author", "Budget Wenige"))
+            .andExpect(status().isOk());
+        // Differenz zweier Listengrößen: Fixkosten der Anfrage fallen heraus
+        long perRow = (measure(many) - measure(few)) / (ROWS - FEW_ROWS);
+        report("listBuecher je Zeile", perRow, LIST_ROW_BUDGET);
+        if (perRow > LIST_ROW_BUDGET) {
+            assertThat(perRow).as(failure("listBuecher je Zeile", perRow, LIST_ROW_BUDGET, many))
+                .isLessThanOrEqualTo(LIST_ROW_BUDGET);
+        }
+    }
+
+    @Test
+    @DisplayName("createBuch bleibt im Allokationsbudget")
+    void createBuch() throws Exception {
+        AtomicInteger next = new AtomicInteger();
+        assertWithinBudget("createBuch", CREATE_BUCH_BUDGET,
+            () -> mockMvc.perform(post("/api/buecher").contentType(MediaType.APPLICATION_JSON)
+                .content(json(String.format("979%010d", next.getAndIncrement()))))
+                .andExpect(status().isCreated()));
+    }
+
+    @Test
+    @DisplayName("Fehlerantwort (409 doppelte ISBN) bleibt im Allokationsbudget")
+    void errorResponse() throws Exception {
+        service.save(buch("Budget Konflikt", "9789999999991"));
+        String body = json("9789999999991");
+        assertWithinBudget("Fehlerantwort 409", ERROR_RESPONSE_BUDGET,
+            () -> mockMvc.perform(post("/api/buecher").contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isConflict()));
+    }
+
+    private static void assertWithinBudget(final String label, final long budget, final Request request)
+            throws Exception {
+        long bytes = measure(request);
+        report(label, bytes, budget);
+        if (bytes > budget) {
+            assertThat(bytes).as(failure(label, bytes, budget, request)).isLessThanOrEqualTo(budget);
+        }
+    }
+
+    /** Mittlere Bytes je Anfrage im aufrufenden Thread (MockMvc führt die Anfrage synchron darin aus). */
+    private static long measure(final Request request) throws Exception {
+        for (int i = 0; i < WARMUP; i++) {
+            request.perform();
+        }
+        long thread = Thread.currentThread().getId();
+        long before = THREADS.getThreadAllocatedBytes(thread);
+        for (int i = 0; i < MEASURED; i++) {
+            request.perform();
+        }
+        return (THREADS.getThreadAllocatedBytes(thread) - before) / MEASURED;
+    }
+
+    private static void report(final String label, final long bytes, final long budget) {
+        LOGGER.info("Allokation {}: {} Bytes (Budget {})", label, bytes, budget);
+    }
+
+    /** Wiederholt die Anfrage unter JFR und listet die Allokationsstellen mit dem größten Anteil. */
+    private static String failure(final String label, final long bytes, final long budget,
+                                  final Request request) throws Exception {
+        Path file = Files.createTempFile("allocation-budget", ".jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable("jdk.ObjectAllocationSample").with("throttle", "10000/s").withStackTrace();
+            recording.start();
+            for (int i = 0; i < PROFILED; i++) {
+                request.perform();
+            }
+            recording.stop();
+            recording.dump(file);
+            long thread = Thread.currentThread().getId();
+            List<RecordedEvent> events = RecordingFile.readAllEvents(file).stream()
+                .filter(e -> e.getThread() != null && e.getThread().getJavaThreadId() == thread)
+                .filter(e -> e.getStackTrace() != null)
+                .sorted(Comparator.comparing(RecordedEvent::getStartTime))
+                // Das Gewicht der ersten Probe umfasst auch Allokationen vor dem Start der Aufzeichnung
+                .skip(1)
+                .toList();
+            Map<String, Long> sites = new HashMap<>();
+            long total = 0;
+            for (RecordedEvent event : events) {
+                long weight = event.getLong("weight");
+                total += weight;
+                sites.merge(site(event), weight, Long::sum);
+            }
+            long sampled = Math.max(total, 1);
+            List<String> lines = new ArrayList<>();
+            sites.entrySet().stream().sorted(Map.Entry.<String, Long>comparingByValue().reversed())
+                .limit(TOP_SITES)
+                .forEach(e -> lines.add(String.format("  %5.1f %%  %s", 100.0 * e.getValue() / sampled,
+                    e.getKey())));
+            return String.format("%s: %,d Bytes je Anfrage, Budget %,d. Größte Allokationsstellen (JFR, %d Proben):"
+                + "%n%s", label, bytes, budget, events.size(), String.join(System.lineSeparator(), lines));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    /** Allokationsstelle plus erster Frame aus {@code de.itzbund}, damit die Ursache im eigenen Code sichtbar ist. */
+    private static String site(final RecordedEvent event) {
+        List<RecordedFrame> frames = event.getStackTrace().getFrames();
+        String objectClass = event.getClass("objectClass").getName();
+        if (frames.isEmpty()) {
+            return objectClass;
+        }
+        String site = objectClass + " in " + frame(frames.get(0));
+        return frames.stream().filter(f -> f.getMethod().getType().getName().startsWith("de.itzbund."))
+            .findFirst().map(f -> site + " über " + frame(f)).orElse(site);
+    }
+
+    private static String frame(final RecordedFrame frame) {
+        return frame.getMethod().getType().getName() + "." + frame.getMethod().getName() + ":" + frame.getLineNumber();
+    }
+
+    private void saveAll(final String author, final int count) {
+        List<Buch> buecher = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            buecher.add(buch(author, null));
+        }
+        service.saveBatch(buecher);
+    }
+
+    private static Buch buch(final String author, final String isbn) {
+        return Buch.builder().title("Allokationsbudget").author(author).isbn(isbn).pages(320)
+            .price(new BigDecimal("24.90")).build();
+    }
+
+    private static String json(final String isbn) {
+        return "{\"title\":\"Allokationsbudget\",\"author\":\"Budget\",\"isbn\":\"" + isbn
+            + "\",\"pages\":320,\"price\":24.90}";
+    }
+
+    @FunctionalInterface
+    private interface Request {
+        void perform() throws Exception;
+    }
+}
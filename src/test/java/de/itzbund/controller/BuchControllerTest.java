@@ -1,5 +1,6 @@
 package de.itzbund.controller;
 
+import de.itzbund.config.JacksonConfig;
 import de.itzbund.entity.Buch;
 import de.itzbund.error.DuplicateIsbnException;
 import de.itzbund.error.VersionMismatchException;
@@ -15,13 +16,16 @@ import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.math.BigDecimal;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 import static org.hamcrest.Matchers.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -31,6 +35,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 import static org.junit.jupiter.api.Assertions.*;
 
 @WebMvcTest(BuchController.class)
+@Import(JacksonConfig.class)
 class BuchControllerTest {
 
     @Autowired
@@ -93,6 +98,26 @@ class BuchControllerTest {
                 .andExpect(status().isNotFound());
     }
 
+    @Test
+    @DisplayName("GET /batch liefert Treffer in Anfragereihenfolge und fehlende IDs")
+    void batchInRequestOrder() throws Exception {
+        Buch buch3 = buch1.toBuilder().id(3L).title("Drittes Buch").isbn("9780000000003").build();
+        Mockito.when(service.findAllByIds(List.of(3L, 99L, 1L)))
+                .thenReturn(Map.of(1L, buch1, 3L, buch3));
+        mockMvc.perform(get("/api/buecher/batch").param("ids", "3,99,1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].id", is(3)))
+                .andExpect(jsonPath("$.items[1].id", is(1)))
+                .andExpect(jsonPath("$.missingIds", contains(99)));
+    }
+
+    @Test
+    @DisplayName("GET /batch ohne IDs liefert 400")
+    void batchWithoutIds() throws Exception {
+        mockMvc.perform(get("/api/buecher/batch"))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     @DisplayName("GET list returns all books")
     void listAll() throws Exception {
@@ -191,6 +216,35 @@ class BuchControllerTest {
                 .andExpect(status().isNotFound());
     }
 
+    @Test
+    @DisplayName("POST Mengenänderung rechnet Prozent in Faktor um und meldet die Anzahl")
+    void bulkUpdate() throws Exception {
+        Mockito.when(service.updateMatching(any(), eq(new BigDecimal("1.05")), eq(null))).thenReturn(3L);
+        mockMvc.perform(post("/api/buecher/massenaenderung")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"filter\":{\"author\":\"Craig Walls\"},\"priceChangePercent\":5}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.affected", is(3)));
+    }
+
+    @Test
+    @DisplayName("POST Mengenänderung ohne Filter oder ohne Änderung liefert 400")
+    void bulkUpdateRejectsMissingFilterOrChange() throws Exception {
+        mockMvc.perform(post("/api/buecher/massenaenderung")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"filter\":{},\"author\":\"Neu\"}"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(post("/api/buecher/massenaenderung")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"filter\":{\"author\":\"Craig Walls\"}}"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(post("/api/buecher/massenloeschung")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{}"))
+                .andExpect(status().isBadRequest());
+        Mockito.verifyNoInteractions(service);
+    }
+
     @Test
     @DisplayName("DELETE returns 204 when entity exists")
     void deleteOk() throws Exception {
@@ -291,11 +345,45 @@ class BuchControllerTest {
                         .andExpect(jsonPath("$.fields", hasItem(containsString("title"))));
         }
 
+    @Test
+    @DisplayName("PATCH merge-patch ändert nur enthaltene Felder")
+    void patchAppliesPresentFields() throws Exception {
+        Buch current = buch1.toBuilder().build();
+        Mockito.when(service.updateWithVersionCheck(eq(1L), eq(1L), any())).thenAnswer(inv -> {
+            Consumer<Buch> mutator = inv.getArgument(2);
+            mutator.accept(current);
+            return current;
+        });
+        mockMvc.perform(patch("/api/buecher/1")
+                .contentType("application/merge-patch+json")
+                .content("{\"price\": 44.50, \"isbn\": null, \"version\": 1}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.price", is(44.50)))
+                .andExpect(jsonPath("$.title", is("Spring Boot in Action")));
+        assertEquals(new BigDecimal("44.50"), current.getPrice());
+        assertEquals(472, current.getPages());
+        assertNull(current.getIsbn());
+    }
+
+    @Test
+    @DisplayName("PATCH mit null für ein Pflichtfeld oder ohne Version liefert 400")
+    void patchRejectsNullForRequiredField() throws Exception {
+        mockMvc.perform(patch("/api/buecher/1")
+                .contentType("application/merge-patch+json")
+                .content("{\"title\": null, \"version\": 1}"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(patch("/api/buecher/1")
+                .contentType("application/merge-patch+json")
+                .content("{\"price\": 1.00}"))
+                .andExpect(status().isBadRequest());
+        Mockito.verify(service, Mockito.never()).updateWithVersionCheck(any(), any(), any());
+    }
+
         @Test
         @DisplayName("(Direct) update executes mutator lambda and changes fields")
         void updateLambdaExecuted() {
                 BuchRepository repo = Mockito.mock(BuchRepository.class);
-                BuchService realService = new BuchService(repo);
+                BuchService realService = new BuchService(repo, event -> { });
                 Buch original = Buch.builder()
                         .id(10L)
                         .title("Old Title")
@@ -0,0 +1,57 @@
+package de.itzbund.entity;
+
+import de.itzbund.service.BatchSaveResult;
+import de.itzbund.service.BuchService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * ID-Vergabe über {@code books_seq} mit Flyway-Schema (wie im Profil {@code prod}): ein Sequenzabruf je Block.
+ */
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:block-sequence;DB_CLOSE_DELAY=-1",
+    "spring.flyway.enabled=true",
+    "spring.jpa.hibernate.ddl-auto=validate"
+})
+class BlockSequenceGeneratorTest {
+
+    private static final int BOOKS = 120;
+
+    @Autowired
+    private BuchService service;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName("120 Bücher belegen fortlaufende IDs aus drei Blöcken zu je 50")
+    void idsFromBlocks() {
+        assertThat(nextSequenceValue()).isEqualTo(1L);
+
+        List<Buch> buecher = new ArrayList<>();
+        for (int i = 0; i < BOOKS; i++) {
+            buecher.add(Buch.builder().title("Block " + i).author("Sequenz")
+                .isbn(String.format("978340%07d", i)).pages(1).price(BigDecimal.ONE).build());
+        }
+        BatchSaveResult result = service.saveBatch(buecher);
+
+        assertThat(result.saved()).extracting(Buch::getId)
+            .containsExactlyElementsOf(LongStream.rangeClosed(1, BOOKS).boxed().toList());
+        assertThat(nextSequenceValue()).isEqualTo(151L);
+    }
+
+    private Long nextSequenceValue() {
+        return jdbcTemplate.queryForObject(
+            "SELECT BASE_VALUE FROM INFORMATION_SCHEMA.SEQUENCES WHERE SEQUENCE_NAME = 'BOOKS_SEQ'", Long.class);
+    }
+}
@@ -0,0 +1,35 @@
+package de.itzbund.error;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ErrorResponseTest {
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    @Test
+    @DisplayName("Domain-Exceptions erfassen keinen Stacktrace")
+    void stackless() {
+        assertThat(new DuplicateIsbnException("123").getStackTrace()).isEmpty();
+        assertThat(new VersionMismatchException(1L, 1L, 2L).getStackTrace()).isEmpty();
+        assertThat(new InvalidImportSourceException("x")).isInstanceOf(DomainException.class);
+    }
+
+    @Test
+    @DisplayName("Fehler-Body: gleiche Felder wie zuvor, fields nur bei Validierungsfehlern")
+    void json() throws Exception {
+        String conflict = mapper.writeValueAsString(ErrorResponse.of(HttpStatus.CONFLICT, "ISBN bereits vergeben"));
+        assertThat(conflict).matches("\\{\"timestamp\":\"[^\"]+Z\",\"status\":409,\"error\":\"Conflict\","
+            + "\"message\":\"ISBN bereits vergeben\"}");
+
+        String invalid = mapper.writeValueAsString(
+            ErrorResponse.of(HttpStatus.BAD_REQUEST, "Validation failed", List.of("title:must not be blank")));
+        assertThat(invalid).contains("\"fields\":[\"title:must not be blank\"]");
+    }
+}
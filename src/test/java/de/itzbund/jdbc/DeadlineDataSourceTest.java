@@ -0,0 +1,69 @@
+package de.itzbund.jdbc;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.SQLTimeoutException;
+import java.sql.Statement;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Deadline als Query-Timeout: Abbruch laufender Statements, kein Statement nach Ablauf, Rücksetzen ohne Deadline.
+ */
+class DeadlineDataSourceTest {
+
+    /** Kreuzprodukt, das ohne Abbruch minutenlang zählt. */
+    private static final String SLOW_QUERY =
+        "select count(*) from system_range(1, 1000000) a, system_range(1, 1000000) b";
+
+    private final DeadlineDataSource dataSource = new DeadlineDataSource(h2());
+
+    @AfterEach
+    void endDeadline() {
+        RequestDeadline.end();
+    }
+
+    @Test
+    @DisplayName("Laufendes Statement wird nach Ablauf der (auf Sekunden gerundeten) Deadline abgebrochen")
+    void cancelsRunningStatement() throws Exception {
+        try (Connection connection = dataSource.getConnection()) {
+            RequestDeadline.begin(TimeUnit.MILLISECONDS.toNanos(500));
+            long start = System.nanoTime();
+            try (Statement statement = connection.createStatement()) {
+                assertThat(statement.getQueryTimeout()).isEqualTo(1);
+                assertThatThrownBy(() -> statement.executeQuery(SLOW_QUERY)).isInstanceOf(SQLTimeoutException.class);
+            }
+            assertThat(System.nanoTime() - start).isLessThan(TimeUnit.SECONDS.toNanos(3));
+
+            RequestDeadline.end();
+            try (Statement statement = connection.createStatement()) {
+                // H2 führt den Timeout je Session; ohne Deadline wird er zurückgesetzt
+                assertThat(statement.getQueryTimeout()).isZero();
+                assertThat(statement.execute("select 1")).isTrue();
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Nach Ablauf der Deadline wird kein Statement mehr erzeugt")
+    void failsFastAfterDeadline() throws Exception {
+        try (Connection connection = dataSource.getConnection()) {
+            RequestDeadline.begin(0);
+            assertThatThrownBy(() -> connection.prepareStatement("select 1"))
+                .isInstanceOf(SQLTimeoutException.class)
+                .hasMessageContaining("Deadline");
+        }
+    }
+
+    private static JdbcDataSource h2() {
+        JdbcDataSource h2 = new JdbcDataSource();
+        h2.setURL("jdbc:h2:mem:deadline;DB_CLOSE_DELAY=-1");
+        return h2;
+    }
+}
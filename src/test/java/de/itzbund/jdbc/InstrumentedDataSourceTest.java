@@ -0,0 +1,133 @@
+package de.itzbund.jdbc;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.itzbund.web.QueryDiagnosticsFilter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * JDBC-Instrumentierung: Diagnose-Header, Slow-Query-Log und Metriken je Endpunkt.
+ */
+@SpringBootTest(properties = {
+    "itzbund.jdbc.diagnostic-headers=true",
+    "itzbund.jdbc.slow-query-threshold=0ms"
+})
+@AutoConfigureMockMvc
+class InstrumentedDataSourceTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private MeterRegistry registry;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    @DisplayName("DataSource ist instrumentiert, PUT liefert X-Query-Count und X-Query-Time")
+    void diagnosticHeaders() throws Exception {
+        assertThat(dataSource).isInstanceOf(InstrumentedDataSource.class);
+
+        MvcResult created = mockMvc.perform(post("/api/buecher")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"title\":\"Messung\",\"author\":\"Jdbc\",\"isbn\":\"9783300000010\","
+                    + "\"pages\":1,\"price\":1.0}"))
+            .andExpect(status().isCreated())
+            .andExpect(header().exists(QueryDiagnosticsFilter.COUNT_HEADER))
+            .andReturn();
+        JsonNode buch = objectMapper.readTree(created.getResponse().getContentAsString());
+
+        MvcResult updated = mockMvc.perform(put("/api/buecher/" + buch.get("id").asLong())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"title\":\"Messung 2\",\"author\":\"Jdbc\",\"isbn\":\"9783300000034\",\"pages\":1,"
+                    + "\"price\":1.0,\"version\":" + buch.get("version").asLong() + "}"))
+            .andExpect(status().isOk())
+            .andExpect(header().exists(QueryDiagnosticsFilter.TIME_HEADER))
+            .andReturn();
+        // neue ISBN ist laut ISBN-Filter sicher frei: nur das Update, keine ISBN-Abfrage
+        assertThat(Integer.parseInt(updated.getResponse().getHeader(QueryDiagnosticsFilter.COUNT_HEADER)))
+            .isGreaterThanOrEqualTo(1);
+
+        DistributionSummary perEndpoint = registry.find(QueryDiagnosticsFilter.STATEMENTS_METRIC)
+            .tags("method", "PUT", "uri", "/api/buecher/{id}").summary();
+        assertThat(perEndpoint).isNotNull();
+        assertThat(perEndpoint.count()).isPositive();
+    }
+
+    @Test
+    @DisplayName("PATCH schreibt nur geänderte Spalten und fragt die ISBN nicht ab")
+    void patchUpdatesChangedColumnsOnly() throws Exception {
+        MvcResult created = mockMvc.perform(post("/api/buecher")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"title\":\"Preis\",\"author\":\"Jdbc\",\"isbn\":\"9783300000027\","
+                    + "\"pages\":1,\"price\":1.0}"))
+            .andExpect(status().isCreated())
+            .andReturn();
+        JsonNode buch = objectMapper.readTree(created.getResponse().getContentAsString());
+        long id = buch.get("id").asLong();
+
+        mockMvc.perform(patch("/api/buecher/" + id)
+                .contentType("application/merge-patch+json")
+                .content("{\"price\":2.5,\"version\":" + buch.get("version").asLong() + "}"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.price").value(2.5))
+            .andExpect(jsonPath("$.isbn").value("9783300000027"));
+
+        JsonNode log = objectMapper.readTree(mockMvc.perform(get("/actuator/slowqueries"))
+            .andReturn().getResponse().getContentAsString());
+        List<String> statements = new ArrayList<>();
+        for (JsonNode entry : log.get("entries")) {
+            if (("PATCH /api/buecher/" + id).equals(entry.path("request").asText())) {
+                statements.add(entry.get("sql").asText());
+            }
+        }
+        assertThat(statements).filteredOn(sql -> sql.startsWith("update"))
+            .singleElement().asString()
+            .contains("price", "version")
+            .doesNotContain("title", "author", "isbn", "pages");
+        assertThat(statements).noneMatch(sql -> sql.contains("isbn=?"));
+    }
+
+    @Test
+    @DisplayName("Slow-Query-Log unter /actuator/slowqueries mit normalisierter SQL-Form")
+    void slowQueryEndpoint() throws Exception {
+        mockMvc.perform(get("/api/buecher").param("author", "Jdbc"))
+            .andExpect(status().isOk());
+
+        mockMvc.perform(get("/actuator/slowqueries"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.thresholdMillis").value(0))
+            .andExpect(jsonPath("$.entries[0].sql").value(containsString("books")))
+            .andExpect(jsonPath("$.entries[?(@.request == 'GET /api/buecher')]").exists());
+    }
+
+    @Test
+    @DisplayName("SqlShape ersetzt Literale und fasst Parameterlisten zusammen")
+    void sqlShape() {
+        assertThat(SqlShape.of("select * from books  where isbn = 'x''y' and pages > 10 and id in (?, ?,?)"))
+            .isEqualTo("select * from books where isbn = ? and pages > ? and id in (?, ...)");
+        assertThat(SqlShape.of("select b1_0.id from books b1_0")).isEqualTo("select b1_0.id from books b1_0");
+    }
+}
@@ -0,0 +1,134 @@
+package de.itzbund.jdbc;
+
+import de.itzbund.entity.Buch;
+import de.itzbund.service.BuchService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+import org.springframework.test.web.servlet.MockMvc;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Read-Replica-Routing mit zwei lokalen H2-Instanzen als Replikate: Lesen reihum vom Replikat,
+ * Schreiben und read-your-writes auf der Primär-Datenbank.
+ * Die Replikate werden bewusst nicht repliziert, damit die Herkunft jeder Zeile erkennbar ist.
+ */
+@SpringBootTest(properties = {
+    "spring.datasource.url=" + ReadWriteRoutingDataSourceTest.PRIMARY,
+    "itzbund.datasource.replicas[0].url=" + ReadWriteRoutingDataSourceTest.REPLICA_1,
+    "itzbund.datasource.replicas[1].url=" + ReadWriteRoutingDataSourceTest.REPLICA_2,
+    "spring.jpa.properties.hibernate.cache.use_second_level_cache=false",
+    "spring.jpa.properties.hibernate.cache.use_query_cache=false"
+})
+@AutoConfigureMockMvc
+class ReadWriteRoutingDataSourceTest {
+
+    static final String PRIMARY = "jdbc:h2:mem:routing-primary;DB_CLOSE_DELAY=-1";
+    static final String REPLICA_1 = "jdbc:h2:mem:routing-replica-1;DB_CLOSE_DELAY=-1";
+    static final String REPLICA_2 = "jdbc:h2:mem:routing-replica-2;DB_CLOSE_DELAY=-1";
+    private static final long REPLICA_ID = 1000L;
+
+    @Autowired
+    private BuchService service;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @BeforeAll
+    static void replicas() throws SQLException {
+        int n = 1;
+        for (String url : new String[] {REPLICA_1, REPLICA_2}) {
+            try (Connection connection = DriverManager.getConnection(url, "itzbund", "");
+                 Statement statement = connection.createStatement()) {
+                ScriptUtils.executeSqlScript(connection, new ClassPathResource("db/migration/V1__create_books.sql"));
+                statement.execute("INSERT INTO books (id, title, author, isbn, pages, price, version) VALUES ("
+                    + REPLICA_ID + ", 'Replikat " + n + "', 'Routing', '97833100000" + n + "0', 1, 1.00, 0)");
+            }
+            n++;
+        }
+    }
+
+    @AfterEach
+    void endRouting() {
+        ReadRouting.end();
+    }
+
+    @Test
+    @DisplayName("Read-only-Methoden lesen reihum von beiden Replikaten")
+    void readsRoundRobin() throws Exception {
+        assertThat(dataSource.unwrap(ReadWriteRoutingDataSource.class).replicaCount()).isEqualTo(2);
+        Set<String> titles = new HashSet<>();
+        for (int i = 0; i < 4; i++) {
+            titles.add(service.findById(REPLICA_ID).orElseThrow().getTitle());
+        }
+        assertThat(titles).containsExactlyInAnyOrder("Replikat 1", "Replikat 2");
+        assertThat(service.existsById(REPLICA_ID)).isTrue();
+        assertThat(count(PRIMARY, REPLICA_ID)).isZero();
+    }
+
+    @Test
+    @DisplayName("Schreibzugriffe gehen an die Primär-Datenbank, read-your-writes liest dort")
+    void writesAndReadYourWrites() throws Exception {
+        Buch saved = service.save(Buch.builder().title("Primaer").author("Routing").isbn("9783310000300")
+            .pages(1).price(BigDecimal.ONE).build());
+
+        assertThat(count(PRIMARY, saved.getId())).isEqualTo(1);
+        assertThat(count(REPLICA_1, saved.getId()) + count(REPLICA_2, saved.getId())).isZero();
+        assertThat(service.findById(saved.getId())).isEmpty();
+
+        ReadRouting.begin(true);
+        assertThat(service.findById(saved.getId())).isPresent();
+        ReadRouting.end();
+
+        ReadRouting.begin(false);
+        assertThat(service.existsById(saved.getId())).isFalse();
+        service.save(Buch.builder().title("Primaer 2").author("Routing").isbn("9783310000400")
+            .pages(1).price(BigDecimal.ONE).build());
+        assertThat(service.existsById(saved.getId())).as("nach Schreibzugriff im selben Request").isTrue();
+    }
+
+    @Test
+    @DisplayName("Header X-Read-Your-Writes lenkt GET auf die Primär-Datenbank")
+    void readYourWritesHeader() throws Exception {
+        Buch saved = service.save(Buch.builder().title("Header").author("Routing").isbn("9783310000500")
+            .pages(1).price(BigDecimal.ONE).build());
+
+        mockMvc.perform(get("/api/buecher/" + saved.getId()))
+            .andExpect(status().isNotFound());
+        mockMvc.perform(get("/api/buecher/" + saved.getId()).header("X-Read-Your-Writes", "true"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.title").value("Header"));
+    }
+
+    private static int count(final String url, final long id) throws SQLException {
+        try (Connection connection = DriverManager.getConnection(url, "itzbund", "");
+             Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("SELECT COUNT(*) FROM books WHERE id = " + id)) {
+            rs.next();
+            return rs.getInt(1);
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package de.itzbund.mapper;
 
 import de.itzbund.api.generated.dto.BuchCreateRequest;
+import de.itzbund.api.generated.dto.BuchPatchRequest;
 import de.itzbund.api.generated.dto.BuchUpdateRequest;
 import de.itzbund.api.generated.dto.BuchResponse;
 import de.itzbund.entity.Buch;
@@ -56,6 +57,28 @@ class BuchMapperTest {
         assertEquals(BigDecimal.TEN, entity.getPrice());
     }
 
+    @Test
+    @DisplayName("applyPatch setzt nur enthaltene Felder, null entfernt die ISBN")
+    void applyPatchSetsPresentFields() {
+        Buch entity = Buch.builder()
+                .title("Old")
+                .author("OldA")
+                .isbn("111")
+                .pages(1)
+                .price(BigDecimal.ONE)
+                .build();
+        BuchMapper.applyPatch(entity, new BuchPatchRequest().price(BigDecimal.TEN).version(0L));
+        assertEquals("Old", entity.getTitle());
+        assertEquals("OldA", entity.getAuthor());
+        assertEquals("111", entity.getIsbn());
+        assertEquals(1, entity.getPages());
+        assertEquals(BigDecimal.TEN, entity.getPrice());
+
+        BuchMapper.applyPatch(entity, new BuchPatchRequest().title("New").isbn(null).version(0L));
+        assertEquals("New", entity.getTitle());
+        assertNull(entity.getIsbn());
+    }
+
     @Test
     @DisplayName("toResponse mappt Entity korrekt")
     void toResponseMapsFields() {
@@ -0,0 +1,206 @@
+package de.itzbund.repository;
+
+import de.itzbund.entity.Buch;
+import de.itzbund.service.BuchService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Second-Level- und Query-Cache: Treffer bei Wiederholung, Invalidierung nach Schreibzugriffen.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class BuchRepositoryCacheTest {
+
+    @Autowired
+    private BuchRepository repository;
+
+    @Autowired
+    private BuchService service;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    private Statistics statistics;
+    private String author;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        author = "Cache-" + UUID.randomUUID();
+    }
+
+    @Test
+    @DisplayName("Query-Cache: zweite Suche ist ein Treffer, save invalidiert das Ergebnis")
+    void queryCacheInvalidatedAfterSave() {
+        Buch first = repository.save(buch("Erster Band"));
+
+        assertThat(repository.findByAuthor(author)).hasSize(1);
+        long hits = statistics.getQueryCacheHitCount();
+        assertThat(repository.findByAuthor(author)).hasSize(1);
+        assertThat(statistics.getQueryCacheHitCount()).isEqualTo(hits + 1);
+
+        repository.save(buch("Zweiter Band"));
+        long misses = statistics.getQueryCacheMissCount();
+        assertThat(repository.findByAuthor(author)).extracting(Buch::getTitle)
+            .containsExactlyInAnyOrder("Erster Band", "Zweiter Band");
+        assertThat(statistics.getQueryCacheMissCount()).isGreaterThan(misses);
+
+        repository.deleteById(first.getId());
+        assertThat(repository.findByAuthor(author)).extracting(Buch::getTitle).containsExactly("Zweiter Band");
+    }
+
+    @Test
+    @DisplayName("Query- und Entity-Cache: Versions-Update liefert neue Daten, Löschen entfernt den Treffer")
+    void versionedUpdateAndDelete() {
+        Buch buch = repository.save(buch("Alter Titel " + author));
+        assertThat(repository.findByTitleContainingIgnoreCase(author)).hasSize(1);
+        assertThat(repository.findById(buch.getId())).isPresent();
+
+        Buch updated = service.updateWithVersionCheck(buch.getId(), buch.getVersion(),
+            b -> b.setTitle("Neuer Titel " + author));
+        assertThat(updated.getVersion()).isEqualTo(buch.getVersion() + 1);
+
+        assertThat(repository.findByTitleContainingIgnoreCase(author)).singleElement()
+            .satisfies(b -> {
+                assertThat(b.getTitle()).startsWith("Neuer Titel");
+                assertThat(b.getVersion()).isEqualTo(updated.getVersion());
+            });
+        long entityHits = statistics.getSecondLevelCacheHitCount();
+        assertThat(repository.findById(buch.getId())).get().extracting(Buch::getVersion)
+            .isEqualTo(updated.getVersion());
+        assertThat(statistics.getSecondLevelCacheHitCount()).isGreaterThan(entityHits);
+
+        repository.deleteById(buch.getId());
+        assertThat(repository.findByTitleContainingIgnoreCase(author)).isEmpty();
+        assertThat(repository.findById(buch.getId())).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Mengenänderung: ein UPDATE, Version erhöht, Caches verworfen; alte Version liefert 412")
+    void bulkUpdateInvalidatesCachesAndBumpsVersion() throws Exception {
+        Buch billig = repository.save(buch("Billig"));
+        Buch teuer = repository.save(buch("Teuer"));
+        assertThat(repository.findByAuthor(author)).hasSize(2);
+        assertThat(repository.findById(billig.getId())).isPresent();
+
+        long statements = statistics.getPrepareStatementCount();
+        mockMvc.perform(post("/api/buecher/massenaenderung").contentType(MediaType.APPLICATION_JSON)
+                .content("{\"filter\":{\"author\":\"" + author + "\"},\"priceChangePercent\":10}"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.affected").value(2));
+        // IDs lesen, UPDATE mit id in (...), Titel und Autor der geänderten Bücher für den Autocomplete-Index nachladen
+        assertThat(statistics.getPrepareStatementCount() - statements).isEqualTo(3);
+
+        assertThat(repository.findById(billig.getId())).get().satisfies(b -> {
+            assertThat(b.getPrice()).isEqualByComparingTo("10.89");
+            assertThat(b.getVersion()).isEqualTo(billig.getVersion() + 1);
+        });
+        assertThat(repository.findByAuthor(author)).extracting(Buch::getVersion)
+            .containsOnly(teuer.getVersion() + 1);
+        mockMvc.perform(put("/api/buecher/{id}", billig.getId()).contentType(MediaType.APPLICATION_JSON)
+                .content("{\"title\":\"Billig\",\"author\":\"X\",\"pages\":100,\"price\":1,\"version\":"
+                    + billig.getVersion() + "}"))
+            .andExpect(status().isPreconditionFailed());
+    }
+
+    @Test
+    @DisplayName("Mengenlöschung: ein DELETE, Query- und Entity-Cache liefern die Bücher nicht mehr")
+    void bulkDeleteInvalidatesCaches() throws Exception {
+        Buch buch = repository.save(buch("Weg"));
+        assertThat(repository.findByAuthor(author)).hasSize(1);
+        assertThat(repository.findById(buch.getId())).isPresent();
+
+        mockMvc.perform(post("/api/buecher/massenloeschung").contentType(MediaType.APPLICATION_JSON)
+                .content("{\"author\":\"" + author + "\"}"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.affected").value(1));
+
+        assertThat(repository.findByAuthor(author)).isEmpty();
+        assertThat(repository.findById(buch.getId())).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Mengenoperationen über mehr als einen ID-Abschnitt ändern und löschen alle gelesenen Bücher")
+    void bulkOperationsSpanIdChunks() {
+        List<Buch> books = new ArrayList<>();
+        for (int i = 0; i <= BuchBulkOperationsImpl.ID_CHUNK; i++) {
+            books.add(buch("Abschnitt " + i));
+        }
+        repository.saveAll(books);
+        String moved = author + "-neu";
+
+        assertThat(service.updateMatching(BuchSpecifications.authorEquals(author), null, moved))
+            .isEqualTo(BuchBulkOperationsImpl.ID_CHUNK + 1);
+        assertThat(repository.findByAuthor(author)).isEmpty();
+        assertThat(repository.findByAuthor(moved)).hasSize(BuchBulkOperationsImpl.ID_CHUNK + 1)
+            .extracting(Buch::getVersion).containsOnly(books.get(0).getVersion() + 1);
+
+        assertThat(service.deleteMatching(BuchSpecifications.authorEquals(moved)))
+            .isEqualTo(BuchBulkOperationsImpl.ID_CHUNK + 1);
+        assertThat(repository.findByAuthor(moved)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Mehrfachlesen: zweiter /batch-Abruf kommt aus dem Entity-Cache ohne Statement")
+    void batchReadUsesEntityCache() throws Exception {
+        Long first = repository.save(buch("Batch 1")).getId();
+        Long second = repository.save(buch("Batch 2")).getId();
+        String ids = first + "," + second + "," + Long.MAX_VALUE;
+        mockMvc.perform(get("/api/buecher/batch").param("ids", ids))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.items.length()").value(2));
+
+        long hits = statistics.getSecondLevelCacheHitCount();
+        long statements = statistics.getPrepareStatementCount();
+        mockMvc.perform(get("/api/buecher/batch").param("ids", first + "," + second))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.items[0].title").value("Batch 1"))
+            .andExpect(jsonPath("$.items[1].title").value("Batch 2"));
+        assertThat(statistics.getSecondLevelCacheHitCount()).isEqualTo(hits + 2);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(statements);
+    }
+
+    @Test
+    @DisplayName("Actuator: Regionen-Statistik unter /actuator/cacheregions")
+    void actuatorShowsRegions() throws Exception {
+        repository.save(buch("Statistik"));
+        List<Buch> found = repository.findByAuthor(author);
+        repository.findById(found.get(0).getId());
+
+        mockMvc.perform(get("/actuator/cacheregions"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.statisticsEnabled").value(true))
+            .andExpect(jsonPath("$.regions['de.itzbund.entity.Buch'].puts").isNumber())
+            .andExpect(jsonPath("$.regions['default-query-results-region']").exists())
+            .andExpect(jsonPath("$.queryCache.misses").isNumber());
+    }
+
+    private Buch buch(final String title) {
+        return Buch.builder().title(title).author(author).pages(100).price(new BigDecimal("9.90")).build();
+    }
+}
@@ -0,0 +1,154 @@
+package de.itzbund.repository;
+
+import de.itzbund.entity.Buch;
+import de.itzbund.service.BuchService;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.test.web.servlet.MockMvc;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Filtersuche über {@link BuchSpecifications}: Ergebnis, Sortierung und Query-Plan (H2 {@code EXPLAIN}) der
+ * tatsächlich erzeugten SQL-Statements.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class BuchSpecificationsTest {
+
+    /** Laufende Nummer für eindeutige ISBN-Präfixe je Test. */
+    private static final AtomicInteger RUN = new AtomicInteger();
+
+    /** Von Hibernate erzeugte SQL-Statements. */
+    static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+    @TestConfiguration
+    static class CaptureSql {
+        @Bean
+        HibernatePropertiesCustomizer statementInspector() {
+            return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, (StatementInspector) sql -> {
+                STATEMENTS.add(sql);
+                return sql;
+            });
+        }
+    }
+
+    @Autowired
+    private BuchRepository repository;
+
+    @Autowired
+    private BuchService service;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    private String author;
+    private String isbnPrefix;
+
+    @BeforeEach
+    void setUp() {
+        author = "Suche-" + UUID.randomUUID();
+        isbnPrefix = String.format("97834%04d", RUN.incrementAndGet());
+        repository.saveAll(List.of(
+            buch("Billig", 120, isbnPrefix + "01", "9.90"),
+            buch("Mittel", 300, isbnPrefix + "02", "24.50"),
+            buch("Teuer", 800, isbnPrefix + "03", "79.00")));
+    }
+
+    @Test
+    @DisplayName("Filter sind kombinierbar, sortiert und begrenzt wird in der Datenbank")
+    void searchEndpoint() throws Exception {
+        mockMvc.perform(get("/api/buecher/suche")
+                .param("author", author)
+                .param("minPrice", "10")
+                .param("sort", "-price"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$[*].title", contains("Teuer", "Mittel")));
+
+        mockMvc.perform(get("/api/buecher/suche")
+                .param("author", author)
+                .param("maxPages", "500")
+                .param("sort", "-pages")
+                .param("limit", "1"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$[*].title", contains("Mittel")));
+
+        mockMvc.perform(get("/api/buecher/suche").param("isbnPrefix", isbnPrefix).param("sort", "isbn"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$[*].title", contains("Billig", "Mittel", "Teuer")));
+
+        mockMvc.perform(get("/api/buecher/suche").param("sort", "unbekannt"))
+            .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/buecher/suche").param("limit", "5000"))
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("EXPLAIN: Autor+Preis nutzt idx_books_author_price, Seiten idx_books_pages, ISBN-Präfix uk_books_isbn")
+    void queryPlansUseIndexes() throws Exception {
+        String plan = explain(BuchSpecifications.filter(author, new BigDecimal("10"), new BigDecimal("50"),
+            null, null, null), author, new BigDecimal("10"), new BigDecimal("50"));
+        assertThat(plan).containsIgnoringCase("IDX_BOOKS_AUTHOR_PRICE");
+
+        plan = explain(BuchSpecifications.filter(null, null, null, 100, 500, null), 100, 500);
+        assertThat(plan).containsIgnoringCase("IDX_BOOKS_PAGES");
+
+        plan = explain(BuchSpecifications.filter(null, null, null, null, null, "978340"),
+            "978340", "978341", "978340%");
+        assertThat(plan).containsIgnoringCase("UK_BOOKS_ISBN");
+    }
+
+    /** Führt die Suche aus und liefert den H2-Plan des erzeugten Statements (Parameter in SQL-Reihenfolge). */
+    private String explain(final Specification<Buch> spec,
+                           final Object... params) throws Exception {
+        STATEMENTS.clear();
+        service.search(spec, Sort.by("id"), 10);
+        String sql = STATEMENTS.stream().filter(s -> s.contains("from books")).reduce((a, b) -> b).orElseThrow();
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement("EXPLAIN " + sql)) {
+            for (int i = 0; i < params.length; i++) {
+                statement.setObject(i + 1, params[i]);
+            }
+            int count = statement.getParameterMetaData().getParameterCount();
+            for (int i = params.length; i < count; i++) {
+                statement.setInt(i + 1, 10);
+            }
+            try (ResultSet rs = statement.executeQuery()) {
+                rs.next();
+                return rs.getString(1);
+            }
+        }
+    }
+
+    private Buch buch(final String title, final int pages, final String isbn, final String price) {
+        return Buch.builder().title(title).author(author).isbn(isbn).pages(pages).price(new BigDecimal(price)).build();
+    }
+}
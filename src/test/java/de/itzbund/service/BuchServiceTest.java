@@ -10,8 +10,11 @@ import org.mockito.Mockito;
 import org.springframework.data.jpa.domain.Specification;
 
 import java.math.BigDecimal;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.LongStream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -28,7 +31,7 @@ class BuchServiceTest {
     @DisplayName("Speichern mit eindeutiger ISBN")
     void saveUniqueIsbn() {
         BuchRepository repository = Mockito.mock(BuchRepository.class);
-        BuchService service = new BuchService(repository);
+        BuchService service = new BuchService(repository, event -> { });
         Buch b = Buch.builder()
             .title("A")
             .author("B")
@@ -49,7 +52,7 @@ class BuchServiceTest {
     @DisplayName("Speichern mit doppelter ISBN wirft DuplicateIsbnException")
     void saveDuplicateIsbn() {
         BuchRepository repository = Mockito.mock(BuchRepository.class);
-        BuchService service = new BuchService(repository);
+        BuchService service = new BuchService(repository, event -> { });
         Buch existing = Buch.builder()
             .id(5L)
             .title("X")
@@ -73,7 +76,7 @@ class BuchServiceTest {
     @DisplayName("save erlaubt gleiche ISBN bei identischer ID (Update)")
     void saveAllowsSameIdDuplicateIsbn() {
         BuchRepository repo = Mockito.mock(BuchRepository.class);
-        BuchService service = new BuchService(repo);
+        BuchService service = new BuchService(repo, event -> { });
         Buch existing = Buch.builder()
             .id(5L)
             .isbn("111")
@@ -94,7 +97,7 @@ class BuchServiceTest {
     @DisplayName("save wirft DuplicateIsbnException bei anderer ID")
     void saveThrowsForDifferentId() {
         BuchRepository repo = Mockito.mock(BuchRepository.class);
-        BuchService service = new BuchService(repo);
+        BuchService service = new BuchService(repo, event -> { });
         Buch existing = Buch.builder()
             .id(1L)
             .isbn("dup")
@@ -121,7 +124,7 @@ class BuchServiceTest {
     @DisplayName("save überspringt Duplicate-Prüfung bei null ISBN")
     void saveSkipsDuplicateWhenIsbnNull() {
         BuchRepository repo = Mockito.mock(BuchRepository.class);
-        BuchService service = new BuchService(repo);
+        BuchService service = new BuchService(repo, event -> { });
         Buch b = Buch.builder()
             .title("Ohne ISBN")
             .author("Anon")
@@ -145,7 +148,7 @@ class BuchServiceTest {
     @DisplayName("Update mit richtiger Version")
     void updateWithCorrectVersion() {
         BuchRepository repository = Mockito.mock(BuchRepository.class);
-        BuchService service = new BuchService(repository);
+        BuchService service = new BuchService(repository, event -> { });
         Buch existing = Buch.builder()
             .id(1L)
             .title("Alt")
@@ -161,11 +164,37 @@ class BuchServiceTest {
         assertEquals("Neu", updated.getTitle());
     }
 
+    @Test
+    @DisplayName("Update prüft die ISBN nur, wenn sie geändert wird")
+    void updateChecksIsbnOnlyWhenChanged() {
+        BuchRepository repository = Mockito.mock(BuchRepository.class);
+        BuchService service = new BuchService(repository, event -> { });
+        Buch existing = Buch.builder()
+            .id(1L)
+            .title("Alt")
+            .author("A")
+            .isbn("1111111111")
+            .pages(10)
+            .price(BigDecimal.ONE)
+            .version(2L)
+            .build();
+        Mockito.when(repository.findById(1L)).thenReturn(Optional.of(existing));
+        Mockito.when(repository.save(any(Buch.class))).thenAnswer(i -> i.getArgument(0));
+
+        service.updateWithVersionCheck(1L, 2L, b -> b.setPrice(BigDecimal.TEN));
+        Mockito.verify(repository, Mockito.never()).findByIsbn(Mockito.anyString());
+
+        Buch other = existing.toBuilder().id(2L).isbn("2222222222").build();
+        Mockito.when(repository.findByIsbn("2222222222")).thenReturn(Optional.of(other));
+        assertThrows(DuplicateIsbnException.class,
+            () -> service.updateWithVersionCheck(1L, 2L, b -> b.setIsbn("2222222222")));
+    }
+
     @Test
     @DisplayName("Update mit falscher Version wirft VersionMismatchException")
     void updateWithWrongVersion() {
         BuchRepository repository = Mockito.mock(BuchRepository.class);
-        BuchService service = new BuchService(repository);
+        BuchService service = new BuchService(repository, event -> { });
         Buch existing = Buch.builder()
             .id(1L)
             .title("Alt")
@@ -184,7 +213,7 @@ class BuchServiceTest {
     @DisplayName("updateWithVersionCheck gibt null zurück wenn Entity fehlt")
     void updateReturnsNullWhenMissing() {
         BuchRepository repo = Mockito.mock(BuchRepository.class);
-        BuchService service = new BuchService(repo);
+        BuchService service = new BuchService(repo, event -> { });
         Mockito.when(repo.findById(99L)).thenReturn(Optional.empty());
         assertNull(service.updateWithVersionCheck(99L, 0L, b -> { }));
     }
@@ -193,7 +222,7 @@ class BuchServiceTest {
     @DisplayName("updateWithVersionCheck akzeptiert null expectedVersion (kein Vergleich)")
     void updateWithNullExpectedVersion() {
         BuchRepository repo = Mockito.mock(BuchRepository.class);
-        BuchService service = new BuchService(repo);
+        BuchService service = new BuchService(repo, event -> { });
         Buch existing = Buch.builder()
             .id(10L)
             .title("Alt")
@@ -227,7 +256,7 @@ class BuchServiceTest {
     @DisplayName("findById liefert Optional mit Entity")
     void findByIdPresent() {
         BuchRepository repo = Mockito.mock(BuchRepository.class);
-        BuchService service = new BuchService(repo);
+        BuchService service = new BuchService(repo, event -> { });
         Buch b = sample();
         Mockito.when(repo.findById(7L)).thenReturn(Optional.of(b));
         assertTrue(service.findById(7L).isPresent());
@@ -237,7 +266,7 @@ class BuchServiceTest {
     @DisplayName("findById liefert Optional.empty bei Nichtfund")
     void findByIdMissing() {
         BuchRepository repo = Mockito.mock(BuchRepository.class);
-        BuchService service = new BuchService(repo);
+        BuchService service = new BuchService(repo, event -> { });
         Mockito.when(repo.findById(99L)).thenReturn(Optional.empty());
         assertTrue(service.findById(99L).isEmpty());
     }
@@ -246,7 +275,7 @@ class BuchServiceTest {
     @DisplayName("findByAuthor delegiert an Repository")
     void findByAuthor() {
         BuchRepository repo = Mockito.mock(BuchRepository.class);
-        BuchService service = new BuchService(repo);
+        BuchService service = new BuchService(repo, event -> { });
         Mockito.when(repo.findByAuthor("Tester")).thenReturn(List.of(sample()));
         assertEquals(1, service.findByAuthor("Tester").size());
     }
@@ -255,7 +284,7 @@ class BuchServiceTest {
     @DisplayName("findByTitleContainingIgnoreCase delegiert an Repository")
     void findByTitleContainingIgnoreCase() {
         BuchRepository repo = Mockito.mock(BuchRepository.class);
-        BuchService service = new BuchService(repo);
+        BuchService service = new BuchService(repo, event -> { });
         Mockito.when(repo.findByTitleContainingIgnoreCase("dele")).thenReturn(List.of(sample()));
         assertEquals(1, service.findByTitleContainingIgnoreCase("dele").size());
     }
@@ -264,20 +293,34 @@ class BuchServiceTest {
     @DisplayName("findAll(Specification) delegiert an Repository")
     void findAllWithSpecification() {
         BuchRepository repo = Mockito.mock(BuchRepository.class);
-        BuchService service = new BuchService(repo);
+        BuchService service = new BuchService(repo, event -> { });
         Specification<Buch> spec = (root, q, cb) -> cb.conjunction();
         Mockito.when(repo.findAll(spec)).thenReturn(List.of());
         assertNotNull(service.findAll(spec));
         Mockito.verify(repo).findAll(spec);
     }
 
+    @Test
+    @DisplayName("findAllByIds liest in Blöcken über den Cache, fehlende IDs fehlen im Ergebnis")
+    void findAllByIdsUsesChunks() {
+        BuchRepository repo = Mockito.mock(BuchRepository.class);
+        BuchService service = new BuchService(repo, event -> { });
+        List<Long> ids = LongStream.rangeClosed(1, 40).boxed().toList();
+        Mockito.when(repo.loadAllById(Mockito.anyList())).thenReturn(Arrays.asList(sample(), null));
+        Map<Long, Buch> found = service.findAllByIds(ids);
+        assertEquals(1, found.size());
+        Mockito.verify(repo).loadAllById(ids.subList(0, BuchService.ID_CHUNK_SIZE));
+        Mockito.verify(repo).loadAllById(ids.subList(BuchService.ID_CHUNK_SIZE, ids.size()));
+        Mockito.verify(repo, Mockito.never()).findAllById(Mockito.anyIterable());
+    }
+
     // ---------------------------------------------------- Suche (kombiniert)
 
     @Test
     @DisplayName("searchAuthorAndTitle delegiert an Repository Methode")
     void searchAuthorAndTitle() {
         BuchRepository repo = Mockito.mock(BuchRepository.class);
-        BuchService service = new BuchService(repo);
+        BuchService service = new BuchService(repo, event -> { });
         Buch b = Buch.builder()
             .id(1L)
             .title("Spring Patterns")
@@ -302,7 +345,7 @@ class BuchServiceTest {
     void existsDelegates() {
         BuchRepository repo = Mockito.mock(BuchRepository.class);
         Mockito.when(repo.existsById(5L)).thenReturn(true);
-        BuchService service = new BuchService(repo);
+        BuchService service = new BuchService(repo, event -> { });
     assertTrue(service.existsById(5L));
     Mockito.verify(repo).existsById(5L);
     }
@@ -311,7 +354,7 @@ class BuchServiceTest {
     @DisplayName("deleteById delegiert ans Repository")
     void deleteDelegates() {
         BuchRepository repo = Mockito.mock(BuchRepository.class);
-        BuchService service = new BuchService(repo);
+        BuchService service = new BuchService(repo, event -> { });
         service.deleteById(9L);
         Mockito.verify(repo).deleteById(9L);
     }
@@ -0,0 +1,97 @@
+package de.itzbund.service.columnar;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ColumnarCatalogTest {
+
+    private static final CatalogFilter ALL = new CatalogFilter(null, null, null, null, null);
+
+    @Test
+    @DisplayName("Kennzahlen mit Filtern; fehlende Preise/Seiten zählen nur in count")
+    void aggregatesWithFilters() {
+        ColumnarCatalog catalog = new ColumnarCatalog(1024);
+        catalog.put(1, "Ada", 100, new BigDecimal("10.00"));
+        catalog.put(2, "Ada", 300, new BigDecimal("30.50"));
+        catalog.put(3, "Bea", null, new BigDecimal("5.005"));
+        catalog.put(4, "Bea", 50, null);
+
+        assertThat(catalog.aggregate(ALL))
+            .isEqualTo(new CatalogStatistics(4, 3, 4551, 501, 3050, 3, 450, 50, 300));
+        assertThat(catalog.aggregate(new CatalogFilter("Ada", null, null, null, null)))
+            .isEqualTo(new CatalogStatistics(2, 2, 4050, 1000, 3050, 2, 400, 100, 300));
+        assertThat(catalog.aggregate(new CatalogFilter(null, new BigDecimal("5.001"), new BigDecimal("30.5"), null,
+            null)).count()).isEqualTo(3);
+        assertThat(catalog.aggregate(new CatalogFilter(null, null, null, 60, null)))
+            .isEqualTo(new CatalogStatistics(2, 2, 4050, 1000, 3050, 2, 400, 100, 300));
+        assertThat(catalog.aggregate(new CatalogFilter("Unbekannt", null, null, null, null)))
+            .isEqualTo(CatalogStatistics.EMPTY);
+        assertThat(catalog.aggregate(new CatalogFilter("Bea", null, null, null, null)).priceAverage())
+            .isEqualByComparingTo("5.01");
+    }
+
+    @Test
+    @DisplayName("Überschreiben und Löschen halten die Zeilen lückenlos")
+    void putAndRemove() {
+        ColumnarCatalog catalog = new ColumnarCatalog(1024);
+        catalog.put(1, "Ada", 100, BigDecimal.ONE);
+        catalog.put(2, "Bea", 200, BigDecimal.TEN);
+        catalog.put(3, "Cem", 300, BigDecimal.TEN);
+        catalog.put(1, "Bea", 150, BigDecimal.TEN);
+        catalog.remove(1);
+        catalog.remove(99);
+
+        assertThat(catalog.size()).isEqualTo(2);
+        assertThat(catalog.aggregate(new CatalogFilter("Bea", null, null, null, null)).pagesSum()).isEqualTo(200);
+        assertThat(catalog.aggregate(ALL).pagesSum()).isEqualTo(500);
+        catalog.put(3, "Cem", 310, BigDecimal.TEN);
+        assertThat(catalog.aggregate(ALL).pagesSum()).isEqualTo(510);
+        catalog.clear();
+        assertThat(catalog.aggregate(ALL)).isEqualTo(CatalogStatistics.EMPTY);
+    }
+
+    @Test
+    @DisplayName("Paralleler Scan in Abschnitten entspricht einer Referenz nach zufälligen Änderungen")
+    void chunkedScanMatchesReference() {
+        ColumnarCatalog catalog = new ColumnarCatalog(97);
+        Map<Long, int[]> reference = new HashMap<>();
+        Random random = new Random(42);
+        for (int i = 0; i < 20_000; i++) {
+            long id = 1 + random.nextInt(5_000);
+            if (random.nextInt(4) == 0) {
+                catalog.remove(id);
+                reference.remove(id);
+            } else {
+                int author = random.nextInt(20);
+                int pages = 1 + random.nextInt(1_000);
+                int cents = 1 + random.nextInt(10_000);
+                catalog.put(id, "Autor " + author, pages, BigDecimal.valueOf(cents, 2));
+                reference.put(id, new int[] {author, pages, cents});
+            }
+        }
+
+        long count = 0;
+        long pagesSum = 0;
+        long priceSum = 0;
+        for (int[] row : reference.values()) {
+            if (row[0] == 7 && row[1] >= 200 && row[2] <= 5_000) {
+                count++;
+                pagesSum += row[1];
+                priceSum += row[2];
+            }
+        }
+        CatalogStatistics statistics = catalog.aggregate(
+            new CatalogFilter("Autor 7", null, new BigDecimal("50.00"), 200, null));
+        assertThat(catalog.size()).isEqualTo(reference.size());
+        assertThat(statistics.count()).isEqualTo(count);
+        assertThat(statistics.pagesSum()).isEqualTo(pagesSum);
+        assertThat(statistics.priceSum()).isEqualTo(priceSum);
+    }
+}
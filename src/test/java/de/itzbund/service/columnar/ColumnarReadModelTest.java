@@ -0,0 +1,110 @@
+package de.itzbund.service.columnar;
+
+import de.itzbund.entity.Buch;
+import de.itzbund.repository.BuchSpecifications;
+import de.itzbund.service.BuchService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Spaltenorientiertes Lesemodell: folgt den Commits von {@link BuchService} und liefert dieselben Kennzahlen wie die
+ * Aggregat-Abfrage in der Datenbank.
+ */
+@SpringBootTest(properties = "itzbund.columnar.enabled=true")
+@AutoConfigureMockMvc
+class ColumnarReadModelTest {
+
+    @Autowired
+    private BuchService buchService;
+
+    @Autowired
+    private CatalogStatisticsService statistics;
+
+    @Autowired
+    private ColumnarReadModel readModel;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    @DisplayName("Speichern, Ändern und Löschen: Lesemodell und Datenbank stimmen überein")
+    void followsCommittedWrites() {
+        String author = "Autor " + UUID.randomUUID();
+        List<Buch> saved = buchService.saveBatch(List.of(
+            buch(author, 120, "19.99"), buch(author, 480, "49.50"), buch(author, null, "9.00"))).saved();
+        Buch single = buchService.save(buch(author, 80, null));
+        buchService.updateWithVersionCheck(saved.get(0).getId(), saved.get(0).getVersion(),
+            b -> b.setPrice(new BigDecimal("24.99")));
+        buchService.deleteById(saved.get(1).getId());
+
+        for (CatalogFilter filter : List.of(
+                new CatalogFilter(author, null, null, null, null),
+                new CatalogFilter(author, new BigDecimal("10"), null, null, null),
+                new CatalogFilter(author, null, null, 100, 500))) {
+            assertThat(readModel.aggregate(filter)).isEqualTo(statistics.aggregateInDatabase(filter));
+        }
+        assertThat(readModel.aggregate(new CatalogFilter(author, null, null, null, null)))
+            .isEqualTo(new CatalogStatistics(3, 2, 3399, 900, 2499, 2, 200, 80, 120));
+
+        buchService.deleteById(single.getId());
+        readModel.rebuild();
+        assertThat(readModel.aggregate(new CatalogFilter(author, null, null, null, null)).count()).isEqualTo(2);
+        assertThat(readModel.bytesPerBook()).isPositive();
+    }
+
+    @Test
+    @DisplayName("Massen-Update: Lesemodell lädt die geänderten Bücher nach")
+    void followsBulkUpdate() {
+        String author = "Autor " + UUID.randomUUID();
+        buchService.saveBatch(List.of(buch(author, 100, "10.00"), buch(author, 200, "20.00")));
+        String renamed = author + " (neu)";
+
+        assertThat(buchService.updateMatching(BuchSpecifications.authorEquals(author), new BigDecimal("1.5"),
+            renamed)).isEqualTo(2);
+
+        assertThat(readModel.aggregate(new CatalogFilter(author, null, null, null, null)).count()).isZero();
+        CatalogFilter filter = new CatalogFilter(renamed, null, null, null, null);
+        assertThat(readModel.aggregate(filter)).isEqualTo(statistics.aggregateInDatabase(filter));
+        assertThat(readModel.aggregate(filter).priceSum()).isEqualTo(4500);
+    }
+
+    @Test
+    @DisplayName("GET /api/buecher/statistik rechnet im Lesemodell")
+    void endpoint() throws Exception {
+        String author = "Autor " + UUID.randomUUID();
+        buchService.saveBatch(List.of(buch(author, 100, "10.00"), buch(author, 301, "20.01")));
+
+        mockMvc.perform(get("/api/buecher/statistik").param("author", author))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.source").value("COLUMNAR"))
+            .andExpect(jsonPath("$.count").value(2))
+            .andExpect(jsonPath("$.priceSum").value(30.01))
+            .andExpect(jsonPath("$.priceAverage").value(15.01))
+            .andExpect(jsonPath("$.pagesMax").value(301))
+            .andExpect(jsonPath("$.pagesAverage").value(200.5));
+        mockMvc.perform(get("/api/buecher/statistik").param("author", author).param("minPages", "500"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.count").value(0))
+            .andExpect(jsonPath("$.priceMin").doesNotExist());
+        mockMvc.perform(get("/api/buecher/statistik").param("minPrice", "abc"))
+            .andExpect(status().isBadRequest());
+    }
+
+    private static Buch buch(final String author, final Integer pages, final String price) {
+        return Buch.builder().title("Kennzahlen").author(author).pages(pages)
+            .price(price == null ? null : new BigDecimal(price)).build();
+    }
+}
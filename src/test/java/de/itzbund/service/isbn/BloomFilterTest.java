@@ -0,0 +1,51 @@
+package de.itzbund.service.isbn;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BloomFilterTest {
+
+    private static final int ENTRIES = 100_000;
+
+    @Test
+    @DisplayName("Keine falsch negativen Antworten, Fehlerrate und Speicher nahe der Auslegung")
+    void falsePositiveRateAndMemory() {
+        BloomFilter filter = new BloomFilter(ENTRIES, 0.01);
+        for (int i = 0; i < ENTRIES; i++) {
+            filter.put(isbn(i));
+        }
+        for (int i = 0; i < ENTRIES; i++) {
+            assertThat(filter.mightContain(isbn(i))).isTrue();
+        }
+        int falsePositives = 0;
+        for (int i = ENTRIES; i < 2 * ENTRIES; i++) {
+            if (filter.mightContain(isbn(i))) {
+                falsePositives++;
+            }
+        }
+        assertThat((double) falsePositives / ENTRIES).isBetween(0.005, 0.015);
+        assertThat(filter.estimatedFalsePositiveRate()).isBetween(0.008, 0.012);
+        assertThat(filter.estimatedEntries()).isBetween(98_000L, 102_000L);
+        assertThat(filter.hashes()).isEqualTo(7);
+        // rund 9,6 Bits je ISBN
+        assertThat(filter.bytes()).isBetween(115_000L, 125_000L);
+    }
+
+    @Test
+    @DisplayName("Doppelt eingefügte Werte zählen für Füllstand und Fehlerrate einmal")
+    void duplicatesDoNotFillFilter() {
+        BloomFilter filter = new BloomFilter(1_000, 0.01);
+        filter.put("9783161484100");
+        double once = filter.estimatedFalsePositiveRate();
+        filter.put("9783161484100");
+        assertThat(filter.estimatedFalsePositiveRate()).isEqualTo(once);
+        assertThat(filter.estimatedEntries()).isEqualTo(1);
+        assertThat(filter.mightContain("9783161484101")).isFalse();
+    }
+
+    private static String isbn(final int i) {
+        return String.format("978%010d", i);
+    }
+}
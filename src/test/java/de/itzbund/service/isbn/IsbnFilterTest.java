@@ -0,0 +1,124 @@
+package de.itzbund.service.isbn;
+
+import de.itzbund.entity.Buch;
+import de.itzbund.repository.BuchRepository;
+import de.itzbund.service.BatchSaveResult;
+import de.itzbund.service.BuchService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * ISBN-Bloom-Filter: Neue ISBNs ohne Abfrage, Duplikate weiterhin 409 (auch an Filter vorbei), Neuaufbau nach
+ * Löschungen, Actuator.
+ */
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:isbn-filter;DB_CLOSE_DELAY=-1")
+@AutoConfigureMockMvc
+class IsbnFilterTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private BuchService service;
+
+    @Autowired
+    private IsbnFilter filter;
+
+    @SpyBean
+    private BuchRepository repository;
+
+    @Test
+    @DisplayName("Neue ISBN spart die Abfrage, dieselbe ISBN ein zweites Mal wird per Abfrage mit 409 abgelehnt")
+    void skipsLookupForNewIsbn() throws Exception {
+        mockMvc.perform(post("/api/buecher").contentType(MediaType.APPLICATION_JSON).content(json("9783900000011")))
+            .andExpect(status().isCreated());
+        Mockito.verify(repository, Mockito.never()).findByIsbn("9783900000011");
+
+        mockMvc.perform(post("/api/buecher").contentType(MediaType.APPLICATION_JSON).content(json("9783900000011")))
+            .andExpect(status().isConflict());
+        Mockito.verify(repository).findByIsbn("9783900000011");
+        assertThat(filter.stats().skippedLookups()).isPositive();
+    }
+
+    @Test
+    @DisplayName("Block mit nur neuen ISBNs fragt die Datenbank nicht, bekannte ISBN wird abgelehnt")
+    void batchSkipsLookupForNewIsbns() {
+        service.save(buch("9783900000028"));
+        Mockito.clearInvocations(repository);
+
+        assertThat(service.saveBatch(List.of(buch("9783900000035"), buch("9783900000042"))).saved()).hasSize(2);
+        Mockito.verify(repository, Mockito.never()).findExistingIsbns(anyCollection());
+
+        assertThat(service.saveBatch(List.of(buch("9783900000028"), buch("9783900000059"))).rejected())
+            .containsExactly(0);
+        Mockito.verify(repository).findExistingIsbns(Set.of("9783900000028"));
+    }
+
+    @Test
+    @DisplayName("Am Filter vorbei vergebene ISBN: Unique-Constraint liefert 409, im Block wird nur sie abgelehnt")
+    void uniqueConstraintCatchesFilterMisses() throws Exception {
+        // wie von einer anderen Instanz angelegt: weder Filter noch Events wissen davon
+        repository.saveAndFlush(buch("9783900000080"));
+        repository.saveAndFlush(buch("9783900000097"));
+        assertThat(filter.mightContain("9783900000080")).isFalse();
+        assertThat(filter.mightContain("9783900000097")).isFalse();
+
+        mockMvc.perform(post("/api/buecher").contentType(MediaType.APPLICATION_JSON).content(json("9783900000080")))
+            .andExpect(status().isConflict())
+            .andExpect(jsonPath("$.message").value("ISBN bereits vergeben: 9783900000080"));
+
+        BatchSaveResult result = service.saveBatch(
+            List.of(buch("9783900000103"), buch("9783900000097"), buch("9783900000110")));
+        assertThat(result.rejected()).containsExactly(1);
+        assertThat(result.saved()).extracting(Buch::getIsbn).containsExactly("9783900000103", "9783900000110");
+        assertThat(repository.findExistingIsbns(List.of("9783900000103", "9783900000110"))).hasSize(2);
+    }
+
+    @Test
+    @DisplayName("Gelöschte ISBN bleibt bis zum Neuaufbau ein Treffer; Actuator zeigt Speicher und Fehlerrate")
+    void rebuildDropsDeletedIsbns() throws Exception {
+        Buch buch = service.save(buch("9783900000066"));
+        service.deleteById(buch.getId());
+        assertThat(filter.mightContain("9783900000066")).isTrue();
+        assertThat(filter.stats().deletesSinceRebuild()).isPositive();
+
+        mockMvc.perform(post("/actuator/isbnfilter"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.deletesSinceRebuild").value(0));
+        assertThat(filter.mightContain("9783900000066")).isFalse();
+
+        mockMvc.perform(get("/actuator/isbnfilter"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.loaded").value(true))
+            .andExpect(jsonPath("$.bytes").isNumber())
+            .andExpect(jsonPath("$.estimatedFalsePositiveRate").isNumber())
+            .andExpect(jsonPath("$.observedFalsePositiveRate").isNumber());
+    }
+
+    private static Buch buch(final String isbn) {
+        return Buch.builder().title("Bloom").author("Filter").isbn(isbn).pages(100).price(new BigDecimal("9.90"))
+            .build();
+    }
+
+    private static String json(final String isbn) {
+        return "{\"title\":\"Bloom\",\"author\":\"Filter\",\"isbn\":\"" + isbn + "\",\"pages\":100,\"price\":9.90}";
+    }
+}
@@ -0,0 +1,128 @@
+package de.itzbund.service.job;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.itzbund.config.ExportProperties;
+import de.itzbund.entity.Buch;
+import de.itzbund.repository.BuchRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Integrationstests für {@link ExportService} und den Download der Snapshot-Datei.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class ExportServiceTest {
+
+    @Autowired
+    private ExportService exportService;
+
+    @Autowired
+    private BuchRepository repository;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @BeforeEach
+    void data() {
+        if (repository.findByIsbn("9783200000017").isEmpty()) {
+            repository.save(Buch.builder().title("Export, \"quoted\"").author("Exporteur").isbn("9783200000017")
+                .pages(10).price(new BigDecimal("1.50")).build());
+        }
+    }
+
+    @Test
+    @DisplayName("CSV-Export schreibt Kopfzeile und escapte Felder")
+    void csvExport() throws IOException {
+        ExportJob job = runToEnd(CatalogFormat.CSV, false);
+        assertThat(job.getStatus()).isEqualTo(JobStatus.COMPLETED);
+        String content = Files.readString(job.getFile(), StandardCharsets.UTF_8);
+        assertThat(content).startsWith("id,title,author,isbn,pages,price,version\n");
+        assertThat(content).contains("\"Export, \"\"quoted\"\"\",Exporteur,9783200000017,10,1.50,");
+        assertThat(job.getRowsWritten()).isEqualTo(repository.count());
+    }
+
+    @Test
+    @DisplayName("NDJSON-gzip-Export kann vollständig und per Range geladen werden")
+    void gzipDownloadWithRange() throws Exception {
+        ExportJob job = runToEnd(CatalogFormat.NDJSON, true);
+        byte[] full = mockMvc.perform(get("/api/exporte/{id}/datei", job.getId()))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.ETAG, "\"" + job.getId() + "\""))
+            .andReturn().getResponse().getContentAsByteArray();
+        assertThat(full).hasSize((int) job.getSizeBytes());
+        String text = new String(new GZIPInputStream(new ByteArrayInputStream(full)).readAllBytes(),
+            StandardCharsets.UTF_8);
+        assertThat(text).contains("\"isbn\":\"9783200000017\"");
+
+        mockMvc.perform(get("/api/exporte/{id}/datei", job.getId()).header(HttpHeaders.RANGE, "bytes=0-9"))
+            .andExpect(status().isPartialContent())
+            .andExpect(header().string(HttpHeaders.CONTENT_LENGTH, "10"));
+        mockMvc.perform(get("/api/exporte/{id}/datei", job.getId())
+                .header(HttpHeaders.IF_NONE_MATCH, "\"" + job.getId() + "\""))
+            .andExpect(status().isNotModified());
+    }
+
+    @Test
+    @DisplayName("Verdrängte Jobs hinterlassen keine Datei, auch wenn sie beim Verdrängen noch laufen")
+    void evictedJobsLeaveNoFiles(@TempDir final Path directory) throws IOException {
+        ExportService service = new ExportService(repository, entityManager, transactionManager, objectMapper,
+            new ExportProperties(directory, 1, 1));
+        try {
+            List<ExportJob> started = new ArrayList<>();
+            for (int i = 0; i < 3; i++) {
+                started.add(service.start(CatalogFormat.CSV, false));
+            }
+            ExportJob last = started.get(2);
+            await().atMost(Duration.ofSeconds(30))
+                .until(() -> started.stream().allMatch(job -> job.getFinishedAt() != null));
+            assertThat(last.getStatus()).isEqualTo(JobStatus.COMPLETED);
+            try (Stream<Path> files = Files.list(directory)) {
+                assertThat(files).containsExactly(last.getFile());
+            }
+        } finally {
+            service.destroy();
+        }
+    }
+
+    private ExportJob runToEnd(final CatalogFormat format, final boolean gzip) {
+        ExportJob job = exportService.start(format, gzip);
+        await().atMost(Duration.ofSeconds(30)).until(() -> job.getFinishedAt() != null);
+        return job;
+    }
+}
@@ -0,0 +1,126 @@
+package de.itzbund.service.job;
+
+import de.itzbund.entity.Buch;
+import de.itzbund.repository.BuchRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+/**
+ * Integrationstests für {@link ImportService}: Streaming-Import, Validierung je Zeile und Fehlerbericht.
+ */
+@SpringBootTest
+class ImportServiceTest {
+
+    @Autowired
+    private ImportService importService;
+
+    @Autowired
+    private BuchRepository repository;
+
+    @TempDir
+    private Path tempDir;
+
+    @Test
+    @DisplayName("CSV-Import speichert gültige Zeilen und meldet ungültige mit Zeilennummer")
+    void csvImport() throws IOException {
+        Path file = write("katalog.csv", """
+            isbn,title,author,pages,price
+            9783000000011,"Titel, mit Komma",Autor A,100,12.50
+            9783000000028,Zweiter Titel,Autor B,abc,10.00
+            9783000000035,,Autor C,50,5.00
+
+            9783000000011,Dublette,Autor D,10,1.00
+            9783000000042,Vierter Titel,Autor E,200,20.00
+            """);
+        ImportJob job = runToEnd(file, CatalogFormat.CSV);
+
+        assertThat(job.getStatus()).isEqualTo(JobStatus.COMPLETED);
+        assertThat(job.getLinesRead()).isEqualTo(5);
+        assertThat(job.getImported()).isEqualTo(2);
+        assertThat(job.getRejected()).isEqualTo(3);
+        assertThat(job.getErrors()).extracting(ImportJob.RowError::line).containsExactly(3L, 4L, 6L);
+        assertThat(repository.findByIsbn("9783000000011")).get()
+            .extracting("title").isEqualTo("Titel, mit Komma");
+    }
+
+    @Test
+    @DisplayName("NDJSON-Import über mehrere Blöcke mit Durchsatz")
+    void ndjsonImport() throws IOException {
+        StringBuilder lines = new StringBuilder();
+        for (int i = 0; i < 1200; i++) {
+            lines.append(String.format(
+                "{\"title\":\"NDJSON %d\",\"author\":\"Massenautor\",\"isbn\":\"978310%07d\",\"pages\":%d,"
+                    + "\"price\":9.99}%n", i, i, i + 1));
+        }
+        lines.append("{kein json}\n");
+        ImportJob job = runToEnd(write("katalog.ndjson", lines.toString()), CatalogFormat.NDJSON);
+
+        assertThat(job.getStatus()).isEqualTo(JobStatus.COMPLETED);
+        assertThat(job.getImported()).isEqualTo(1200);
+        assertThat(job.getRejected()).isEqualTo(1);
+        assertThat(job.rowsPerSecond()).isPositive();
+        assertThat(repository.findByAuthor("Massenautor")).hasSize(1200);
+    }
+
+    @Test
+    @DisplayName("CSV-Export mit mehrzeiligem Titel lässt sich wieder importieren")
+    void csvRoundTripWithLineBreaks() throws IOException {
+        StringBuilder csv = new StringBuilder(String.join(",", BuchCsv.EXPORT_COLUMNS)).append('\n');
+        BuchCsv.appendLine(csv, Buch.builder().id(1L).title("Erste Zeile\nZweite, \"zitiert\"\r\nDritte")
+            .author("Rundreise").isbn("9783000000059").pages(10).price(new BigDecimal("3.50")).version(0L).build());
+        BuchCsv.appendLine(csv, Buch.builder().id(2L).title("Ohne Preis").author("Rundreise")
+            .isbn("9783000000066").pages(10).build());
+        BuchCsv.appendLine(csv, Buch.builder().id(3L).title("Einzeilig").author("Rundreise").isbn("9783000000073")
+            .pages(20).price(new BigDecimal("4.00")).version(0L).build());
+        ImportJob job = runToEnd(write("export.csv", csv.toString()), CatalogFormat.CSV);
+
+        assertThat(job.getStatus()).isEqualTo(JobStatus.COMPLETED);
+        assertThat(job.getImported()).isEqualTo(2);
+        // Fehler an der ersten Zeile des Datensatzes: Kopfzeile plus drei Zeilen des mehrzeiligen Titels
+        assertThat(job.getErrors()).extracting(ImportJob.RowError::line).containsExactly(5L);
+        assertThat(repository.findByIsbn("9783000000059")).get()
+            .extracting("title").isEqualTo("Erste Zeile\nZweite, \"zitiert\"\nDritte");
+        assertThat(repository.findByIsbn("9783000000073")).isPresent();
+    }
+
+    @Test
+    @DisplayName("Nicht geschlossenes Anführungszeichen sammelt höchstens max-record-lines Zeilen")
+    void unclosedQuoteIsBounded() throws IOException {
+        StringBuilder csv = new StringBuilder("isbn,title,author,pages,price\n")
+            .append("9783000000080,\"Offen,Autor,10,1.00\n");
+        for (int i = 0; i < 300; i++) {
+            csv.append(String.format("978320%07d,Titel %d,Offenes Zitat,%d,2.00%n", i, i, i + 1));
+        }
+        ImportJob job = runToEnd(write("offen.csv", csv.toString()), CatalogFormat.CSV);
+
+        assertThat(job.getStatus()).isEqualTo(JobStatus.COMPLETED);
+        // Datensatz ab Zeile 2 umfasst 100 Zeilen (bis 101), danach wird wieder zeilenweise gelesen
+        assertThat(job.getErrors()).extracting(ImportJob.RowError::line).containsExactly(2L);
+        assertThat(job.getErrors().get(0).message()).contains("Zeilen 2-101");
+        assertThat(job.getImported()).isEqualTo(201);
+        assertThat(repository.findByAuthor("Offenes Zitat")).hasSize(201);
+    }
+
+    private ImportJob runToEnd(final Path file, final CatalogFormat format) {
+        ImportJob job = importService.start(file, format, file.getFileName().toString(), false);
+        await().atMost(Duration.ofSeconds(30)).until(() -> job.getFinishedAt() != null);
+        return job;
+    }
+
+    private Path write(final String name, final String content) throws IOException {
+        return Files.writeString(tempDir.resolve(name), content, StandardCharsets.UTF_8);
+    }
+}
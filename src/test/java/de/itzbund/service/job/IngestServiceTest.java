@@ -0,0 +1,185 @@
+package de.itzbund.service.job;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.itzbund.config.IngestProperties;
+import de.itzbund.entity.Buch;
+import de.itzbund.error.IngestRejectedException;
+import de.itzbund.repository.BuchRepository;
+import de.itzbund.service.BatchSaveResult;
+import de.itzbund.service.BuchService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Asynchrone Anlage: 202 mit Tracking-ID, Speicherung in Blöcken, Backpressure und Drain beim Shutdown.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class IngestServiceTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private BuchRepository repository;
+
+    @Test
+    @DisplayName("POST /api/buecher/async liefert 202, der Status wechselt auf SAVED bzw. REJECTED")
+    void acceptAndTrack() throws Exception {
+        String body = "{\"title\":\"Asynchron\",\"author\":\"Ingest\",\"isbn\":\"9783500000017\","
+            + "\"pages\":10,\"price\":5.0}";
+        String first = accept(body);
+        String duplicate = accept(body);
+
+        await().atMost(Duration.ofSeconds(10)).untilAsserted(() ->
+            mockMvc.perform(get("/api/buecher/async/" + first))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("SAVED"))
+                .andExpect(jsonPath("$.buchId").isNumber()));
+        await().atMost(Duration.ofSeconds(10)).untilAsserted(() ->
+            mockMvc.perform(get("/api/buecher/async/" + duplicate))
+                .andExpect(jsonPath("$.status").value("REJECTED"))
+                .andExpect(jsonPath("$.message").value("ISBN bereits vergeben: 9783500000017")));
+        assertThat(repository.findByIsbn("9783500000017")).isPresent();
+
+        mockMvc.perform(post("/api/buecher/async").contentType(MediaType.APPLICATION_JSON)
+                .content("{\"title\":\"\",\"author\":\"Ingest\",\"pages\":10,\"price\":5.0}"))
+            .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/buecher/async/00000000-0000-0000-0000-000000000000"))
+            .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @DisplayName("Volle Warteschlange weist ab, Stop speichert alle wartenden Bücher")
+    void backpressureAndDrain() throws Exception {
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicLong ids = new AtomicLong();
+        BuchService buchService = Mockito.mock(BuchService.class);
+        Mockito.when(buchService.saveBatch(anyList())).thenAnswer(invocation -> {
+            entered.countDown();
+            release.await(10, TimeUnit.SECONDS);
+            List<Buch> buecher = invocation.getArgument(0);
+            buecher.forEach(b -> b.setId(ids.incrementAndGet()));
+            return new BatchSaveResult(buecher, List.of());
+        });
+        IngestService service = new IngestService(buchService,
+            Validation.buildDefaultValidatorFactory().getValidator(),
+            new IngestProperties(2, 10, Duration.ofMillis(10), 100, Duration.ofSeconds(10), Duration.ofSeconds(2)),
+            new SimpleMeterRegistry());
+        service.start();
+
+        IngestItem inFlight = service.submit(buch(1));
+        assertThat(entered.await(5, TimeUnit.SECONDS)).isTrue();
+        IngestItem queued1 = service.submit(buch(2));
+        IngestItem queued2 = service.submit(buch(3));
+        assertThatThrownBy(() -> service.submit(buch(4)))
+            .isInstanceOf(IngestRejectedException.class)
+            .extracting("retryAfter").isEqualTo(Duration.ofSeconds(2));
+
+        release.countDown();
+        service.stop();
+
+        assertThat(service.isRunning()).isFalse();
+        assertThat(service.queued()).isZero();
+        assertThat(List.of(inFlight, queued1, queued2)).extracting(IngestItem::getStatus)
+            .containsOnly(IngestStatus.SAVED);
+        assertThatThrownBy(() -> service.submit(buch(5))).isInstanceOf(IngestRejectedException.class);
+    }
+
+    @Test
+    @DisplayName("Stop während paralleler Annahme: jedes angenommene Buch wird gespeichert")
+    void stopDuringSubmitLeavesNothingQueued() throws Exception {
+        AtomicLong ids = new AtomicLong();
+        BuchService buchService = Mockito.mock(BuchService.class);
+        Mockito.when(buchService.saveBatch(anyList())).thenAnswer(invocation -> {
+            List<Buch> buecher = invocation.getArgument(0);
+            buecher.forEach(b -> b.setId(ids.incrementAndGet()));
+            return new BatchSaveResult(buecher, List.of());
+        });
+        IngestService service = new IngestService(buchService,
+            Validation.buildDefaultValidatorFactory().getValidator(),
+            new IngestProperties(1000, 50, Duration.ofMillis(1), 100_000, Duration.ofSeconds(10),
+                Duration.ofSeconds(1)),
+            new SimpleMeterRegistry());
+        service.start();
+
+        int threads = 4;
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        AtomicLong total = new AtomicLong();
+        List<Future<List<IngestItem>>> submitted = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            submitted.add(pool.submit(() -> {
+                List<IngestItem> accepted = new ArrayList<>();
+                while (true) {
+                    try {
+                        accepted.add(service.submit(buch(accepted.size())));
+                        total.incrementAndGet();
+                    } catch (IngestRejectedException e) {
+                        if (!service.isRunning()) {
+                            return accepted;
+                        }
+                    }
+                }
+            }));
+        }
+        await().atMost(Duration.ofSeconds(10)).until(() -> total.get() >= 1000);
+        service.stop();
+
+        List<IngestItem> accepted = new ArrayList<>();
+        for (Future<List<IngestItem>> future : submitted) {
+            accepted.addAll(future.get(10, TimeUnit.SECONDS));
+        }
+        pool.shutdown();
+        assertThat(accepted).hasSize((int) total.get());
+        assertThat(service.queued()).isZero();
+        assertThat(accepted).extracting(IngestItem::getStatus).containsOnly(IngestStatus.SAVED);
+    }
+
+    private String accept(final String body) throws Exception {
+        String response = mockMvc.perform(post("/api/buecher/async").contentType(MediaType.APPLICATION_JSON)
+                .content(body))
+            .andExpect(status().isAccepted())
+            .andExpect(header().exists("Location"))
+            .andReturn().getResponse().getContentAsString();
+        JsonNode node = objectMapper.readTree(response);
+        return node.get("trackingId").asText();
+    }
+
+    private static Buch buch(final int i) {
+        return Buch.builder().title("Buch " + i).author("Ingest").pages(1).price(BigDecimal.ONE).build();
+    }
+}
@@ -0,0 +1,102 @@
+package de.itzbund.service.suggest;
+
+import de.itzbund.entity.Buch;
+import de.itzbund.error.DuplicateIsbnException;
+import de.itzbund.service.BuchService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.hamcrest.Matchers.hasItem;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Autocomplete-Index: Aufbau beim Start, Aktualisierung nach Commits von {@link BuchService} über den Delta-Index,
+ * Endpunkt.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class AutocompleteServiceTest {
+
+    @Autowired
+    private BuchService buchService;
+
+    @Autowired
+    private AutocompleteService autocomplete;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    @DisplayName("Speichern, Ändern und Löschen aktualisieren den Index; Rollbacks nicht")
+    void followsCommittedWrites() {
+        String word = "Zyx" + UUID.randomUUID().toString().substring(0, 8);
+        Buch saved = buchService.save(buch("Handbuch " + word, "Ada Autorin", "9783700000018"));
+        assertThat(autocomplete.suggest(word, 10)).extracting(Suggestion::text).containsExactly("Handbuch " + word);
+
+        buchService.updateWithVersionCheck(saved.getId(), saved.getVersion(), b -> b.setTitle(word + " 2. Auflage"));
+        assertThat(autocomplete.suggest(word, 10)).extracting(Suggestion::text)
+            .containsExactly(word + " 2. Auflage");
+
+        assertThatThrownBy(() -> buchService.save(buch("Dublette " + word, "Ada Autorin", "9783700000018")))
+            .isInstanceOf(DuplicateIsbnException.class);
+        assertThat(autocomplete.suggest("dublette " + word, 10)).isEmpty();
+
+        buchService.deleteById(saved.getId());
+        assertThat(autocomplete.suggest(word, 10)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Ein Commit ersetzt den Haupt-Index nicht; erst das Mischen übernimmt das Delta")
+    void writesGoToDeltaIndex() {
+        autocomplete.merge();
+        PrefixIndex base = autocomplete.base();
+        String word = "Qvw" + UUID.randomUUID().toString().substring(0, 8);
+        Buch saved = buchService.save(buch("Delta " + word, "Dora Delta", "9783700000032"));
+
+        assertThat(autocomplete.base()).isSameAs(base);
+        assertThat(autocomplete.suggest(word, 10)).extracting(Suggestion::text).containsExactly("Delta " + word);
+
+        autocomplete.merge();
+        assertThat(autocomplete.base()).isNotSameAs(base);
+        assertThat(autocomplete.suggest(word, 10)).extracting(Suggestion::text).containsExactly("Delta " + word);
+
+        // Löschen nach dem Mischen: Begriff bleibt im Haupt-Index, wird aber ausgeschlossen
+        PrefixIndex merged = autocomplete.base();
+        buchService.deleteById(saved.getId());
+        assertThat(autocomplete.base()).isSameAs(merged);
+        assertThat(autocomplete.suggest(word, 10)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Neuaufbau aus der Datenbank und GET /api/buecher/vorschlaege")
+    void rebuildAndEndpoint() throws Exception {
+        buchService.save(buch("Quellcode lesen", "Ümit Quast", "9783700000025"));
+        autocomplete.rebuild();
+
+        mockMvc.perform(get("/api/buecher/vorschlaege").param("q", "umit"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$[0].text").value("Ümit Quast"))
+            .andExpect(jsonPath("$[0].field").value("AUTHOR"))
+            .andExpect(jsonPath("$[0].books").value(1));
+        mockMvc.perform(get("/api/buecher/vorschlaege").param("q", "quel").param("limit", "5"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$[*].text", hasItem("Quellcode lesen")));
+        mockMvc.perform(get("/api/buecher/vorschlaege"))
+            .andExpect(status().isBadRequest());
+    }
+
+    private static Buch buch(final String title, final String author, final String isbn) {
+        return Buch.builder().title(title).author(author).isbn(isbn).pages(1).price(BigDecimal.ONE).build();
+    }
+}
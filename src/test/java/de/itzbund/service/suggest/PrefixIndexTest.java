@@ -0,0 +1,70 @@
+package de.itzbund.service.suggest;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PrefixIndexTest {
+
+    @Test
+    @DisplayName("fold: Kleinschreibung, Akzente entfernt, Rand-Leerraum weg")
+    void fold() {
+        assertThat(PrefixIndex.fold("  Über Café ")).isEqualTo("uber cafe");
+        assertThat(PrefixIndex.fold("Spring Boot")).isEqualTo("spring boot");
+    }
+
+    @Test
+    @DisplayName("Treffer an jedem Wortanfang, Textanfang und Anzahl Bücher bestimmen die Rangfolge")
+    void lookupRanksLeadingAndPopularTerms() {
+        Term springBoot = term(SuggestField.TITLE, "Spring Boot in Action", 1);
+        Term bootcamp = term(SuggestField.TITLE, "Bootcamp Java", 1);
+        Term bootAuthor = term(SuggestField.AUTHOR, "Boots Riley", 3);
+        PrefixIndex index = PrefixIndex.EMPTY.with(List.of(springBoot, bootcamp, bootAuthor), Set.of());
+
+        assertThat(index.lookup("BOOT", 10, 100)).extracting(Suggestion::text)
+            .containsExactly("Boots Riley", "Bootcamp Java", "Spring Boot in Action");
+        assertThat(index.lookup("action", 10, 100)).extracting(Suggestion::text)
+            .containsExactly("Spring Boot in Action");
+        assertThat(index.lookup("boot", 1, 100)).extracting(Suggestion::field)
+            .containsExactly(SuggestField.AUTHOR);
+        assertThat(index.lookup("ction", 10, 100)).isEmpty();
+        assertThat(PrefixIndex.EMPTY.with(List.of(term(SuggestField.TITLE, "Mehr oder mehr", 1)), Set.of())
+            .lookup("mehr", 10, 100)).singleElement().extracting(Suggestion::leading).isEqualTo(true);
+        assertThat(index.lookup("  ", 10, 100)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("with liefert einen neuen Index und lässt den alten unverändert (Copy-on-Write)")
+    void withIsCopyOnWrite() {
+        Term a = term(SuggestField.TITLE, "Alpha Beta", 1);
+        Term b = term(SuggestField.TITLE, "Beta Gamma", 1);
+        PrefixIndex first = PrefixIndex.EMPTY.with(List.of(a), Set.of());
+        PrefixIndex second = first.with(List.of(b), Set.of(a));
+
+        assertThat(first.size()).isEqualTo(2);
+        assertThat(first.lookup("beta", 10, 100)).extracting(Suggestion::text).containsExactly("Alpha Beta");
+        assertThat(second.lookup("beta", 10, 100)).extracting(Suggestion::text).containsExactly("Beta Gamma");
+        assertThat(second.lookup("alpha", 10, 100)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("scanLimit begrenzt die geprüften Einträge")
+    void scanLimit() {
+        PrefixIndex index = PrefixIndex.EMPTY.with(List.of(
+            term(SuggestField.TITLE, "Aa", 1), term(SuggestField.TITLE, "Ab", 1), term(SuggestField.TITLE, "Ac", 1)),
+            Set.of());
+        assertThat(index.lookup("a", 10, 2)).extracting(Suggestion::text).containsExactly("Aa", "Ab");
+    }
+
+    private static Term term(final SuggestField field, final String text, final int books) {
+        Term term = new Term(field, text);
+        for (int i = 0; i < books; i++) {
+            term.increment();
+        }
+        return term;
+    }
+}
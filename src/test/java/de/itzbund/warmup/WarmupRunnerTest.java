@@ -0,0 +1,127 @@
+package de.itzbund.warmup;
+
+import de.itzbund.repository.BuchRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.assertj.core.api.InstanceOfAssertFactories;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.annotation.Bean;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+/**
+ * Aufwärmen beim Start: läuft vor {@code ACCEPTING_TRAFFIC}, hinterlässt keine Scratch-Daten und meldet die
+ * Latenz der ersten und der letzten Anfrage. Die Aufwärm-Anfragen erscheinen nicht im Audit-Log.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+    "spring.datasource.url=jdbc:h2:mem:warmup-test;DB_CLOSE_DELAY=-1",
+    "itzbund.warmup.enabled=true",
+    "itzbund.warmup.iterations=5",
+    "itzbund.warmup.scratch-books=3",
+    "itzbund.audit.flush-interval=10ms"
+})
+class WarmupRunnerTest {
+
+    @Autowired
+    private WarmupRunner runner;
+
+    @Autowired
+    private BuchRepository repository;
+
+    @Autowired
+    private TestRestTemplate rest;
+
+    @Autowired
+    private ReadinessProbe probe;
+
+    @Autowired
+    private MeterRegistry registry;
+
+    @Test
+    @DisplayName("Readiness wechselt erst nach dem Aufwärmen auf ACCEPTING_TRAFFIC")
+    void warmsUpBeforeAcceptingTraffic() {
+        WarmupReport report = runner.report();
+        assertThat(report).isNotNull();
+        assertThat(probe.reportAtReadiness.get()).isSameAs(report);
+        assertThat(report.inProcessIterations()).isEqualTo(5);
+        assertThat(report.httpIterations()).isEqualTo(5);
+        assertThat(report.firstRequest()).isPositive();
+        assertThat(report.lastRequest()).isPositive();
+
+        ResponseEntity<Map> readiness = rest.getForEntity("/actuator/health/readiness", Map.class);
+        assertThat(readiness.getBody()).containsEntry("status", "UP");
+    }
+
+    @Test
+    @DisplayName("Scratch-Datensatz wird zurückgerollt, Ergebnis steht in /actuator/info")
+    void leavesNoScratchDataAndReportsInInfo() {
+        assertThat(repository.findByAuthorContainingIgnoreCaseAndTitleContainingIgnoreCase("Warm-up", "Warm-up"))
+            .isEmpty();
+        ResponseEntity<Map> info = rest.getForEntity("/actuator/info", Map.class);
+        assertThat(info.getBody()).containsKey("warmup");
+        assertThat(info.getBody().get("warmup")).asInstanceOf(InstanceOfAssertFactories.MAP)
+            .containsEntry("httpIterations", 5);
+    }
+
+    @Test
+    @DisplayName("Aufwärm-Anfragen fehlen im Audit-Log, ein Token aus einem anderen Start gilt nicht")
+    void warmupTrafficIsNotAudited() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(WarmupRunner.HEADER, "kein-token");
+        ResponseEntity<String> response = rest.exchange("/api/buecher/suche?limit=1", HttpMethod.GET,
+            new HttpEntity<>(headers), String.class);
+        assertThat(response.getStatusCode().is2xxSuccessful()).isTrue();
+        assertThat(runner.isWarmupRequest(null)).isFalse();
+
+        // 9 Anfragen je Durchlauf beim Aufwärmen; im Log steht nur die eine von oben
+        await().atMost(Duration.ofSeconds(10)).untilAsserted(() -> assertThat(
+            registry.counter("itzbund.audit.records", "result", "written").count()).isEqualTo(1));
+        assertThat(registry.counter("itzbund.audit.records", "result", "dropped").count()).isZero();
+    }
+
+    @TestConfiguration
+    static class ReadinessProbeConfig {
+
+        @Bean
+        ReadinessProbe readinessProbe(final ObjectProvider<WarmupRunner> runner) {
+            return new ReadinessProbe(runner);
+        }
+    }
+
+    /**
+     * Merkt sich das Ergebnis des Aufwärmens im Moment des Wechsels auf {@code ACCEPTING_TRAFFIC}.
+     */
+    static final class ReadinessProbe implements ApplicationListener<AvailabilityChangeEvent<ReadinessState>> {
+
+        private final ObjectProvider<WarmupRunner> runner;
+        private final AtomicReference<WarmupReport> reportAtReadiness = new AtomicReference<>();
+
+        ReadinessProbe(final ObjectProvider<WarmupRunner> runner) {
+            this.runner = runner;
+        }
+
+        @Override
+        public void onApplicationEvent(final AvailabilityChangeEvent<ReadinessState> event) {
+            if (event.getState() == ReadinessState.ACCEPTING_TRAFFIC) {
+                reportAtReadiness.set(runner.getObject().report());
+            }
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package de.itzbund.web;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Audit-Log: Jede API-Operation landet mit operationId, Buch-ID, Version und Status in der Datei. Die Datei liegt
+ * in einem eigenen Verzeichnis je Lauf, damit Einträge früherer Läufe mit denselben IDs nicht mitgezählt werden.
+ */
+@SpringBootTest(properties = "itzbund.audit.flush-interval=10ms")
+@AutoConfigureMockMvc
+class AuditInterceptorTest {
+
+    @TempDir
+    static Path directory;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @DynamicPropertySource
+    static void auditFile(final DynamicPropertyRegistry registry) {
+        registry.add("itzbund.audit.file", () -> file().toString());
+    }
+
+    @Test
+    @DisplayName("Anlage, Änderung, Löschung und 404 werden mit ID, Version und Status protokolliert")
+    void recordsChanges() throws Exception {
+        String created = mockMvc.perform(post("/api/buecher").contentType(MediaType.APPLICATION_JSON)
+                .content("{\"title\":\"Audit\",\"author\":\"Log\",\"isbn\":\"9783600000013\",\"pages\":10,"
+                    + "\"price\":5.0}"))
+            .andExpect(status().isCreated())
+            .andReturn().getResponse().getContentAsString();
+        long id = objectMapper.readTree(created).get("id").asLong();
+        mockMvc.perform(put("/api/buecher/{id}", id).contentType(MediaType.APPLICATION_JSON)
+                .content("{\"title\":\"Audit 2\",\"author\":\"Log\",\"isbn\":\"9783600000013\",\"pages\":10,"
+                    + "\"price\":5.0,\"version\":0}"))
+            .andExpect(status().isOk());
+        mockMvc.perform(delete("/api/buecher/{id}", id)).andExpect(status().isNoContent());
+        mockMvc.perform(get("/api/buecher/{id}", id)).andExpect(status().isNotFound());
+
+        await().atMost(Duration.ofSeconds(10)).untilAsserted(() -> assertThat(entries(id)).hasSize(4));
+        List<JsonNode> entries = entries(id);
+        assertEntry(entries.get(0), "createBuch", 0, 201);
+        assertEntry(entries.get(1), "updateBuch", 1, 200);
+        assertEntry(entries.get(2), "deleteBuch", -1, 204);
+        assertEntry(entries.get(3), "getBuch", -1, 404);
+        assertThat(entries.get(0).get("ms").asDouble()).isPositive();
+    }
+
+    private static void assertEntry(final JsonNode entry, final String operation, final long version,
+                                    final int status) {
+        assertThat(entry.get("op").asText()).isEqualTo(operation);
+        assertThat(entry.get("status").asInt()).isEqualTo(status);
+        if (version < 0) {
+            assertThat(entry.has("v")).isFalse();
+        } else {
+            assertThat(entry.get("v").asLong()).isEqualTo(version);
+        }
+    }
+
+    private List<JsonNode> entries(final long id) throws Exception {
+        List<JsonNode> entries = new ArrayList<>();
+        if (!Files.exists(file())) {
+            return entries;
+        }
+        for (String line : Files.readAllLines(file())) {
+            JsonNode entry = objectMapper.readTree(line);
+            if (entry.has("id") && entry.get("id").asLong() == id) {
+                entries.add(entry);
+            }
+        }
+        return entries;
+    }
+
+    private static Path file() {
+        return directory.resolve("audit.log");
+    }
+}
@@ -0,0 +1,89 @@
+package de.itzbund.web;
+
+import de.itzbund.service.BuchService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.doAnswer;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Bulkheads: Eine volle Lane weist ihre Operationen mit 503 ab, andere Lanes laufen weiter.
+ */
+@SpringBootTest(properties = {
+    "itzbund.bulkhead.lanes.search.max-concurrent=1",
+    "itzbund.bulkhead.lanes.search.max-wait=0ms",
+    "itzbund.bulkhead.retry-after=2s"
+})
+@AutoConfigureMockMvc
+class BulkheadInterceptorTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry registry;
+
+    @SpyBean
+    private BuchService service;
+
+    @Test
+    @DisplayName("Laufende Liste belegt die Lane search; Suche bekommt 503, Einzelabruf läuft weiter")
+    void isolatesLanes() throws Exception {
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            entered.countDown();
+            release.await(10, TimeUnit.SECONDS);
+            return invocation.callRealMethod();
+        }).when(service).findAll();
+
+        CompletableFuture<MockHttpServletResponse> list = CompletableFuture.supplyAsync(() -> {
+            try {
+                return mockMvc.perform(get("/api/buecher")).andReturn().getResponse();
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        assertThat(entered.await(10, TimeUnit.SECONDS)).isTrue();
+        assertThat(registry.get("itzbund.bulkhead.active").tag("lane", "search").gauge().value()).isEqualTo(1);
+
+        mockMvc.perform(get("/api/buecher/suche").param("author", "Niemand"))
+            .andExpect(status().isServiceUnavailable())
+            .andExpect(header().string("Retry-After", "2"));
+        mockMvc.perform(get("/api/buecher/{id}", Long.MAX_VALUE)).andExpect(status().isNotFound());
+        release.countDown();
+
+        assertThat(list.get(10, TimeUnit.SECONDS).getStatus()).isEqualTo(200);
+        mockMvc.perform(get("/api/buecher/suche").param("author", "Niemand")).andExpect(status().isOk());
+        assertThat(registry.get("itzbund.bulkhead.rejected").tag("lane", "search").counter().count()).isEqualTo(1);
+        assertThat(registry.get("itzbund.bulkhead.active").tag("lane", "search").gauge().value()).isZero();
+        assertThat(registry.get("itzbund.bulkhead.wait").tag("lane", "point-read").timer().count()).isPositive();
+    }
+
+    @Test
+    @DisplayName("Asynchrone Anlage belegt keine Lane, ihre Backpressure kommt von der Ingest-Warteschlange")
+    void asyncCreateBypassesWriteLane() throws Exception {
+        long writes = registry.get("itzbund.bulkhead.wait").tag("lane", "write").timer().count();
+        mockMvc.perform(post("/api/buecher/async").contentType(MediaType.APPLICATION_JSON)
+                .content("{\"title\":\"Ohne Lane\",\"author\":\"Bulkhead\",\"pages\":10,\"price\":5.0}"))
+            .andExpect(status().isAccepted());
+        assertThat(registry.get("itzbund.bulkhead.wait").tag("lane", "write").timer().count()).isEqualTo(writes);
+    }
+}
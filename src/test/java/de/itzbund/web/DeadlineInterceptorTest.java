@@ -0,0 +1,73 @@
+package de.itzbund.web;
+
+import com.zaxxer.hikari.HikariDataSource;
+import de.itzbund.service.BuchService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import javax.sql.DataSource;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.doAnswer;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Deadlines: Budget aus dem Header wird zum Query-Timeout, Ablauf endet mit 504 und gibt die Verbindung frei.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class DeadlineInterceptorTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @SpyBean
+    private BuchService service;
+
+    @Test
+    @DisplayName("Langsame Abfrage wird nach dem Budget aus dem Header abgebrochen: 504, Verbindung zurück im Pool")
+    void cancelsSlowQuery() throws Exception {
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        doAnswer(invocation -> {
+            jdbc.queryForObject("select count(*) from system_range(1, 1000000) a, system_range(1, 1000000) b",
+                Long.class);
+            return invocation.callRealMethod();
+        }).when(service).search(any(), any(), anyInt());
+
+        long start = System.nanoTime();
+        mockMvc.perform(get("/api/buecher/suche").header("X-Request-Timeout", "800ms"))
+            .andExpect(status().isGatewayTimeout());
+        assertThat(System.nanoTime() - start).isLessThan(TimeUnit.SECONDS.toNanos(5));
+        assertThat(dataSource.unwrap(HikariDataSource.class).getHikariPoolMXBean().getActiveConnections()).isZero();
+    }
+
+    @Test
+    @DisplayName("Budget schon vor der Abfrage aufgebraucht: 504 ohne Statement")
+    void failsFastWhenBudgetIsGone() throws Exception {
+        doAnswer(invocation -> {
+            Thread.sleep(300);
+            return invocation.callRealMethod();
+        }).when(service).search(any(), any(), anyInt());
+
+        mockMvc.perform(get("/api/buecher/suche").header("X-Request-Timeout", "200"))
+            .andExpect(status().isGatewayTimeout());
+        mockMvc.perform(get("/api/buecher/suche").header("X-Request-Timeout", "0s"))
+            .andExpect(status().isGatewayTimeout());
+        mockMvc.perform(get("/api/buecher/suche").header("X-Request-Timeout", "unlesbar"))
+            .andExpect(status().isOk());
+        assertThat(dataSource.unwrap(HikariDataSource.class).getHikariPoolMXBean().getActiveConnections()).isZero();
+    }
+}
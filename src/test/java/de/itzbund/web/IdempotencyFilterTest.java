@@ -0,0 +1,159 @@
+package de.itzbund.web;
+
+import de.itzbund.service.BuchService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Idempotency-Key: Wiederholungen liefern die gespeicherte Antwort, ohne {@link BuchService} aufzurufen.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class IdempotencyFilterTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @SpyBean
+    private BuchService service;
+
+    @Test
+    @DisplayName("Wiederholung liefert 201 mit identischem Body und ruft den Service nicht erneut auf")
+    void replay() throws Exception {
+        String body = book("9783600000016");
+        MockHttpServletResponse first = create("key-replay", body).andExpect(status().isCreated())
+            .andReturn().getResponse();
+        MockHttpServletResponse second = create("key-replay", body).andExpect(status().isCreated())
+            .andExpect(header().string(IdempotencyFilter.REPLAYED_HEADER, "true"))
+            .andReturn().getResponse();
+
+        assertThat(second.getContentAsString()).isEqualTo(first.getContentAsString());
+        assertThat(second.getHeader("Location")).isEqualTo(first.getHeader("Location"));
+        assertThat(second.getContentType()).isEqualTo(first.getContentType());
+        verify(service, times(1)).save(argThat(b -> "9783600000016".equals(b.getIsbn())));
+
+        create("key-replay", book("9783600000023")).andExpect(status().isUnprocessableEntity());
+        create("", body).andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("409 wird gespeichert; gleichzeitige Wiederholung wartet auf das laufende Original")
+    void conflictAndConcurrentDuplicate() throws Exception {
+        create("key-seed", book("9783600000030")).andExpect(status().isCreated());
+        create("key-conflict", book("9783600000030")).andExpect(status().isConflict());
+        create("key-conflict", book("9783600000030")).andExpect(status().isConflict())
+            .andExpect(header().string(IdempotencyFilter.REPLAYED_HEADER, "true"));
+        verify(service, times(2)).save(argThat(b -> "9783600000030".equals(b.getIsbn())));
+
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            entered.countDown();
+            release.await(10, TimeUnit.SECONDS);
+            return invocation.callRealMethod();
+        }).when(service).save(argThat(b -> "9783600000047".equals(b.getIsbn())));
+
+        String body = book("9783600000047");
+        CompletableFuture<MockHttpServletResponse> original =
+            CompletableFuture.supplyAsync(() -> perform("key-p", body));
+        assertThat(entered.await(10, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture<MockHttpServletResponse> duplicate =
+            CompletableFuture.supplyAsync(() -> perform("key-p", body));
+        Thread.sleep(Duration.ofMillis(200).toMillis());
+        assertThat(duplicate).isNotDone();
+        release.countDown();
+
+        assertThat(original.get(10, TimeUnit.SECONDS).getStatus()).isEqualTo(201);
+        assertThat(duplicate.get(10, TimeUnit.SECONDS).getContentAsString())
+            .isEqualTo(original.get().getContentAsString());
+        verify(service, times(1)).save(argThat(b -> "9783600000047".equals(b.getIsbn())));
+    }
+
+    @Test
+    @DisplayName("5xx des Originals: wartende Wiederholung führt die Anfrage selbst aus statt den Fehler zu liefern")
+    void serverErrorIsRetriedByWaiter() throws Exception {
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger calls = new AtomicInteger();
+        doAnswer(invocation -> {
+            if (calls.incrementAndGet() == 1) {
+                entered.countDown();
+                release.await(10, TimeUnit.SECONDS);
+                throw new IllegalStateException("Datenbank nicht erreichbar");
+            }
+            return invocation.callRealMethod();
+        }).when(service).save(argThat(b -> "9783600000054".equals(b.getIsbn())));
+
+        String body = book("9783600000054");
+        CompletableFuture<MockHttpServletResponse> original =
+            CompletableFuture.supplyAsync(() -> perform("key-5xx", body));
+        assertThat(entered.await(10, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture<MockHttpServletResponse> duplicate =
+            CompletableFuture.supplyAsync(() -> perform("key-5xx", body));
+        Thread.sleep(Duration.ofMillis(200).toMillis());
+        release.countDown();
+
+        assertThat(original.get(10, TimeUnit.SECONDS).getStatus()).isEqualTo(500);
+        MockHttpServletResponse retried = duplicate.get(10, TimeUnit.SECONDS);
+        assertThat(retried.getStatus()).isEqualTo(201);
+        assertThat(retried.getHeader(IdempotencyFilter.REPLAYED_HEADER)).isNull();
+        assertThat(calls.get()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Store verwirft Einträge nach der TTL und über der Maximalgröße")
+    void storeBounds() {
+        AtomicLong now = new AtomicLong();
+        IdempotencyStore store = new IdempotencyStore(2, Duration.ofSeconds(10), now::get);
+        assertThat(store.begin("a", "x").owner()).isTrue();
+        assertThat(store.begin("a", "x").owner()).isFalse();
+
+        now.addAndGet(Duration.ofSeconds(11).toNanos());
+        assertThat(store.begin("a", "x").owner()).as("nach TTL neu").isTrue();
+        store.begin("b", "x");
+        store.begin("c", "x");
+        assertThat(store.size()).isEqualTo(2);
+        assertThat(store.begin("a", "x").owner()).as("verdrängt").isTrue();
+    }
+
+    private ResultActions create(final String key, final String body) throws Exception {
+        return mockMvc.perform(post("/api/buecher").header(IdempotencyFilter.HEADER, key)
+            .contentType(MediaType.APPLICATION_JSON).content(body));
+    }
+
+    private MockHttpServletResponse perform(final String key, final String body) {
+        try {
+            return create(key, body).andReturn().getResponse();
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String book(final String isbn) {
+        return "{\"title\":\"Idempotent\",\"author\":\"Retry\",\"isbn\":\"" + isbn + "\",\"pages\":1,\"price\":1.0}";
+    }
+}
@@ -0,0 +1,94 @@
+package de.itzbund.web;
+
+import de.itzbund.entity.Buch;
+import de.itzbund.service.BuchService;
+import de.itzbund.timing.ServerTiming;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.math.BigDecimal;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.startsWith;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Server-Timing-Header je Request (Modus {@code on-request}).
+ */
+@SpringBootTest(properties = "itzbund.server-timing.mode=on-request")
+@AutoConfigureMockMvc
+class ServerTimingFilterTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private BuchService buchService;
+
+    @Test
+    @DisplayName("Ohne Anforderung kein Header")
+    void noHeaderWithoutRequest() throws Exception {
+        mockMvc.perform(get("/api/buecher"))
+            .andExpect(status().isOk())
+            .andExpect(header().doesNotExist(ServerTiming.HEADER));
+    }
+
+    @Test
+    @DisplayName("listBuecher: Phasen db, map, serialize und total; Body unverändert mit Content-Length")
+    void phasesOnRequest() throws Exception {
+        mockMvc.perform(post("/api/buecher")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"title\":\"Zeitmessung\",\"author\":\"Timing\",\"pages\":1,\"price\":1.0}"))
+            .andExpect(status().isCreated());
+
+        MvcResult result = mockMvc.perform(get("/api/buecher").param("author", "Timing")
+                .header("X-Server-Timing", "on"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$[0].title").value("Zeitmessung"))
+            .andReturn();
+
+        String timing = result.getResponse().getHeader(ServerTiming.HEADER);
+        assertThat(timing).matches("db;dur=\\d+\\.\\d{3}, map;dur=\\d+\\.\\d{3}, serialize;dur=\\d+\\.\\d{3}, "
+            + "total;dur=\\d+\\.\\d{3}");
+        assertThat(timing).doesNotStartWith("db;dur=0.000");
+        assertThat(result.getResponse().getContentLength())
+            .isEqualTo(result.getResponse().getContentAsByteArray().length);
+    }
+
+    @Test
+    @DisplayName("Große Antwort: Puffer gilt nur für diese Antwort und bleibt nicht im Thread")
+    void largeBufferIsNotRetained() throws Exception {
+        String title = "Langer Titel ".repeat(15);
+        buchService.saveBatch(IntStream.range(0, 400).mapToObj(i -> Buch.builder().title(title + i)
+            .author("Timing gross").pages(1).price(BigDecimal.ONE).build()).toList());
+
+        MvcResult result = mockMvc.perform(get("/api/buecher").param("author", "Timing gross")
+                .header("X-Server-Timing", "on"))
+            .andExpect(status().isOk())
+            .andExpect(header().string(ServerTiming.HEADER, startsWith("db;dur=")))
+            .andReturn();
+
+        assertThat(result.getResponse().getContentAsByteArray().length)
+            .isGreaterThan(TimedJackson2HttpMessageConverter.RETAINED_BUFFER);
+        assertThat(result.getResponse().getContentLength())
+            .isEqualTo(result.getResponse().getContentAsByteArray().length);
+        assertThat(TimedJackson2HttpMessageConverter.retainedBufferSize())
+            .isLessThanOrEqualTo(TimedJackson2HttpMessageConverter.RETAINED_BUFFER);
+    }
+
+    @Test
+    @DisplayName("Antworten ohne Body (404) erhalten den Header ebenfalls")
+    void headerWithoutBody() throws Exception {
+        mockMvc.perform(delete("/api/buecher/999999").header("X-Server-Timing", "on"))
+            .andExpect(status().isNotFound())
+            .andExpect(header().string(ServerTiming.HEADER, startsWith("db;dur=")));
+    }
+}